@@ -0,0 +1,62 @@
+package com.sms.bench;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+/**
+ * Benchmarks Class - Entry point of benchmarks.jar
+ * Takes the usual JMH command line (e.g. a benchmark regex, -f, -wi, -i, -p)
+ * and, unless -rf/-rff are given, writes the results as JSON to
+ * jmh-result-VERSION.json so runs of different versions can be compared.
+ * Version: -Dsms.bench.version, else the jar's Implementation-Version.
+ */
+public class Benchmarks {
+
+    public static void main(String[] args) throws RunnerException {
+        CommandLineOptions cmd;
+        try {
+            cmd = new CommandLineOptions(args);
+        } catch (CommandLineOptionException e) {
+            System.err.println("✗ " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+        if (cmd.shouldHelp()) {
+            try {
+                cmd.showHelp();
+            } catch (IOException e) {
+                System.err.println("✗ " + e.getMessage());
+            }
+            return;
+        }
+        if (cmd.shouldList()) {
+            new Runner(cmd).list();
+            return;
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cmd);
+        if (!cmd.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!cmd.getResult().hasValue()) {
+            ResultFormatType format = cmd.getResultFormat().orElse(ResultFormatType.JSON);
+            options.result("jmh-result-" + version() + "." + format.name().toLowerCase());
+        }
+        new Runner(options.build()).run();
+    }
+
+    private static String version() {
+        String version = System.getProperty("sms.bench.version");
+        if (version == null) {
+            version = Benchmarks.class.getPackage().getImplementationVersion();
+        }
+        return version == null ? "dev" : version;
+    }
+}
@@ -0,0 +1,132 @@
+package com.sms.bench;
+
+import com.sms.dao.ShardRule;
+import com.sms.dao.ShardedStudentRepository;
+import com.sms.model.Student;
+import com.sms.util.DatabaseConnection;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixtures Class - Test data and the embedded database shared by the benchmarks
+ * The database is H2 in MySQL mode (in memory, case-insensitive like MySQL's
+ * default collation), reached through the application's own
+ * DatabaseConnection pool, so the DAO runs unchanged.
+ */
+public final class Fixtures {
+
+    public static final String H2_URL = "jdbc:h2:mem:sms_bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;"
+            + "IGNORECASE=TRUE;DB_CLOSE_DELAY=-1";
+
+    // Shard i is sms_shard_i
+    private static final String H2_SHARD_URL = "jdbc:h2:mem:sms_shard_%d;MODE=MySQL;DATABASE_TO_LOWER=TRUE;"
+            + "IGNORECASE=TRUE;DB_CLOSE_DELAY=-1";
+
+    private static final String[] COURSES = { "Computer Science", "Information Technology", "Electronics",
+            "Mechanical", "Civil", "Mathematics", "Physics", "Chemistry" };
+
+    // setup.sql without the delete trigger (H2 triggers are Java classes)
+    private static final String[] SCHEMA = {
+            "DROP ALL OBJECTS",
+            "CREATE TABLE students ("
+                    + " roll_number VARCHAR(20) PRIMARY KEY,"
+                    + " name VARCHAR(100) NOT NULL,"
+                    + " email VARCHAR(100) NOT NULL UNIQUE,"
+                    + " phone VARCHAR(15) NOT NULL,"
+                    + " course VARCHAR(50) NOT NULL,"
+                    + " marks DECIMAL(5,2) NOT NULL CHECK (marks >= 0 AND marks <= 100),"
+                    + " created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,"
+                    + " updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP)",
+            "CREATE INDEX idx_students_updated_at ON students (updated_at, roll_number)",
+            "CREATE TABLE student_deletions ("
+                    + " id BIGINT AUTO_INCREMENT PRIMARY KEY,"
+                    + " roll_number VARCHAR(20) NOT NULL,"
+                    + " deleted_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)",
+            "CREATE INDEX idx_student_deletions_deleted_at ON student_deletions (deleted_at)"
+    };
+
+    private Fixtures() {
+    }
+
+    /**
+     * Generate valid students with distinct roll numbers and emails
+     *
+     * @param prefix Roll number prefix (keeps separate sets apart)
+     */
+    public static List<Student> students(String prefix, int count) {
+        List<Student> students = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            students.add(student(prefix, i));
+        }
+        return students;
+    }
+
+    public static Student student(String prefix, int i) {
+        return new Student(String.format("%s%07d", prefix, i), "Student Name " + i,
+                prefix.toLowerCase() + i + "@example.com", String.format("9%09d", i),
+                COURSES[i % COURSES.length], (i * 37L % 10_001) / 100.0);
+    }
+
+    /**
+     * Point DatabaseConnection at a fresh embedded database with the
+     * students schema. Call once per trial, before the first DAO call.
+     */
+    public static void startDatabase() throws SQLException {
+        DatabaseConnection.closeConnection();
+        System.setProperty("sms.db.url", H2_URL);
+        useH2();
+        // Before the pool opens, so its statements prepare against the schema
+        try (Connection conn = DriverManager.getConnection(H2_URL, "sa", "");
+                Statement stmt = conn.createStatement()) {
+            for (String sql : SCHEMA) {
+                stmt.execute(sql);
+            }
+        }
+    }
+
+    /**
+     * Create fresh embedded databases with the students schema and open them
+     * as the shards of one repository (close it when done)
+     */
+    public static ShardedStudentRepository startShards(int count, ShardRule rule) throws SQLException {
+        useH2();
+        List<String> urls = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String url = String.format(H2_SHARD_URL, i);
+            try (Connection conn = DriverManager.getConnection(url, "sa", "");
+                    Statement stmt = conn.createStatement()) {
+                for (String sql : SCHEMA) {
+                    stmt.execute(sql);
+                }
+            }
+            urls.add(url);
+        }
+        return ShardedStudentRepository.connect(urls, rule);
+    }
+
+    private static void useH2() {
+        System.setProperty("sms.db.user", "sa");
+        System.setProperty("sms.db.password", "");
+        System.setProperty("sms.db.driver", "org.h2.Driver");
+    }
+
+    public static void stopDatabase() {
+        DatabaseConnection.closeConnection();
+    }
+
+    /**
+     * Drop the application's console output (one line per DAO call), so the
+     * terminal does not dominate what is measured. Errors still print.
+     */
+    public static void quietConsole() {
+        System.setProperty("sms.log.file", "false"); // read when logging starts
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+}
@@ -0,0 +1,72 @@
+package com.sms.dao;
+
+import com.sms.bench.Fixtures;
+import com.sms.util.DatabaseConnection;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ResultSetExtractionBenchmark Class - Cost of mapping one row to a Student
+ * Runs StudentDAO.extractStudentFromResultSet over an already executed,
+ * scrollable result, so the query itself is not measured. Score is per row.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResultSetExtractionBenchmark {
+
+    private static final int ROWS = 1_000;
+
+    private Connection conn;
+    private Statement stmt;
+    private ResultSet rs;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        Fixtures.quietConsole();
+        Fixtures.startDatabase();
+        new StudentDAO().addStudents(Fixtures.students("S", ROWS));
+        conn = DatabaseConnection.getConnection();
+        stmt = conn.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+        rs = stmt.executeQuery("SELECT * FROM students ORDER BY roll_number");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        rs.close();
+        stmt.close();
+        conn.close();
+        Fixtures.stopDatabase();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void extractStudentFromResultSet(Blackhole bh) throws SQLException {
+        rs.beforeFirst();
+        while (rs.next()) {
+            bh.consume(StudentDAO.extractStudentFromResultSet(rs));
+        }
+    }
+}
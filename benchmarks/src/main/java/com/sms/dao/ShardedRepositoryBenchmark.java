@@ -0,0 +1,98 @@
+package com.sms.dao;
+
+import com.sms.bench.Fixtures;
+import com.sms.model.Student;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ShardedRepositoryBenchmark Class - ShardedStudentRepository over embedded
+ * database shards, routed by cohort (four admission years, one per shard
+ * when there are four). shards=1 is the same data in a single database, as
+ * the baseline for the routing and merge overhead. The roll number caches
+ * are off, so every lookup reaches a shard.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dsms.cache.maxSize=0")
+@State(Scope.Benchmark)
+public class ShardedRepositoryBenchmark {
+
+    private static final String[] COHORTS = { "2021", "2022", "2023", "2024" };
+
+    @Param({ "1", "4" })
+    private int shards;
+
+    @Param({ "20000" })
+    private int rows;
+
+    private ShardedStudentRepository repository;
+    private List<Student> students;
+    private int next = 0;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        Fixtures.quietConsole();
+        repository = Fixtures.startShards(shards, new CohortShardRule(4));
+        students = new ArrayList<>(rows);
+        for (String cohort : COHORTS) {
+            students.addAll(Fixtures.students(cohort, rows / COHORTS.length));
+        }
+        repository.addStudents(students);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        repository.close();
+    }
+
+    // Steps through the preloaded rows (all cohorts) in a scattered order
+    private Student nextStudent() {
+        next = (next + 7_919) % students.size();
+        return students.get(next);
+    }
+
+    @Benchmark
+    public Student getByRollNumber() {
+        return repository.getStudentByRollNumber(nextStudent().getRollNumber());
+    }
+
+    @Benchmark
+    public List<Student> getAllStudents() {
+        return repository.getAllStudents();
+    }
+
+    @Benchmark
+    public List<Student> getStudentsPage() {
+        return repository.getStudentsPage(nextStudent().getRollNumber(), 100);
+    }
+
+    @Benchmark
+    public List<Student> searchStudentsByName() {
+        return repository.searchStudentsByName("Name 12");
+    }
+
+    @Benchmark
+    public long streamAllStudents() {
+        return repository.forEachStudent(student -> { });
+    }
+}
@@ -0,0 +1,100 @@
+package com.sms.dao;
+
+import com.sms.bench.Fixtures;
+import com.sms.model.Student;
+import com.sms.util.LruCache;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StudentDaoBenchmark Class - StudentDAO CRUD against the embedded database
+ * The table is preloaded with `rows` students. Lookups use a DAO without a
+ * roll number cache (every call reaches the database) unless named "cached".
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StudentDaoBenchmark {
+
+    @Param({ "10000" })
+    private int rows;
+
+    private StudentDAO dao;
+    private StudentDAO cachedDao;
+    private List<Student> students;
+    private int next = 0;
+    private int inserted = 0;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        Fixtures.quietConsole();
+        Fixtures.startDatabase();
+        dao = new StudentDAO(new LruCache<>(0, 0, 0));
+        cachedDao = new StudentDAO(new LruCache<>(rows, 60_000, 0));
+        students = Fixtures.students("S", rows);
+        dao.addStudents(students);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Fixtures.stopDatabase();
+    }
+
+    // Steps through the preloaded rows in a scattered order
+    private Student nextStudent() {
+        next = (next + 7_919) % rows;
+        return students.get(next);
+    }
+
+    @Benchmark
+    public boolean insertAndDelete() {
+        Student student = Fixtures.student("B", inserted++);
+        return dao.addStudent(student) & dao.deleteStudent(student.getRollNumber());
+    }
+
+    @Benchmark
+    public Student getByRollNumber() {
+        return dao.getStudentByRollNumber(nextStudent().getRollNumber());
+    }
+
+    @Benchmark
+    public Student getByRollNumberCached() {
+        return cachedDao.getStudentByRollNumber(nextStudent().getRollNumber());
+    }
+
+    @Benchmark
+    public boolean isRollNumberExists() {
+        return dao.isRollNumberExists(nextStudent().getRollNumber());
+    }
+
+    @Benchmark
+    public boolean update() {
+        Student student = new Student(nextStudent());
+        student.setMarks((student.getMarks() + 1) % 100);
+        return dao.updateStudent(student);
+    }
+
+    @Benchmark
+    public List<Student> getStudentsPage() {
+        return dao.getStudentsPage(nextStudent().getRollNumber(), 100);
+    }
+}
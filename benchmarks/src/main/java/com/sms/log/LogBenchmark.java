@@ -0,0 +1,48 @@
+package com.sms.log;
+
+import com.sms.bench.Fixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LogBenchmark Class - What a log call costs the calling thread
+ * The overflow policy is DROP so the writer thread never holds callers
+ * back: the numbers are the enqueue path only, not the writer's throughput.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Dsms.log.overflow=DROP", "-Dsms.log.file=false" })
+@State(Scope.Benchmark)
+public class LogBenchmark {
+
+    private static final Logger LOG = Log.getLogger(LogBenchmark.class);
+
+    private final String rollNumber = "CS0001234";
+
+    @Setup
+    public void setUp() {
+        Fixtures.quietConsole();
+    }
+
+    @Benchmark
+    public void info() {
+        LOG.info("✓ Student found: {}", rollNumber);
+    }
+
+    @Benchmark
+    public void belowThreshold() {
+        LOG.debug("✓ Student found: {}", rollNumber);
+    }
+}
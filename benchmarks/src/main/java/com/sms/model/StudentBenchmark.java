@@ -0,0 +1,159 @@
+package com.sms.model;
+
+import com.sms.bench.Fixtures;
+import com.sms.validation.StudentValidator;
+import com.sms.validation.ValidationResult;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StudentBenchmark Class - Student validation and its use as a collection element
+ * - isValid / isValidEmail / isValidPhone: the checks run for every form
+ * submit and imported row
+ * - validate / validateFields: StudentValidator into a reused result (the
+ * CSV import path parses and checks raw fields)
+ * - equals/hashCode (HashSet, HashMap) and compareTo (sorting, TreeSet)
+ * over `size` students
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StudentBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Validation {
+        Student valid;
+        Student badEmail;
+        Student badPhone;
+        final ValidationResult result = new ValidationResult();
+
+        @Setup
+        public void setUp() {
+            valid = Fixtures.student("S", 42);
+            badEmail = Fixtures.student("S", 43).setEmail("not-an-email");
+            badPhone = Fixtures.student("S", 44).setPhone("12345");
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Population {
+        @Param({ "1000", "100000" })
+        int size;
+
+        List<Student> shuffled;
+        // Equal to the students in shuffled, but different objects
+        List<Student> probes;
+        Set<Student> hashSet;
+
+        @Setup
+        public void setUp() {
+            shuffled = Fixtures.students("S", size);
+            Collections.shuffle(shuffled, new Random(42));
+            probes = new ArrayList<>(size);
+            for (Student student : shuffled) {
+                probes.add(new Student(student));
+            }
+            hashSet = new HashSet<>(shuffled);
+        }
+    }
+
+    // ==================== VALIDATION ====================
+
+    @Benchmark
+    public boolean isValid(Validation v) {
+        return v.valid.isValid();
+    }
+
+    @Benchmark
+    public boolean isValidBadEmail(Validation v) {
+        return v.badEmail.isValid();
+    }
+
+    @Benchmark
+    public boolean isValidBadPhone(Validation v) {
+        return v.badPhone.isValid();
+    }
+
+    @Benchmark
+    public boolean isValidEmail(Validation v) {
+        return v.valid.isValidEmail();
+    }
+
+    @Benchmark
+    public boolean isValidPhone(Validation v) {
+        return v.valid.isValidPhone();
+    }
+
+    @Benchmark
+    public ValidationResult validate(Validation v) {
+        return StudentValidator.validate(v.valid, v.result);
+    }
+
+    @Benchmark
+    public ValidationResult validateFields(Validation v) {
+        return StudentValidator.validateFields("S0000042", "Student Name", "s42@example.com", "9000000042",
+                "Physics", "85.25", v.result);
+    }
+
+    // ==================== COLLECTIONS ====================
+
+    @Benchmark
+    public Set<Student> hashSetBuild(Population p) {
+        return new HashSet<>(p.shuffled);
+    }
+
+    @Benchmark
+    public int hashSetContains(Population p) {
+        int found = 0;
+        for (Student probe : p.probes) {
+            if (p.hashSet.contains(probe)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public Map<Student, Integer> hashMapCount(Population p) {
+        Map<Student, Integer> counts = new HashMap<>();
+        for (Student student : p.shuffled) {
+            counts.merge(student, 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    @Benchmark
+    public List<Student> sort(Population p) {
+        List<Student> sorted = new ArrayList<>(p.shuffled);
+        Collections.sort(sorted);
+        return sorted;
+    }
+
+    @Benchmark
+    public TreeSet<Student> treeSetBuild(Population p) {
+        return new TreeSet<>(p.shuffled);
+    }
+}
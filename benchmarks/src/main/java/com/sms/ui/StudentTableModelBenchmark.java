@@ -0,0 +1,70 @@
+package com.sms.ui;
+
+import com.sms.bench.Fixtures;
+import com.sms.dao.InMemoryStudentRepository;
+import com.sms.model.Student;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StudentTableModelBenchmark Class - Filling the StudentFrame table model
+ * - populate: showStudents with `rows` students (list mode, as after a search
+ * or a full load)
+ * - populateAndReadAll: the same, then every cell read once through
+ * getValueAt, like an export or a sort over the whole table would
+ * Run with a heap large enough for the 1M case (e.g. -jvmArgs -Xmx2g).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Benchmark)
+public class StudentTableModelBenchmark {
+
+    @Param({ "10000", "100000", "1000000" })
+    private int rows;
+
+    private List<Student> students;
+    private StudentTableModel model;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Fixtures.quietConsole();
+        students = Fixtures.students("S", rows);
+        model = new StudentTableModel(new InMemoryStudentRepository());
+    }
+
+    @Benchmark
+    public int populate() {
+        model.showStudents(students);
+        return model.getRowCount();
+    }
+
+    @Benchmark
+    public long populateAndReadAll() {
+        model.showStudents(students);
+        long hash = 0;
+        int columns = model.getColumnCount();
+        for (int row = 0; row < model.getRowCount(); row++) {
+            for (int column = 0; column < columns; column++) {
+                hash += model.getValueAt(row, column).hashCode();
+            }
+        }
+        return hash;
+    }
+}
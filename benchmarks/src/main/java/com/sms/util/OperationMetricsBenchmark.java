@@ -0,0 +1,41 @@
+package com.sms.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OperationMetricsBenchmark Class - Cost of recording one instrumented call
+ * (both System.nanoTime() reads included), alone and with 4 threads
+ * recording into the same operation
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dsms.metrics.jmx=false")
+@State(Scope.Benchmark)
+public class OperationMetricsBenchmark {
+
+    private final OperationMetrics metrics = Metrics.get("Benchmark", "record");
+
+    @Benchmark
+    public void record() {
+        metrics.record(System.nanoTime(), 1);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordContended() {
+        metrics.record(System.nanoTime(), 1);
+    }
+}
@@ -0,0 +1,127 @@
+package com.sms.dao;
+
+import com.sms.bench.Fixtures;
+import com.sms.model.Student;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ChangeFeedTest Class - Watermark, overlap window and duplicate suppression
+ * of ChangeFeed, on an embedded H2 database. Rows are written with explicit
+ * updated_at values (and delete-log entries by hand, as the trigger would)
+ * to play out commits that land out of order.
+ */
+class ChangeFeedTest {
+
+    private static final long OVERLAP_MS = 5_000;
+    private static final Timestamp T0 = Timestamp.valueOf("2026-01-01 10:00:00");
+
+    private ChangeFeed feed;
+
+    @BeforeEach
+    void start() throws Exception {
+        Fixtures.startDatabase();
+        // Pages of 2 rows, so every poll reads several keyset pages
+        feed = new ChangeFeed(new StudentDAO(), 60_000, OVERLAP_MS, 2);
+    }
+
+    @AfterEach
+    void stop() {
+        Fixtures.stopDatabase();
+    }
+
+    @Test
+    void deliversLateCommitsInsideTheOverlapOnce() throws SQLException {
+        write("R001", 50, 0);
+        Assertions.assertTrue(feed.pollOnce().isEmpty()); // first poll only primes
+
+        write("R002", 60, 10);
+        write("R003", 70, 10);
+        write("R004", 80, 11);
+        ChangeFeed.ChangeSet changes = feed.pollOnce();
+        Assertions.assertEquals(List.of("R002", "R003", "R004"), rolls(changes.getChanged()));
+        Assertions.assertEquals(at(11), feed.getWatermark());
+
+        // Committed late with an older updated_at, still inside the overlap window
+        write("R005", 90, 8);
+        Assertions.assertEquals(List.of("R005"), rolls(feed.pollOnce().getChanged()));
+        Assertions.assertEquals(at(11), feed.getWatermark());
+
+        // The overlap is re-read every poll, but nothing is delivered twice
+        Assertions.assertTrue(feed.pollOnce().isEmpty());
+    }
+
+    @Test
+    void sameSecondUpdateIsDeliveredWhenContentChanges() throws SQLException {
+        write("R001", 50, 0);
+        feed.pollOnce();
+        write("R002", 60, 3);
+        Assertions.assertEquals(List.of("R002"), rolls(feed.pollOnce().getChanged()));
+
+        // updated_at has one-second resolution: same time, new marks
+        update("R002", 65, 3);
+        List<Student> changed = feed.pollOnce().getChanged();
+        Assertions.assertEquals(List.of("R002"), rolls(changed));
+        Assertions.assertEquals(65.0, changed.get(0).getMarks());
+        Assertions.assertTrue(feed.pollOnce().isEmpty());
+    }
+
+    @Test
+    void deliversEachDeletionOnce() throws SQLException {
+        write("R001", 50, 0);
+        write("R002", 60, 0);
+        feed.pollOnce();
+
+        execute("DELETE FROM students WHERE roll_number = 'R002'");
+        execute("INSERT INTO student_deletions (roll_number) VALUES ('R002')");
+        ChangeFeed.ChangeSet changes = feed.pollOnce();
+        Assertions.assertEquals(List.of("R002"), changes.getDeletedRollNumbers());
+        Assertions.assertTrue(changes.getChanged().isEmpty());
+
+        Assertions.assertTrue(feed.pollOnce().isEmpty());
+    }
+
+    private static Timestamp at(int seconds) {
+        return new Timestamp(T0.getTime() + seconds * 1000L);
+    }
+
+    private static void write(String rollNumber, double marks, int seconds) throws SQLException {
+        execute("INSERT INTO students (roll_number, name, email, phone, course, marks, updated_at)"
+                + " VALUES (?, ?, ?, '9876543210', 'Physics', ?, ?)",
+                rollNumber, "Student " + rollNumber, rollNumber.toLowerCase() + "@example.com", marks, at(seconds));
+    }
+
+    private static void update(String rollNumber, double marks, int seconds) throws SQLException {
+        execute("UPDATE students SET marks = ?, updated_at = ? WHERE roll_number = ?",
+                marks, at(seconds), rollNumber);
+    }
+
+    private static void execute(String sql, Object... params) throws SQLException {
+        try (Connection conn = DriverManager.getConnection(Fixtures.H2_URL, "sa", "");
+                PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) {
+                pstmt.setObject(i + 1, params[i]);
+            }
+            pstmt.executeUpdate();
+        }
+    }
+
+    private static List<String> rolls(List<Student> students) {
+        List<String> rolls = new ArrayList<>(students.size());
+        for (Student student : students) {
+            rolls.add(student.getRollNumber());
+        }
+        return rolls;
+    }
+}
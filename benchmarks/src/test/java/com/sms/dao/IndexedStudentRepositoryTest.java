@@ -0,0 +1,147 @@
+package com.sms.dao;
+
+import com.sms.bench.Fixtures;
+import com.sms.model.Student;
+import com.sms.util.DatabaseConnection;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * IndexedStudentRepositoryTest Class - Reads from the indexes, writes kept in
+ * every index, and other clients' changes delivered by ChangeFeed
+ */
+class IndexedStudentRepositoryTest {
+
+    private final InMemoryStudentRepository storage = new InMemoryStudentRepository();
+    private final IndexedStudentRepository repository = new IndexedStudentRepository(storage);
+
+    @Test
+    void readsStorageUntilLoaded() {
+        storage.addStudent(student("R001", "Physics", 70));
+
+        Assertions.assertFalse(repository.isLoaded());
+        Assertions.assertEquals(1, repository.countStudents());
+        Assertions.assertNotNull(repository.getStudentByRollNumber("r001"));
+
+        Assertions.assertEquals(1, repository.buildNameIndex());
+        Assertions.assertTrue(repository.isLoaded());
+        Assertions.assertEquals(1, repository.size());
+    }
+
+    @Test
+    void writesReachEveryIndex() {
+        repository.load();
+        Assertions.assertTrue(repository.addStudent(student("R001", "Physics", 70)));
+        Assertions.assertTrue(repository.addStudent(student("R002", "Physics", 40)));
+        Assertions.assertTrue(repository.addStudent(student("R003", "Chemistry", 90)));
+
+        // Moves R002 to another course and marks band, and renames it
+        Student moved = student("r002", "Chemistry", 95).setName("Meera Iyer");
+        Assertions.assertTrue(repository.updateStudent(moved));
+
+        Assertions.assertEquals(List.of("R001"), rolls(repository.getStudentsByCourse("physics")));
+        Assertions.assertEquals(List.of("R002", "R003"), rolls(repository.getStudentsByCourse("CHEMISTRY")));
+        Assertions.assertEquals(List.of("R003", "R002"), rolls(repository.getStudentsByMarksRange(80, 100)));
+        Assertions.assertTrue(repository.getStudentsByMarksRange(0, 50).isEmpty());
+        Assertions.assertEquals(List.of("R002"), rolls(repository.searchStudentsByName("meera")));
+        Assertions.assertEquals(3, repository.countStudents());
+
+        Assertions.assertTrue(repository.deleteStudent("R003"));
+        Assertions.assertNull(repository.getStudentByRollNumber("R003"));
+        Assertions.assertEquals(List.of("R002"), rolls(repository.getStudentsByCourse("Chemistry")));
+        Assertions.assertTrue(repository.getStudentsByMarksRange(90, 90).isEmpty());
+        Assertions.assertFalse(rolls(repository.searchStudentsByName("student r003")).contains("R003"));
+        Assertions.assertEquals(List.of("R001", "R002"), rolls(repository.getAllStudents()));
+    }
+
+    @Test
+    void rejectedWritesAreNotIndexed() {
+        repository.load();
+        Assertions.assertTrue(repository.addStudent(student("R001", "Physics", 70)));
+
+        Assertions.assertEquals(InsertOutcome.DUPLICATE_ROLL,
+                repository.insertStudent(student("R001", "Chemistry", 10)));
+        Assertions.assertFalse(repository.updateStudent(student("R404", "Physics", 10)));
+        Assertions.assertFalse(repository.deleteStudent("R404"));
+
+        Assertions.assertEquals(70.0, repository.getStudentByRollNumber("R001").getMarks());
+        Assertions.assertTrue(repository.getStudentsByCourse("Chemistry").isEmpty());
+        Assertions.assertEquals(1, repository.size());
+    }
+
+    @Test
+    void pagesInCaseInsensitiveRollOrder() {
+        for (String roll : new String[] { "b002", "A003", "a001", "B001" }) {
+            storage.addStudent(student(roll, "Physics", 50));
+        }
+        repository.load();
+
+        Assertions.assertEquals(List.of("a001", "A003"), rolls(repository.getStudentsPage("", 2)));
+        Assertions.assertEquals(List.of("B001", "b002"), repository.getRollNumbersAfter("a003", 10));
+        Assertions.assertEquals(List.of("A003", "B001"), rolls(repository.getStudentsInRollRange("a002", "b002")));
+    }
+
+    @Test
+    void appliesChangesTwiceSafely() {
+        repository.load();
+        repository.addStudent(student("R001", "Physics", 70));
+        repository.addStudent(student("R002", "Physics", 60));
+
+        for (int i = 0; i < 2; i++) {
+            repository.applyChanges(Collections.singletonList(student("R001", "Chemistry", 80)),
+                    Collections.singletonList("R002"));
+        }
+
+        Assertions.assertEquals(1, repository.size());
+        Assertions.assertEquals(List.of("R001"), rolls(repository.getStudentsByCourse("Chemistry")));
+        Assertions.assertTrue(repository.getStudentsByCourse("Physics").isEmpty());
+    }
+
+    @Test
+    void followsChangeFeed() throws Exception {
+        Fixtures.startDatabase();
+        try {
+            StudentDAO dao = new StudentDAO();
+            dao.addStudents(Fixtures.students("S", 20));
+            IndexedStudentRepository indexed = new IndexedStudentRepository(dao);
+            indexed.load();
+
+            ChangeFeed feed = new ChangeFeed(dao, 1_000, 5_000, 1_000);
+            feed.addListener(changes -> indexed.applyChanges(changes.getChanged(), changes.getDeletedRollNumbers()));
+            feed.pollOnce(); // primes the watermark
+
+            // Another client's write, straight to the table
+            try (Connection conn = DatabaseConnection.getConnection();
+                    Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate("UPDATE students SET marks = 99.5, course = 'Robotics' WHERE roll_number = 'S0000007'");
+            }
+            Thread.sleep(5); // updated_at must move past the primed watermark
+            feed.pollOnce();
+
+            Assertions.assertEquals(99.5, indexed.getStudentByRollNumber("S0000007").getMarks());
+            Assertions.assertEquals(List.of("S0000007"), rolls(indexed.getStudentsByCourse("robotics")));
+        } finally {
+            Fixtures.stopDatabase();
+        }
+    }
+
+    private static Student student(String rollNumber, String course, double marks) {
+        return new Student(rollNumber, "Student " + rollNumber, rollNumber.toLowerCase() + "@example.com",
+                "9876543210", course, marks);
+    }
+
+    private static List<String> rolls(List<Student> students) {
+        List<String> rolls = new ArrayList<>();
+        for (Student student : students) {
+            rolls.add(student.getRollNumber());
+        }
+        return rolls;
+    }
+}
@@ -0,0 +1,134 @@
+package com.sms.dao;
+
+import com.sms.bench.Fixtures;
+import com.sms.model.Student;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ShardedStudentRepositoryTest Class - Routing, merged fan-out reads and
+ * ranked name search over several shards (in memory, and on embedded H2
+ * databases through StudentDAO)
+ */
+class ShardedStudentRepositoryTest {
+
+    // Roll numbers starting with "a" live on shard 0, all others on shard 1
+    private static final ShardRule BY_LETTER = (rollKey, shardCount) -> rollKey.startsWith("a") ? 0 : 1;
+
+    private final List<InMemoryStudentRepository> shards = List.of(
+            new InMemoryStudentRepository(), new InMemoryStudentRepository());
+    private ShardedStudentRepository repository;
+
+    @AfterEach
+    void close() {
+        if (repository != null) {
+            repository.close();
+        }
+    }
+
+    @Test
+    void routesWritesByRule() {
+        repository = new ShardedStudentRepository(shards, BY_LETTER);
+        Assertions.assertTrue(repository.addStudent(student("A0000001", "Asha Rao")));
+        Assertions.assertTrue(repository.addStudent(student("Z0000001", "Zoya Khan")));
+
+        Assertions.assertEquals(0, repository.getShardIndex("a0000001"));
+        Assertions.assertNotNull(shards.get(0).getStudentByRollNumber("A0000001"));
+        Assertions.assertNull(shards.get(1).getStudentByRollNumber("A0000001"));
+        Assertions.assertNotNull(shards.get(1).getStudentByRollNumber("Z0000001"));
+
+        Assertions.assertTrue(repository.deleteStudent("Z0000001"));
+        Assertions.assertEquals(1, repository.countStudents());
+    }
+
+    @Test
+    void mergesFanOutReadsInRollOrder() {
+        repository = new ShardedStudentRepository(shards, BY_LETTER);
+        // Interleaved so every page needs rows from both shards
+        for (int i = 0; i < 10; i++) {
+            repository.addStudent(student(String.format("A%07d", i * 2), "Student " + i));
+            repository.addStudent(student(String.format("B%07d", i * 2 + 1), "Student " + i));
+            repository.addStudent(student(String.format("Z%07d", i), "Student " + i));
+        }
+
+        List<String> all = rolls(repository.getAllStudents());
+        Assertions.assertEquals(30, all.size());
+        List<String> sorted = new ArrayList<>(all);
+        sorted.sort(String.CASE_INSENSITIVE_ORDER);
+        Assertions.assertEquals(sorted, all);
+
+        Assertions.assertEquals(List.of("A0000018", "B0000001", "B0000003"),
+                rolls(repository.getStudentsPage("A0000016", 3)));
+        Assertions.assertEquals(List.of("B0000019", "Z0000000"), repository.getRollNumbersAfter("B0000017", 2));
+        Assertions.assertEquals(all, pageThrough(repository, 7));
+    }
+
+    @Test
+    void searchKeepsBestMatchesFromEveryShard() {
+        repository = new ShardedStudentRepository(shards, BY_LETTER);
+        // Shard 0: low roll numbers, only typo matches
+        for (int i = 0; i < 5; i++) {
+            repository.addStudent(student("A000000" + i, "Rajest Kumar" + i));
+        }
+        // Shard 1: high roll numbers, exact and prefix matches
+        repository.addStudent(student("Z0000001", "Rajesh"));
+        repository.addStudent(student("Z0000002", "Rajesh Kumar"));
+
+        List<String> found = rolls(repository.searchStudentsByName("rajesh", 2));
+        Assertions.assertEquals(List.of("Z0000001", "Z0000002"), found);
+
+        // With room for everything, results come back in roll number order
+        List<String> everything = rolls(repository.searchStudentsByName("rajesh", 10));
+        Assertions.assertEquals(7, everything.size());
+        Assertions.assertEquals("A0000000", everything.get(0));
+        Assertions.assertEquals("Z0000002", everything.get(6));
+    }
+
+    @Test
+    void mergesPagesFromJdbcShards() throws Exception {
+        repository = Fixtures.startShards(3, ShardRule.byHash());
+        List<Student> students = Fixtures.students("S", 200);
+        BatchInsertReport report = repository.addStudents(students);
+        Assertions.assertEquals(200, report.getInsertedCount());
+        Assertions.assertEquals(200, repository.countStudents());
+
+        List<String> expected = rolls(students);
+        Assertions.assertEquals(expected, pageThrough(repository, 30));
+        Assertions.assertEquals(expected.subList(0, 5), repository.getRollNumbersAfter("", 5));
+        Assertions.assertEquals("Student Name 123", repository.getStudentByRollNumber("S0000123").getName());
+
+        Assertions.assertTrue(repository.deleteStudent("S0000123"));
+        Assertions.assertNull(repository.getStudentByRollNumber("S0000123"));
+    }
+
+    private static List<String> pageThrough(StudentRepository repository, int pageSize) {
+        List<String> rolls = new ArrayList<>();
+        String after = "";
+        while (true) {
+            List<Student> page = repository.getStudentsPage(after, pageSize);
+            if (page.isEmpty()) {
+                return rolls;
+            }
+            rolls.addAll(rolls(page));
+            after = page.get(page.size() - 1).getRollNumber();
+        }
+    }
+
+    private static Student student(String rollNumber, String name) {
+        return new Student(rollNumber, name, rollNumber.toLowerCase() + "@example.com", "9876543210",
+                "Computer Science", 70);
+    }
+
+    private static List<String> rolls(List<Student> students) {
+        List<String> rolls = new ArrayList<>(students.size());
+        for (Student student : students) {
+            rolls.add(student.getRollNumber());
+        }
+        return rolls;
+    }
+}
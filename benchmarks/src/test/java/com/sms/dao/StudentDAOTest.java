@@ -0,0 +1,108 @@
+package com.sms.dao;
+
+import com.sms.bench.Fixtures;
+import com.sms.model.Student;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * StudentDAOTest Class - Insert and upsert outcomes of StudentDAO, on an
+ * embedded H2 database in MySQL mode
+ */
+class StudentDAOTest {
+
+    private StudentDAO dao;
+
+    @BeforeEach
+    void start() throws Exception {
+        Fixtures.startDatabase();
+        dao = new StudentDAO();
+    }
+
+    @AfterEach
+    void stop() {
+        Fixtures.stopDatabase();
+    }
+
+    @Test
+    void upsertInsertsAndUpdatesByRollNumber() {
+        Assertions.assertEquals(InsertOutcome.UPSERTED, dao.upsertStudent(student("R001", "r001@example.com", 60)));
+        Assertions.assertEquals(InsertOutcome.UPSERTED, dao.upsertStudent(student("R001", "r001@example.com", 75)));
+
+        Assertions.assertEquals(1, dao.countStudents());
+        Assertions.assertEquals(75.0, dao.getStudentByRollNumber("R001").getMarks());
+    }
+
+    @Test
+    void upsertLeavesAnotherStudentsEmailAlone() {
+        dao.addStudent(student("R001", "r001@example.com", 60));
+        dao.addStudent(student("R002", "r002@example.com", 70));
+
+        BatchInsertReport report = dao.upsertStudents(List.of(
+                student("R002", "r001@example.com", 99), // existing roll number, R001's email
+                student("R003", "r003@example.com", 80),
+                student("R004", "r002@example.com", 90))); // new roll number, R002's email
+
+        Assertions.assertEquals(InsertOutcome.DUPLICATE_EMAIL, report.getOutcome(0));
+        Assertions.assertEquals(InsertOutcome.UPSERTED, report.getOutcome(1));
+        Assertions.assertEquals(InsertOutcome.DUPLICATE_EMAIL, report.getOutcome(2));
+        Assertions.assertEquals(70.0, dao.getStudentByRollNumber("R002").getMarks());
+        Assertions.assertEquals("r002@example.com", dao.getStudentByRollNumber("R002").getEmail());
+        Assertions.assertEquals(60.0, dao.getStudentByRollNumber("R001").getMarks());
+        Assertions.assertNull(dao.getStudentByRollNumber("R004"));
+        Assertions.assertEquals(3, dao.countStudents());
+    }
+
+    @Test
+    void batchInsertReportsEachRowsOutcome() {
+        dao.addStudent(student("R001", "r001@example.com", 60));
+
+        // Chunks of 3, so stored and in-batch conflicts land in different chunks
+        BatchInsertReport report = dao.addStudents(List.of(
+                student("R002", "r002@example.com", 70),
+                student("r001", "new@example.com", 70), // stored roll number, other case
+                student("R003", "R001@example.com", 70), // stored email, other case
+                student("R002", "again@example.com", 70), // roll number earlier in the batch
+                student("R004", "r002@example.com", 70), // email earlier in the batch
+                student("R005", "r005@example.com", 150), // marks out of range
+                student("R006", "r006@example.com", 80)), 3);
+
+        Assertions.assertEquals(List.of(InsertOutcome.INSERTED, InsertOutcome.DUPLICATE_ROLL,
+                InsertOutcome.DUPLICATE_EMAIL, InsertOutcome.DUPLICATE_ROLL, InsertOutcome.DUPLICATE_EMAIL,
+                InsertOutcome.INVALID, InsertOutcome.INSERTED), outcomes(report));
+        Assertions.assertEquals(2, report.getInsertedCount());
+        Assertions.assertEquals(5, report.getRejected().size());
+        Assertions.assertEquals(3, dao.countStudents());
+        Assertions.assertNull(dao.getStudentByRollNumber("R003"));
+        Assertions.assertEquals("r002@example.com", dao.getStudentByRollNumber("R002").getEmail());
+    }
+
+    @Test
+    void singleInsertReportsWhichKeyIsTaken() {
+        Assertions.assertEquals(InsertOutcome.INSERTED, dao.insertStudent(student("R001", "r001@example.com", 60)));
+        Assertions.assertEquals(InsertOutcome.DUPLICATE_ROLL,
+                dao.insertStudent(student("R001", "other@example.com", 60)));
+        Assertions.assertEquals(InsertOutcome.DUPLICATE_EMAIL,
+                dao.insertStudent(student("R002", "r001@example.com", 60)));
+        Assertions.assertFalse(dao.addStudent(student("R002", "r001@example.com", 60)));
+        Assertions.assertEquals(1, dao.countStudents());
+    }
+
+    private static List<InsertOutcome> outcomes(BatchInsertReport report) {
+        List<InsertOutcome> outcomes = new ArrayList<>(report.size());
+        for (int i = 0; i < report.size(); i++) {
+            outcomes.add(report.getOutcome(i));
+        }
+        return outcomes;
+    }
+
+    private static Student student(String rollNumber, String email, double marks) {
+        return new Student(rollNumber, "Student " + rollNumber, email, "9876543210", "Physics", marks);
+    }
+}
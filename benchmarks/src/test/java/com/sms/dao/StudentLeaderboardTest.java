@@ -0,0 +1,93 @@
+package com.sms.dao;
+
+import com.sms.model.RankedStudent;
+import com.sms.model.Student;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * StudentLeaderboardTest Class - Competition ranks, overall and per course,
+ * as students are added, updated and removed
+ */
+class StudentLeaderboardTest {
+
+    private StudentLeaderboard leaderboard;
+
+    @BeforeEach
+    void load() {
+        InMemoryStudentRepository repository = new InMemoryStudentRepository();
+        repository.addStudent(student("R001", "Physics", 90));
+        repository.addStudent(student("R002", "Physics", 75));
+        repository.addStudent(student("R003", "Mathematics", 90));
+        repository.addStudent(student("R004", "Mathematics", 60));
+        leaderboard = new StudentLeaderboard(repository);
+        Assertions.assertEquals(4, leaderboard.load());
+    }
+
+    @Test
+    void equalMarksShareARank() {
+        Assertions.assertEquals(1, leaderboard.getRank("R001"));
+        Assertions.assertEquals(1, leaderboard.getRank("r003"));
+        Assertions.assertEquals(3, leaderboard.getRank("R002"));
+        Assertions.assertEquals(4, leaderboard.getRank("R004"));
+        Assertions.assertEquals(0, leaderboard.getRank("R999"));
+    }
+
+    @Test
+    void ranksWithinCourse() {
+        Assertions.assertEquals(2, leaderboard.getRankInCourse("R002"));
+        Assertions.assertEquals(1, leaderboard.getRankInCourse("R003"));
+        Assertions.assertEquals(List.of("R003", "R004"), rolls(leaderboard.getTopStudents("mathematics", 5)));
+        Assertions.assertTrue(leaderboard.getTopStudents("Chemistry", 5).isEmpty());
+    }
+
+    @Test
+    void topStudentsFollowWrites() {
+        Assertions.assertTrue(leaderboard.updateStudent(student("R004", "Mathematics", 95)));
+        Assertions.assertTrue(leaderboard.addStudent(student("R005", "Physics", 80)));
+        Assertions.assertTrue(leaderboard.deleteStudent("R001"));
+
+        List<RankedStudent> top = leaderboard.getTopStudents(3);
+        Assertions.assertEquals(List.of("R004", "R003", "R005"), rolls(top));
+        Assertions.assertEquals(List.of(1, 2, 3), ranks(top));
+        Assertions.assertEquals(0, leaderboard.getRank("R001"));
+        Assertions.assertEquals(4, leaderboard.size());
+    }
+
+    @Test
+    void appliesChangesMadeElsewhere() {
+        leaderboard.applyChanges(Collections.singletonList(student("R002", "Physics", 100)),
+                Collections.singletonList("R003"));
+
+        Assertions.assertEquals(1, leaderboard.getRank("R002"));
+        Assertions.assertEquals(0, leaderboard.getRank("R003"));
+        Assertions.assertEquals(1, leaderboard.getRankInCourse("R004"));
+    }
+
+    private static Student student(String rollNumber, String course, double marks) {
+        return new Student(rollNumber, "Student " + rollNumber, rollNumber.toLowerCase() + "@example.com",
+                "9876543210", course, marks);
+    }
+
+    private static List<String> rolls(List<RankedStudent> ranked) {
+        List<String> rolls = new ArrayList<>();
+        for (RankedStudent entry : ranked) {
+            rolls.add(entry.getStudent().getRollNumber());
+        }
+        return rolls;
+    }
+
+    private static List<Integer> ranks(List<RankedStudent> ranked) {
+        List<Integer> ranks = new ArrayList<>();
+        for (RankedStudent entry : ranked) {
+            ranks.add(entry.getRank());
+        }
+        return ranks;
+    }
+}
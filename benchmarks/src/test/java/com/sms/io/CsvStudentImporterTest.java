@@ -0,0 +1,129 @@
+package com.sms.io;
+
+import com.sms.bench.Fixtures;
+import com.sms.dao.DataAccessException;
+import com.sms.dao.InMemoryStudentRepository;
+import com.sms.model.Student;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CsvStudentImporterTest Class - Checkpoint and resume after a failed batch,
+ * and rows already stored by an earlier run
+ */
+class CsvStudentImporterTest {
+
+    private static final int ROWS = 9;
+    private static final int BATCH_SIZE = 3;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void resumesAfterLastCommittedBatch() throws IOException {
+        Path csv = writeCsv(Fixtures.students("S", ROWS));
+        CountingRepository repository = new CountingRepository();
+        // Row 4 (line 5) is already stored, so the second batch needs a duplicate lookup
+        repository.addStudent(Fixtures.student("S", 3));
+        repository.failLookups = true;
+
+        Assertions.assertThrows(IOException.class, () -> importer(csv, repository).run());
+        Assertions.assertEquals("4", readString(checkpoint(csv)));
+
+        repository.failLookups = false;
+        CsvStudentImporter.ImportSummary summary = importer(csv, repository).run();
+
+        // Lines 5-7 were written before the failure, so the rerun finds them stored
+        Assertions.assertEquals(6, summary.getRowsRead());
+        Assertions.assertEquals(3, summary.getInserted());
+        Assertions.assertEquals(3, summary.getAlreadyPresent());
+        Assertions.assertEquals(0, summary.getRejected());
+        Assertions.assertEquals(ROWS, repository.countStudents());
+        Assertions.assertFalse(Files.exists(checkpoint(csv)));
+    }
+
+    @Test
+    void duplicatesAreLookedUpOncePerBatch() throws IOException {
+        List<Student> students = Fixtures.students("S", ROWS);
+        CountingRepository repository = new CountingRepository();
+        importer(writeCsv(students), repository).run();
+
+        Student changed = students.get(4);
+        students.set(4, new Student(changed.getRollNumber(), changed.getName(), changed.getEmail(),
+                changed.getPhone(), changed.getCourse(), 100));
+        Path csv = writeCsv(students);
+        CsvStudentImporter.ImportSummary summary = importer(csv, repository).run();
+
+        Assertions.assertEquals(ROWS - 1, summary.getAlreadyPresent());
+        Assertions.assertEquals(1, summary.getRejected());
+        Assertions.assertEquals(ROWS / BATCH_SIZE, repository.batchedLookups);
+        Assertions.assertEquals(0, repository.singleLookups);
+
+        List<String> rejects = Files.readAllLines(directory.resolve("students.csv.rejects.csv"));
+        Assertions.assertEquals(1, rejects.size());
+        Assertions.assertTrue(rejects.get(0).startsWith("6,DUPLICATE_ROLL,\"S0000004,"), rejects.get(0));
+    }
+
+    private CsvStudentImporter importer(Path csv, CountingRepository repository) {
+        return new CsvStudentImporter(csv, repository, BATCH_SIZE, 1);
+    }
+
+    private Path writeCsv(List<Student> students) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("roll_number,name,email,phone,course,marks");
+        for (Student s : students) {
+            lines.add(String.join(",", s.getRollNumber(), s.getName(), s.getEmail(), s.getPhone(),
+                    s.getCourse(), Double.toString(s.getMarks())));
+        }
+        return Files.write(directory.resolve("students.csv"), lines, StandardCharsets.UTF_8);
+    }
+
+    private static Path checkpoint(Path csv) {
+        return csv.resolveSibling(csv.getFileName() + ".checkpoint");
+    }
+
+    private static String readString(Path file) throws IOException {
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8).trim();
+    }
+
+    /**
+     * Counts duplicate lookups, and can fail the batched one like a lost database
+     */
+    private static final class CountingRepository extends InMemoryStudentRepository {
+        volatile boolean failLookups;
+        int singleLookups;
+        int batchedLookups;
+
+        @Override
+        public Student getStudentByRollNumber(String rollNumber) {
+            singleLookups++;
+            return super.getStudentByRollNumber(rollNumber);
+        }
+
+        @Override
+        public List<Student> getStudentsByRollNumbers(List<String> rollNumbers) {
+            if (failLookups) {
+                throw new DataAccessException("Lookup failed", new SQLException("Connection lost"));
+            }
+            batchedLookups++;
+            List<Student> students = new ArrayList<>();
+            for (String rollNumber : rollNumbers) {
+                Student student = super.getStudentByRollNumber(rollNumber);
+                if (student != null) {
+                    students.add(student);
+                }
+            }
+            return students;
+        }
+    }
+}
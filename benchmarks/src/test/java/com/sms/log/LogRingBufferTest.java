@@ -0,0 +1,112 @@
+package com.sms.log;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * LogRingBufferTest Class - Claiming, publishing and releasing slots as the
+ * sequence wraps around the ring, with one and with several producers
+ */
+class LogRingBufferTest {
+
+    @Test
+    void roundsCapacityUpToAPowerOfTwo() {
+        Assertions.assertEquals(8, new LogRingBuffer(5).capacity());
+        Assertions.assertEquals(8, new LogRingBuffer(8).capacity());
+        Assertions.assertEquals(4, new LogRingBuffer(4).capacity());
+        Assertions.assertEquals(4, new LogRingBuffer(1).capacity());
+    }
+
+    @Test
+    void refusesClaimsUntilTheWriterReleases() {
+        LogRingBuffer ring = new LogRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            Assertions.assertEquals(i, ring.tryClaim());
+        }
+        Assertions.assertEquals(-1, ring.tryClaim());
+
+        ring.release(1);
+        Assertions.assertEquals(4, ring.tryClaim());
+        Assertions.assertEquals(-1, ring.tryClaim());
+        // Sequence 4 reuses slot 0
+        Assertions.assertSame(ring.slot(0), ring.slot(4));
+    }
+
+    @Test
+    void staleSlotIsNotPolledAfterWrapAround() {
+        LogRingBuffer ring = new LogRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            publish(ring, ring.tryClaim(), "event " + i);
+        }
+        Assertions.assertEquals("event 0", ring.poll(0).pattern);
+        ring.release(1);
+
+        long wrapped = ring.tryClaim();
+        Assertions.assertEquals(4, wrapped);
+        // Claimed but not yet published: the slot still holds sequence 0
+        Assertions.assertNull(ring.poll(4));
+        publish(ring, wrapped, "event 4");
+        Assertions.assertEquals("event 4", ring.poll(4).pattern);
+        Assertions.assertNull(ring.poll(0));
+        Assertions.assertEquals("event 1", ring.poll(1).pattern);
+    }
+
+    @Test
+    void deliversEveryEventInOrderAcrossManyWraps() throws Exception {
+        LogRingBuffer ring = new LogRingBuffer(16);
+        int producers = 4;
+        int perProducer = 20_000;
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        List<Future<?>> done = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            done.add(pool.submit(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    long sequence;
+                    // Parks like Log does, so a full ring cannot starve the thread holding a claim
+                    while ((sequence = ring.tryClaim()) < 0) {
+                        LockSupport.parkNanos(50_000);
+                    }
+                    publish(ring, sequence, producer + ":" + i);
+                }
+            }));
+        }
+
+        // Single consumer, as the writer thread
+        int[] nextPerProducer = new int[producers];
+        long sequence = 0;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (sequence < (long) producers * perProducer) {
+            LogEvent event = ring.poll(sequence);
+            if (event == null) {
+                Assertions.assertTrue(System.nanoTime() < deadline, "Stalled at sequence " + sequence);
+                LockSupport.parkNanos(50_000);
+                continue;
+            }
+            String[] parts = event.pattern.split(":");
+            int producer = Integer.parseInt(parts[0]);
+            Assertions.assertEquals(nextPerProducer[producer]++, Integer.parseInt(parts[1]));
+            sequence++;
+            ring.release(sequence);
+        }
+        for (Future<?> future : done) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+        Assertions.assertEquals(sequence, ring.claimed());
+        Assertions.assertNull(ring.poll(sequence));
+    }
+
+    private static void publish(LogRingBuffer ring, long sequence, String message) {
+        ring.slot(sequence).pattern = message;
+        ring.publish(sequence);
+    }
+}
@@ -0,0 +1,124 @@
+package com.sms.search;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * NameSearchIndexTest Class - Ranking, prefix and typo-tolerant matches,
+ * and replacing or removing names, of the trigram name index
+ */
+class NameSearchIndexTest {
+
+    @Test
+    void ranksExactThenPrefixThenWordPrefixThenSubstring() {
+        NameSearchIndex index = new NameSearchIndex();
+        index.put("R004", "Anand Kumar");
+        index.put("R003", "Kumar Singh");
+        index.put("R002", "Kumaresh Rao");
+        index.put("R001", "Kumar");
+        index.put("R005", "Arun Prakumar");
+
+        List<NameSearchIndex.Match> matches = index.search("KUMAR", 10);
+        Assertions.assertEquals(List.of("R001", "R003", "R002", "R004", "R005"), rolls(matches));
+        Assertions.assertEquals(NameSearchIndex.MatchKind.EXACT, matches.get(0).getKind());
+        Assertions.assertEquals(NameSearchIndex.MatchKind.PREFIX, matches.get(1).getKind());
+        Assertions.assertEquals(NameSearchIndex.MatchKind.WORD_PREFIX, matches.get(3).getKind());
+        Assertions.assertEquals(NameSearchIndex.MatchKind.SUBSTRING, matches.get(4).getKind());
+
+        Assertions.assertEquals(List.of("R001", "R003"), index.searchRollNumbers("kumar", 2));
+    }
+
+    @Test
+    void shortQueriesMatchWordStartsOnly() {
+        NameSearchIndex index = new NameSearchIndex();
+        index.put("R001", "Priya Sharma");
+        index.put("R002", "Shreya Patel");
+        index.put("R003", "Ashok Mehta");
+
+        Assertions.assertEquals(List.of("R002", "R001"), index.searchRollNumbers("sh", 10));
+        Assertions.assertEquals(List.of("R003"), index.searchRollNumbers("a", 10));
+        Assertions.assertTrue(index.search("", 10).isEmpty());
+    }
+
+    @Test
+    void toleratesTyposWhenExactMatchesRunShort() {
+        NameSearchIndex index = new NameSearchIndex();
+        index.put("R001", "Rajesh Kumar");
+        index.put("R002", "Rakesh Verma");
+        index.put("R003", "Suresh Gupta");
+
+        List<NameSearchIndex.Match> matches = index.search("rajest", 10);
+        Assertions.assertEquals("R001", matches.get(0).getRollNumber());
+        Assertions.assertEquals(NameSearchIndex.MatchKind.FUZZY, matches.get(0).getKind());
+        Assertions.assertEquals(1, matches.get(0).getDistance());
+        Assertions.assertFalse(rolls(matches).contains("R003"));
+
+        // Enough exact matches: no typo search
+        Assertions.assertEquals(List.of("R001"), index.searchRollNumbers("rajesh", 1));
+    }
+
+    @Test
+    void replacedAndRemovedNamesAreNotFound() {
+        NameSearchIndex index = new NameSearchIndex();
+        index.put("R001", "Meera Iyer");
+        index.put("R002", "Meena Iyer");
+        index.put("r001", "Kavya Nair");
+        index.remove("R002");
+        index.remove("R404");
+
+        Assertions.assertEquals(1, index.size());
+        Assertions.assertTrue(index.searchRollNumbers("iyer", 10).isEmpty());
+        Assertions.assertEquals(List.of("r001"), index.searchRollNumbers("kavya", 10));
+    }
+
+    @Test
+    void rebuildsAfterManyRemovals() {
+        NameSearchIndex index = new NameSearchIndex();
+        for (int i = 0; i < 3_000; i++) {
+            index.put(String.format("S%07d", i), "Student Name " + i);
+        }
+        for (int i = 0; i < 3_000; i++) {
+            if (i % 100 != 0) {
+                index.remove(String.format("S%07d", i));
+            }
+        }
+
+        Assertions.assertEquals(30, index.size());
+        Assertions.assertEquals(30, index.search("student", 100).size());
+        Assertions.assertEquals("S0001200", index.searchRollNumbers("name 1200", 10).get(0));
+        // Removed names are gone; only close misspellings of live ones remain
+        for (NameSearchIndex.Match match : index.search("name 1201", 100)) {
+            Assertions.assertEquals(NameSearchIndex.MatchKind.FUZZY, match.getKind());
+            Assertions.assertTrue(match.getRollNumber().endsWith("00"), match.toString());
+        }
+    }
+
+    @Test
+    void matchRankAgreesWithSearchOrder() {
+        Assertions.assertTrue(NameSearchIndex.matchRank("kumar", "Kumar")
+                < NameSearchIndex.matchRank("kumar", "Kumar Singh"));
+        Assertions.assertTrue(NameSearchIndex.matchRank("kumar", "Anand Kumar")
+                < NameSearchIndex.matchRank("kumar", "Prakumar"));
+        Assertions.assertTrue(NameSearchIndex.matchRank("kumar", "Prakumar")
+                < NameSearchIndex.matchRank("kumar", "Kumra"));
+    }
+
+    @Test
+    void substringEditDistanceMatchesAnywhereInText() {
+        Assertions.assertEquals(0, NameSearchIndex.substringEditDistance("esh", "rajesh kumar", 2));
+        Assertions.assertEquals(1, NameSearchIndex.substringEditDistance("rajest", "rajesh kumar", 2));
+        Assertions.assertEquals(2, NameSearchIndex.substringEditDistance("rjaesh", "rajesh", 2));
+        Assertions.assertTrue(NameSearchIndex.substringEditDistance("zzzzzz", "rajesh", 2) > 2);
+    }
+
+    private static List<String> rolls(List<NameSearchIndex.Match> matches) {
+        List<String> rolls = new ArrayList<>();
+        for (NameSearchIndex.Match match : matches) {
+            rolls.add(match.getRollNumber());
+        }
+        return rolls;
+    }
+}
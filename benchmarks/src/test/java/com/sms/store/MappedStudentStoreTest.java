@@ -0,0 +1,219 @@
+package com.sms.store;
+
+import com.sms.model.Student;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MappedStudentStoreTest Class - Reopening, crash recovery, compaction and
+ * concurrent writers of the memory-mapped student store
+ */
+class MappedStudentStoreTest {
+
+    private static final int SEGMENT_SIZE = 64 * 1024;
+
+    @TempDir
+    Path directory;
+
+    // No automatic checkpoints or compaction, sync() forces the log itself
+    private MappedStudentStore open() throws IOException {
+        return new MappedStudentStore(directory, SEGMENT_SIZE, 1_000_000, Long.MAX_VALUE, 0);
+    }
+
+    @Test
+    void reopensWithEveryWrite() throws IOException {
+        try (MappedStudentStore store = open()) {
+            for (int i = 0; i < 500; i++) {
+                store.put(student(i, 50));
+            }
+            store.put(student(7, 99));
+            store.delete("S0000003");
+        }
+
+        try (MappedStudentStore store = open()) {
+            Assertions.assertEquals(499, store.size());
+            Assertions.assertEquals(99.0, store.get("s0000007").getMarks());
+            Assertions.assertNull(store.get("S0000003"));
+            Assertions.assertEquals("s0000010", store.getEmailOwner("S10@EXAMPLE.COM"));
+            Assertions.assertEquals(List.of("S0000004", "S0000005"), store.getRollNumbersAfter("S0000002", 2));
+        }
+    }
+
+    @Test
+    void recoveryStopsAtCorruptRecord() throws IOException {
+        MappedStudentStore crashed = open();
+        crashed.put(student(1, 10));
+        long secondEnd = crashed.put(student(2, 20));
+        crashed.sync(crashed.put(student(3, 30)));
+
+        // Flip a byte inside the third record (after its length and CRC), as a torn write would
+        try (FileChannel data = FileChannel.open(directory.resolve("students.dat"), StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            ByteBuffer b = ByteBuffer.allocate(1);
+            data.read(b, secondEnd + 12);
+            b.put(0, (byte) (b.get(0) ^ 0x5A));
+            b.rewind();
+            data.write(b, secondEnd + 12);
+        }
+
+        // Reopened without close(): no checkpoint covers the log, so it is replayed
+        try (MappedStudentStore store = open()) {
+            Assertions.assertEquals(2, store.size());
+            Assertions.assertNotNull(store.get("S0000001"));
+            Assertions.assertEquals(20.0, store.get("S0000002").getMarks());
+            Assertions.assertNull(store.get("S0000003"));
+
+            // The torn record was wiped, so later writes are not lost behind it
+            store.put(student(4, 40));
+        }
+        try (MappedStudentStore store = open()) {
+            Assertions.assertEquals(3, store.size());
+            Assertions.assertEquals(40.0, store.get("S0000004").getMarks());
+        }
+    }
+
+    @Test
+    void ignoresIndexFromAnotherLogGeneration() throws IOException {
+        try (MappedStudentStore store = open()) {
+            store.put(student(1, 10));
+        }
+        Path index = directory.resolve("students.idx");
+        Path saved = directory.resolve("saved.idx");
+        Files.copy(index, saved);
+
+        try (MappedStudentStore store = open()) {
+            store.put(student(2, 20));
+            store.compact();
+        }
+        Files.copy(saved, index, StandardCopyOption.REPLACE_EXISTING);
+
+        try (MappedStudentStore store = open()) {
+            Assertions.assertEquals(2, store.size());
+            Assertions.assertNotNull(store.get("S0000002"));
+        }
+    }
+
+    @Test
+    void compactionKeepsOnlyLiveRecords() throws IOException {
+        try (MappedStudentStore store = open()) {
+            for (int round = 0; round < 5; round++) {
+                for (int i = 0; i < 200; i++) {
+                    store.put(student(i, round));
+                }
+            }
+            for (int i = 100; i < 200; i++) {
+                store.delete(roll(i));
+            }
+            long before = store.getLogBytes();
+            Assertions.assertTrue(store.getDeadBytes() > 0);
+
+            store.compact();
+
+            Assertions.assertEquals(0, store.getDeadBytes());
+            Assertions.assertTrue(store.getLogBytes() < before / 4);
+            Assertions.assertEquals(100, store.size());
+            Assertions.assertEquals(4.0, store.get(roll(42)).getMarks());
+        }
+
+        try (MappedStudentStore store = open()) {
+            Assertions.assertEquals(100, store.size());
+            List<String> expected = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                expected.add(roll(i));
+            }
+            Assertions.assertEquals(expected, store.getRollNumbersAfter("", 1000));
+            Assertions.assertNull(store.get(roll(150)));
+        }
+    }
+
+    @Test
+    void compactionFailingToWriteIndexKeepsStoreUsable() throws IOException {
+        try (MappedStudentStore store = open()) {
+            for (int round = 0; round < 3; round++) {
+                for (int i = 0; i < 100; i++) {
+                    store.put(student(i, round));
+                }
+            }
+            // A directory where the index is written first makes the rewrite fail
+            Path blocked = Files.createDirectory(directory.resolve("students.idx.tmp"));
+            store.compact();
+
+            Assertions.assertEquals(0, store.getDeadBytes());
+            Assertions.assertEquals(2.0, store.get(roll(42)).getMarks());
+            Assertions.assertEquals("s0000042", store.getEmailOwner("s42@example.com"));
+            store.put(student(100, 9));
+            store.delete(roll(0));
+            Assertions.assertEquals(List.of(roll(1), roll(2)), store.getRollNumbersAfter("", 2));
+
+            Files.delete(blocked);
+        }
+
+        try (MappedStudentStore store = open()) {
+            Assertions.assertEquals(100, store.size());
+            Assertions.assertEquals(2.0, store.get(roll(42)).getMarks());
+            Assertions.assertEquals(9.0, store.get(roll(100)).getMarks());
+            Assertions.assertNull(store.get(roll(0)));
+        }
+    }
+
+    @Test
+    void syncDoesNotDeadlockWithCompaction() throws Exception {
+        // Every write past 8 KB of garbage compacts inside put(), while other threads sync.
+        // Not closed on failure: close() would wait for the write lock of a deadlocked thread.
+        MappedStudentStore store = new MappedStudentStore(directory, SEGMENT_SIZE, 1_000_000, 8 * 1024, 0);
+        ExecutorService writers = Executors.newFixedThreadPool(4, r -> {
+            Thread t = new Thread(r);
+            t.setDaemon(true);
+            return t;
+        });
+        List<Future<?>> done = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int thread = t;
+            done.add(writers.submit(() -> {
+                for (int i = 0; i < 2_000; i++) {
+                    store.sync(store.put(student(thread * 10 + i % 10, i)));
+                    if (i % 50 == 0) {
+                        store.compact();
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : done) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        writers.shutdown();
+
+        Assertions.assertEquals(40, store.size());
+        Assertions.assertEquals(1999.0, store.get(roll(39)).getMarks());
+        store.close();
+
+        try (MappedStudentStore reopened = open()) {
+            Assertions.assertEquals(40, reopened.size());
+        }
+    }
+
+    private static String roll(int i) {
+        return String.format("S%07d", i);
+    }
+
+    private static Student student(int i, double marks) {
+        return new Student(roll(i), "Student " + i, "s" + i + "@example.com", "9876543210", "Physics", marks);
+    }
+}
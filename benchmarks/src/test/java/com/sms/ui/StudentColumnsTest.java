@@ -0,0 +1,103 @@
+package com.sms.ui;
+
+import com.sms.model.Student;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * StudentColumnsTest Class - Column storage checked against a List of
+ * Students through random inserts, overwrites and removes
+ */
+class StudentColumnsTest {
+
+    private static final String[] COURSES = { "Physics", "Mathematics", "Civil", null };
+    private static final String[] NAMES = { "Asha Rao", "Zoë Müller", "李雷", "", null };
+
+    @Test
+    void matchesListUnderRandomEdits() {
+        Random random = new Random(7);
+        StudentColumns columns = new StudentColumns();
+        List<Student> expected = new ArrayList<>();
+
+        for (int step = 0; step < 20_000; step++) {
+            int op = random.nextInt(4);
+            if (op == 0 && !expected.isEmpty()) {
+                int index = random.nextInt(expected.size());
+                columns.remove(index);
+                expected.remove(index);
+            } else if (op == 1 && !expected.isEmpty()) {
+                int index = random.nextInt(expected.size());
+                Student student = student(random, step);
+                columns.set(index, student);
+                expected.set(index, student);
+            } else {
+                int index = random.nextInt(expected.size() + 1);
+                Student student = student(random, step);
+                columns.insert(index, student);
+                expected.add(index, student);
+            }
+        }
+
+        Assertions.assertEquals(expected.size(), columns.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSameStudent(expected.get(i), columns.get(i));
+        }
+    }
+
+    @Test
+    void coursesShareDictionaryIds() {
+        StudentColumns columns = new StudentColumns(List.of(
+                new Student("R001", "A", "a@x.com", "9876543210", "Physics", 10),
+                new Student("R002", "B", "b@x.com", "9876543210", "Civil", 20),
+                new Student("R003", "C", "c@x.com", "9876543210", "Physics", 30)));
+
+        Assertions.assertEquals(2, columns.getCourseCount());
+        Assertions.assertEquals(columns.getCourseId(0), columns.getCourseId(2));
+        Assertions.assertEquals("Civil", columns.getCourseById(columns.getCourseId(1)));
+
+        columns.replaceAll(List.of(new Student("R004", "D", "d@x.com", "9876543210", "Chemistry", 40)));
+        Assertions.assertEquals(1, columns.size());
+        Assertions.assertEquals(1, columns.getCourseCount());
+        Assertions.assertEquals("Chemistry", columns.getCourse(0));
+    }
+
+    @Test
+    void rejectsIndexesOutOfRange() {
+        StudentColumns columns = new StudentColumns();
+        Student student = new Student("R001", "A", "a@x.com", "9876543210", "Physics", 10);
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> columns.insert(1, student));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> columns.set(0, student));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> columns.get(0));
+        columns.append(student);
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> columns.remove(1));
+    }
+
+    private static Student student(Random random, int step) {
+        String name = NAMES[random.nextInt(NAMES.length)];
+        Student student = new Student("R" + step, name == null || name.isEmpty() ? name : name + step,
+                "s" + step + "@example.com", "98765" + (10_000 + random.nextInt(90_000)),
+                COURSES[random.nextInt(COURSES.length)], random.nextInt(10_001) / 100.0);
+        if (random.nextBoolean()) {
+            student.setCreatedAt(new Timestamp(1_700_000_000_000L + step));
+            student.setUpdatedAt(new Timestamp(1_700_000_000_000L + step * 2L));
+        }
+        return student;
+    }
+
+    private static void assertSameStudent(Student expected, Student actual) {
+        Assertions.assertEquals(expected.getRollNumber(), actual.getRollNumber());
+        Assertions.assertEquals(expected.getName(), actual.getName());
+        Assertions.assertEquals(expected.getEmail(), actual.getEmail());
+        Assertions.assertEquals(expected.getPhone(), actual.getPhone());
+        Assertions.assertEquals(expected.getCourse(), actual.getCourse());
+        Assertions.assertEquals(expected.getMarks(), actual.getMarks());
+        Assertions.assertEquals(expected.getCreatedAt(), actual.getCreatedAt());
+        Assertions.assertEquals(expected.getUpdatedAt(), actual.getUpdatedAt());
+    }
+}
@@ -0,0 +1,148 @@
+package com.sms.ui;
+
+import com.sms.dao.InMemoryStudentRepository;
+import com.sms.model.Student;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.JTable;
+import javax.swing.RowSorter;
+import javax.swing.SortOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * StudentRowSorterTest Class - Rank-based sorting of the student table, and
+ * single-row changes applied without a full re-sort
+ */
+class StudentRowSorterTest {
+
+    private static final String[] COURSES = { "Physics", "mathematics", "Chemistry", "Économie" };
+
+    private final Random random = new Random(7);
+    private StudentTableModel model;
+    private StudentRowSorter sorter;
+    private int sorterEvents;
+
+    @BeforeEach
+    void load() {
+        model = new StudentTableModel(new InMemoryStudentRepository());
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            students.add(randomStudent(i));
+        }
+        model.showStudents(students);
+
+        // The JTable forwards model events to the sorter, as in StudentFrame
+        JTable table = new JTable(model);
+        sorter = new StudentRowSorter(model);
+        table.setRowSorter(sorter);
+        sorter.addRowSorterListener(e -> sorterEvents++);
+    }
+
+    @Test
+    void sortsByEveryKeyInTurn() {
+        sorter.setSortKeys(List.of(new RowSorter.SortKey(StudentTableModel.MARKS_COLUMN, SortOrder.DESCENDING),
+                new RowSorter.SortKey(StudentTableModel.NAME_COLUMN, SortOrder.ASCENDING)));
+
+        for (int view = 1; view < model.getRowCount(); view++) {
+            Student before = model.getStudentAt(sorter.convertRowIndexToModel(view - 1));
+            Student after = model.getStudentAt(sorter.convertRowIndexToModel(view));
+            Assertions.assertTrue(before.getMarks() >= after.getMarks());
+            if (before.getMarks() == after.getMarks()) {
+                Assertions.assertTrue(before.getName().compareToIgnoreCase(after.getName()) <= 0);
+            }
+        }
+    }
+
+    @Test
+    void naturalOrderForRollNumbers() {
+        model.showStudents(List.of(student("CS10", 1), student("CS2", 2), student("cs1", 3)));
+        sorter.setSortKeys(List.of(new RowSorter.SortKey(StudentTableModel.ROLL_NUMBER_COLUMN, SortOrder.ASCENDING)));
+
+        Assertions.assertEquals(List.of("cs1", "CS2", "CS10"), viewRolls());
+    }
+
+    @Test
+    void singleRowChangesKeepTheFullSortOrder() {
+        sorter.setSortKeys(List.of(new RowSorter.SortKey(StudentTableModel.MARKS_COLUMN, SortOrder.DESCENDING),
+                new RowSorter.SortKey(StudentTableModel.NAME_COLUMN, SortOrder.ASCENDING)));
+
+        for (int step = 0; step < 300; step++) {
+            int row = random.nextInt(model.getRowCount());
+            String rollNumber = model.getStudentAt(row).getRollNumber();
+            switch (random.nextInt(3)) {
+                case 0:
+                    Student changed = randomStudent(0);
+                    changed.setRollNumber(rollNumber);
+                    model.applyUpdate(changed);
+                    break;
+                case 1:
+                    model.applyInsert(randomStudent(1000 + step));
+                    break;
+                default:
+                    model.applyDelete(rollNumber);
+                    break;
+            }
+            assertMatchesFullSort();
+        }
+    }
+
+    @Test
+    void updateToAnUnsortedColumnDoesNotReorder() {
+        sorter.setSortKeys(List.of(new RowSorter.SortKey(StudentTableModel.MARKS_COLUMN, SortOrder.ASCENDING)));
+        List<String> before = viewRolls();
+        sorterEvents = 0;
+
+        sorter.rowsUpdated(5, 5, StudentTableModel.PHONE_COLUMN);
+
+        Assertions.assertEquals(0, sorterEvents);
+        Assertions.assertEquals(before, viewRolls());
+    }
+
+    @Test
+    void pagedModeIgnoresPageArrivals() {
+        sorter.setSortKeys(List.of(new RowSorter.SortKey(StudentTableModel.MARKS_COLUMN, SortOrder.ASCENDING)));
+        model.showAllStudents();
+        sorterEvents = 0;
+
+        sorter.rowsUpdated(0, 0);
+        sorter.rowsInserted(0, 0);
+
+        Assertions.assertEquals(0, sorterEvents);
+    }
+
+    // A fresh sorter with the same keys sorts everything from scratch
+    private void assertMatchesFullSort() {
+        StudentRowSorter fresh = new StudentRowSorter(model);
+        fresh.setSortKeys(sorter.getSortKeys());
+        Assertions.assertEquals(model.getRowCount(), sorter.getViewRowCount());
+        for (int view = 0; view < model.getRowCount(); view++) {
+            Assertions.assertEquals(fresh.convertRowIndexToModel(view), sorter.convertRowIndexToModel(view));
+            Assertions.assertEquals(view, sorter.convertRowIndexToView(sorter.convertRowIndexToModel(view)));
+        }
+    }
+
+    private List<String> viewRolls() {
+        List<String> rolls = new ArrayList<>();
+        for (int view = 0; view < sorter.getViewRowCount(); view++) {
+            rolls.add(model.getStudentAt(sorter.convertRowIndexToModel(view)).getRollNumber());
+        }
+        return rolls;
+    }
+
+    private Student randomStudent(int i) {
+        Student student = student(String.format("S%05d", i), random.nextInt(20) * 5);
+        student.setName("Name " + (char) ('a' + random.nextInt(26)) + random.nextInt(10));
+        student.setCourse(COURSES[random.nextInt(COURSES.length)]);
+        return student;
+    }
+
+    private static Student student(String rollNumber, double marks) {
+        return new Student(rollNumber, "Student " + rollNumber, rollNumber.toLowerCase() + "@example.com",
+                "9876543210", "Physics", marks);
+    }
+}
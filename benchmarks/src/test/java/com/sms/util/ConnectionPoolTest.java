@@ -0,0 +1,156 @@
+package com.sms.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ConnectionPoolTest Class - Borrowing, waiting and slot accounting of
+ * ConnectionPool, against an embedded H2 database
+ */
+class ConnectionPoolTest {
+
+    private static final String URL = "jdbc:h2:mem:sms_pool_test;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    private ConnectionPool pool;
+
+    @AfterEach
+    void closePool() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    private ConnectionPool newPool(int maxSize, long acquireTimeoutMs, long maxLifetimeMs) {
+        pool = new ConnectionPool(URL, "sa", "", new ConnectionPool.Config()
+                .maxSize(maxSize)
+                .minIdle(0)
+                .acquireTimeoutMs(acquireTimeoutMs)
+                .maxLifetimeMs(maxLifetimeMs)
+                .housekeepingPeriodMs(60_000));
+        return pool;
+    }
+
+    @Test
+    void reusesReturnedConnection() throws Exception {
+        newPool(2, 1000, 0);
+        try (Connection conn = pool.getConnection()) {
+            Assertions.assertTrue(conn.isValid(1));
+        }
+        try (Connection conn = pool.getConnection()) {
+            Assertions.assertEquals(1, pool.getStats().getTotal());
+            Assertions.assertEquals(1, pool.getStats().getActive());
+        }
+        Assertions.assertEquals(1, pool.getStats().getIdle());
+    }
+
+    @Test
+    void statsDoNotChangeAfterTheSnapshot() throws Exception {
+        newPool(1, 1000, 0);
+        try (Connection conn = pool.getConnection()) {
+            Assertions.assertTrue(conn.isValid(1));
+        }
+        ConnectionPool.Stats before = pool.getStats();
+        Assertions.assertEquals(1, before.getAcquireTimes().getCount());
+
+        try (Connection conn = pool.getConnection()) {
+            Assertions.assertEquals(2, pool.getStats().getAcquireTimes().getCount());
+        }
+        Assertions.assertEquals(1, before.getAcquireTimes().getCount());
+        Assertions.assertEquals(1, before.getIdle());
+    }
+
+    @Test
+    void timesOutWhenExhausted() throws Exception {
+        newPool(1, 200, 0);
+        try (Connection held = pool.getConnection()) {
+            long start = System.nanoTime();
+            Assertions.assertThrows(SQLTransientConnectionException.class, pool::getConnection);
+            Assertions.assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(150));
+            Assertions.assertEquals(0, pool.getStats().getWaiting());
+        }
+    }
+
+    @Test
+    void waiterIsServedWhenConnectionIsReturned() throws Exception {
+        newPool(1, 5000, 0);
+        Connection held = pool.getConnection();
+        CompletableFuture<Boolean> waiter = borrowInBackground();
+
+        awaitWaiting(1);
+        Assertions.assertFalse(waiter.isDone());
+        held.close();
+
+        Assertions.assertTrue(waiter.get(2, TimeUnit.SECONDS));
+        Assertions.assertEquals(0, pool.getStats().getWaiting());
+    }
+
+    @Test
+    void waiterIsServedWhenConnectionIsDiscarded() throws Exception {
+        // Expired by the time it is returned, so release() discards it and only frees the slot
+        newPool(1, 5000, 50);
+        Connection held = pool.getConnection();
+        CompletableFuture<Boolean> waiter = borrowInBackground();
+
+        awaitWaiting(1);
+        Thread.sleep(100);
+        long start = System.nanoTime();
+        held.close();
+
+        Assertions.assertTrue(waiter.get(2, TimeUnit.SECONDS));
+        Assertions.assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+        Assertions.assertTrue(pool.getStats().getTotal() <= 1);
+    }
+
+    @Test
+    void onlyBlockedThreadsCountAsWaiting() throws Exception {
+        newPool(2, 1000, 0);
+        try (Connection first = pool.getConnection(); Connection second = pool.getConnection()) {
+            Assertions.assertEquals(0, pool.getStats().getWaiting());
+        }
+        Assertions.assertEquals(0, pool.getStats().getWaiting());
+    }
+
+    @Test
+    void findsOwningPool() throws Exception {
+        newPool(1, 1000, 0);
+        try (Connection conn = pool.getConnection()) {
+            Assertions.assertSame(pool, ConnectionPool.ownerOf(conn));
+        }
+        Assertions.assertNull(ConnectionPool.ownerOf(null));
+    }
+
+    @Test
+    void closedPoolRejectsBorrowers() {
+        newPool(1, 1000, 0);
+        pool.close();
+        Assertions.assertThrows(SQLException.class, pool::getConnection);
+    }
+
+    // Borrow on another thread, hold briefly, report whether it got a usable connection
+    private CompletableFuture<Boolean> borrowInBackground() {
+        return CompletableFuture.supplyAsync(() -> {
+            try (Connection conn = pool.getConnection()) {
+                return conn.isValid(1);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private void awaitWaiting(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (pool.getStats().getWaiting() < expected) {
+            if (System.nanoTime() > deadline) {
+                Assertions.fail("No thread started waiting");
+            }
+            Thread.sleep(5);
+        }
+    }
+}
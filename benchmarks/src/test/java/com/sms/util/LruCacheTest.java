@@ -0,0 +1,107 @@
+package com.sms.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * LruCacheTest Class - Read-through loading, eviction, negative caching and
+ * loads racing invalidations
+ */
+class LruCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private String load(String key) {
+        loads.incrementAndGet();
+        return key.startsWith("missing") ? null : key.toUpperCase();
+    }
+
+    @Test
+    void loadsOnceThenHits() {
+        LruCache<String, String> cache = new LruCache<>(10, 60_000, 60_000);
+        Assertions.assertEquals("A", cache.get("a", this::load));
+        Assertions.assertEquals("A", cache.get("a", this::load));
+        Assertions.assertNull(cache.get("missing", this::load));
+        Assertions.assertNull(cache.get("missing", this::load));
+
+        Assertions.assertEquals(2, loads.get());
+        LruCache.Stats stats = cache.getStats();
+        Assertions.assertEquals(1, stats.getHits());
+        Assertions.assertEquals(1, stats.getNegativeHits());
+        Assertions.assertEquals(2, stats.getMisses());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        LruCache<String, String> cache = new LruCache<>(2, 60_000, 60_000);
+        cache.get("a", this::load);
+        cache.get("b", this::load);
+        cache.get("a", this::load); // b is now the eldest
+        cache.get("c", this::load);
+
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertEquals(1, cache.getStats().getEvictions());
+        cache.get("a", this::load);
+        Assertions.assertEquals(3, loads.get());
+        cache.get("b", this::load);
+        Assertions.assertEquals(4, loads.get());
+    }
+
+    @Test
+    void negativeResultsNotCachedWhenDisabled() {
+        LruCache<String, String> cache = new LruCache<>(10, 60_000, 0);
+        cache.get("missing", this::load);
+        cache.get("missing", this::load);
+        Assertions.assertEquals(2, loads.get());
+        Assertions.assertEquals(0, cache.size());
+    }
+
+    @Test
+    void expiredEntriesAreReloaded() throws InterruptedException {
+        LruCache<String, String> cache = new LruCache<>(10, 20, 20);
+        cache.get("a", this::load);
+        Thread.sleep(40);
+        cache.get("a", this::load);
+        Assertions.assertEquals(2, loads.get());
+        Assertions.assertEquals(1, cache.getStats().getExpirations());
+    }
+
+    @Test
+    void loadOverlappingItsKeysInvalidationIsNotStored() {
+        LruCache<String, String> cache = new LruCache<>(10, 60_000, 60_000);
+        String value = cache.get("a", key -> {
+            cache.invalidate("a"); // a write to the same key lands mid-load
+            return "stale";
+        });
+
+        Assertions.assertEquals("stale", value);
+        Assertions.assertEquals("A", cache.get("a", this::load));
+        Assertions.assertEquals(1, loads.get());
+    }
+
+    @Test
+    void loadOverlappingAnotherKeysInvalidationIsStored() {
+        LruCache<String, String> cache = new LruCache<>(10, 60_000, 60_000);
+        cache.get("a", key -> {
+            cache.invalidate("b");
+            return "A";
+        });
+
+        Assertions.assertEquals(1, cache.size());
+        Assertions.assertEquals("A", cache.get("a", this::load));
+        Assertions.assertEquals(0, loads.get());
+    }
+
+    @Test
+    void invalidateAllCancelsEveryLoad() {
+        LruCache<String, String> cache = new LruCache<>(10, 60_000, 60_000);
+        cache.get("b", this::load);
+        cache.get("a", key -> {
+            cache.invalidateAll();
+            return "stale";
+        });
+        Assertions.assertEquals(0, cache.size());
+    }
+}
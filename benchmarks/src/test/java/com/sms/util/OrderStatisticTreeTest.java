@@ -0,0 +1,69 @@
+package com.sms.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+/**
+ * OrderStatisticTreeTest Class - Ranks, positions and ranges of the treap,
+ * checked against a TreeSet through random adds and removes
+ */
+class OrderStatisticTreeTest {
+
+    @Test
+    void matchesTreeSetUnderRandomUpdates() {
+        Random random = new Random(42);
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Comparator.naturalOrder());
+        TreeSet<Integer> expected = new TreeSet<>();
+
+        for (int step = 0; step < 20_000; step++) {
+            int value = random.nextInt(2_000);
+            if (random.nextInt(3) == 0) {
+                Assertions.assertEquals(expected.remove(value), tree.remove(value));
+            } else {
+                Assertions.assertEquals(expected.add(value), tree.add(value));
+            }
+        }
+
+        List<Integer> sorted = new ArrayList<>(expected);
+        Assertions.assertEquals(sorted.size(), tree.size());
+        for (int i = 0; i < sorted.size(); i++) {
+            Assertions.assertEquals(sorted.get(i), tree.get(i));
+            Assertions.assertEquals(i, tree.countBefore(sorted.get(i)));
+        }
+        for (int probe = -1; probe <= 2_000; probe += 7) {
+            Assertions.assertEquals(expected.headSet(probe).size(), tree.countBefore(probe));
+            Assertions.assertEquals(expected.contains(probe), tree.contains(probe));
+        }
+    }
+
+    @Test
+    void rangeListsFromAPosition() {
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Comparator.reverseOrder());
+        for (int i = 0; i < 100; i++) {
+            tree.add(i);
+        }
+
+        Assertions.assertEquals(List.of(99, 98, 97), tree.range(0, 3));
+        Assertions.assertEquals(List.of(49, 48), tree.range(50, 2));
+        Assertions.assertEquals(List.of(1, 0), tree.range(98, 10));
+        Assertions.assertTrue(tree.range(100, 5).isEmpty());
+    }
+
+    @Test
+    void equalElementsAreStoredOnce() {
+        OrderStatisticTree<String> tree = new OrderStatisticTree<>(String.CASE_INSENSITIVE_ORDER);
+        Assertions.assertTrue(tree.add("cs101"));
+        Assertions.assertFalse(tree.add("CS101"));
+        Assertions.assertEquals(1, tree.size());
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> tree.get(1));
+
+        tree.clear();
+        Assertions.assertTrue(tree.isEmpty());
+    }
+}
@@ -0,0 +1,108 @@
+package com.sms.validation;
+
+import com.sms.model.Student;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * StudentValidatorTest Class - Field and record rules, and the marks
+ * scanner checked against Double.parseDouble
+ */
+class StudentValidatorTest {
+
+    @Test
+    void reportsEveryProblemOfARow() {
+        ValidationResult result = StudentValidator.validateFields("", "Asha Rao", "not-an-email", "12345",
+                "", "abc", new ValidationResult());
+
+        Assertions.assertFalse(result.isValid());
+        Assertions.assertEquals(Set.of(Violation.ROLL_NUMBER_REQUIRED, Violation.EMAIL_FORMAT,
+                Violation.PHONE_FORMAT, Violation.COURSE_REQUIRED, Violation.MARKS_FORMAT), result.getViolations());
+        Assertions.assertEquals(5, result.getCount());
+        Assertions.assertEquals(Violation.ROLL_NUMBER_REQUIRED, result.getFirst());
+        // Both missing fields share one "all fields are required" message
+        Assertions.assertEquals(4, result.getMessages().size());
+    }
+
+    @Test
+    void acceptsAWellFormedRowAndKeepsItsMarks() {
+        ValidationResult result = StudentValidator.validateFields("R001", "Asha Rao", "asha@example.com",
+                "9876543210", "Physics", "92.75");
+
+        Assertions.assertTrue(result.isValid(), result.toString());
+        Assertions.assertEquals(92.75, result.getMarks());
+
+        Assertions.assertTrue(StudentValidator.validateFields("R001", "Asha Rao", "asha@example.com",
+                "9876543210", "Physics", "100.5").has(Violation.MARKS_RANGE));
+        Assertions.assertTrue(StudentValidator.validateFields("R001", "Asha Rao", "", "", "Physics", "")
+                .getViolations().containsAll(Set.of(Violation.EMAIL_REQUIRED, Violation.PHONE_REQUIRED,
+                        Violation.MARKS_REQUIRED)));
+    }
+
+    @Test
+    void validatesStudentRecords() {
+        ValidationResult result = new ValidationResult();
+        StudentValidator.validate(new Student("R001", " ", "asha@example.com", "98765x3210", "Physics", -1),
+                result);
+
+        Assertions.assertEquals(Set.of(Violation.NAME_REQUIRED, Violation.PHONE_FORMAT, Violation.MARKS_RANGE),
+                result.getViolations());
+
+        // The same result object is cleared before reuse
+        StudentValidator.validate(new Student("R001", "Asha", "asha@example.com", "9876543210", "Physics", 0),
+                result);
+        Assertions.assertTrue(result.isValid());
+    }
+
+    @Test
+    void singleRules() {
+        Assertions.assertTrue(StudentValidator.isValidPhone("0123456789"));
+        Assertions.assertFalse(StudentValidator.isValidPhone("012345678"));
+        Assertions.assertFalse(StudentValidator.isValidPhone("０１２３４５６７８９"));
+        Assertions.assertFalse(StudentValidator.isValidPhone(null));
+        Assertions.assertTrue(StudentValidator.isValidEmail("a.b+c@d"));
+        Assertions.assertFalse(StudentValidator.isValidEmail("a b@d"));
+        Assertions.assertFalse(StudentValidator.isValidEmail(null));
+        Assertions.assertTrue(StudentValidator.isValidMarks(100.0));
+        Assertions.assertFalse(StudentValidator.isValidMarks(Double.NaN));
+    }
+
+    @Test
+    void parseMarksAgreesWithParseDouble() {
+        String[] samples = { "0", "-0", "+7", "85", "92.75", "0.1", ".5", "5.", "007.50", "99.999999999999",
+                "1234567890123456", "12345678901234567890", "1e2", "1E-1", "0x10", "Infinity", "NaN", "1_0",
+                "", "-", ".", "1.2.3", " 5", "5 ", "12a" };
+        for (String sample : samples) {
+            assertSameAsParseDouble(sample);
+        }
+
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            int whole = random.nextInt(101);
+            int fractionDigits = random.nextInt(8);
+            StringBuilder text = new StringBuilder().append(whole);
+            if (fractionDigits > 0) {
+                text.append('.');
+                for (int d = 0; d < fractionDigits; d++) {
+                    text.append((char) ('0' + random.nextInt(10)));
+                }
+            }
+            assertSameAsParseDouble(text.toString());
+        }
+    }
+
+    private static void assertSameAsParseDouble(String text) {
+        double expected;
+        try {
+            expected = Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            expected = Double.NaN;
+        }
+        Assertions.assertEquals(Double.doubleToLongBits(expected),
+                Double.doubleToLongBits(StudentValidator.parseMarks(text)), text);
+    }
+}
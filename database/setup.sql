@@ -9,9 +9,25 @@ CREATE TABLE IF NOT EXISTS students (
     course VARCHAR(50) NOT NULL,
     marks DECIMAL(5,2) NOT NULL CHECK (marks >= 0 AND marks <= 100),
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    INDEX idx_students_updated_at (updated_at, roll_number)
 );
 
+-- Existing installations: add the change-polling index with
+-- ALTER TABLE students ADD INDEX idx_students_updated_at (updated_at, roll_number);
+
+-- Delete log read by the change feed (rows are purged after a retention period)
+CREATE TABLE IF NOT EXISTS student_deletions (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    roll_number VARCHAR(20) NOT NULL,
+    deleted_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_student_deletions_deleted_at (deleted_at)
+);
+
+DROP TRIGGER IF EXISTS students_after_delete;
+CREATE TRIGGER students_after_delete AFTER DELETE ON students FOR EACH ROW
+    INSERT INTO student_deletions (roll_number) VALUES (OLD.roll_number);
+
 INSERT INTO students (roll_number, name, email, phone, course, marks) VALUES
 ('2024001', 'Rahul Sharma', 'rahul.sharma@example.com', '9876543210', 'Computer Science', 85.50),
 ('2024002', 'Priya Patel', 'priya.patel@example.com', '9876543211', 'Information Technology', 92.00),
@@ -1,51 +1,119 @@
 package com.sms;
 
+import com.sms.dao.CohortShardRule;
+import com.sms.dao.InMemoryStudentRepository;
+import com.sms.dao.MappedStudentRepository;
+import com.sms.dao.ShardRule;
+import com.sms.dao.ShardedStudentRepository;
+import com.sms.dao.StudentDAO;
+import com.sms.dao.StudentRepository;
+import com.sms.io.CsvStudentImporter;
+import com.sms.io.StudentExporter;
+import com.sms.log.Log;
+import com.sms.log.Logger;
+import com.sms.model.Student;
+import com.sms.ui.StudentColumns;
 import com.sms.ui.StudentFrame;
+import com.sms.util.Constants;
 import com.sms.util.DatabaseConnection;
 
 import javax.swing.*;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Main Class - Entry point for Student Management System
  * Tests database connection and launches the UI
+ * Headless modes: java com.sms.Main --import students.csv [batchSize] [workers]
+ *                 java com.sms.Main --export students.csv|students.jsonl
+ *                 java com.sms.Main --table-footprint [rows]
+ * Storage: -Dsms.repository=jdbc (MySQL, default), memory (no database;
+ * nothing is kept after exit), mapped (local files in -Dsms.store.dir,
+ * default "data") or sharded (one database per -Dsms.shard.urls entry,
+ * comma-separated; roll numbers routed by -Dsms.shard.rule=cohort|hash,
+ * -Dsms.shard.cohortLength and pinned -Dsms.shard.cohorts=2023:0,2024:1);
+ * -Dsms.repository.indexed=true serves the UI's reads from an in-memory copy
+ * Logging: console and logs/sms.log, written asynchronously (see com.sms.log.Log)
  */
 public class Main {
 
+    private static final Logger LOG = Log.getLogger(Main.class);
+
     public static void main(String[] args) {
+        if (args.length >= 2 && "--import".equals(args[0])) {
+            System.exit(runImport(args));
+        }
+        if (args.length >= 2 && "--export".equals(args[0])) {
+            System.exit(runExport(args));
+        }
+        if (args.length >= 1 && "--table-footprint".equals(args[0])) {
+            System.exit(runTableFootprint(args));
+        }
+
         System.out.println("===========================================");
         System.out.println("  STUDENT MANAGEMENT SYSTEM");
         System.out.println("  Developed using Java, Swing, MySQL, JDBC");
         System.out.println("===========================================\n");
 
+        StudentRepository repository;
+        try {
+            repository = createRepository();
+        } catch (IOException | IllegalArgumentException e) {
+            LOG.error("✗ {}", e.getMessage());
+            System.exit(1);
+            return;
+        }
+
+        if (repository instanceof MappedStudentRepository) {
+            LOG.info("✓ Using local store (no database)");
+            // Checkpoint the store when the window closes (System.exit) or on Ctrl+C
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> closeRepository(repository), "sms-store-close"));
+            launchUI(repository);
+            return;
+        }
+        if (repository instanceof ShardedStudentRepository) {
+            ShardedStudentRepository sharded = (ShardedStudentRepository) repository;
+            if (!sharded.testConnections()) {
+                LOG.error("✗ Database connection failed for at least one shard!");
+                JOptionPane.showMessageDialog(null,
+                        "Database connection failed for at least one shard!\n\n" +
+                                "Check the URLs in -Dsms.shard.urls and the credentials.",
+                        "Database Error",
+                        JOptionPane.ERROR_MESSAGE);
+                sharded.close();
+                System.exit(1);
+            }
+            LOG.info("✓ Using {} database shards", sharded.getShardCount());
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> closeRepository(repository), "sms-shard-close"));
+            launchUI(repository);
+            return;
+        }
+        if (!(repository instanceof StudentDAO)) {
+            LOG.info("✓ Using in-memory storage (no database)");
+            launchUI(repository);
+            return;
+        }
+
         // Test database connection
-        System.out.println("Testing database connection...");
+        LOG.info("Testing database connection...");
 
         if (DatabaseConnection.testConnection()) {
-            System.out.println("✓ Database connection successful!\n");
-
-            // Launch UI on Event Dispatch Thread (Best Practice for Swing)
-            SwingUtilities.invokeLater(() -> {
-                try {
-                    new StudentFrame();
-                    System.out.println("✓ Application started successfully!");
-                } catch (Exception e) {
-                    System.err.println("✗ Error starting application: " + e.getMessage());
-                    e.printStackTrace();
-
-                    JOptionPane.showMessageDialog(null,
-                            "Error starting application:\n" + e.getMessage(),
-                            "Application Error",
-                            JOptionPane.ERROR_MESSAGE);
-                }
-            });
+            LOG.info("✓ Database connection successful!");
+            launchUI(repository);
 
         } else {
-            System.err.println("✗ Database connection failed!");
-            System.err.println("\nPlease check:");
-            System.err.println("1. MySQL server is running");
-            System.err.println("2. Database 'student_management_db' exists");
-            System.err.println("3. Username and password in DatabaseConnection.java are correct");
-            System.err.println("4. MySQL JDBC driver is in classpath");
+            LOG.error("✗ Database connection failed!");
+            LOG.error("Please check:");
+            LOG.error("1. MySQL server is running");
+            LOG.error("2. Database 'student_management_db' exists");
+            LOG.error("3. Username and password in DatabaseConnection.java are correct");
+            LOG.error("4. MySQL JDBC driver is in classpath");
 
             JOptionPane.showMessageDialog(null,
                     "Database connection failed!\n\n" +
@@ -60,4 +128,209 @@ public class Main {
             System.exit(1);
         }
     }
+
+    /**
+     * Launch UI on Event Dispatch Thread (Best Practice for Swing)
+     */
+    private static void launchUI(StudentRepository repository) {
+        SwingUtilities.invokeLater(() -> {
+            try {
+                new StudentFrame(repository);
+                LOG.info("✓ Application started successfully!");
+            } catch (Exception e) {
+                LOG.error("✗ Error starting application: " + e.getMessage(), e);
+
+                JOptionPane.showMessageDialog(null,
+                        "Error starting application:\n" + e.getMessage(),
+                        "Application Error",
+                        JOptionPane.ERROR_MESSAGE);
+            }
+        });
+    }
+
+    /**
+     * Create the storage named by -Dsms.repository
+     *
+     * @throws IOException              if the local store cannot be opened
+     * @throws IllegalArgumentException for an unknown name
+     */
+    private static StudentRepository createRepository() throws IOException {
+        String type = System.getProperty("sms.repository", Constants.Repository.DEFAULT).trim();
+        if (Constants.Repository.JDBC.equalsIgnoreCase(type)) {
+            return new StudentDAO();
+        }
+        if (Constants.Repository.MEMORY.equalsIgnoreCase(type)) {
+            return new InMemoryStudentRepository();
+        }
+        if (Constants.Repository.MAPPED.equalsIgnoreCase(type)) {
+            return new MappedStudentRepository(Paths.get(System.getProperty("sms.store.dir",
+                    Constants.Store.DIRECTORY)));
+        }
+        if (Constants.Repository.SHARDED.equalsIgnoreCase(type)) {
+            return createShardedRepository();
+        }
+        throw new IllegalArgumentException("Unknown sms.repository '" + type + "' (use "
+                + Constants.Repository.JDBC + ", " + Constants.Repository.MEMORY + ", "
+                + Constants.Repository.MAPPED + " or " + Constants.Repository.SHARDED + ")");
+    }
+
+    /**
+     * Open the databases listed in -Dsms.shard.urls as shards
+     *
+     * @throws IOException              if the JDBC driver is missing
+     * @throws IllegalArgumentException for missing URLs or an unknown rule
+     */
+    private static ShardedStudentRepository createShardedRepository() throws IOException {
+        List<String> urls = new ArrayList<>();
+        for (String url : System.getProperty("sms.shard.urls", "").split(",")) {
+            if (!url.trim().isEmpty()) {
+                urls.add(url.trim());
+            }
+        }
+        if (urls.isEmpty()) {
+            throw new IllegalArgumentException("sms.repository=" + Constants.Repository.SHARDED
+                    + " needs -Dsms.shard.urls=url1,url2,...");
+        }
+
+        String ruleName = System.getProperty("sms.shard.rule", Constants.Sharding.DEFAULT_RULE).trim();
+        ShardRule rule;
+        if (Constants.Sharding.RULE_COHORT.equalsIgnoreCase(ruleName)) {
+            rule = CohortShardRule.parse(System.getProperty("sms.shard.cohorts"),
+                    Integer.getInteger("sms.shard.cohortLength", Constants.Sharding.COHORT_LENGTH));
+        } else if (Constants.Sharding.RULE_HASH.equalsIgnoreCase(ruleName)) {
+            rule = ShardRule.byHash();
+        } else {
+            throw new IllegalArgumentException("Unknown sms.shard.rule '" + ruleName + "' (use "
+                    + Constants.Sharding.RULE_COHORT + " or " + Constants.Sharding.RULE_HASH + ")");
+        }
+
+        try {
+            return ShardedStudentRepository.connect(urls, rule);
+        } catch (SQLException e) {
+            throw new IOException("Cannot open shards: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Close a repository that holds resources open (the local store's files,
+     * the sharded repository's connection pools); others need nothing
+     */
+    private static void closeRepository(StudentRepository repository) {
+        if (repository instanceof Closeable) {
+            try {
+                ((Closeable) repository).close();
+            } catch (IOException e) {
+                LOG.error("✗ Error closing storage: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Run a headless CSV import (no UI)
+     *
+     * @param args --import FILE [batchSize] [workers]
+     * @return Process exit code
+     */
+    private static int runImport(String[] args) {
+        StudentRepository repository = null;
+        try {
+            repository = createRepository();
+            if (repository instanceof StudentDAO && !DatabaseConnection.testConnection()
+                    || repository instanceof ShardedStudentRepository
+                            && !((ShardedStudentRepository) repository).testConnections()) {
+                LOG.error("✗ Database connection failed!");
+                return 1;
+            }
+
+            CsvStudentImporter importer = args.length >= 4
+                    ? new CsvStudentImporter(Paths.get(args[1]), repository,
+                            Integer.parseInt(args[2]), Integer.parseInt(args[3]))
+                    : new CsvStudentImporter(Paths.get(args[1]), repository);
+            importer.run();
+            return 0;
+        } catch (IOException | IllegalArgumentException e) {
+            LOG.error("✗ Import failed: " + e.getMessage(), e);
+            return 1;
+        } finally {
+            if (repository != null) {
+                closeRepository(repository);
+            }
+            DatabaseConnection.closeConnection();
+        }
+    }
+
+    /**
+     * Run a headless export (no UI); format follows the file extension
+     *
+     * @param args --export FILE
+     * @return Process exit code
+     */
+    private static int runExport(String[] args) {
+        StudentRepository repository = null;
+        try {
+            repository = createRepository();
+            if (repository instanceof StudentDAO && !DatabaseConnection.testConnection()
+                    || repository instanceof ShardedStudentRepository
+                            && !((ShardedStudentRepository) repository).testConnections()) {
+                LOG.error("✗ Database connection failed!");
+                return 1;
+            }
+
+            Path target = Paths.get(args[1]);
+            new StudentExporter(repository).export(target, StudentExporter.Format.forPath(target));
+            return 0;
+        } catch (IOException | RuntimeException e) {
+            LOG.error("✗ Export failed: " + e.getMessage(), e);
+            return 1;
+        } finally {
+            if (repository != null) {
+                closeRepository(repository);
+            }
+            DatabaseConnection.closeConnection();
+        }
+    }
+
+    /**
+     * Compare the heap used by table rows held as Student objects (the old
+     * model) and as StudentColumns, for synthetic rows (no database needed)
+     *
+     * @param args --table-footprint [rows]
+     * @return Process exit code
+     */
+    private static int runTableFootprint(String[] args) {
+        int rows = args.length >= 2 ? Integer.parseInt(args[1]) : 500_000;
+        String[] courses = { "Computer Science", "Mechanical", "Electrical", "Civil", "Physics", "Mathematics" };
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+
+        long baseline = usedHeap();
+        List<Student> objects = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Student student = new Student(String.format("CS%07d", i), "Student Name " + i,
+                    "student" + i + "@example.com", String.format("98%08d", i),
+                    new String(courses[i % courses.length]), (i * 37) % 1001 / 10.0);
+            student.setCreatedAt(new Timestamp(now.getTime()));
+            student.setUpdatedAt(new Timestamp(now.getTime()));
+            objects.add(student);
+        }
+        long objectBytes = usedHeap() - baseline;
+
+        baseline = usedHeap();
+        StudentColumns columns = new StudentColumns(objects);
+        long columnBytes = usedHeap() - baseline;
+
+        System.out.println("Rows:            " + rows);
+        System.out.printf("Student objects: %,d bytes (%d per row)%n", objectBytes, objectBytes / rows);
+        System.out.printf("StudentColumns:  %,d bytes (%d per row, estimated %,d)%n",
+                columnBytes, columnBytes / rows, columns.estimatedBytes());
+        System.out.printf("Saving:          %.1f%%%n", 100.0 * (objectBytes - columnBytes) / objectBytes);
+        return objects.size() == columns.size() ? 0 : 1;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
 }
@@ -0,0 +1,111 @@
+package com.sms.analytics;
+
+import com.sms.model.CourseStats;
+import com.sms.util.Constants;
+
+/**
+ * MarksDistribution Class - Exact marks distribution of one course
+ * Marks are DECIMAL(5,2) between 0 and 100, so there are only 10,001
+ * possible values: the distribution is a count per value (in hundredths).
+ * Adding or removing a student is O(1); every statistic, percentiles
+ * included, is exact and read with one pass over the counts.
+ *
+ * Not thread-safe; StudentAnalytics guards it.
+ */
+public class MarksDistribution {
+
+    static final int VALUES = 10_001;
+    private static final int PASS_MARK = toHundredths(Constants.Analytics.PASS_MARK);
+
+    private final int[] counts = new int[VALUES];
+    private int studentCount = 0;
+    private long sum = 0; // hundredths
+    private int passedCount = 0;
+
+    /**
+     * Convert marks to the hundredths stored here (clamped to 0..100)
+     */
+    static int toHundredths(double marks) {
+        long hundredths = Math.round(marks * 100);
+        return (int) Math.max(0, Math.min(VALUES - 1, hundredths));
+    }
+
+    void add(int hundredths) {
+        counts[hundredths]++;
+        studentCount++;
+        sum += hundredths;
+        if (hundredths >= PASS_MARK) {
+            passedCount++;
+        }
+    }
+
+    void remove(int hundredths) {
+        if (counts[hundredths] == 0) {
+            return;
+        }
+        counts[hundredths]--;
+        studentCount--;
+        sum -= hundredths;
+        if (hundredths >= PASS_MARK) {
+            passedCount--;
+        }
+    }
+
+    /**
+     * Add all of another distribution's students (fork/join merge)
+     */
+    void addAll(MarksDistribution other) {
+        for (int i = 0; i < VALUES; i++) {
+            counts[i] += other.counts[i];
+        }
+        studentCount += other.studentCount;
+        sum += other.sum;
+        passedCount += other.passedCount;
+    }
+
+    int getStudentCount() {
+        return studentCount;
+    }
+
+    /**
+     * Compute the statistics (one pass over the counts)
+     *
+     * @param course Course name to report
+     */
+    CourseStats toStats(String course) {
+        double[] fractions = Constants.Analytics.PERCENTILES;
+        double[] percentiles = new double[fractions.length];
+        long[] ranks = new long[fractions.length];
+        for (int p = 0; p < fractions.length; p++) {
+            ranks[p] = Math.max(1, (long) Math.ceil(fractions[p] * studentCount));
+        }
+
+        int buckets = Constants.Analytics.HISTOGRAM_BUCKETS;
+        int[] histogram = new int[buckets];
+        int lowest = -1;
+        int highest = -1;
+        long seen = 0;
+        int next = 0;
+
+        for (int value = 0; value < VALUES; value++) {
+            int count = counts[value];
+            if (count == 0) {
+                continue;
+            }
+            if (lowest < 0) {
+                lowest = value;
+            }
+            highest = value;
+            seen += count;
+            while (next < ranks.length && seen >= ranks[next]) {
+                percentiles[next++] = value / 100.0;
+            }
+            histogram[Math.min(buckets - 1, value * buckets / (VALUES - 1))] += count;
+        }
+
+        double average = studentCount == 0 ? 0.0 : sum / 100.0 / studentCount;
+        return new CourseStats(course, studentCount, average,
+                Math.max(lowest, 0) / 100.0, Math.max(highest, 0) / 100.0,
+                percentiles, passedCount, histogram);
+    }
+}
@@ -0,0 +1,331 @@
+package com.sms.analytics;
+
+import com.sms.dao.StudentRepository;
+import com.sms.log.Log;
+import com.sms.log.Logger;
+import com.sms.model.CourseStats;
+import com.sms.model.Student;
+import com.sms.util.Constants;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * StudentAnalytics Class - Per-course marks statistics
+ * Two ways to get them:
+ * - computeInDatabase(): pushed down to MySQL (GROUP BY course), nothing
+ * kept in memory
+ * - load() + getStatistics(): one streamed snapshot of (course, marks) per
+ * student, turned into per-course MarksDistributions by a fork/join task;
+ * afterwards writes are applied with applyUpsert/applyDelete in O(1) each,
+ * so the statistics stay current without being recomputed
+ *
+ * Courses are grouped case-insensitively, like MySQL's GROUP BY. Writes
+ * arriving while a snapshot loads are replayed on top of it. Applying the
+ * same write twice has no further effect.
+ */
+public class StudentAnalytics {
+
+    private static final Logger LOG = Log.getLogger(StudentAnalytics.class);
+
+    /**
+     * Told after the statistics changed, on the thread that changed them
+     */
+    public interface Listener {
+        void statisticsChanged();
+    }
+
+    // Packed per-student state: course id above, marks in hundredths below
+    private static final int MARKS_BITS = 14;
+    private static final int MARKS_MASK = (1 << MARKS_BITS) - 1;
+
+    private final StudentRepository repository;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    // ----- Guarded by this -----
+    private boolean loaded = false;
+    private boolean loading = false;
+    private List<Runnable> pendingWrites = new ArrayList<>();
+    private State state = new State();
+
+    public StudentAnalytics(StudentRepository repository) {
+        this.repository = repository;
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    // ==================== SQL PUSH-DOWN ====================
+
+    /**
+     * Compute the statistics in MySQL
+     *
+     * @return One entry per course, ordered by course
+     * @throws DataAccessException if a query fails
+     */
+    public List<CourseStats> computeInDatabase() {
+        return repository.getCourseStatistics();
+    }
+
+    // ==================== IN-MEMORY SNAPSHOT ====================
+
+    /**
+     * (Re)load the snapshot and compute the distributions in parallel
+     *
+     * @return Number of students loaded
+     * @throws DataAccessException if the table cannot be read (the previous
+     *                             snapshot, if any, stays in use)
+     */
+    public long load() {
+        synchronized (this) {
+            loading = true;
+            pendingWrites = new ArrayList<>();
+        }
+
+        long start = System.nanoTime();
+        State fresh = new State();
+        Snapshot snapshot = new Snapshot();
+        try {
+            repository.forEachStudent(student -> {
+                int courseId = fresh.courseId(student.getCourse());
+                int hundredths = MarksDistribution.toHundredths(student.getMarks());
+                fresh.byRoll.put(normalize(student.getRollNumber()), pack(courseId, hundredths));
+                snapshot.add(courseId, hundredths);
+            });
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                loading = false;
+            }
+            throw e;
+        }
+
+        MarksDistribution[] distributions = ForkJoinPool.commonPool().invoke(
+                new DistributionTask(snapshot, 0, snapshot.size, fresh.courseNames.size(), threshold(snapshot.size)));
+        fresh.distributions.addAll(Arrays.asList(distributions));
+
+        synchronized (this) {
+            state = fresh;
+            loaded = true;
+            loading = false;
+            for (Runnable write : pendingWrites) {
+                write.run();
+            }
+            pendingWrites = new ArrayList<>();
+        }
+
+        LOG.info("✓ Statistics for {} students in {}ms", snapshot.size, (System.nanoTime() - start) / 1_000_000);
+        fireChanged();
+        return snapshot.size;
+    }
+
+    public synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Get the current statistics from the snapshot
+     *
+     * @return One entry per course with students, ordered by course (empty until loaded)
+     */
+    public List<CourseStats> getStatistics() {
+        List<CourseStats> stats = new ArrayList<>();
+        synchronized (this) {
+            for (int id = 0; id < state.distributions.size(); id++) {
+                MarksDistribution distribution = state.distributions.get(id);
+                if (distribution != null && distribution.getStudentCount() > 0) {
+                    stats.add(distribution.toStats(state.courseNames.get(id)));
+                }
+            }
+        }
+        stats.sort((a, b) -> String.CASE_INSENSITIVE_ORDER.compare(a.getCourse(), b.getCourse()));
+        return stats;
+    }
+
+    // ==================== INCREMENTAL UPDATES ====================
+
+    /**
+     * Apply an inserted or updated student
+     */
+    public void applyUpsert(Student student) {
+        applyChanges(Collections.singletonList(student), Collections.<String>emptyList());
+    }
+
+    /**
+     * Apply a deleted student
+     */
+    public void applyDelete(String rollNumber) {
+        applyChanges(Collections.<Student>emptyList(), Collections.singletonList(rollNumber));
+    }
+
+    /**
+     * Apply a batch of writes (deletions first), telling listeners once
+     */
+    public void applyChanges(Collection<Student> changed, Collection<String> deletedRolls) {
+        synchronized (this) {
+            if (!loaded && !loading) {
+                return;
+            }
+            List<Student> changedCopy = new ArrayList<>(changed);
+            List<String> deletedCopy = new ArrayList<>(deletedRolls);
+            if (loading) {
+                pendingWrites.add(() -> state.apply(changedCopy, deletedCopy));
+                return;
+            }
+            state.apply(changedCopy, deletedCopy);
+        }
+        fireChanged();
+    }
+
+    private void fireChanged() {
+        for (Listener listener : listeners) {
+            listener.statisticsChanged();
+        }
+    }
+
+    private static int pack(int courseId, int hundredths) {
+        return courseId << MARKS_BITS | hundredths;
+    }
+
+    private static int threshold(int size) {
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        return Math.max(Constants.Analytics.PARALLEL_THRESHOLD, size / (parallelism * 4) + 1);
+    }
+
+    private static String normalize(String key) {
+        return key == null ? "" : key.trim().toLowerCase();
+    }
+
+    /**
+     * Courses, their distributions and each student's (course, marks)
+     */
+    private static final class State {
+        final List<String> courseNames = new ArrayList<>();
+        final Map<String, Integer> courseIds = new HashMap<>();
+        final List<MarksDistribution> distributions = new ArrayList<>();
+        final Map<String, Integer> byRoll = new HashMap<>();
+
+        int courseId(String course) {
+            String key = normalize(course);
+            Integer id = courseIds.get(key);
+            if (id == null) {
+                id = courseNames.size();
+                courseNames.add(course == null ? "" : course.trim());
+                courseIds.put(key, id);
+            }
+            return id;
+        }
+
+        void apply(List<Student> changed, List<String> deletedRolls) {
+            for (String rollNumber : deletedRolls) {
+                Integer previous = byRoll.remove(normalize(rollNumber));
+                if (previous != null) {
+                    distribution(previous >>> MARKS_BITS).remove(previous & MARKS_MASK);
+                }
+            }
+            for (Student student : changed) {
+                int courseId = courseId(student.getCourse());
+                int hundredths = MarksDistribution.toHundredths(student.getMarks());
+                Integer previous = byRoll.put(normalize(student.getRollNumber()), pack(courseId, hundredths));
+                if (previous != null) {
+                    distribution(previous >>> MARKS_BITS).remove(previous & MARKS_MASK);
+                }
+                distribution(courseId).add(hundredths);
+            }
+        }
+
+        private MarksDistribution distribution(int courseId) {
+            while (distributions.size() <= courseId) {
+                distributions.add(null);
+            }
+            MarksDistribution distribution = distributions.get(courseId);
+            if (distribution == null) {
+                distribution = new MarksDistribution();
+                distributions.set(courseId, distribution);
+            }
+            return distribution;
+        }
+    }
+
+    /**
+     * (course id, marks) of every student, in two growable primitive arrays
+     */
+    private static final class Snapshot {
+        int[] courseIds = new int[1024];
+        int[] hundredths = new int[1024];
+        int size = 0;
+
+        void add(int courseId, int marks) {
+            if (size == courseIds.length) {
+                courseIds = Arrays.copyOf(courseIds, size * 2);
+                hundredths = Arrays.copyOf(hundredths, size * 2);
+            }
+            courseIds[size] = courseId;
+            hundredths[size] = marks;
+            size++;
+        }
+    }
+
+    /**
+     * Builds per-course distributions for a slice of the snapshot, splitting
+     * it in halves until slices are below the threshold
+     */
+    private static final class DistributionTask extends RecursiveTask<MarksDistribution[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Snapshot snapshot;
+        private final int from;
+        private final int to;
+        private final int courseCount;
+        private final int threshold;
+
+        DistributionTask(Snapshot snapshot, int from, int to, int courseCount, int threshold) {
+            this.snapshot = snapshot;
+            this.from = from;
+            this.to = to;
+            this.courseCount = courseCount;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected MarksDistribution[] compute() {
+            if (to - from <= threshold) {
+                MarksDistribution[] distributions = new MarksDistribution[courseCount];
+                for (int i = from; i < to; i++) {
+                    int courseId = snapshot.courseIds[i];
+                    if (distributions[courseId] == null) {
+                        distributions[courseId] = new MarksDistribution();
+                    }
+                    distributions[courseId].add(snapshot.hundredths[i]);
+                }
+                return distributions;
+            }
+
+            int mid = (from + to) >>> 1;
+            DistributionTask left = new DistributionTask(snapshot, from, mid, courseCount, threshold);
+            left.fork();
+            MarksDistribution[] right = new DistributionTask(snapshot, mid, to, courseCount, threshold).compute();
+            MarksDistribution[] merged = left.join();
+            for (int id = 0; id < courseCount; id++) {
+                if (merged[id] == null) {
+                    merged[id] = right[id];
+                } else if (right[id] != null) {
+                    merged[id].addAll(right[id]);
+                }
+            }
+            return merged;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.sms.dao;
+
+import com.sms.model.Student;
+import com.sms.util.Constants;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * AsyncStudentDAO Class - Non-blocking facade over StudentRepository
+ * Runs every call on a dedicated executor and returns a CompletableFuture, so
+ * callers such as the Swing UI never wait on a database round trip.
+ * Uses virtual threads when the JVM has them (Java 21+), otherwise a fixed
+ * pool sized to the connection pool.
+ *
+ * Cancelling a returned future only discards its result; a statement that is
+ * already running on the server finishes normally.
+ */
+public class AsyncStudentDAO {
+
+    private final StudentRepository repository;
+    private final ExecutorService executor;
+
+    public AsyncStudentDAO(StudentRepository repository) {
+        this.repository = repository;
+        this.executor = newDatabaseExecutor();
+    }
+
+    public CompletableFuture<Boolean> addStudent(Student student) {
+        return supply(() -> repository.addStudent(student));
+    }
+
+    public CompletableFuture<InsertOutcome> insertStudent(Student student) {
+        return supply(() -> repository.insertStudent(student));
+    }
+
+    public CompletableFuture<BatchInsertReport> addStudents(Collection<Student> students) {
+        return supply(() -> repository.addStudents(students));
+    }
+
+    public CompletableFuture<InsertOutcome> upsertStudent(Student student) {
+        return supply(() -> repository.upsertStudent(student));
+    }
+
+    public CompletableFuture<BatchInsertReport> upsertStudents(Collection<Student> students) {
+        return supply(() -> repository.upsertStudents(students));
+    }
+
+    public CompletableFuture<List<Student>> getAllStudents() {
+        return supply(repository::getAllStudents);
+    }
+
+    public CompletableFuture<List<Student>> getStudentsPage(String afterRollNumber, int limit) {
+        return supply(() -> repository.getStudentsPage(afterRollNumber, limit));
+    }
+
+    public CompletableFuture<Integer> countStudents() {
+        return supply(repository::countStudents);
+    }
+
+    public CompletableFuture<Student> getStudentByRollNumber(String rollNumber) {
+        return supply(() -> repository.getStudentByRollNumber(rollNumber));
+    }
+
+    public CompletableFuture<List<Student>> searchStudentsByName(String name) {
+        return supply(() -> repository.searchStudentsByName(name));
+    }
+
+    public CompletableFuture<Long> buildNameIndex() {
+        return supply(repository::buildNameIndex);
+    }
+
+    public CompletableFuture<Boolean> updateStudent(Student student) {
+        return supply(() -> repository.updateStudent(student));
+    }
+
+    public CompletableFuture<Boolean> deleteStudent(String rollNumber) {
+        return supply(() -> repository.deleteStudent(rollNumber));
+    }
+
+    public CompletableFuture<Boolean> isRollNumberExists(String rollNumber) {
+        return supply(() -> repository.isRollNumberExists(rollNumber));
+    }
+
+    /**
+     * Stop accepting work; calls already queued still run
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> CompletableFuture<T> supply(Supplier<T> call) {
+        return CompletableFuture.supplyAsync(call, executor);
+    }
+
+    /**
+     * Virtual-thread-per-task executor when available (looked up reflectively
+     * so the code still compiles and runs on Java 17), else a daemon pool
+     */
+    private static ExecutorService newDatabaseExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger threadCount = new AtomicInteger();
+            return Executors.newFixedThreadPool(Constants.Pool.MAX_SIZE, r -> {
+                Thread t = new Thread(r, "sms-db-" + threadCount.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+}
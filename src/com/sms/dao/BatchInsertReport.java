@@ -0,0 +1,128 @@
+package com.sms.dao;
+
+import com.sms.model.Student;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * BatchInsertReport Class - Per-row outcome of StudentRepository.addStudents()
+ * and StudentRepository.upsertStudents()
+ * Rows are reported in the same order as the input collection
+ */
+public class BatchInsertReport {
+
+    private final List<Student> students;
+    private final InsertOutcome[] outcomes;
+    private final EnumMap<InsertOutcome, Integer> counts = new EnumMap<>(InsertOutcome.class);
+    private long elapsedNanos;
+
+    BatchInsertReport(List<Student> students) {
+        this.students = students;
+        this.outcomes = new InsertOutcome[students.size()];
+    }
+
+    void set(int index, InsertOutcome outcome) {
+        InsertOutcome previous = outcomes[index];
+        if (previous != null) {
+            counts.merge(previous, -1, Integer::sum);
+        }
+        outcomes[index] = outcome;
+        counts.merge(outcome, 1, Integer::sum);
+    }
+
+    InsertOutcome get(int index) {
+        return outcomes[index];
+    }
+
+    /**
+     * Reject invalid rows and duplicates within the input itself (keys are
+     * compared case-insensitively, like MySQL's default collation)
+     */
+    void rejectInvalidAndRepeated() {
+        Set<String> seenRolls = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+        for (int i = 0; i < students.size(); i++) {
+            Student student = students.get(i);
+            if (!student.isValid()) {
+                set(i, InsertOutcome.INVALID);
+            } else if (!seenRolls.add(normalizeKey(student.getRollNumber()))) {
+                set(i, InsertOutcome.DUPLICATE_ROLL);
+            } else if (!seenEmails.add(normalizeKey(student.getEmail()))) {
+                set(i, InsertOutcome.DUPLICATE_EMAIL);
+            }
+        }
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int size() {
+        return outcomes.length;
+    }
+
+    public Student getStudent(int index) {
+        return students.get(index);
+    }
+
+    public InsertOutcome getOutcome(int index) {
+        return outcomes[index];
+    }
+
+    public int getCount(InsertOutcome outcome) {
+        return counts.getOrDefault(outcome, 0);
+    }
+
+    public int getInsertedCount() {
+        return getCount(InsertOutcome.INSERTED);
+    }
+
+    /**
+     * Rows written (inserted, or upserted)
+     */
+    public int getSuccessCount() {
+        return getCount(InsertOutcome.INSERTED) + getCount(InsertOutcome.UPSERTED);
+    }
+
+    public Map<InsertOutcome, Integer> getCounts() {
+        return Collections.unmodifiableMap(counts);
+    }
+
+    /**
+     * Get all rows that were not written
+     *
+     * @return Rejected students in input order
+     */
+    public List<Student> getRejected() {
+        List<Student> rejected = new ArrayList<>();
+        for (int i = 0; i < outcomes.length; i++) {
+            if (!outcomes[i].isSuccess()) {
+                rejected.add(students.get(i));
+            }
+        }
+        return rejected;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchInsertReport{" +
+                "rows=" + outcomes.length +
+                ", counts=" + counts +
+                ", elapsedMs=" + getElapsedMillis() +
+                '}';
+    }
+
+    private static String normalizeKey(String key) {
+        return key == null ? "" : key.trim().toLowerCase();
+    }
+}
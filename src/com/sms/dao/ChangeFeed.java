@@ -0,0 +1,337 @@
+package com.sms.dao;
+
+import com.sms.log.Log;
+import com.sms.log.Logger;
+import com.sms.model.Student;
+import com.sms.util.Constants;
+import com.sms.util.Metrics;
+import com.sms.util.OperationMetrics;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ChangeFeed Class - Polls the database for writes made by other clients
+ * Every interval it asks for:
+ * - rows whose updated_at is past the watermark (inserts and updates), read
+ * in (updated_at, roll_number) keyset pages over idx_students_updated_at
+ * - new entries of the student_deletions log (filled by a delete trigger)
+ * and hands only those deltas to the DAO caches and to listeners, instead of
+ * the table being reloaded.
+ *
+ * A transaction can commit after a later one with an older updated_at (or
+ * delete-log id), so each poll re-reads a short overlap window behind the
+ * watermark and drops rows it has already delivered. Every change is
+ * delivered at least once, and almost always exactly once.
+ *
+ * Own writes come back through the feed as well; listeners must treat a
+ * change they have already applied as a no-op.
+ */
+public class ChangeFeed {
+
+    private static final Logger LOG = Log.getLogger(ChangeFeed.class);
+
+    /**
+     * Receives each non-empty set of changes, on the feed's thread
+     */
+    public interface Listener {
+        void onChanges(ChangeSet changes);
+    }
+
+    // Background polls (published over JMX, see Metrics); rows = changes delivered
+    private static final OperationMetrics POLL = Metrics.get("ChangeFeed", "poll");
+
+    private final StudentDAO studentDAO;
+    private final long intervalMs;
+    private final long overlapMs;
+    private final int batchLimit;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    private ScheduledExecutorService scheduler;
+
+    // ----- Poll state (guarded by this) -----
+    private volatile Timestamp watermark;
+    private long deletionWatermark;
+    // normalized roll number -> last delivered version, for rows inside the overlap window
+    private final Map<String, Student> recentlyDelivered = new HashMap<>();
+    // delete-log ids inside the overlap window that were already delivered
+    private final TreeSet<Long> recentDeletionIds = new TreeSet<>();
+    private boolean primed = false;
+    private long lastPurgeMillis = 0;
+
+    public ChangeFeed(StudentDAO studentDAO) {
+        this(studentDAO,
+                Long.getLong("sms.changes.pollIntervalMs", Constants.ChangeFeed.POLL_INTERVAL_MS),
+                Long.getLong("sms.changes.overlapMs", Constants.ChangeFeed.OVERLAP_MS),
+                Integer.getInteger("sms.changes.batchLimit", Constants.ChangeFeed.BATCH_LIMIT));
+    }
+
+    public ChangeFeed(StudentDAO studentDAO, long intervalMs, long overlapMs, int batchLimit) {
+        this.studentDAO = studentDAO;
+        this.intervalMs = intervalMs;
+        this.overlapMs = overlapMs;
+        this.batchLimit = batchLimit;
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Start polling in the background. Changes made before this call are not
+     * delivered.
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "sms-change-feed");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(this::pollSafely, 0, intervalMs, TimeUnit.MILLISECONDS);
+        LOG.info("✓ Change feed polling every {}ms", intervalMs);
+    }
+
+    /**
+     * Stop polling (a poll in progress finishes)
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Run one poll on the calling thread
+     *
+     * @return Changes delivered (empty if none)
+     * @throws DataAccessException if the database cannot be read
+     */
+    public synchronized ChangeSet pollOnce() {
+        if (!primed) {
+            prime();
+            return ChangeSet.EMPTY;
+        }
+
+        SortedMap<Long, String> deletions = fetchDeletions();
+        List<Student> rows = fetchChanges();
+        List<String> deletedRolls = markDeletions(deletions);
+        List<Student> changed = markChanges(rows);
+        purgeIfDue();
+
+        if (changed.isEmpty() && deletedRolls.isEmpty()) {
+            return ChangeSet.EMPTY;
+        }
+
+        ChangeSet changes = new ChangeSet(changed, deletedRolls, watermark);
+        studentDAO.applyExternalChanges(changed, deletedRolls);
+        for (Listener listener : listeners) {
+            try {
+                listener.onChanges(changes);
+            } catch (RuntimeException e) {
+                LOG.error("✗ Change listener failed: " + e.getMessage(), e);
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Get the newest updated_at delivered so far (database time; null until
+     * the first poll). Does not wait for a poll in progress.
+     */
+    public Timestamp getWatermark() {
+        return watermark;
+    }
+
+    // ==================== POLLING (this held) ====================
+
+    private void pollSafely() {
+        long start = System.nanoTime();
+        try {
+            ChangeSet changes = pollOnce();
+            POLL.record(start, changes.getChanged().size() + changes.getDeletedRollNumbers().size());
+        } catch (RuntimeException e) {
+            POLL.recordError(start);
+            // Keep polling; the watermarks did not move, so nothing is lost
+            LOG.error("✗ Change feed poll failed: {}", e.getMessage());
+        }
+    }
+
+    // Start from the current state: remember the overlap window as delivered
+    private void prime() {
+        Timestamp latest = studentDAO.getLatestUpdateTime();
+        long latestDeletion = studentDAO.getLatestDeletionId();
+        watermark = latest != null ? latest : new Timestamp(0);
+        deletionWatermark = latestDeletion;
+        markDeletions(fetchDeletions());
+        markChanges(fetchChanges());
+        primed = true;
+    }
+
+    // Everything is read before any state changes, so a failed read loses nothing
+    private SortedMap<Long, String> fetchDeletions() {
+        long from = Math.max(0, deletionWatermark - Constants.ChangeFeed.DELETION_OVERLAP);
+        SortedMap<Long, String> deletions = new TreeMap<>();
+
+        SortedMap<Long, String> batch;
+        do {
+            batch = studentDAO.getDeletionsAfter(from, batchLimit);
+            deletions.putAll(batch);
+            if (!batch.isEmpty()) {
+                from = batch.lastKey();
+            }
+        } while (batch.size() == batchLimit);
+
+        return deletions;
+    }
+
+    private List<Student> fetchChanges() {
+        Timestamp since = new Timestamp(Math.max(0, watermark.getTime() - overlapMs));
+        String afterRoll = "";
+        List<Student> rows = new ArrayList<>();
+
+        List<Student> batch;
+        do {
+            batch = studentDAO.getStudentsChangedSince(since, afterRoll, batchLimit);
+            rows.addAll(batch);
+            if (!batch.isEmpty()) {
+                Student last = batch.get(batch.size() - 1);
+                since = last.getUpdatedAt();
+                afterRoll = last.getRollNumber();
+            }
+        } while (batch.size() == batchLimit);
+
+        return rows;
+    }
+
+    // Record deletions as delivered; returns the roll numbers not delivered before
+    private List<String> markDeletions(SortedMap<Long, String> deletions) {
+        List<String> deletedRolls = new ArrayList<>();
+        for (Map.Entry<Long, String> entry : deletions.entrySet()) {
+            if (recentDeletionIds.add(entry.getKey())) {
+                deletedRolls.add(entry.getValue());
+                recentlyDelivered.remove(normalize(entry.getValue()));
+            }
+        }
+        if (!deletions.isEmpty()) {
+            deletionWatermark = Math.max(deletionWatermark, deletions.lastKey());
+        }
+        recentDeletionIds.headSet(deletionWatermark - Constants.ChangeFeed.DELETION_OVERLAP).clear();
+        return deletedRolls;
+    }
+
+    // Record rows as delivered; returns the versions not delivered before
+    private List<Student> markChanges(List<Student> rows) {
+        List<Student> changed = new ArrayList<>();
+        for (Student student : rows) {
+            String key = normalize(student.getRollNumber());
+            Student previous = recentlyDelivered.get(key);
+            if (previous == null || isNewer(student, previous)) {
+                recentlyDelivered.put(key, student);
+                changed.add(student);
+            }
+        }
+        if (!rows.isEmpty()) {
+            Timestamp newest = rows.get(rows.size() - 1).getUpdatedAt();
+            if (newest.after(watermark)) {
+                watermark = newest;
+            }
+        }
+
+        long windowStart = watermark.getTime() - overlapMs;
+        Iterator<Student> it = recentlyDelivered.values().iterator();
+        while (it.hasNext()) {
+            if (it.next().getUpdatedAt().getTime() < windowStart) {
+                it.remove();
+            }
+        }
+        return changed;
+    }
+
+    // updated_at has one-second resolution, so equal times still need a content check
+    private static boolean isNewer(Student student, Student previous) {
+        int byTime = student.getUpdatedAt().compareTo(previous.getUpdatedAt());
+        if (byTime != 0) {
+            return byTime > 0;
+        }
+        return !Objects.equals(student.getName(), previous.getName())
+                || !Objects.equals(student.getEmail(), previous.getEmail())
+                || !Objects.equals(student.getPhone(), previous.getPhone())
+                || !Objects.equals(student.getCourse(), previous.getCourse())
+                || Double.compare(student.getMarks(), previous.getMarks()) != 0;
+    }
+
+    private void purgeIfDue() {
+        long now = System.currentTimeMillis();
+        if (now - lastPurgeMillis < Constants.ChangeFeed.PURGE_INTERVAL_MS) {
+            return;
+        }
+        lastPurgeMillis = now;
+        int purged = studentDAO.purgeDeletionsBefore(
+                new Timestamp(watermark.getTime() - Constants.ChangeFeed.DELETION_RETENTION_MS));
+        if (purged > 0) {
+            LOG.info("✓ Purged {} old delete log entries", purged);
+        }
+    }
+
+    private static String normalize(String rollNumber) {
+        return rollNumber == null ? "" : rollNumber.trim().toLowerCase();
+    }
+
+    /**
+     * One poll's worth of changes; deletions are to be applied before the
+     * inserts and updates
+     */
+    public static final class ChangeSet {
+        static final ChangeSet EMPTY = new ChangeSet(
+                Collections.<Student>emptyList(), Collections.<String>emptyList(), null);
+
+        private final List<Student> changed;
+        private final List<String> deletedRollNumbers;
+        private final Timestamp watermark;
+
+        ChangeSet(List<Student> changed, List<String> deletedRollNumbers, Timestamp watermark) {
+            this.changed = Collections.unmodifiableList(changed);
+            this.deletedRollNumbers = Collections.unmodifiableList(deletedRollNumbers);
+            this.watermark = watermark;
+        }
+
+        // Inserted or updated students, oldest change first
+        public List<Student> getChanged() {
+            return changed;
+        }
+
+        public List<String> getDeletedRollNumbers() {
+            return deletedRollNumbers;
+        }
+
+        // Newest updated_at delivered once this set is applied
+        public Timestamp getWatermark() {
+            return watermark;
+        }
+
+        public boolean isEmpty() {
+            return changed.isEmpty() && deletedRollNumbers.isEmpty();
+        }
+    }
+}
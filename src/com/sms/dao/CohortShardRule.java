@@ -0,0 +1,120 @@
+package com.sms.dao;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * CohortShardRule Class - Shards roll numbers by cohort
+ * The cohort is the first prefixLength characters of the roll number (e.g.
+ * the admission year in "2023CS001"), so a whole batch of students lives on
+ * one shard. Cohorts can be pinned to a shard explicitly; other numeric
+ * cohorts go to (cohort mod shardCount), which keeps consecutive years on
+ * different shards. Roll numbers without a numeric prefix fall back to a
+ * hash of the whole roll number.
+ */
+public class CohortShardRule implements ShardRule {
+
+    private final int prefixLength;
+    // lower-case cohort -> shard index
+    private final Map<String, Integer> cohorts;
+
+    public CohortShardRule(int prefixLength) {
+        this(prefixLength, Collections.emptyMap());
+    }
+
+    /**
+     * @param prefixLength Characters of the roll number that name its cohort
+     * @param cohorts      Cohorts pinned to a shard (cohort -> shard index)
+     */
+    public CohortShardRule(int prefixLength, Map<String, Integer> cohorts) {
+        if (prefixLength < 1) {
+            throw new IllegalArgumentException("Cohort length must be at least 1: " + prefixLength);
+        }
+        this.prefixLength = prefixLength;
+        Map<String, Integer> pinned = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> entry : cohorts.entrySet()) {
+            String cohort = StudentConstraints.normalizeKey(entry.getKey());
+            if (cohort.length() != prefixLength) {
+                throw new IllegalArgumentException("Cohort '" + entry.getKey() + "' is not "
+                        + prefixLength + " characters long");
+            }
+            if (entry.getValue() == null || entry.getValue() < 0) {
+                throw new IllegalArgumentException("Invalid shard for cohort " + entry.getKey()
+                        + ": " + entry.getValue());
+            }
+            pinned.put(cohort, entry.getValue());
+        }
+        this.cohorts = Collections.unmodifiableMap(pinned);
+    }
+
+    /**
+     * Parse pinned cohorts written as "cohort:shard" pairs
+     *
+     * @param spec         e.g. "2023:0,2024:1" (blank = none pinned)
+     * @param prefixLength Characters of the roll number that name its cohort
+     * @return Rule
+     * @throws IllegalArgumentException if the spec is malformed
+     */
+    public static CohortShardRule parse(String spec, int prefixLength) {
+        Map<String, Integer> cohorts = new LinkedHashMap<>();
+        if (spec != null && !spec.trim().isEmpty()) {
+            for (String pair : spec.split(",")) {
+                int colon = pair.indexOf(':');
+                if (colon < 0) {
+                    throw new IllegalArgumentException("Expected cohort:shard, got '" + pair.trim() + "'");
+                }
+                try {
+                    cohorts.put(pair.substring(0, colon).trim(),
+                            Integer.parseInt(pair.substring(colon + 1).trim()));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid shard number in '" + pair.trim() + "'");
+                }
+            }
+        }
+        return new CohortShardRule(prefixLength, cohorts);
+    }
+
+    @Override
+    public int shardFor(String rollKey, int shardCount) {
+        String cohort = rollKey.length() > prefixLength ? rollKey.substring(0, prefixLength) : rollKey;
+        Integer pinned = cohorts.get(cohort);
+        if (pinned != null) {
+            return pinned;
+        }
+
+        // Numeric cohort mod shardCount, one digit at a time (no overflow for long prefixes)
+        int shard = 0;
+        for (int i = 0; i < cohort.length(); i++) {
+            char c = cohort.charAt(i);
+            if (c < '0' || c > '9') {
+                return Math.floorMod(rollKey.hashCode(), shardCount);
+            }
+            shard = (shard * 10 + (c - '0')) % shardCount;
+        }
+        return shard;
+    }
+
+    @Override
+    public void checkShardCount(int shardCount) {
+        for (Map.Entry<String, Integer> entry : cohorts.entrySet()) {
+            if (entry.getValue() >= shardCount) {
+                throw new IllegalArgumentException("Cohort " + entry.getKey() + " is pinned to shard "
+                        + entry.getValue() + " but there are only " + shardCount + " shards");
+            }
+        }
+    }
+
+    public int getPrefixLength() {
+        return prefixLength;
+    }
+
+    public Map<String, Integer> getCohorts() {
+        return cohorts;
+    }
+
+    @Override
+    public String toString() {
+        return "cohort(length=" + prefixLength + (cohorts.isEmpty() ? "" : ", pinned=" + cohorts) + ")";
+    }
+}
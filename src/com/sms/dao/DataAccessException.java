@@ -0,0 +1,22 @@
+package com.sms.dao;
+
+import java.sql.SQLException;
+
+/**
+ * DataAccessException Class - Unchecked wrapper for SQLException
+ * Thrown from lazily evaluated results (streams, callbacks) where a checked
+ * SQLException cannot be declared
+ */
+public class DataAccessException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public DataAccessException(String message, SQLException cause) {
+        super(message, cause);
+    }
+
+    @Override
+    public synchronized SQLException getCause() {
+        return (SQLException) super.getCause();
+    }
+}
@@ -0,0 +1,309 @@
+package com.sms.dao;
+
+import com.sms.analytics.StudentAnalytics;
+import com.sms.log.Log;
+import com.sms.log.Logger;
+import com.sms.model.CourseStats;
+import com.sms.model.Student;
+import com.sms.search.NameSearchIndex;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * InMemoryStudentRepository Class - StudentRepository without a database
+ * Same rules as the students table: roll number primary key, unique email
+ * (both case-insensitive), NOT NULL columns and their sizes, marks between
+ * 0 and 100 stored with two decimals. Lets the UI, imports and throughput
+ * tests run offline and shows what the application costs without MySQL.
+ *
+ * Rows live in a ConcurrentSkipListMap ordered by roll number, so reads
+ * (lookups, pages, streams) never lock. Writes are serialized on one lock
+ * because a roll number and an email must be claimed together. Stored
+ * students are never modified; callers always get copies. Name searches
+ * always use a NameSearchIndex kept current by every write.
+ */
+public class InMemoryStudentRepository implements StudentRepository {
+
+    private static final Logger LOG = Log.getLogger(InMemoryStudentRepository.class);
+
+    // normalized roll number -> stored student
+    private final ConcurrentSkipListMap<String, Student> rows = new ConcurrentSkipListMap<>();
+    // normalized email -> normalized roll number of its owner
+    private final Map<String, String> emailOwners = new ConcurrentHashMap<>();
+    private final NameSearchIndex nameIndex = new NameSearchIndex();
+    private final Object writeLock = new Object();
+
+    // ==================== WRITES ====================
+
+    @Override
+    public InsertOutcome insertStudent(Student student) {
+        InsertOutcome outcome;
+        synchronized (writeLock) {
+            outcome = insertLocked(student);
+        }
+        if (outcome == InsertOutcome.INSERTED) {
+            LOG.info("✓ Student added successfully: {}", student.getRollNumber());
+        } else if (outcome == InsertOutcome.DUPLICATE_ROLL) {
+            LOG.warn("✗ Roll Number already exists: {}", student.getRollNumber());
+        } else if (outcome == InsertOutcome.DUPLICATE_EMAIL) {
+            LOG.warn("✗ Email already exists: {}", student.getEmail());
+        } else {
+            LOG.error("✗ Error adding student: {}", StudentConstraints.schemaViolation(student));
+        }
+        return outcome;
+    }
+
+    @Override
+    public BatchInsertReport addStudents(Collection<Student> students, int chunkSize) {
+        StudentConstraints.checkChunkSize(chunkSize);
+        long start = System.nanoTime();
+        List<Student> input = new ArrayList<>(students);
+        BatchInsertReport report = new BatchInsertReport(input);
+        report.rejectInvalidAndRepeated();
+
+        synchronized (writeLock) {
+            for (int i = 0; i < input.size(); i++) {
+                if (report.get(i) == null) {
+                    report.set(i, insertLocked(input.get(i)));
+                }
+            }
+        }
+
+        report.setElapsedNanos(System.nanoTime() - start);
+        LOG.info("✓ Batch insert finished: {}", report);
+        return report;
+    }
+
+    @Override
+    public BatchInsertReport upsertStudents(Collection<Student> students, int chunkSize) {
+        StudentConstraints.checkChunkSize(chunkSize);
+        long start = System.nanoTime();
+        List<Student> input = new ArrayList<>(students);
+        BatchInsertReport report = new BatchInsertReport(input);
+        report.rejectInvalidAndRepeated();
+
+        synchronized (writeLock) {
+            for (int i = 0; i < input.size(); i++) {
+                if (report.get(i) == null) {
+                    report.set(i, upsertLocked(input.get(i)));
+                }
+            }
+        }
+
+        report.setElapsedNanos(System.nanoTime() - start);
+        if (input.size() != 1) {
+            LOG.info("✓ Batch upsert finished: {}", report);
+        } else if (report.getOutcome(0).isSuccess()) {
+            LOG.info("✓ Student saved successfully: {}", input.get(0).getRollNumber());
+        } else {
+            LOG.warn("✗ Student not saved ({}): {}", report.getOutcome(0), input.get(0).getRollNumber());
+        }
+        return report;
+    }
+
+    @Override
+    public boolean updateStudent(Student student) {
+        String rollKey = StudentConstraints.normalizeKey(student.getRollNumber());
+        synchronized (writeLock) {
+            Student existing = rows.get(rollKey);
+            if (existing == null) {
+                LOG.info("✗ Student not found for update: {}", student.getRollNumber());
+                return false;
+            }
+            String violation = StudentConstraints.schemaViolation(student);
+            if (violation != null) {
+                LOG.error("✗ Error updating student: {}", violation);
+                return false;
+            }
+            if (!emailAvailable(student.getEmail(), rollKey)) {
+                LOG.error("✗ Error updating student: Email already exists: {}", student.getEmail());
+                return false;
+            }
+            store(rollKey, existing, student, existing.getRollNumber());
+        }
+        LOG.info("✓ Student updated successfully: {}", student.getRollNumber());
+        return true;
+    }
+
+    @Override
+    public boolean deleteStudent(String rollNumber) {
+        String rollKey = StudentConstraints.normalizeKey(rollNumber);
+        synchronized (writeLock) {
+            Student removed = rows.remove(rollKey);
+            if (removed == null) {
+                LOG.info("✗ Student not found for deletion: {}", rollNumber);
+                return false;
+            }
+            emailOwners.remove(StudentConstraints.normalizeKey(removed.getEmail()));
+            nameIndex.remove(removed.getRollNumber());
+        }
+        LOG.info("✓ Student deleted successfully: {}", rollNumber);
+        return true;
+    }
+
+    // ==================== READS ====================
+
+    @Override
+    public List<Student> getAllStudents() {
+        List<Student> students = new ArrayList<>(rows.size());
+        for (Student student : rows.values()) {
+            students.add(new Student(student));
+        }
+        LOG.info("✓ Retrieved {} students", students.size());
+        return students;
+    }
+
+    @Override
+    public List<Student> getStudentsPage(String afterRollNumber, int limit) {
+        List<Student> students = new ArrayList<>(Math.min(limit, rows.size()));
+        for (Student student : rows.tailMap(StudentConstraints.normalizeKey(afterRollNumber), false).values()) {
+            if (students.size() >= limit) {
+                break;
+            }
+            students.add(new Student(student));
+        }
+        return students;
+    }
+
+    @Override
+    public List<String> getRollNumbersAfter(String afterRollNumber, int limit) {
+        List<String> rollNumbers = new ArrayList<>(Math.min(limit, rows.size()));
+        for (Student student : rows.tailMap(StudentConstraints.normalizeKey(afterRollNumber), false).values()) {
+            if (rollNumbers.size() >= limit) {
+                break;
+            }
+            rollNumbers.add(student.getRollNumber());
+        }
+        return rollNumbers;
+    }
+
+    @Override
+    public int countStudents() {
+        return rows.size();
+    }
+
+    @Override
+    public Student getStudentByRollNumber(String rollNumber) {
+        Student student = rows.get(StudentConstraints.normalizeKey(rollNumber));
+        if (student == null) {
+            LOG.info("✗ Student not found: {}", rollNumber);
+            return null;
+        }
+        LOG.info("✓ Student found: {}", rollNumber);
+        return new Student(student);
+    }
+
+    @Override
+    public boolean isRollNumberExists(String rollNumber) {
+        return rows.containsKey(StudentConstraints.normalizeKey(rollNumber));
+    }
+
+    /**
+     * Search the name index (ranked: exact, prefix, substring, then close
+     * misspellings), like StudentDAO with its index attached
+     */
+    @Override
+    public List<Student> searchStudentsByName(String name, int limit) {
+        List<Student> students = new ArrayList<>();
+        for (String rollNumber : nameIndex.searchRollNumbers(name, limit)) {
+            Student student = rows.get(StudentConstraints.normalizeKey(rollNumber));
+            if (student != null) {
+                students.add(new Student(student));
+            }
+        }
+        LOG.info("✓ Found {} students matching: {}", students.size(), name);
+        return students;
+    }
+
+    /**
+     * The name index is maintained on every write, so there is nothing to build
+     */
+    @Override
+    public long buildNameIndex() {
+        int size = nameIndex.size();
+        LOG.info("✓ Name index ready: {} names", size);
+        return size;
+    }
+
+    /**
+     * Computed from a snapshot with StudentAnalytics (same definitions as the
+     * MySQL queries: nearest-rank percentiles, 10-mark histogram buckets)
+     */
+    @Override
+    public List<CourseStats> getCourseStatistics() {
+        StudentAnalytics analytics = new StudentAnalytics(this);
+        analytics.load();
+        return analytics.getStatistics();
+    }
+
+    /**
+     * Stream copies of all students in roll number order. The stream is
+     * weakly consistent: it may or may not see writes made while it is read.
+     */
+    @Override
+    public Stream<Student> streamAllStudents() {
+        return rows.values().stream().map(Student::new);
+    }
+
+    // ==================== CONSTRAINTS (write lock held) ====================
+
+    private InsertOutcome insertLocked(Student student) {
+        String rollKey = StudentConstraints.normalizeKey(student.getRollNumber());
+        if (StudentConstraints.schemaViolation(student) != null) {
+            return InsertOutcome.FAILED;
+        }
+        if (rows.containsKey(rollKey)) {
+            return InsertOutcome.DUPLICATE_ROLL;
+        }
+        if (!emailAvailable(student.getEmail(), rollKey)) {
+            return InsertOutcome.DUPLICATE_EMAIL;
+        }
+        store(rollKey, null, student, student.getRollNumber());
+        return InsertOutcome.INSERTED;
+    }
+
+    // An email owned by another student leaves both rows untouched (like the guarded SQL upsert)
+    private InsertOutcome upsertLocked(Student student) {
+        String rollKey = StudentConstraints.normalizeKey(student.getRollNumber());
+        if (StudentConstraints.schemaViolation(student) != null) {
+            return InsertOutcome.FAILED;
+        }
+        if (!emailAvailable(student.getEmail(), rollKey)) {
+            return InsertOutcome.DUPLICATE_EMAIL;
+        }
+        Student existing = rows.get(rollKey);
+        store(rollKey, existing, student, existing == null ? student.getRollNumber() : existing.getRollNumber());
+        return InsertOutcome.UPSERTED;
+    }
+
+    private boolean emailAvailable(String email, String rollKey) {
+        String owner = emailOwners.get(StudentConstraints.normalizeKey(email));
+        return owner == null || owner.equals(rollKey);
+    }
+
+    /**
+     * Store a copy of the student (keeping the stored roll number's spelling
+     * and creation time when replacing) and update the email and name indexes
+     */
+    private void store(String rollKey, Student existing, Student student, String rollNumber) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        Student stored = new Student(rollNumber, student.getName(), student.getEmail(), student.getPhone(),
+                student.getCourse(), Math.round(student.getMarks() * 100) / 100.0);
+        stored.setCreatedAt(existing == null ? now : existing.getCreatedAt());
+        stored.setUpdatedAt(now);
+
+        if (existing != null) {
+            emailOwners.remove(StudentConstraints.normalizeKey(existing.getEmail()));
+        }
+        emailOwners.put(StudentConstraints.normalizeKey(stored.getEmail()), rollKey);
+        rows.put(rollKey, stored);
+        nameIndex.put(rollNumber, stored.getName());
+    }
+}
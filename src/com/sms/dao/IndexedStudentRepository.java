@@ -0,0 +1,503 @@
+package com.sms.dao;
+
+import com.sms.log.Log;
+import com.sms.log.Logger;
+import com.sms.model.CourseStats;
+import com.sms.model.Student;
+import com.sms.search.NameSearchIndex;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * IndexedStudentRepository Class - In-memory, indexed copy of the students table
+ * Wraps a StudentRepository, loads a snapshot once (streamed, constant extra
+ * memory) and answers reads from memory:
+ * - hash index on roll number (point lookups)
+ * - sorted index on roll number (range scans, ordered listing, keyset pages)
+ * - secondary indexes on course and on marks
+ * - trigram index on name (substring, prefix and typo-tolerant search)
+ * Until the first load() (buildNameIndex() loads too) reads go to the
+ * wrapped repository. Course statistics always come from it.
+ *
+ * Writes go to the wrapped repository (MySQL or in-memory) first and are
+ * applied to the indexes only if it accepted them. Every index is a concurrent map, so
+ * readers never take a lock and never block each other. Writers take a lock
+ * only for the in-memory update, not while the database call runs, so a
+ * slow write does not hold up other writers. While a write is being applied
+ * a reader may briefly see it in one index and not yet in another. Two
+ * threads writing the same student at once may reach the indexes in the
+ * other order than they committed; the next load() or applyChanges() from
+ * ChangeFeed corrects that. StudentFrame uses this class with
+ * -Dsms.repository.indexed=true and feeds it other clients' writes.
+ *
+ * load() builds a complete new set of indexes off to the side and then
+ * publishes it with one volatile write, so readers see either the old
+ * snapshot or the new one, never a half-built one.
+ *
+ * Students are copied on the way in and out, so callers cannot modify indexed state.
+ */
+public class IndexedStudentRepository implements StudentRepository {
+
+    private static final Logger LOG = Log.getLogger(IndexedStudentRepository.class);
+
+    private final StudentRepository repository;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    // Current snapshot (null until loaded); replaced as a whole by load()
+    private volatile Indexes indexes;
+
+    private volatile long loadedAtMillis = 0;
+
+    public IndexedStudentRepository(StudentRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * @return The wrapped repository
+     */
+    public StudentRepository getRepository() {
+        return repository;
+    }
+
+    /**
+     * (Re)load the snapshot from the database, replacing current contents
+     * Readers keep using the previous snapshot until the new one is complete.
+     *
+     * @return Number of students loaded
+     * @throws DataAccessException if the table cannot be read
+     */
+    public long load() {
+        // Held while streaming so no write lands in the snapshot being replaced
+        writeLock.lock();
+        try {
+            long start = System.nanoTime();
+            Indexes fresh = new Indexes();
+            long count = repository.forEachStudent(fresh::index);
+            indexes = fresh;
+            loadedAtMillis = System.currentTimeMillis();
+            LOG.info("✓ Indexed {} students in {}ms", count, (System.nanoTime() - start) / 1_000_000);
+            return count;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public boolean isLoaded() {
+        return indexes != null;
+    }
+
+    // ==================== READS (lock-free) ====================
+
+    @Override
+    public Student getStudentByRollNumber(String rollNumber) {
+        Indexes current = indexes;
+        if (current == null) {
+            return repository.getStudentByRollNumber(rollNumber);
+        }
+        Entry entry = current.byRoll.get(normalize(rollNumber));
+        return entry == null ? null : entry.copy();
+    }
+
+    @Override
+    public List<Student> getStudentsByRollNumbers(List<String> rollNumbers) {
+        Indexes current = indexes;
+        if (current == null) {
+            return repository.getStudentsByRollNumbers(rollNumbers);
+        }
+        List<Student> students = new ArrayList<>(rollNumbers.size());
+        for (String rollNumber : rollNumbers) {
+            Entry entry = current.byRoll.get(normalize(rollNumber));
+            if (entry != null) {
+                students.add(entry.copy());
+            }
+        }
+        return students;
+    }
+
+    @Override
+    public boolean isRollNumberExists(String rollNumber) {
+        Indexes current = indexes;
+        return current == null ? repository.isRollNumberExists(rollNumber)
+                : current.byRoll.containsKey(normalize(rollNumber));
+    }
+
+    /**
+     * Ranked name search: exact, prefix and substring matches first, then
+     * close misspellings (see NameSearchIndex)
+     */
+    @Override
+    public List<Student> searchStudentsByName(String name, int limit) {
+        Indexes current = indexes;
+        if (current == null) {
+            return repository.searchStudentsByName(name, limit);
+        }
+        List<Student> students = new ArrayList<>();
+        for (String rollNumber : current.byName.searchRollNumbers(name, limit)) {
+            Entry entry = current.byRoll.get(normalize(rollNumber));
+            if (entry != null) {
+                students.add(entry.copy());
+            }
+        }
+        return students;
+    }
+
+    /**
+     * Load the snapshot, name index included
+     */
+    @Override
+    public long buildNameIndex() {
+        return load();
+    }
+
+    /**
+     * All students in roll number order
+     */
+    @Override
+    public List<Student> getAllStudents() {
+        Indexes current = indexes;
+        return current == null ? repository.getAllStudents() : copies(current.sortedByRoll.values());
+    }
+
+    @Override
+    public List<Student> getStudentsPage(String afterRollNumber, int limit) {
+        Indexes current = indexes;
+        if (current == null) {
+            return repository.getStudentsPage(afterRollNumber, limit);
+        }
+        List<Student> page = new ArrayList<>(Math.min(limit, 1024));
+        for (Entry entry : current.sortedByRoll.tailMap(normalize(afterRollNumber), false).values()) {
+            if (page.size() >= limit) {
+                break;
+            }
+            page.add(entry.copy());
+        }
+        return page;
+    }
+
+    @Override
+    public List<String> getRollNumbersAfter(String afterRollNumber, int limit) {
+        Indexes current = indexes;
+        if (current == null) {
+            return repository.getRollNumbersAfter(afterRollNumber, limit);
+        }
+        List<String> rollNumbers = new ArrayList<>(Math.min(limit, 1024));
+        for (Entry entry : current.sortedByRoll.tailMap(normalize(afterRollNumber), false).values()) {
+            if (rollNumbers.size() >= limit) {
+                break;
+            }
+            rollNumbers.add(entry.student.getRollNumber());
+        }
+        return rollNumbers;
+    }
+
+    @Override
+    public int countStudents() {
+        Indexes current = indexes;
+        return current == null ? repository.countStudents() : current.byRoll.size();
+    }
+
+    @Override
+    public List<CourseStats> getCourseStatistics() {
+        return repository.getCourseStatistics();
+    }
+
+    /**
+     * All students in roll number order, from the snapshot taken now
+     */
+    @Override
+    public Stream<Student> streamAllStudents() {
+        Indexes current = indexes;
+        return current == null ? repository.streamAllStudents()
+                : current.sortedByRoll.values().stream().map(Entry::copy);
+    }
+
+    /**
+     * Students with fromRollNumber &lt;= roll number &lt; toRollNumber
+     * (case-insensitive), in order
+     */
+    public List<Student> getStudentsInRollRange(String fromRollNumber, String toRollNumber) {
+        return copies(snapshot().sortedByRoll.subMap(normalize(fromRollNumber), true,
+                normalize(toRollNumber), false).values());
+    }
+
+    /**
+     * Students in a course (case-insensitive), in roll number order
+     */
+    public List<Student> getStudentsByCourse(String course) {
+        Map<String, Entry> students = snapshot().byCourse.get(normalize(course));
+        return students == null ? Collections.emptyList() : copies(students.values());
+    }
+
+    /**
+     * Students with minMarks &lt;= marks &lt;= maxMarks, lowest marks first
+     */
+    public List<Student> getStudentsByMarksRange(double minMarks, double maxMarks) {
+        return copies(snapshot().byMarks.subMap(MarksKey.lowest(minMarks), true, MarksKey.highest(maxMarks), true)
+                .values());
+    }
+
+    public int size() {
+        Indexes current = indexes;
+        return current == null ? 0 : current.byRoll.size();
+    }
+
+    public long getLoadedAtMillis() {
+        return loadedAtMillis;
+    }
+
+    // The secondary indexes have no counterpart in StudentRepository
+    private Indexes snapshot() {
+        Indexes current = indexes;
+        if (current == null) {
+            throw new IllegalStateException("Student indexes not loaded yet");
+        }
+        return current;
+    }
+
+    // ==================== WRITES (database first, then indexes) ====================
+
+    @Override
+    public InsertOutcome insertStudent(Student student) {
+        Student inserted = new Student(student);
+        InsertOutcome outcome = repository.insertStudent(student);
+        if (outcome.isSuccess()) {
+            writeLock.lock();
+            try {
+                replace(inserted);
+            } finally {
+                writeLock.unlock();
+            }
+        }
+        return outcome;
+    }
+
+    @Override
+    public BatchInsertReport addStudents(Collection<Student> students, int chunkSize) {
+        return indexSuccesses(repository.addStudents(students, chunkSize));
+    }
+
+    @Override
+    public BatchInsertReport upsertStudents(Collection<Student> students, int chunkSize) {
+        return indexSuccesses(repository.upsertStudents(students, chunkSize));
+    }
+
+    private BatchInsertReport indexSuccesses(BatchInsertReport report) {
+        writeLock.lock();
+        try {
+            for (int i = 0; i < report.size(); i++) {
+                if (report.getOutcome(i).isSuccess()) {
+                    replace(report.getStudent(i));
+                }
+            }
+            return report;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean updateStudent(Student student) {
+        Student updated = new Student(student);
+        if (!repository.updateStudent(student)) {
+            return false;
+        }
+        writeLock.lock();
+        try {
+            replace(updated);
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean deleteStudent(String rollNumber) {
+        if (!repository.deleteStudent(rollNumber)) {
+            return false;
+        }
+        writeLock.lock();
+        try {
+            remove(rollNumber);
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Apply writes made elsewhere (delivered by ChangeFeed); the database
+     * already has them, so only the indexes change. Safe to apply twice.
+     *
+     * @param changed      Students inserted or updated
+     * @param deletedRolls Roll numbers deleted
+     */
+    public void applyChanges(Collection<Student> changed, Collection<String> deletedRolls) {
+        writeLock.lock();
+        try {
+            for (String rollNumber : deletedRolls) {
+                remove(rollNumber);
+            }
+            for (Student student : changed) {
+                replace(student);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // writeLock held. Index the new version before dropping the old one so
+    // the roll number never disappears; unindex() only removes the old entry.
+    // Like the database, an update keeps the stored roll number spelling and
+    // (unless given) creation time.
+    private void replace(Student student) {
+        Indexes current = indexes;
+        if (current == null) {
+            return; // not loaded: load() reads the row from the database
+        }
+        Entry previous = current.byRoll.get(normalize(student.getRollNumber()));
+        if (previous != null) {
+            student = new Student(student).setRollNumber(previous.student.getRollNumber());
+            if (student.getCreatedAt() == null) {
+                student.setCreatedAt(previous.student.getCreatedAt());
+            }
+        }
+        current.index(student);
+        if (previous != null) {
+            current.unindex(previous);
+        }
+    }
+
+    // writeLock held
+    private void remove(String rollNumber) {
+        Indexes current = indexes;
+        Entry previous = current == null ? null : current.byRoll.get(normalize(rollNumber));
+        if (previous != null) {
+            current.unindex(previous);
+        }
+    }
+
+    // ==================== INDEXES ====================
+
+    /**
+     * One complete set of indexes; changed in place only under writeLock
+     * (or before it is published, by load())
+     */
+    private static final class Indexes {
+        // normalized roll number -> entry
+        final ConcurrentHashMap<String, Entry> byRoll = new ConcurrentHashMap<>();
+        // normalized roll number -> entry, in roll number order
+        final ConcurrentSkipListMap<String, Entry> sortedByRoll = new ConcurrentSkipListMap<>();
+        // normalized course -> (normalized roll number -> entry)
+        final ConcurrentHashMap<String, ConcurrentSkipListMap<String, Entry>> byCourse = new ConcurrentHashMap<>();
+        // (marks, roll number) -> entry, in marks order
+        final ConcurrentSkipListMap<MarksKey, Entry> byMarks = new ConcurrentSkipListMap<>();
+        // name trigrams -> roll number
+        final NameSearchIndex byName = new NameSearchIndex();
+
+        void index(Student student) {
+            Entry entry = new Entry(new Student(student));
+            byRoll.put(entry.rollKey, entry);
+            sortedByRoll.put(entry.rollKey, entry);
+            byCourse.computeIfAbsent(entry.courseKey, k -> new ConcurrentSkipListMap<>())
+                    .put(entry.rollKey, entry);
+            byMarks.put(entry.marksKey, entry);
+            byName.put(entry.student.getRollNumber(), entry.student.getName());
+        }
+
+        void unindex(Entry entry) {
+            byRoll.remove(entry.rollKey, entry);
+            sortedByRoll.remove(entry.rollKey, entry);
+            Map<String, Entry> course = byCourse.get(entry.courseKey);
+            if (course != null) {
+                course.remove(entry.rollKey, entry);
+            }
+            byMarks.remove(entry.marksKey, entry);
+            if (!byRoll.containsKey(entry.rollKey)) {
+                // Not replaced by a newer version (see updateStudent)
+                byName.remove(entry.student.getRollNumber());
+            }
+        }
+    }
+
+    private static List<Student> copies(Collection<Entry> entries) {
+        List<Student> students = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            students.add(entry.copy());
+        }
+        return students;
+    }
+
+    private static String normalize(String key) {
+        return key == null ? "" : key.trim().toLowerCase();
+    }
+
+    /**
+     * One indexed student plus its precomputed index keys (never modified)
+     */
+    private static final class Entry {
+        final Student student;
+        final String rollKey;
+        final String courseKey;
+        final MarksKey marksKey;
+
+        Entry(Student student) {
+            this.student = student;
+            this.rollKey = normalize(student.getRollNumber());
+            this.courseKey = normalize(student.getCourse());
+            this.marksKey = new MarksKey(student.getMarks(), student.getRollNumber());
+        }
+
+        Student copy() {
+            return new Student(student);
+        }
+    }
+
+    /**
+     * Marks index key: ordered by marks, ties broken by roll number
+     */
+    private static final class MarksKey implements Comparable<MarksKey> {
+        // Sorts before / after every real roll number with the same marks
+        private static final String MIN_ROLL = "";
+        private static final String MAX_ROLL = String.valueOf(Character.MAX_VALUE);
+
+        final double marks;
+        final String rollNumber;
+
+        MarksKey(double marks, String rollNumber) {
+            this.marks = marks;
+            this.rollNumber = rollNumber;
+        }
+
+        static MarksKey lowest(double marks) {
+            return new MarksKey(marks, MIN_ROLL);
+        }
+
+        static MarksKey highest(double marks) {
+            return new MarksKey(marks, MAX_ROLL);
+        }
+
+        @Override
+        public int compareTo(MarksKey other) {
+            int byMarks = Double.compare(marks, other.marks);
+            return byMarks != 0 ? byMarks : rollNumber.compareTo(other.rollNumber);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof MarksKey && compareTo((MarksKey) o) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Double.hashCode(marks) * 31 + rollNumber.hashCode();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.sms.dao;
+
+/**
+ * InsertOutcome Enum - Result of trying to insert (or upsert) one student
+ * Tells the caller which constraint (if any) rejected the row
+ */
+public enum InsertOutcome {
+    INSERTED,
+    // Written by an upsert: inserted, or the existing row with that roll number updated
+    UPSERTED,
+    DUPLICATE_ROLL,
+    DUPLICATE_EMAIL,
+    INVALID,
+    FAILED;
+
+    public boolean isSuccess() {
+        return this == INSERTED || this == UPSERTED;
+    }
+}
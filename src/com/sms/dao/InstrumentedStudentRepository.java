@@ -0,0 +1,327 @@
+package com.sms.dao;
+
+import com.sms.model.CourseStats;
+import com.sms.model.Student;
+import com.sms.util.Metrics;
+import com.sms.util.OperationMetrics;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * InstrumentedStudentRepository Class - Metrics around every repository call
+ * Wraps a StudentRepository and records, per method, calls, errors, rows
+ * returned or written and a latency histogram (see OperationMetrics; the
+ * type is the wrapped class's name, e.g. StudentDAO). Recording is
+ * lock-free and adds well under a microsecond per call.
+ *
+ * An error is an exception, a FAILED insert outcome or a batch with FAILED
+ * rows. Streams are timed from open to close and count the rows read.
+ */
+public class InstrumentedStudentRepository implements StudentRepository {
+
+    private final StudentRepository repository;
+
+    private final OperationMetrics insertStudent;
+    private final OperationMetrics addStudents;
+    private final OperationMetrics upsertStudents;
+    private final OperationMetrics updateStudent;
+    private final OperationMetrics deleteStudent;
+    private final OperationMetrics getAllStudents;
+    private final OperationMetrics getStudentsPage;
+    private final OperationMetrics getRollNumbersAfter;
+    private final OperationMetrics getRollNumberCheckpoints;
+    private final OperationMetrics countStudents;
+    private final OperationMetrics getStudentByRollNumber;
+    private final OperationMetrics getStudentsByRollNumbers;
+    private final OperationMetrics isRollNumberExists;
+    private final OperationMetrics searchStudentsByName;
+    private final OperationMetrics buildNameIndex;
+    private final OperationMetrics getCourseStatistics;
+    private final OperationMetrics streamAllStudents;
+    private final OperationMetrics forEachStudent;
+
+    public InstrumentedStudentRepository(StudentRepository repository) {
+        this.repository = repository;
+        String type = repository.getClass().getSimpleName();
+        if (type.isEmpty()) {
+            type = "StudentRepository";
+        }
+        insertStudent = Metrics.get(type, "insertStudent");
+        addStudents = Metrics.get(type, "addStudents");
+        upsertStudents = Metrics.get(type, "upsertStudents");
+        updateStudent = Metrics.get(type, "updateStudent");
+        deleteStudent = Metrics.get(type, "deleteStudent");
+        getAllStudents = Metrics.get(type, "getAllStudents");
+        getStudentsPage = Metrics.get(type, "getStudentsPage");
+        getRollNumbersAfter = Metrics.get(type, "getRollNumbersAfter");
+        getRollNumberCheckpoints = Metrics.get(type, "getRollNumberCheckpoints");
+        countStudents = Metrics.get(type, "countStudents");
+        getStudentByRollNumber = Metrics.get(type, "getStudentByRollNumber");
+        getStudentsByRollNumbers = Metrics.get(type, "getStudentsByRollNumbers");
+        isRollNumberExists = Metrics.get(type, "isRollNumberExists");
+        searchStudentsByName = Metrics.get(type, "searchStudentsByName");
+        buildNameIndex = Metrics.get(type, "buildNameIndex");
+        getCourseStatistics = Metrics.get(type, "getCourseStatistics");
+        streamAllStudents = Metrics.get(type, "streamAllStudents");
+        forEachStudent = Metrics.get(type, "forEachStudent");
+    }
+
+    /**
+     * @return The wrapped repository
+     */
+    public StudentRepository getRepository() {
+        return repository;
+    }
+
+    // ==================== WRITES ====================
+
+    @Override
+    public InsertOutcome insertStudent(Student student) {
+        long start = System.nanoTime();
+        try {
+            InsertOutcome outcome = repository.insertStudent(student);
+            if (outcome == InsertOutcome.FAILED) {
+                insertStudent.recordError(start);
+            } else {
+                insertStudent.record(start, outcome.isSuccess() ? 1 : 0);
+            }
+            return outcome;
+        } catch (RuntimeException e) {
+            insertStudent.recordError(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public BatchInsertReport addStudents(Collection<Student> students, int chunkSize) {
+        long start = System.nanoTime();
+        try {
+            return recordBatch(addStudents, start, repository.addStudents(students, chunkSize));
+        } catch (RuntimeException e) {
+            addStudents.recordError(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public BatchInsertReport upsertStudents(Collection<Student> students, int chunkSize) {
+        long start = System.nanoTime();
+        try {
+            return recordBatch(upsertStudents, start, repository.upsertStudents(students, chunkSize));
+        } catch (RuntimeException e) {
+            upsertStudents.recordError(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean updateStudent(Student student) {
+        long start = System.nanoTime();
+        try {
+            boolean updated = repository.updateStudent(student);
+            updateStudent.record(start, updated ? 1 : 0);
+            return updated;
+        } catch (RuntimeException e) {
+            updateStudent.recordError(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean deleteStudent(String rollNumber) {
+        long start = System.nanoTime();
+        try {
+            boolean deleted = repository.deleteStudent(rollNumber);
+            deleteStudent.record(start, deleted ? 1 : 0);
+            return deleted;
+        } catch (RuntimeException e) {
+            deleteStudent.recordError(start);
+            throw e;
+        }
+    }
+
+    // ==================== READS ====================
+
+    @Override
+    public List<Student> getAllStudents() {
+        long start = System.nanoTime();
+        try {
+            List<Student> students = repository.getAllStudents();
+            getAllStudents.record(start, students.size());
+            return students;
+        } catch (RuntimeException e) {
+            getAllStudents.recordError(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Student> getStudentsPage(String afterRollNumber, int limit) {
+        long start = System.nanoTime();
+        try {
+            List<Student> students = repository.getStudentsPage(afterRollNumber, limit);
+            getStudentsPage.record(start, students.size());
+            return students;
+        } catch (RuntimeException e) {
+            getStudentsPage.recordError(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<String> getRollNumbersAfter(String afterRollNumber, int limit) {
+        long start = System.nanoTime();
+        try {
+            List<String> rollNumbers = repository.getRollNumbersAfter(afterRollNumber, limit);
+            getRollNumbersAfter.record(start, rollNumbers.size());
+            return rollNumbers;
+        } catch (RuntimeException e) {
+            getRollNumbersAfter.recordError(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<String> getRollNumberCheckpoints(int every) {
+        long start = System.nanoTime();
+        try {
+            List<String> checkpoints = repository.getRollNumberCheckpoints(every);
+            getRollNumberCheckpoints.record(start, checkpoints.size());
+            return checkpoints;
+        } catch (RuntimeException e) {
+            getRollNumberCheckpoints.recordError(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public int countStudents() {
+        long start = System.nanoTime();
+        try {
+            int count = repository.countStudents();
+            countStudents.record(start, 0);
+            return count;
+        } catch (RuntimeException e) {
+            countStudents.recordError(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public Student getStudentByRollNumber(String rollNumber) {
+        long start = System.nanoTime();
+        try {
+            Student student = repository.getStudentByRollNumber(rollNumber);
+            getStudentByRollNumber.record(start, student == null ? 0 : 1);
+            return student;
+        } catch (RuntimeException e) {
+            getStudentByRollNumber.recordError(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Student> getStudentsByRollNumbers(List<String> rollNumbers) {
+        long start = System.nanoTime();
+        try {
+            List<Student> students = repository.getStudentsByRollNumbers(rollNumbers);
+            getStudentsByRollNumbers.record(start, students.size());
+            return students;
+        } catch (RuntimeException e) {
+            getStudentsByRollNumbers.recordError(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean isRollNumberExists(String rollNumber) {
+        long start = System.nanoTime();
+        try {
+            boolean exists = repository.isRollNumberExists(rollNumber);
+            isRollNumberExists.record(start, 0);
+            return exists;
+        } catch (RuntimeException e) {
+            isRollNumberExists.recordError(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Student> searchStudentsByName(String name, int limit) {
+        long start = System.nanoTime();
+        try {
+            List<Student> students = repository.searchStudentsByName(name, limit);
+            searchStudentsByName.record(start, students.size());
+            return students;
+        } catch (RuntimeException e) {
+            searchStudentsByName.recordError(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public long buildNameIndex() {
+        long start = System.nanoTime();
+        try {
+            long count = repository.buildNameIndex();
+            buildNameIndex.record(start, count);
+            return count;
+        } catch (RuntimeException e) {
+            buildNameIndex.recordError(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<CourseStats> getCourseStatistics() {
+        long start = System.nanoTime();
+        try {
+            List<CourseStats> stats = repository.getCourseStatistics();
+            getCourseStatistics.record(start, stats.size());
+            return stats;
+        } catch (RuntimeException e) {
+            getCourseStatistics.recordError(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public Stream<Student> streamAllStudents() {
+        long start = System.nanoTime();
+        Stream<Student> students;
+        try {
+            students = repository.streamAllStudents();
+        } catch (RuntimeException e) {
+            streamAllStudents.recordError(start);
+            throw e;
+        }
+        LongAdder rows = new LongAdder();
+        return students.peek(s -> rows.increment()).onClose(() -> streamAllStudents.record(start, rows.sum()));
+    }
+
+    @Override
+    public long forEachStudent(Consumer<? super Student> action) {
+        long start = System.nanoTime();
+        try {
+            long count = repository.forEachStudent(action);
+            forEachStudent.record(start, count);
+            return count;
+        } catch (RuntimeException e) {
+            forEachStudent.recordError(start);
+            throw e;
+        }
+    }
+
+    private static BatchInsertReport recordBatch(OperationMetrics metrics, long start, BatchInsertReport report) {
+        if (report.getCount(InsertOutcome.FAILED) > 0) {
+            metrics.recordError(start);
+        } else {
+            metrics.record(start, report.getSuccessCount());
+        }
+        return report;
+    }
+}
@@ -0,0 +1,346 @@
+package com.sms.dao;
+
+import com.sms.analytics.StudentAnalytics;
+import com.sms.log.Log;
+import com.sms.log.Logger;
+import com.sms.model.CourseStats;
+import com.sms.model.Student;
+import com.sms.search.NameSearchIndex;
+import com.sms.store.MappedStudentStore;
+import com.sms.util.Constants;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * MappedStudentRepository Class - StudentRepository on a local MappedStudentStore
+ * Same rules as the students table (see InMemoryStudentRepository), but the
+ * students survive restarts and only the store's index is kept in memory.
+ *
+ * Uniqueness is checked and the write appended under one lock; the fsync
+ * happens after the lock is released, so concurrent writers share it and
+ * a batch is synced once. Name searches scan the store until
+ * buildNameIndex() is called; from then on they use a NameSearchIndex kept
+ * current by every write. Close the repository to checkpoint the store.
+ */
+public class MappedStudentRepository implements StudentRepository, Closeable {
+
+    private static final Logger LOG = Log.getLogger(MappedStudentRepository.class);
+
+    private final MappedStudentStore store;
+    private final Object writeLock = new Object();
+    private volatile NameSearchIndex nameIndex; // written under writeLock
+
+    /**
+     * @throws IOException if the store cannot be opened
+     */
+    public MappedStudentRepository(Path directory) throws IOException {
+        this(new MappedStudentStore(directory));
+    }
+
+    public MappedStudentRepository(MappedStudentStore store) {
+        this.store = store;
+    }
+
+    // ==================== WRITES ====================
+
+    @Override
+    public InsertOutcome insertStudent(Student student) {
+        long[] position = { 0 };
+        InsertOutcome outcome;
+        synchronized (writeLock) {
+            outcome = insertLocked(student, position);
+        }
+        store.sync(position[0]);
+        if (outcome == InsertOutcome.INSERTED) {
+            LOG.info("✓ Student added successfully: {}", student.getRollNumber());
+        } else if (outcome == InsertOutcome.DUPLICATE_ROLL) {
+            LOG.warn("✗ Roll Number already exists: {}", student.getRollNumber());
+        } else if (outcome == InsertOutcome.DUPLICATE_EMAIL) {
+            LOG.warn("✗ Email already exists: {}", student.getEmail());
+        } else {
+            LOG.error("✗ Error adding student: {}", StudentConstraints.schemaViolation(student));
+        }
+        return outcome;
+    }
+
+    @Override
+    public BatchInsertReport addStudents(Collection<Student> students, int chunkSize) {
+        StudentConstraints.checkChunkSize(chunkSize);
+        long start = System.nanoTime();
+        List<Student> input = new ArrayList<>(students);
+        BatchInsertReport report = new BatchInsertReport(input);
+        report.rejectInvalidAndRepeated();
+
+        long[] position = { 0 };
+        synchronized (writeLock) {
+            for (int i = 0; i < input.size(); i++) {
+                if (report.get(i) == null) {
+                    report.set(i, insertLocked(input.get(i), position));
+                }
+            }
+        }
+        store.sync(position[0]);
+
+        report.setElapsedNanos(System.nanoTime() - start);
+        LOG.info("✓ Batch insert finished: {}", report);
+        return report;
+    }
+
+    @Override
+    public BatchInsertReport upsertStudents(Collection<Student> students, int chunkSize) {
+        StudentConstraints.checkChunkSize(chunkSize);
+        long start = System.nanoTime();
+        List<Student> input = new ArrayList<>(students);
+        BatchInsertReport report = new BatchInsertReport(input);
+        report.rejectInvalidAndRepeated();
+
+        long[] position = { 0 };
+        synchronized (writeLock) {
+            for (int i = 0; i < input.size(); i++) {
+                if (report.get(i) == null) {
+                    report.set(i, upsertLocked(input.get(i), position));
+                }
+            }
+        }
+        store.sync(position[0]);
+
+        report.setElapsedNanos(System.nanoTime() - start);
+        if (input.size() != 1) {
+            LOG.info("✓ Batch upsert finished: {}", report);
+        } else if (report.getOutcome(0).isSuccess()) {
+            LOG.info("✓ Student saved successfully: {}", input.get(0).getRollNumber());
+        } else {
+            LOG.warn("✗ Student not saved ({}): {}", report.getOutcome(0), input.get(0).getRollNumber());
+        }
+        return report;
+    }
+
+    @Override
+    public boolean updateStudent(Student student) {
+        String rollKey = StudentConstraints.normalizeKey(student.getRollNumber());
+        long position;
+        synchronized (writeLock) {
+            if (!store.contains(rollKey)) {
+                LOG.info("✗ Student not found for update: {}", student.getRollNumber());
+                return false;
+            }
+            String violation = StudentConstraints.schemaViolation(student);
+            if (violation != null) {
+                LOG.error("✗ Error updating student: {}", violation);
+                return false;
+            }
+            if (!emailAvailable(student.getEmail(), rollKey)) {
+                LOG.error("✗ Error updating student: Email already exists: {}", student.getEmail());
+                return false;
+            }
+            position = put(student);
+        }
+        store.sync(position);
+        LOG.info("✓ Student updated successfully: {}", student.getRollNumber());
+        return true;
+    }
+
+    @Override
+    public boolean deleteStudent(String rollNumber) {
+        long position;
+        synchronized (writeLock) {
+            position = store.delete(rollNumber);
+            if (position >= 0 && nameIndex != null) {
+                nameIndex.remove(rollNumber);
+            }
+        }
+        if (position < 0) {
+            LOG.info("✗ Student not found for deletion: {}", rollNumber);
+            return false;
+        }
+        store.sync(position);
+        LOG.info("✓ Student deleted successfully: {}", rollNumber);
+        return true;
+    }
+
+    // ==================== READS ====================
+
+    @Override
+    public List<Student> getAllStudents() {
+        List<Student> students = new ArrayList<>(store.size());
+        forEachStudent(students::add);
+        LOG.info("✓ Retrieved {} students", students.size());
+        return students;
+    }
+
+    @Override
+    public List<Student> getStudentsPage(String afterRollNumber, int limit) {
+        return store.getPage(afterRollNumber, limit);
+    }
+
+    @Override
+    public List<String> getRollNumbersAfter(String afterRollNumber, int limit) {
+        return store.getRollNumbersAfter(afterRollNumber, limit);
+    }
+
+    @Override
+    public int countStudents() {
+        return store.size();
+    }
+
+    @Override
+    public Student getStudentByRollNumber(String rollNumber) {
+        Student student = store.get(rollNumber);
+        if (student == null) {
+            LOG.info("✗ Student not found: {}", rollNumber);
+            return null;
+        }
+        LOG.info("✓ Student found: {}", rollNumber);
+        return student;
+    }
+
+    @Override
+    public boolean isRollNumberExists(String rollNumber) {
+        return store.contains(rollNumber);
+    }
+
+    /**
+     * Search the name index once built (ranked like StudentDAO's), otherwise
+     * scan for names containing the text (case-insensitive)
+     */
+    @Override
+    public List<Student> searchStudentsByName(String name, int limit) {
+        List<Student> students = new ArrayList<>();
+        NameSearchIndex index = nameIndex;
+        if (index != null) {
+            for (String rollNumber : index.searchRollNumbers(name, limit)) {
+                Student student = store.get(rollNumber);
+                if (student != null) {
+                    students.add(student);
+                }
+            }
+        } else {
+            String text = name.toLowerCase();
+            try (Stream<Student> all = streamAllStudents()) {
+                all.filter(s -> s.getName().toLowerCase().contains(text)).limit(limit).forEach(students::add);
+            }
+        }
+        LOG.info("✓ Found {} students matching: {}", students.size(), name);
+        return students;
+    }
+
+    /**
+     * Load every name into a new NameSearchIndex (writes wait meanwhile)
+     */
+    @Override
+    public long buildNameIndex() {
+        long start = System.nanoTime();
+        synchronized (writeLock) {
+            NameSearchIndex index = new NameSearchIndex();
+            long count = forEachStudent(s -> index.put(s.getRollNumber(), s.getName()));
+            nameIndex = index;
+            LOG.info("✓ Name index built: {} names in {}ms", index.size(), (System.nanoTime() - start) / 1_000_000);
+            return count;
+        }
+    }
+
+    /**
+     * Computed from a snapshot with StudentAnalytics (same definitions as the
+     * MySQL queries)
+     */
+    @Override
+    public List<CourseStats> getCourseStatistics() {
+        StudentAnalytics analytics = new StudentAnalytics(this);
+        analytics.load();
+        return analytics.getStatistics();
+    }
+
+    /**
+     * Stream all students in roll number order, read from the store a page
+     * (Constants.Streaming.FETCH_SIZE) at a time. Writes made while the
+     * stream is read may or may not be seen.
+     */
+    @Override
+    public Stream<Student> streamAllStudents() {
+        Iterator<Student> pages = new Iterator<Student>() {
+            private List<Student> page = store.getPage("", Constants.Streaming.FETCH_SIZE);
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                if (next == page.size() && page.size() == Constants.Streaming.FETCH_SIZE) {
+                    page = store.getPage(page.get(next - 1).getRollNumber(), Constants.Streaming.FETCH_SIZE);
+                    next = 0;
+                }
+                return next < page.size();
+            }
+
+            @Override
+            public Student next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return page.get(next++);
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(pages,
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Checkpoint and close the store
+     */
+    @Override
+    public void close() throws IOException {
+        store.close();
+    }
+
+    // ==================== CONSTRAINTS (write lock held) ====================
+
+    private InsertOutcome insertLocked(Student student, long[] position) {
+        String rollKey = StudentConstraints.normalizeKey(student.getRollNumber());
+        if (StudentConstraints.schemaViolation(student) != null) {
+            return InsertOutcome.FAILED;
+        }
+        if (store.contains(rollKey)) {
+            return InsertOutcome.DUPLICATE_ROLL;
+        }
+        if (!emailAvailable(student.getEmail(), rollKey)) {
+            return InsertOutcome.DUPLICATE_EMAIL;
+        }
+        position[0] = put(student);
+        return InsertOutcome.INSERTED;
+    }
+
+    // An email owned by another student leaves both rows untouched (like the guarded SQL upsert)
+    private InsertOutcome upsertLocked(Student student, long[] position) {
+        String rollKey = StudentConstraints.normalizeKey(student.getRollNumber());
+        if (StudentConstraints.schemaViolation(student) != null) {
+            return InsertOutcome.FAILED;
+        }
+        if (!emailAvailable(student.getEmail(), rollKey)) {
+            return InsertOutcome.DUPLICATE_EMAIL;
+        }
+        position[0] = put(student);
+        return InsertOutcome.UPSERTED;
+    }
+
+    private boolean emailAvailable(String email, String rollKey) {
+        String owner = store.getEmailOwner(email);
+        return owner == null || owner.equals(rollKey);
+    }
+
+    private long put(Student student) {
+        long position = store.put(student);
+        if (nameIndex != null) {
+            nameIndex.put(store.get(student.getRollNumber()).getRollNumber(), student.getName());
+        }
+        return position;
+    }
+}
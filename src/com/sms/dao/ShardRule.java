@@ -0,0 +1,45 @@
+package com.sms.dao;
+
+/**
+ * ShardRule Interface - Picks the shard that owns a roll number
+ * Used by ShardedStudentRepository to route point operations and to split
+ * batches. A rule must be stable: for a given shard count the same roll
+ * number always maps to the same shard, otherwise stored rows can no longer
+ * be found. Changing the rule or the shard count means moving rows.
+ */
+@FunctionalInterface
+public interface ShardRule {
+
+    /**
+     * @param rollKey    Normalized roll number (trimmed, lower case)
+     * @param shardCount Number of shards (at least 1)
+     * @return Shard index, 0 to shardCount - 1
+     */
+    int shardFor(String rollKey, int shardCount);
+
+    /**
+     * Check the rule can route to this many shards (called once, when the
+     * sharded repository is created)
+     *
+     * @throws IllegalArgumentException if it cannot
+     */
+    default void checkShardCount(int shardCount) {
+    }
+
+    /**
+     * Spread roll numbers evenly by hash; no locality between related roll numbers
+     */
+    static ShardRule byHash() {
+        return new ShardRule() {
+            @Override
+            public int shardFor(String rollKey, int shardCount) {
+                return Math.floorMod(rollKey.hashCode(), shardCount);
+            }
+
+            @Override
+            public String toString() {
+                return "hash";
+            }
+        };
+    }
+}
@@ -0,0 +1,533 @@
+package com.sms.dao;
+
+import com.sms.analytics.StudentAnalytics;
+import com.sms.log.Log;
+import com.sms.log.Logger;
+import com.sms.model.CourseStats;
+import com.sms.model.Student;
+import com.sms.search.NameSearchIndex;
+import com.sms.util.ConnectionPool;
+import com.sms.util.Constants;
+import com.sms.util.DatabaseConnection;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * ShardedStudentRepository Class - Students split across several databases
+ * Each shard is a StudentRepository of its own (normally a StudentDAO on its
+ * own connection pool, see connect()). A ShardRule picks the shard that owns
+ * a roll number:
+ * - Point operations (insert, update, delete, lookups) go to that shard only
+ * - Batches are checked once for invalid and repeated rows, then split by
+ * shard and written in parallel; outcomes come back in input order
+ * - Reads over all students (lists, pages, streams) query every shard in
+ * parallel and merge the results in roll number order (compared
+ * case-insensitively, like the roll_number column)
+ * - Name searches query every shard in parallel and keep the best matches
+ * overall, shown in roll number order
+ *
+ * Roll numbers are unique across shards because each lives on exactly one.
+ * Email uniqueness is only enforced within a shard: two cohorts on different
+ * shards can register the same email.
+ *
+ * A shard that fails a read behaves as it does on its own (StudentDAO logs
+ * the error and returns an empty list), so results may then be partial.
+ */
+public class ShardedStudentRepository implements StudentRepository, Closeable {
+
+    private static final Logger LOG = Log.getLogger(ShardedStudentRepository.class);
+
+    // Order of merged results; each shard already returns this order
+    private static final Comparator<String> ROLL_KEY_ORDER = String.CASE_INSENSITIVE_ORDER;
+    private static final Comparator<Student> ROLL_ORDER = Comparator.comparing(Student::getRollNumber,
+            ROLL_KEY_ORDER);
+
+    private final List<StudentRepository> shards;
+    private final ShardRule rule;
+    // Runs shards 1..n-1 of a fan-out (shard 0 runs on the caller); null with one shard
+    private final ExecutorService fanOut;
+    // Pools opened by connect(), closed by close()
+    private final List<ConnectionPool> pools;
+
+    /**
+     * @param shards Shard repositories, in shard index order
+     * @param rule   Picks the shard of a roll number
+     * @throws IllegalArgumentException if there are no shards or the rule cannot route to them
+     */
+    public ShardedStudentRepository(List<? extends StudentRepository> shards, ShardRule rule) {
+        this(shards, rule, Collections.emptyList());
+    }
+
+    private ShardedStudentRepository(List<? extends StudentRepository> shards, ShardRule rule,
+            List<ConnectionPool> pools) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        rule.checkShardCount(shards.size());
+        this.shards = Collections.unmodifiableList(new ArrayList<>(shards));
+        this.rule = rule;
+        this.pools = pools;
+        this.fanOut = shards.size() > 1 ? newFanOutExecutor(shards.size()) : null;
+        LOG.info("✓ Sharded repository: {} shards, rule {}", shards.size(), rule);
+    }
+
+    /**
+     * Open one StudentDAO per database, each with its own connection pool
+     * (same credentials and pool settings as DatabaseConnection)
+     *
+     * @param urls JDBC URLs, in shard index order
+     * @param rule Picks the shard of a roll number
+     * @return Repository (close() closes the pools)
+     * @throws SQLException if the JDBC driver is missing
+     */
+    public static ShardedStudentRepository connect(List<String> urls, ShardRule rule) throws SQLException {
+        List<ConnectionPool> pools = new ArrayList<>(urls.size());
+        List<StudentDAO> daos = new ArrayList<>(urls.size());
+        try {
+            for (String url : urls) {
+                ConnectionPool pool = DatabaseConnection.createPool(url);
+                pools.add(pool);
+                daos.add(new StudentDAO(pool));
+            }
+            return new ShardedStudentRepository(daos, rule, pools);
+        } catch (SQLException | RuntimeException e) {
+            pools.forEach(ConnectionPool::close);
+            throw e;
+        }
+    }
+
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    public ShardRule getRule() {
+        return rule;
+    }
+
+    /**
+     * @return Index of the shard that owns this roll number
+     */
+    public int getShardIndex(String rollNumber) {
+        return rule.shardFor(StudentConstraints.normalizeKey(rollNumber), shards.size());
+    }
+
+    /**
+     * Check every database opened by connect() answers
+     *
+     * @return true if all shards are reachable (always true for shards passed in directly)
+     */
+    public boolean testConnections() {
+        if (pools.isEmpty()) {
+            return true;
+        }
+        List<Boolean> results = fanOut(i -> {
+            try (Connection conn = pools.get(i).getConnection()) {
+                return conn.isValid(Constants.Pool.VALIDATION_TIMEOUT_SECONDS);
+            } catch (SQLException e) {
+                LOG.error("✗ Shard {} connection failed: {}", i, e.getMessage());
+                return false;
+            }
+        });
+        return !results.contains(Boolean.FALSE);
+    }
+
+    // ==================== WRITES ====================
+
+    @Override
+    public InsertOutcome insertStudent(Student student) {
+        return shardOf(student.getRollNumber()).insertStudent(student);
+    }
+
+    @Override
+    public BatchInsertReport addStudents(Collection<Student> students, int chunkSize) {
+        return writeBatch(students, chunkSize, false);
+    }
+
+    @Override
+    public BatchInsertReport upsertStudents(Collection<Student> students, int chunkSize) {
+        return writeBatch(students, chunkSize, true);
+    }
+
+    @Override
+    public boolean updateStudent(Student student) {
+        return shardOf(student.getRollNumber()).updateStudent(student);
+    }
+
+    @Override
+    public boolean deleteStudent(String rollNumber) {
+        return shardOf(rollNumber).deleteStudent(rollNumber);
+    }
+
+    private BatchInsertReport writeBatch(Collection<Student> students, int chunkSize, boolean upsert) {
+        StudentConstraints.checkChunkSize(chunkSize);
+        long start = System.nanoTime();
+        List<Student> input = new ArrayList<>(students);
+        BatchInsertReport report = new BatchInsertReport(input);
+        report.rejectInvalidAndRepeated();
+
+        // Input positions of the remaining rows, per shard
+        List<List<Integer>> positions = new ArrayList<>(shards.size());
+        for (int s = 0; s < shards.size(); s++) {
+            positions.add(new ArrayList<>());
+        }
+        for (int i = 0; i < input.size(); i++) {
+            if (report.get(i) == null) {
+                positions.get(getShardIndex(input.get(i).getRollNumber())).add(i);
+            }
+        }
+
+        List<BatchInsertReport> shardReports = fanOut(s -> {
+            List<Integer> rows = positions.get(s);
+            if (rows.isEmpty()) {
+                return null;
+            }
+            List<Student> batch = new ArrayList<>(rows.size());
+            for (int i : rows) {
+                batch.add(input.get(i));
+            }
+            return upsert ? shards.get(s).upsertStudents(batch, chunkSize)
+                    : shards.get(s).addStudents(batch, chunkSize);
+        });
+
+        for (int s = 0; s < shards.size(); s++) {
+            BatchInsertReport shardReport = shardReports.get(s);
+            List<Integer> rows = positions.get(s);
+            for (int j = 0; j < rows.size(); j++) {
+                report.set(rows.get(j), shardReport.getOutcome(j));
+            }
+        }
+
+        report.setElapsedNanos(System.nanoTime() - start);
+        LOG.info("✓ Sharded batch {} finished: {}", upsert ? "upsert" : "insert", report);
+        return report;
+    }
+
+    // ==================== READS ====================
+
+    @Override
+    public List<Student> getAllStudents() {
+        List<List<Student>> results = fanOut(s -> shards.get(s).getAllStudents());
+        int total = 0;
+        for (List<Student> result : results) {
+            total += result.size();
+        }
+        return merge(results, ROLL_ORDER, total);
+    }
+
+    @Override
+    public List<Student> getStudentsPage(String afterRollNumber, int limit) {
+        return merge(fanOut(s -> shards.get(s).getStudentsPage(afterRollNumber, limit)), ROLL_ORDER, limit);
+    }
+
+    @Override
+    public List<String> getRollNumbersAfter(String afterRollNumber, int limit) {
+        return merge(fanOut(s -> shards.get(s).getRollNumbersAfter(afterRollNumber, limit)),
+                ROLL_KEY_ORDER, limit);
+    }
+
+    @Override
+    public int countStudents() {
+        int count = 0;
+        for (int shardCount : fanOut(s -> shards.get(s).countStudents())) {
+            count += shardCount;
+        }
+        return count;
+    }
+
+    @Override
+    public Student getStudentByRollNumber(String rollNumber) {
+        return shardOf(rollNumber).getStudentByRollNumber(rollNumber);
+    }
+
+    /**
+     * One batched lookup per shard holding any of the roll numbers, results
+     * put back in the given order
+     */
+    @Override
+    public List<Student> getStudentsByRollNumbers(List<String> rollNumbers) {
+        List<List<String>> byShard = new ArrayList<>(shards.size());
+        for (int i = 0; i < shards.size(); i++) {
+            byShard.add(new ArrayList<>());
+        }
+        for (String rollNumber : rollNumbers) {
+            byShard.get(getShardIndex(rollNumber)).add(rollNumber);
+        }
+
+        Map<String, Student> found = new HashMap<>();
+        for (int i = 0; i < shards.size(); i++) {
+            if (!byShard.get(i).isEmpty()) {
+                for (Student student : shards.get(i).getStudentsByRollNumbers(byShard.get(i))) {
+                    found.put(StudentConstraints.normalizeKey(student.getRollNumber()), student);
+                }
+            }
+        }
+
+        List<Student> students = new ArrayList<>(found.size());
+        for (String rollNumber : rollNumbers) {
+            Student student = found.get(StudentConstraints.normalizeKey(rollNumber));
+            if (student != null) {
+                students.add(student);
+            }
+        }
+        return students;
+    }
+
+    @Override
+    public boolean isRollNumberExists(String rollNumber) {
+        return shardOf(rollNumber).isRollNumberExists(rollNumber);
+    }
+
+    /**
+     * Search every shard (each returns at most limit matches), rank all of
+     * them by match quality (NameSearchIndex.matchRank), keep the best limit
+     * and return those in roll number order
+     */
+    @Override
+    public List<Student> searchStudentsByName(String name, int limit) {
+        List<Student> matches = new ArrayList<>();
+        for (List<Student> shardMatches : fanOut(s -> shards.get(s).searchStudentsByName(name, limit))) {
+            matches.addAll(shardMatches);
+        }
+
+        if (matches.size() > limit) {
+            Map<Student, Long> ranks = new IdentityHashMap<>(matches.size());
+            for (Student student : matches) {
+                ranks.put(student, NameSearchIndex.matchRank(name, student.getName()));
+            }
+            matches.sort(Comparator.comparing((Student student) -> ranks.get(student)).thenComparing(ROLL_ORDER));
+            matches = new ArrayList<>(matches.subList(0, limit));
+        }
+        matches.sort(ROLL_ORDER);
+        return matches;
+    }
+
+    @Override
+    public long buildNameIndex() {
+        long indexed = 0;
+        for (long shardIndexed : fanOut(s -> shards.get(s).buildNameIndex())) {
+            indexed += shardIndexed;
+        }
+        return indexed;
+    }
+
+    @Override
+    public List<CourseStats> getCourseStatistics() {
+        StudentAnalytics analytics = new StudentAnalytics(this);
+        analytics.load();
+        return analytics.getStatistics();
+    }
+
+    /**
+     * Stream all students in roll number order. Every shard's query is
+     * started in parallel; rows are then pulled from the shards as the
+     * merged stream is consumed. Closing the stream closes every shard stream.
+     */
+    @Override
+    public Stream<Student> streamAllStudents() {
+        // If a shard fails to open, fanOut closes the streams the others opened
+        List<Stream<Student>> streams = fanOut(s -> shards.get(s).streamAllStudents());
+
+        List<Iterator<Student>> iterators = new ArrayList<>(streams.size());
+        for (Stream<Student> stream : streams) {
+            iterators.add(stream.iterator());
+        }
+        Spliterator<Student> merged = Spliterators.spliteratorUnknownSize(
+                new MergingIterator<>(iterators, ROLL_ORDER), Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(merged, false).onClose(() -> closeAll(streams));
+    }
+
+    // ==================== FAN-OUT ====================
+
+    private StudentRepository shardOf(String rollNumber) {
+        return shards.get(getShardIndex(rollNumber));
+    }
+
+    /**
+     * Run a call against every shard in parallel (shard 0 on the calling
+     * thread) and wait for all of them
+     *
+     * @return One result per shard, in shard index order
+     * @throws RuntimeException the first shard failure, after every shard has finished
+     */
+    private <T> List<T> fanOut(IntFunction<T> call) {
+        if (fanOut == null) {
+            return Collections.singletonList(call.apply(0));
+        }
+
+        List<Future<T>> futures = new ArrayList<>(shards.size() - 1);
+        for (int s = 1; s < shards.size(); s++) {
+            int shard = s;
+            futures.add(fanOut.submit(() -> call.apply(shard)));
+        }
+
+        List<T> results = new ArrayList<>(shards.size());
+        Throwable failure = null;
+        try {
+            results.add(call.apply(0));
+        } catch (RuntimeException | Error e) {
+            failure = e;
+            results.add(null);
+        }
+        boolean interrupted = false;
+        for (Future<T> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                failure = failure == null ? e.getCause() : failure;
+                results.add(null);
+            } catch (InterruptedException e) {
+                interrupted = true;
+                future.cancel(true);
+                results.add(null);
+            }
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+            failure = failure == null ? new IllegalStateException("Interrupted while waiting for shards")
+                    : failure;
+        }
+        if (failure != null) {
+            for (T result : results) {
+                if (result instanceof Stream) {
+                    ((Stream<?>) result).close();
+                }
+            }
+            if (failure instanceof Error) {
+                throw (Error) failure;
+            }
+            throw failure instanceof RuntimeException ? (RuntimeException) failure
+                    : new IllegalStateException("Shard call failed", failure);
+        }
+        return results;
+    }
+
+    // Merge per-shard results that are each already in order, keeping at most limit
+    private static <T> List<T> merge(List<? extends List<T>> results, Comparator<? super T> order, int limit) {
+        List<Iterator<T>> iterators = new ArrayList<>(results.size());
+        for (List<T> result : results) {
+            iterators.add(result.iterator());
+        }
+        List<T> merged = new ArrayList<>(Math.max(0, limit));
+        MergingIterator<T> it = new MergingIterator<>(iterators, order);
+        while (merged.size() < limit && it.hasNext()) {
+            merged.add(it.next());
+        }
+        return merged;
+    }
+
+    private static void closeAll(List<Stream<Student>> streams) {
+        RuntimeException failure = null;
+        for (Stream<Student> stream : streams) {
+            try {
+                stream.close();
+            } catch (RuntimeException e) {
+                failure = failure == null ? e : failure;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static ExecutorService newFanOutExecutor(int shardCount) {
+        AtomicInteger threadCount = new AtomicInteger();
+        // Enough threads for every shard to serve a full connection pool of concurrent fan-outs
+        return Executors.newFixedThreadPool((shardCount - 1) * Constants.Pool.MAX_SIZE, r -> {
+            Thread t = new Thread(r, "sms-shard-fanout-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Stop the fan-out threads and close the pools opened by connect()
+     */
+    @Override
+    public void close() {
+        if (fanOut != null) {
+            fanOut.shutdown();
+        }
+        if (!pools.isEmpty()) {
+            pools.forEach(ConnectionPool::close);
+            LOG.info("✓ Shard connections closed");
+        }
+    }
+
+    /**
+     * K-way merge of ordered iterators; equal elements come out in shard order
+     */
+    private static final class MergingIterator<T> implements Iterator<T> {
+
+        private final List<Iterator<T>> sources;
+        // Current element of each source; the queue holds the indexes of non-exhausted sources
+        private final Object[] heads;
+        private final PriorityQueue<Integer> queue;
+
+        MergingIterator(List<Iterator<T>> sources, Comparator<? super T> order) {
+            this.sources = sources;
+            this.heads = new Object[sources.size()];
+            this.queue = new PriorityQueue<>(Math.max(1, sources.size()), (a, b) -> {
+                int c = order.compare(head(a), head(b));
+                return c != 0 ? c : Integer.compare(a, b);
+            });
+            for (int i = 0; i < sources.size(); i++) {
+                advance(i);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !queue.isEmpty();
+        }
+
+        @Override
+        public T next() {
+            Integer source = queue.poll();
+            if (source == null) {
+                throw new NoSuchElementException();
+            }
+            T next = head(source);
+            advance(source);
+            return next;
+        }
+
+        private void advance(int source) {
+            Iterator<T> it = sources.get(source);
+            if (it.hasNext()) {
+                heads[source] = it.next();
+                queue.add(source);
+            } else {
+                heads[source] = null;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private T head(int source) {
+            return (T) heads[source];
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.sms.dao;
+
+import com.sms.model.Student;
+import com.sms.util.Constants;
+
+/**
+ * StudentConstraints Class - The students table's rules, for repositories
+ * that enforce them without a database (InMemoryStudentRepository,
+ * MappedStudentRepository)
+ */
+final class StudentConstraints {
+
+    private StudentConstraints() {
+    }
+
+    /**
+     * Check the table's column constraints
+     *
+     * @return What a database would reject, or null if the row fits
+     */
+    static String schemaViolation(Student student) {
+        if (missingOrTooLong(student.getRollNumber(), Constants.Repository.ROLL_NUMBER_LENGTH)
+                || missingOrTooLong(student.getName(), Constants.Repository.NAME_LENGTH)
+                || missingOrTooLong(student.getEmail(), Constants.Repository.EMAIL_LENGTH)
+                || missingOrTooLong(student.getPhone(), Constants.Repository.PHONE_LENGTH)
+                || missingOrTooLong(student.getCourse(), Constants.Repository.COURSE_LENGTH)) {
+            return "Missing or too long column value";
+        }
+        double marks = Math.round(student.getMarks() * 100) / 100.0;
+        if (!(marks >= Constants.Validation.MIN_MARKS && marks <= Constants.Validation.MAX_MARKS)) {
+            return "Marks out of range: " + student.getMarks();
+        }
+        return null;
+    }
+
+    static void checkChunkSize(int chunkSize) {
+        if (chunkSize < 1 || chunkSize > Constants.Batch.MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("Chunk size must be between 1 and "
+                    + Constants.Batch.MAX_CHUNK_SIZE + ": " + chunkSize);
+        }
+    }
+
+    // Keys compare case-insensitively, like MySQL's default collation
+    static String normalizeKey(String key) {
+        return key == null ? "" : key.trim().toLowerCase();
+    }
+
+    private static boolean missingOrTooLong(String value, int maxLength) {
+        return value == null || value.length() > maxLength;
+    }
+}
@@ -1,60 +1,286 @@
 package com.sms.dao;
 
+import com.sms.log.Log;
+import com.sms.log.Logger;
+import com.sms.model.CourseStats;
 import com.sms.model.Student;
+import com.sms.search.NameSearchIndex;
+import com.sms.util.ConnectionPool;
 import com.sms.util.Constants;
 import com.sms.util.DatabaseConnection;
+import com.sms.util.LruCache;
+import com.sms.util.NamedQuery;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * StudentDAO (Data Access Object) Class - Enhanced
  * Handles all database CRUD operations for Student entity
  * Follows DAO design pattern with improved error handling and logging
  */
-public class StudentDAO {
+public class StudentDAO implements StudentRepository {
+
+    private static final Logger LOG = Log.getLogger(StudentDAO.class);
 
     // SQL Queries from Constants class
 
+    // Roll number lookups shared by all DAO instances, so a write through one
+    // instance is seen by reads through another
+    private static final LruCache<String, Student> SHARED_ROLL_CACHE = newRollCache();
+
+    // Database of this DAO; null = DatabaseConnection's shared pool
+    private final ConnectionPool pool;
+
+    // Read-through cache keyed by normalized roll number (null value = known missing)
+    private final LruCache<String, Student> rollCache;
+
+    // In-memory trigram index over names; while attached, name searches use it
+    // instead of LIKE '%name%' and this DAO's writes keep it current
+    private volatile NameSearchIndex nameIndex;
+    // Roll numbers written while buildNameIndex() is loading (null otherwise)
+    private volatile Set<String> rollsWrittenDuringBuild;
+    private final Object nameIndexLock = new Object();
+
+    public StudentDAO() {
+        this(SHARED_ROLL_CACHE);
+    }
+
     /**
-     * Add a new student to database
-     * 
-     * @param student Student object to add
-     * @return true if successful, false otherwise
+     * @param rollCache Cache for roll number lookups (e.g. a private or tiny one for tests)
+     */
+    public StudentDAO(LruCache<String, Student> rollCache) {
+        this(null, rollCache);
+    }
+
+    /**
+     * Use another database than DatabaseConnection's (e.g. one shard of a
+     * ShardedStudentRepository), with a roll number cache of its own
+     *
+     * @param pool Pool of that database (the caller closes it)
      */
-    public boolean addStudent(Student student) {
-        // Check if roll number already exists
-        if (isRollNumberExists(student.getRollNumber())) {
-            System.err.println("✗ Roll Number already exists: " + student.getRollNumber());
-            return false;
+    public StudentDAO(ConnectionPool pool) {
+        this(pool, newRollCache());
+    }
+
+    public StudentDAO(ConnectionPool pool, LruCache<String, Student> rollCache) {
+        this.pool = pool;
+        this.rollCache = rollCache;
+    }
+
+    /**
+     * Get roll number cache counters (hits, misses, evictions, ...)
+     *
+     * @return Cache statistics
+     */
+    public LruCache.Stats getCacheStats() {
+        return rollCache.getStats();
+    }
+
+    /**
+     * Load every name into a new NameSearchIndex and attach it. Writes made
+     * through this DAO while loading are re-read afterwards, so none are lost.
+     * Writes made by other DAO instances or other clients are not seen.
+     *
+     * @return Number of names indexed
+     * @throws DataAccessException if the table cannot be read
+     */
+    public long buildNameIndex() {
+        long start = System.nanoTime();
+        NameSearchIndex index = new NameSearchIndex();
+        Set<String> written = ConcurrentHashMap.newKeySet();
+        rollsWrittenDuringBuild = written;
+        try {
+            long count = forEachStudent(s -> index.put(s.getRollNumber(), s.getName()));
+
+            // Attach first so later writes go straight to the index, then
+            // replace whatever the snapshot may have missed with current rows
+            nameIndex = index;
+            rollsWrittenDuringBuild = null;
+            for (String rollNumber : written) {
+                synchronized (nameIndexLock) {
+                    Student current = loadByRollNumber(rollNumber);
+                    if (current == null) {
+                        index.remove(rollNumber);
+                    } else {
+                        index.put(current.getRollNumber(), current.getName());
+                    }
+                }
+            }
+
+            LOG.info("✓ Name index built: {} names in {}ms", index.size(), (System.nanoTime() - start) / 1_000_000);
+            return count;
+        } catch (SQLException e) {
+            throw new DataAccessException("Error building name index", e);
+        } finally {
+            rollsWrittenDuringBuild = null;
         }
+    }
 
-        try (Connection conn = DatabaseConnection.getConnection();
-                PreparedStatement pstmt = conn.prepareStatement(Constants.SQL.INSERT_STUDENT)) {
+    /**
+     * Use an existing (already populated) name index, or null to go back to LIKE queries
+     */
+    public void attachNameIndex(NameSearchIndex index) {
+        this.nameIndex = index;
+    }
+
+    public NameSearchIndex getNameIndex() {
+        return nameIndex;
+    }
+
+    /**
+     * Insert one student in a single round trip. The primary key and the
+     * email UNIQUE constraint reject duplicates, so there is no separate
+     * existence check and no race window between check and insert.
+     *
+     * @param student Student to insert
+     * @return INSERTED, DUPLICATE_ROLL, DUPLICATE_EMAIL or FAILED
+     */
+    public InsertOutcome insertStudent(Student student) {
+        try (Connection conn = getConnection();
+                PreparedStatement pstmt = DatabaseConnection.prepare(conn, NamedQuery.INSERT_STUDENT)) {
 
             // Set parameters
-            pstmt.setString(1, student.getRollNumber());
-            pstmt.setString(2, student.getName());
-            pstmt.setString(3, student.getEmail());
-            pstmt.setString(4, student.getPhone());
-            pstmt.setString(5, student.getCourse());
-            pstmt.setDouble(6, student.getMarks());
+            bindInsert(pstmt, student);
 
             // Execute update
-            int rowsAffected = pstmt.executeUpdate();
+            pstmt.executeUpdate();
 
-            if (rowsAffected > 0) {
-                System.out.println("✓ Student added successfully: " + student.getRollNumber());
-                return true;
+            rollCache.invalidate(normalizeKey(student.getRollNumber()));
+            indexName(student.getRollNumber(), student.getName());
+            LOG.info("✓ Student added successfully: {}", student.getRollNumber());
+            return InsertOutcome.INSERTED;
+
+        } catch (SQLException e) {
+            // The row exists even if a "not found" is still cached
+            rollCache.invalidate(normalizeKey(student.getRollNumber()));
+
+            InsertOutcome outcome = classifyInsertFailure(e);
+            if (outcome == InsertOutcome.DUPLICATE_ROLL) {
+                LOG.warn("✗ Roll Number already exists: {}", student.getRollNumber());
+            } else if (outcome == InsertOutcome.DUPLICATE_EMAIL) {
+                LOG.warn("✗ Email already exists: {}", student.getEmail());
+            } else {
+                LOG.error("✗ Error adding student: " + e.getMessage(), e);
             }
+            return outcome;
+        }
+    }
+
+    /**
+     * Add many students using JDBC batching, one transaction per chunk.
+     * Invalid rows and rows whose roll number or email already exists (in the
+     * table or earlier in the input) are reported instead of inserted.
+     *
+     * @param students  Students to add
+     * @param chunkSize Rows per batch/transaction (1 to Constants.Batch.MAX_CHUNK_SIZE)
+     * @return Per-row outcome report (in input order)
+     */
+    public BatchInsertReport addStudents(Collection<Student> students, int chunkSize) {
+        if (chunkSize < 1 || chunkSize > Constants.Batch.MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("Chunk size must be between 1 and "
+                    + Constants.Batch.MAX_CHUNK_SIZE + ": " + chunkSize);
+        }
 
+        long start = System.nanoTime();
+        List<Student> rows = new ArrayList<>(students);
+        BatchInsertReport report = new BatchInsertReport(rows);
+
+        report.rejectInvalidAndRepeated();
+
+        try (Connection conn = getConnection()) {
+            List<Integer> chunk = new ArrayList<>(chunkSize);
+            for (int i = 0; i < rows.size(); i++) {
+                if (report.get(i) == null) {
+                    chunk.add(i);
+                }
+                if (chunk.size() == chunkSize || (i == rows.size() - 1 && !chunk.isEmpty())) {
+                    insertChunk(conn, rows, chunk, report);
+                    chunk.clear();
+                }
+            }
         } catch (SQLException e) {
-            System.err.println("✗ Error adding student: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("✗ Error adding students: " + e.getMessage(), e);
         }
 
-        return false;
+        // Anything left unset never reached the database
+        for (int i = 0; i < rows.size(); i++) {
+            if (report.get(i) == null) {
+                report.set(i, InsertOutcome.FAILED);
+            }
+        }
+
+        report.setElapsedNanos(System.nanoTime() - start);
+        LOG.info("✓ Batch insert finished: {}", report);
+        return report;
+    }
+
+    /**
+     * Insert or update many students (keyed by roll number), one transaction
+     * per chunk. A row whose email already belongs to a different student is
+     * left unwritten and reported as DUPLICATE_EMAIL; repeated roll numbers or
+     * emails within the input are reported like addStudents() does.
+     *
+     * @param students  Students to write
+     * @param chunkSize Rows per batch/transaction (1 to Constants.Batch.MAX_CHUNK_SIZE)
+     * @return Per-row outcome report (in input order)
+     */
+    public BatchInsertReport upsertStudents(Collection<Student> students, int chunkSize) {
+        if (chunkSize < 1 || chunkSize > Constants.Batch.MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("Chunk size must be between 1 and "
+                    + Constants.Batch.MAX_CHUNK_SIZE + ": " + chunkSize);
+        }
+
+        long start = System.nanoTime();
+        List<Student> rows = new ArrayList<>(students);
+        BatchInsertReport report = new BatchInsertReport(rows);
+        report.rejectInvalidAndRepeated();
+
+        try (Connection conn = getConnection()) {
+            List<Integer> chunk = new ArrayList<>(chunkSize);
+            for (int i = 0; i < rows.size(); i++) {
+                if (report.get(i) == null) {
+                    chunk.add(i);
+                }
+                if (chunk.size() == chunkSize || (i == rows.size() - 1 && !chunk.isEmpty())) {
+                    upsertChunk(conn, rows, chunk, report);
+                    chunk.clear();
+                }
+            }
+        } catch (SQLException e) {
+            LOG.error("✗ Error upserting students: " + e.getMessage(), e);
+        }
+
+        for (int i = 0; i < rows.size(); i++) {
+            if (report.get(i) == null) {
+                report.set(i, InsertOutcome.FAILED);
+            }
+        }
+
+        report.setElapsedNanos(System.nanoTime() - start);
+        if (rows.size() != 1) {
+            LOG.info("✓ Batch upsert finished: {}", report);
+        } else if (report.getOutcome(0).isSuccess()) {
+            LOG.info("✓ Student saved successfully: {}", rows.get(0).getRollNumber());
+        } else {
+            LOG.warn("✗ Student not saved ({}): {}", report.getOutcome(0), rows.get(0).getRollNumber());
+        }
+        return report;
     }
 
     /**
@@ -65,79 +291,449 @@ public class StudentDAO {
     public List<Student> getAllStudents() {
         List<Student> students = new ArrayList<>();
 
-        try (Connection conn = DatabaseConnection.getConnection();
-                Statement stmt = conn.createStatement();
-                ResultSet rs = stmt.executeQuery(Constants.SQL.SELECT_ALL_STUDENTS)) {
+        try (Connection conn = getConnection();
+                PreparedStatement pstmt = DatabaseConnection.prepare(conn, NamedQuery.SELECT_ALL_STUDENTS);
+                ResultSet rs = pstmt.executeQuery()) {
 
             while (rs.next()) {
                 Student student = extractStudentFromResultSet(rs);
                 students.add(student);
             }
 
-            System.out.println("✓ Retrieved " + students.size() + " students");
+            LOG.info("✓ Retrieved {} students", students.size());
+
+        } catch (SQLException e) {
+            LOG.error("✗ Error retrieving students: " + e.getMessage(), e);
+        }
+
+        return students;
+    }
+
+    /**
+     * Get one page of students using keyset pagination on roll_number
+     * (an index range scan, no OFFSET)
+     *
+     * @param afterRollNumber Last roll number of the previous page ("" for the first page)
+     * @param limit           Maximum rows to return
+     * @return Students with roll_number greater than the key, in roll number order
+     */
+    public List<Student> getStudentsPage(String afterRollNumber, int limit) {
+        List<Student> students = new ArrayList<>(limit);
+
+        try (Connection conn = getConnection();
+                PreparedStatement pstmt = DatabaseConnection.prepare(conn, NamedQuery.SELECT_STUDENTS_PAGE)) {
+
+            pstmt.setString(1, afterRollNumber);
+            pstmt.setInt(2, limit);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    students.add(extractStudentFromResultSet(rs));
+                }
+            }
+
+        } catch (SQLException e) {
+            LOG.error("✗ Error retrieving page of students: " + e.getMessage(), e);
+        }
+
+        return students;
+    }
+
+    /**
+     * Get roll numbers only (index-only scan), used to locate page boundaries
+     *
+     * @param afterRollNumber Start after this roll number ("" for the beginning)
+     * @param limit           Maximum keys to return
+     * @return Roll numbers in order
+     */
+    public List<String> getRollNumbersAfter(String afterRollNumber, int limit) {
+        List<String> rollNumbers = new ArrayList<>(limit);
+
+        try (Connection conn = getConnection();
+                PreparedStatement pstmt = DatabaseConnection.prepare(conn, NamedQuery.SELECT_ROLL_NUMBERS_AFTER)) {
+
+            pstmt.setString(1, afterRollNumber);
+            pstmt.setInt(2, limit);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    rollNumbers.add(rs.getString(1));
+                }
+            }
+
+        } catch (SQLException e) {
+            LOG.error("✗ Error retrieving roll numbers: " + e.getMessage(), e);
+        }
+
+        return rollNumbers;
+    }
+
+    /**
+     * Get every n-th roll number in one query; only the checkpoints cross
+     * the network. Servers without window functions (before MySQL 8) get
+     * the key scan of StudentRepository instead.
+     *
+     * @param every Distance between checkpoints, in rows
+     * @return Keys at positions every, 2 * every, ...
+     */
+    @Override
+    public List<String> getRollNumberCheckpoints(int every) {
+        List<String> checkpoints = new ArrayList<>();
+
+        try (Connection conn = getConnection();
+                PreparedStatement pstmt = conn.prepareStatement(Constants.SQL.SELECT_ROLL_CHECKPOINTS)) {
+
+            pstmt.setInt(1, every);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    checkpoints.add(rs.getString(1));
+                }
+            }
+            return checkpoints;
+
+        } catch (SQLException e) {
+            LOG.warn("⚠ Roll number checkpoints query failed, scanning keys instead: {}", e.getMessage());
+            return StudentRepository.super.getRollNumberCheckpoints(every);
+        }
+    }
+
+    /**
+     * Count all students
+     *
+     * @return Number of rows in the students table (0 on error)
+     */
+    public int countStudents() {
+        try (Connection conn = getConnection();
+                PreparedStatement pstmt = DatabaseConnection.prepare(conn, NamedQuery.COUNT_STUDENTS);
+                ResultSet rs = pstmt.executeQuery()) {
+
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+
+        } catch (SQLException e) {
+            LOG.error("✗ Error counting students: " + e.getMessage(), e);
+        }
+
+        return 0;
+    }
+
+    // ==================== STATISTICS QUERIES ====================
+
+    /**
+     * Compute per-course marks statistics in MySQL (GROUP BY course for the
+     * aggregates and histogram, window functions for the percentiles)
+     *
+     * @return One entry per course, ordered by course
+     * @throws DataAccessException if a query fails
+     */
+    public List<CourseStats> getCourseStatistics() {
+        Map<String, double[]> aggregates = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        Map<String, double[]> percentiles = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        Map<String, int[]> histograms = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        double[] fractions = Constants.Analytics.PERCENTILES;
+
+        try (Connection conn = getConnection()) {
+
+            try (PreparedStatement pstmt = DatabaseConnection.prepare(conn, NamedQuery.SELECT_COURSE_AGGREGATES)) {
+                pstmt.setDouble(1, Constants.Analytics.PASS_MARK);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        aggregates.put(rs.getString("course"), new double[] {
+                                rs.getInt("student_count"), rs.getDouble("average"),
+                                rs.getDouble("lowest"), rs.getDouble("highest"), rs.getInt("passed") });
+                    }
+                }
+            }
+
+            try (PreparedStatement pstmt = DatabaseConnection.prepare(conn, NamedQuery.SELECT_COURSE_PERCENTILES);
+                    ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    double[] values = percentiles.computeIfAbsent(rs.getString("course"),
+                            k -> new double[fractions.length]);
+                    long rank = rs.getLong("rn");
+                    long count = rs.getLong("cnt");
+                    for (int p = 0; p < fractions.length; p++) {
+                        if ((long) Math.ceil(fractions[p] * count) == rank) {
+                            values[p] = rs.getDouble("marks");
+                        }
+                    }
+                }
+            }
+
+            try (PreparedStatement pstmt = DatabaseConnection.prepare(conn, NamedQuery.SELECT_COURSE_HISTOGRAM);
+                    ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    histograms.computeIfAbsent(rs.getString("course"),
+                            k -> new int[Constants.Analytics.HISTOGRAM_BUCKETS])[rs.getInt("bucket")] = rs.getInt("student_count");
+                }
+            }
+
+        } catch (SQLException e) {
+            throw new DataAccessException("Error computing course statistics", e);
+        }
+
+        List<CourseStats> stats = new ArrayList<>(aggregates.size());
+        for (Map.Entry<String, double[]> entry : aggregates.entrySet()) {
+            double[] a = entry.getValue();
+            stats.add(new CourseStats(entry.getKey(), (int) a[0], a[1], a[2], a[3],
+                    percentiles.getOrDefault(entry.getKey(), new double[fractions.length]), (int) a[4],
+                    histograms.getOrDefault(entry.getKey(), new int[Constants.Analytics.HISTOGRAM_BUCKETS])));
+        }
+        return stats;
+    }
+
+    // ==================== CHANGE FEED QUERIES ====================
+
+    /**
+     * Get rows changed (inserted or updated) after a position in
+     * (updated_at, roll_number) order, using idx_students_updated_at
+     *
+     * @param since           updated_at of the last row already seen
+     * @param afterRollNumber Roll number of the last row seen at that time ("" for none)
+     * @param limit           Maximum rows to return
+     * @return Changed students in (updated_at, roll_number) order
+     * @throws DataAccessException if the query fails
+     */
+    public List<Student> getStudentsChangedSince(Timestamp since, String afterRollNumber, int limit) {
+        List<Student> students = new ArrayList<>();
+
+        try (Connection conn = getConnection();
+                PreparedStatement pstmt = DatabaseConnection.prepare(conn, NamedQuery.SELECT_STUDENTS_CHANGED_SINCE)) {
+
+            pstmt.setTimestamp(1, since);
+            pstmt.setTimestamp(2, since);
+            pstmt.setString(3, afterRollNumber);
+            pstmt.setInt(4, limit);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    students.add(extractStudentFromResultSet(rs));
+                }
+            }
 
         } catch (SQLException e) {
-            System.err.println("✗ Error retrieving students: " + e.getMessage());
-            e.printStackTrace();
+            throw new DataAccessException("Error reading changed students", e);
         }
 
         return students;
     }
 
+    /**
+     * Get entries of the delete log (student_deletions) after an id
+     *
+     * @param afterId Last log id already seen
+     * @param limit   Maximum entries to return
+     * @return Log id -> deleted roll number, in id order
+     * @throws DataAccessException if the query fails
+     */
+    public SortedMap<Long, String> getDeletionsAfter(long afterId, int limit) {
+        SortedMap<Long, String> deletions = new TreeMap<>();
+
+        try (Connection conn = getConnection();
+                PreparedStatement pstmt = DatabaseConnection.prepare(conn, NamedQuery.SELECT_DELETIONS_AFTER)) {
+
+            pstmt.setLong(1, afterId);
+            pstmt.setInt(2, limit);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    deletions.put(rs.getLong("id"), rs.getString("roll_number"));
+                }
+            }
+
+        } catch (SQLException e) {
+            throw new DataAccessException("Error reading delete log", e);
+        }
+
+        return deletions;
+    }
+
+    /**
+     * Get the newest updated_at in the table (the change feed's starting watermark)
+     *
+     * @return Latest update time, or null if the table is empty
+     * @throws DataAccessException if the query fails
+     */
+    public Timestamp getLatestUpdateTime() {
+        try (Connection conn = getConnection();
+                PreparedStatement pstmt = DatabaseConnection.prepare(conn, NamedQuery.SELECT_LATEST_UPDATE_TIME);
+                ResultSet rs = pstmt.executeQuery()) {
+
+            return rs.next() ? rs.getTimestamp(1) : null;
+
+        } catch (SQLException e) {
+            throw new DataAccessException("Error reading latest update time", e);
+        }
+    }
+
+    /**
+     * Get the newest delete log id
+     *
+     * @return Latest id, or 0 if the log is empty
+     * @throws DataAccessException if the query fails
+     */
+    public long getLatestDeletionId() {
+        try (Connection conn = getConnection();
+                PreparedStatement pstmt = DatabaseConnection.prepare(conn, NamedQuery.SELECT_LATEST_DELETION_ID);
+                ResultSet rs = pstmt.executeQuery()) {
+
+            return rs.next() ? rs.getLong(1) : 0;
+
+        } catch (SQLException e) {
+            throw new DataAccessException("Error reading delete log", e);
+        }
+    }
+
+    /**
+     * Drop delete log entries older than a cutoff
+     *
+     * @param before Entries deleted before this time are removed
+     * @return Number of entries removed (0 on error)
+     */
+    public int purgeDeletionsBefore(Timestamp before) {
+        try (Connection conn = getConnection();
+                PreparedStatement pstmt = DatabaseConnection.prepare(conn, NamedQuery.PURGE_DELETIONS)) {
+
+            pstmt.setTimestamp(1, before);
+            return pstmt.executeUpdate();
+
+        } catch (SQLException e) {
+            LOG.error("✗ Error purging delete log: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Bring this DAO's caches in line with writes made elsewhere (called by
+     * the change feed): drops cached lookups and updates the name index
+     *
+     * @param changed      Students inserted or updated
+     * @param deletedRolls Roll numbers deleted
+     */
+    public void applyExternalChanges(Collection<Student> changed, Collection<String> deletedRolls) {
+        for (String rollNumber : deletedRolls) {
+            rollCache.invalidate(normalizeKey(rollNumber));
+            indexName(rollNumber, null);
+        }
+        for (Student student : changed) {
+            rollCache.invalidate(normalizeKey(student.getRollNumber()));
+            indexName(student.getRollNumber(), student.getName());
+        }
+    }
+
+    /**
+     * Stream all students (ordered by roll number) without loading the table
+     * into memory. Rows are read from the server as the stream is consumed.
+     * The stream holds a pooled connection: always close it, e.g. with
+     * try-with-resources.
+     *
+     * @return Lazily populated stream of students
+     * @throws DataAccessException if the query cannot be started or a row cannot be read
+     */
+    public Stream<Student> streamAllStudents() {
+        Connection conn = null;
+        Statement stmt = null;
+        ResultSet rs = null;
+        try {
+            conn = getConnection();
+            stmt = conn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            enableStreaming(stmt);
+            rs = stmt.executeQuery(Constants.SQL.SELECT_ALL_STUDENTS);
+        } catch (SQLException e) {
+            closeQuietly(rs, stmt, conn);
+            throw new DataAccessException("Error streaming students", e);
+        }
+
+        final Connection openConn = conn;
+        final Statement openStmt = stmt;
+        final ResultSet openRs = rs;
+
+        Spliterator<Student> rows = new Spliterators.AbstractSpliterator<Student>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super Student> action) {
+                try {
+                    if (!openRs.next()) {
+                        return false;
+                    }
+                    action.accept(extractStudentFromResultSet(openRs));
+                    return true;
+                } catch (SQLException e) {
+                    throw new DataAccessException("Error streaming students", e);
+                }
+            }
+        };
+
+        return StreamSupport.stream(rows, false)
+                .onClose(() -> closeQuietly(openRs, openStmt, openConn));
+    }
+
     /**
      * Get student by roll number
-     * 
+     *
      * @param rollNumber Roll number to search
      * @return Student object if found, null otherwise
      */
     public Student getStudentByRollNumber(String rollNumber) {
-        try (Connection conn = DatabaseConnection.getConnection();
-                PreparedStatement pstmt = conn.prepareStatement(Constants.SQL.SELECT_STUDENT_BY_ROLL)) {
-
-            pstmt.setString(1, rollNumber);
-            ResultSet rs = pstmt.executeQuery();
+        try {
+            Student student = findByRollNumber(rollNumber);
 
-            if (rs.next()) {
-                Student student = extractStudentFromResultSet(rs);
-                System.out.println("✓ Student found: " + rollNumber);
+            if (student != null) {
+                LOG.info("✓ Student found: {}", rollNumber);
                 return student;
             } else {
-                System.out.println("✗ Student not found: " + rollNumber);
+                LOG.info("✗ Student not found: {}", rollNumber);
             }
 
         } catch (SQLException e) {
-            System.err.println("✗ Error searching student: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("✗ Error searching student: " + e.getMessage(), e);
         }
 
         return null;
     }
 
     /**
-     * Search students by name (partial match)
-     * 
-     * @param name Name to search
-     * @return List of matching students
+     * Search students by name. With a name index attached, results are ranked
+     * (exact, prefix, substring, then close misspellings); otherwise this is
+     * a LIKE '%name%' scan.
+     *
+     * @param name  Name to search
+     * @param limit Maximum students to return
+     * @return List of matching students, best match first when indexed
      */
-    public List<Student> searchStudentsByName(String name) {
+    public List<Student> searchStudentsByName(String name, int limit) {
+        NameSearchIndex index = nameIndex;
+        if (index != null) {
+            try {
+                List<Student> students = selectStudentsByRollNumbers(index.searchRollNumbers(name, limit));
+                LOG.info("✓ Found {} students matching: {}", students.size(), name);
+                return students;
+            } catch (SQLException e) {
+                LOG.error("✗ Error searching students: " + e.getMessage(), e);
+                return new ArrayList<>();
+            }
+        }
+
         List<Student> students = new ArrayList<>();
 
-        try (Connection conn = DatabaseConnection.getConnection();
-                PreparedStatement pstmt = conn.prepareStatement(Constants.SQL.SELECT_STUDENT_BY_NAME)) {
+        try (Connection conn = getConnection();
+                PreparedStatement pstmt = DatabaseConnection.prepare(conn, NamedQuery.SELECT_STUDENT_BY_NAME)) {
 
             pstmt.setString(1, "%" + name + "%");
-            ResultSet rs = pstmt.executeQuery();
-
-            while (rs.next()) {
-                Student student = extractStudentFromResultSet(rs);
-                students.add(student);
+            pstmt.setMaxRows(limit);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    Student student = extractStudentFromResultSet(rs);
+                    students.add(student);
+                }
             }
 
-            System.out.println("✓ Found " + students.size() + " students matching: " + name);
+            LOG.info("✓ Found {} students matching: {}", students.size(), name);
 
         } catch (SQLException e) {
-            System.err.println("✗ Error searching students: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("✗ Error searching students: " + e.getMessage(), e);
         }
 
         return students;
@@ -150,8 +746,8 @@ public class StudentDAO {
      * @return true if successful, false otherwise
      */
     public boolean updateStudent(Student student) {
-        try (Connection conn = DatabaseConnection.getConnection();
-                PreparedStatement pstmt = conn.prepareStatement(Constants.SQL.UPDATE_STUDENT)) {
+        try (Connection conn = getConnection();
+                PreparedStatement pstmt = DatabaseConnection.prepare(conn, NamedQuery.UPDATE_STUDENT)) {
 
             // Set parameters (note: roll_number is in WHERE clause)
             pstmt.setString(1, student.getName());
@@ -163,16 +759,19 @@ public class StudentDAO {
 
             int rowsAffected = pstmt.executeUpdate();
 
+            // Invalidate even on failure: the row may have changed or vanished
+            rollCache.invalidate(normalizeKey(student.getRollNumber()));
+
             if (rowsAffected > 0) {
-                System.out.println("✓ Student updated successfully: " + student.getRollNumber());
+                indexName(student.getRollNumber(), student.getName());
+                LOG.info("✓ Student updated successfully: {}", student.getRollNumber());
                 return true;
             } else {
-                System.out.println("✗ Student not found for update: " + student.getRollNumber());
+                LOG.info("✗ Student not found for update: {}", student.getRollNumber());
             }
 
         } catch (SQLException e) {
-            System.err.println("✗ Error updating student: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("✗ Error updating student: " + e.getMessage(), e);
         }
 
         return false;
@@ -185,22 +784,23 @@ public class StudentDAO {
      * @return true if successful, false otherwise
      */
     public boolean deleteStudent(String rollNumber) {
-        try (Connection conn = DatabaseConnection.getConnection();
-                PreparedStatement pstmt = conn.prepareStatement(Constants.SQL.DELETE_STUDENT)) {
+        try (Connection conn = getConnection();
+                PreparedStatement pstmt = DatabaseConnection.prepare(conn, NamedQuery.DELETE_STUDENT)) {
 
             pstmt.setString(1, rollNumber);
             int rowsAffected = pstmt.executeUpdate();
+            rollCache.invalidate(normalizeKey(rollNumber));
 
             if (rowsAffected > 0) {
-                System.out.println("✓ Student deleted successfully: " + rollNumber);
+                indexName(rollNumber, null);
+                LOG.info("✓ Student deleted successfully: {}", rollNumber);
                 return true;
             } else {
-                System.out.println("✗ Student not found for deletion: " + rollNumber);
+                LOG.info("✗ Student not found for deletion: {}", rollNumber);
             }
 
         } catch (SQLException e) {
-            System.err.println("✗ Error deleting student: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("✗ Error deleting student: " + e.getMessage(), e);
         }
 
         return false;
@@ -213,32 +813,384 @@ public class StudentDAO {
      * @return true if exists, false otherwise
      */
     public boolean isRollNumberExists(String rollNumber) {
-        try (Connection conn = DatabaseConnection.getConnection();
-                PreparedStatement pstmt = conn.prepareStatement(Constants.SQL.CHECK_ROLL_EXISTS)) {
+        try {
+            // Shares the roll number cache, so a lookup right after this is free
+            return findByRollNumber(rollNumber) != null;
+
+        } catch (SQLException e) {
+            LOG.error("✗ Error checking roll number: " + e.getMessage(), e);
+        }
+
+        return false;
+    }
+
+    /**
+     * Read-through lookup by primary key; returns a copy so callers cannot
+     * modify the cached instance
+     */
+    private Student findByRollNumber(String rollNumber) throws SQLException {
+        Student cached = rollCache.get(normalizeKey(rollNumber), key -> loadByRollNumber(rollNumber));
+        return cached == null ? null : new Student(cached);
+    }
+
+    private Student loadByRollNumber(String rollNumber) throws SQLException {
+        try (Connection conn = getConnection();
+                PreparedStatement pstmt = DatabaseConnection.prepare(conn, NamedQuery.SELECT_STUDENT_BY_ROLL)) {
 
             pstmt.setString(1, rollNumber);
-            ResultSet rs = pstmt.executeQuery();
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? extractStudentFromResultSet(rs) : null;
+            }
+        }
+    }
 
-            if (rs.next()) {
-                return rs.getInt(1) > 0;
+    /**
+     * Get students by roll number with one IN (...) query
+     *
+     * @throws DataAccessException if the query fails
+     */
+    @Override
+    public List<Student> getStudentsByRollNumbers(List<String> rollNumbers) {
+        try {
+            return selectStudentsByRollNumbers(rollNumbers);
+        } catch (SQLException e) {
+            throw new DataAccessException("Error reading students by roll number", e);
+        }
+    }
+
+    /**
+     * Fetch rows for the given roll numbers in one query, in the given order
+     * (roll numbers deleted since they were looked up are skipped)
+     */
+    private List<Student> selectStudentsByRollNumbers(List<String> rollNumbers) throws SQLException {
+        if (rollNumbers.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        String placeholders = String.join(", ", Collections.nCopies(rollNumbers.size(), "?"));
+        Map<String, Student> found = new HashMap<>();
+
+        try (Connection conn = getConnection();
+                PreparedStatement pstmt = conn.prepareStatement(
+                        String.format(Constants.SQL.SELECT_STUDENTS_BY_ROLLS, placeholders))) {
+
+            for (int i = 0; i < rollNumbers.size(); i++) {
+                pstmt.setString(i + 1, rollNumbers.get(i));
             }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    Student student = extractStudentFromResultSet(rs);
+                    found.put(normalizeKey(student.getRollNumber()), student);
+                }
+            }
+        }
 
+        List<Student> students = new ArrayList<>(found.size());
+        for (String rollNumber : rollNumbers) {
+            Student student = found.get(normalizeKey(rollNumber));
+            if (student != null) {
+                students.add(student);
+            }
+        }
+        return students;
+    }
+
+    /**
+     * Apply a successful write to the name index (name null = deleted)
+     */
+    private void indexName(String rollNumber, String name) {
+        Set<String> written = rollsWrittenDuringBuild;
+        if (written != null) {
+            written.add(rollNumber);
+        }
+        NameSearchIndex index = nameIndex;
+        if (index == null) {
+            return;
+        }
+        synchronized (nameIndexLock) {
+            if (name == null) {
+                index.remove(rollNumber);
+            } else {
+                index.put(rollNumber, name);
+            }
+        }
+    }
+
+    /**
+     * Upsert one chunk as a single JDBC batch inside one transaction, then
+     * read back the chunk's keys (same transaction) to find rows whose email
+     * clash turned the upsert into a no-op
+     */
+    private void upsertChunk(Connection conn, List<Student> rows, List<Integer> chunk,
+            BatchInsertReport report) throws SQLException {
+        conn.setAutoCommit(false);
+        try (PreparedStatement pstmt = DatabaseConnection.prepare(conn, NamedQuery.UPSERT_STUDENT)) {
+            for (int index : chunk) {
+                bindInsert(pstmt, rows.get(index));
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+            markUpsertResults(conn, rows, chunk, report);
+            conn.commit();
+        } catch (BatchUpdateException e) {
+            // An existing roll number took an email owned by another student: redo row by row
+            conn.rollback();
+            conn.setAutoCommit(true);
+            upsertRowByRow(conn, rows, chunk, report);
         } catch (SQLException e) {
-            System.err.println("✗ Error checking roll number: " + e.getMessage());
-            e.printStackTrace();
+            conn.rollback();
+            for (int index : chunk) {
+                report.set(index, InsertOutcome.FAILED); // nothing in this chunk was committed
+            }
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
         }
 
-        return false;
+        for (int index : chunk) {
+            if (report.get(index) == InsertOutcome.UPSERTED) {
+                Student student = rows.get(index);
+                rollCache.invalidate(normalizeKey(student.getRollNumber()));
+                indexName(student.getRollNumber(), student.getName());
+            }
+        }
+    }
+
+    /**
+     * Fallback for a failed upsert batch: write each row on its own (autocommit)
+     */
+    private void upsertRowByRow(Connection conn, List<Student> rows, List<Integer> chunk,
+            BatchInsertReport report) throws SQLException {
+        List<Integer> written = new ArrayList<>(chunk.size());
+        try (PreparedStatement pstmt = DatabaseConnection.prepare(conn, NamedQuery.UPSERT_STUDENT)) {
+            for (int index : chunk) {
+                bindInsert(pstmt, rows.get(index));
+                try {
+                    pstmt.executeUpdate();
+                    written.add(index);
+                } catch (SQLException e) {
+                    InsertOutcome outcome = classifyInsertFailure(e);
+                    // An upsert never fails on its own roll number; a 1062 here is the email
+                    report.set(index, outcome == InsertOutcome.DUPLICATE_ROLL
+                            ? InsertOutcome.DUPLICATE_EMAIL : outcome);
+                }
+            }
+        }
+        if (!written.isEmpty()) {
+            markUpsertResults(conn, rows, written, report);
+        }
+    }
+
+    /**
+     * A written row now has its roll number and email together; if not, the
+     * email belonged to another student and the guarded upsert changed nothing
+     */
+    private void markUpsertResults(Connection conn, List<Student> rows, List<Integer> chunk,
+            BatchInsertReport report) throws SQLException {
+        String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+        Map<String, String> emailByRoll = new HashMap<>();
+
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                String.format(Constants.SQL.SELECT_KEYS_BY_ROLLS, placeholders))) {
+            for (int i = 0; i < chunk.size(); i++) {
+                pstmt.setString(i + 1, rows.get(chunk.get(i)).getRollNumber());
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    emailByRoll.put(normalizeKey(rs.getString("roll_number")), normalizeKey(rs.getString("email")));
+                }
+            }
+        }
+
+        for (int index : chunk) {
+            Student student = rows.get(index);
+            String email = emailByRoll.get(normalizeKey(student.getRollNumber()));
+            report.set(index, normalizeKey(student.getEmail()).equals(email)
+                    ? InsertOutcome.UPSERTED : InsertOutcome.DUPLICATE_EMAIL);
+        }
+    }
+
+    /**
+     * Insert one chunk of rows as a single JDBC batch inside one transaction
+     */
+    private void insertChunk(Connection conn, List<Student> rows, List<Integer> chunk,
+            BatchInsertReport report) throws SQLException {
+        markExistingKeys(conn, rows, chunk, report);
+
+        List<Integer> pending = new ArrayList<>(chunk.size());
+        for (int index : chunk) {
+            if (report.get(index) == null) {
+                pending.add(index);
+            }
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        conn.setAutoCommit(false);
+        try (PreparedStatement pstmt = DatabaseConnection.prepare(conn, NamedQuery.INSERT_STUDENT)) {
+            for (int index : pending) {
+                bindInsert(pstmt, rows.get(index));
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+            conn.commit();
+
+            for (int index : pending) {
+                report.set(index, InsertOutcome.INSERTED);
+                rollCache.invalidate(normalizeKey(rows.get(index).getRollNumber()));
+                indexName(rows.get(index).getRollNumber(), rows.get(index).getName());
+            }
+        } catch (BatchUpdateException e) {
+            // A concurrent writer took one of the keys after the check: redo this chunk row by row
+            conn.rollback();
+            conn.setAutoCommit(true);
+            insertRowByRow(conn, rows, pending, report);
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * Fallback for a failed batch: insert each row on its own and classify failures
+     */
+    private void insertRowByRow(Connection conn, List<Student> rows, List<Integer> pending,
+            BatchInsertReport report) throws SQLException {
+        try (PreparedStatement pstmt = DatabaseConnection.prepare(conn, NamedQuery.INSERT_STUDENT)) {
+            for (int index : pending) {
+                bindInsert(pstmt, rows.get(index));
+                try {
+                    pstmt.executeUpdate();
+                    report.set(index, InsertOutcome.INSERTED);
+                    rollCache.invalidate(normalizeKey(rows.get(index).getRollNumber()));
+                    indexName(rows.get(index).getRollNumber(), rows.get(index).getName());
+                } catch (SQLException e) {
+                    report.set(index, classifyInsertFailure(e));
+                }
+            }
+        }
+    }
+
+    /**
+     * Mark rows whose roll number or email is already in the table (one query per chunk)
+     */
+    private void markExistingKeys(Connection conn, List<Student> rows, List<Integer> chunk,
+            BatchInsertReport report) throws SQLException {
+        String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+        String sql = String.format(Constants.SQL.SELECT_EXISTING_KEYS, placeholders, placeholders);
+
+        Set<String> existingRolls = new HashSet<>();
+        Set<String> existingEmails = new HashSet<>();
+
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            int n = chunk.size();
+            for (int i = 0; i < n; i++) {
+                Student student = rows.get(chunk.get(i));
+                pstmt.setString(i + 1, student.getRollNumber());
+                pstmt.setString(n + i + 1, student.getEmail());
+            }
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    existingRolls.add(normalizeKey(rs.getString("roll_number")));
+                    existingEmails.add(normalizeKey(rs.getString("email")));
+                }
+            }
+        }
+
+        for (int index : chunk) {
+            Student student = rows.get(index);
+            if (existingRolls.contains(normalizeKey(student.getRollNumber()))) {
+                report.set(index, InsertOutcome.DUPLICATE_ROLL);
+            } else if (existingEmails.contains(normalizeKey(student.getEmail()))) {
+                report.set(index, InsertOutcome.DUPLICATE_EMAIL);
+            }
+        }
+    }
+
+    /**
+     * Bind the INSERT_STUDENT parameters for one student
+     */
+    private void bindInsert(PreparedStatement pstmt, Student student) throws SQLException {
+        pstmt.setString(1, student.getRollNumber());
+        pstmt.setString(2, student.getName());
+        pstmt.setString(3, student.getEmail());
+        pstmt.setString(4, student.getPhone());
+        pstmt.setString(5, student.getCourse());
+        pstmt.setDouble(6, student.getMarks());
+    }
+
+    // Borrow from this DAO's pool, or from the application-wide one
+    private Connection getConnection() throws SQLException {
+        return pool != null ? pool.getConnection() : DatabaseConnection.getConnection();
+    }
+
+    private static LruCache<String, Student> newRollCache() {
+        return new LruCache<>(
+                Integer.getInteger("sms.cache.maxSize", Constants.Cache.MAX_SIZE),
+                Long.getLong("sms.cache.ttlMs", Constants.Cache.TTL_MS),
+                Long.getLong("sms.cache.negativeTtlMs", Constants.Cache.NEGATIVE_TTL_MS));
+    }
+
+    /**
+     * Map a failed INSERT to the constraint that rejected it
+     */
+    private static InsertOutcome classifyInsertFailure(SQLException e) {
+        if (e.getErrorCode() != Constants.Batch.MYSQL_DUPLICATE_KEY
+                && !Constants.Batch.SQLSTATE_UNIQUE_VIOLATION.equals(e.getSQLState())) {
+            return InsertOutcome.FAILED;
+        }
+        // e.g. "Duplicate entry 'a@b.com' for key 'students.email'" (MySQL) or
+        // "... ON PUBLIC.STUDENTS(EMAIL NULLS FIRST) VALUES ..." (H2); only look
+        // at the key, since the duplicate value itself may contain "email"
+        String message = e.getMessage() == null ? "" : e.getMessage().toLowerCase();
+        int key = message.lastIndexOf("for key ");
+        int values = message.indexOf(" values ");
+        String keyName = key >= 0 ? message.substring(key) : values >= 0 ? message.substring(0, values) : message;
+        return keyName.contains("email") ? InsertOutcome.DUPLICATE_EMAIL : InsertOutcome.DUPLICATE_ROLL;
+    }
+
+    /**
+     * Ask the driver to stream rows instead of buffering the whole result
+     */
+    private static void enableStreaming(Statement stmt) throws SQLException {
+        try {
+            stmt.setFetchSize(Integer.MIN_VALUE); // MySQL Connector/J: row-by-row streaming
+        } catch (SQLException e) {
+            stmt.setFetchSize(Constants.Streaming.FETCH_SIZE);
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable... resources) {
+        for (AutoCloseable resource : resources) {
+            if (resource == null) {
+                continue;
+            }
+            try {
+                resource.close();
+            } catch (Exception e) {
+                LOG.error("✗ Error closing resource: {}", e.getMessage());
+            }
+        }
+    }
+
+    // MySQL's default collation compares keys case-insensitively
+    private static String normalizeKey(String key) {
+        return key == null ? "" : key.trim().toLowerCase();
     }
 
     /**
      * Helper method to extract Student object from ResultSet
+     * (package-private for the benchmarks)
      * 
      * @param rs ResultSet from query
      * @return Student object
      * @throws SQLException if error reading ResultSet
      */
-    private Student extractStudentFromResultSet(ResultSet rs) throws SQLException {
+    static Student extractStudentFromResultSet(ResultSet rs) throws SQLException {
         Student student = new Student();
         student.setRollNumber(rs.getString("roll_number"));
         student.setName(rs.getString("name"));
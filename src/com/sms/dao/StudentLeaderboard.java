@@ -0,0 +1,261 @@
+package com.sms.dao;
+
+import com.sms.log.Log;
+import com.sms.log.Logger;
+import com.sms.model.RankedStudent;
+import com.sms.model.Student;
+import com.sms.util.OrderStatisticTree;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * StudentLeaderboard Class - Marks rankings, overall and per course
+ * Keeps every student in order-statistic trees ordered by marks (highest
+ * first) then roll number: one for everyone and one per course. So
+ * - getRank / getRankInCourse are O(log n)
+ * - getTopStudents(k) is O(log n + k)
+ * with no sorting at query time. Writes go to the StudentRepository first
+ * and are applied to the trees only if it accepted them;
+ * writes made elsewhere are applied with applyChanges (e.g. from ChangeFeed).
+ *
+ * Ranks are competition ranks: equal marks share a rank (see RankedStudent).
+ * Courses are matched case-insensitively.
+ */
+public class StudentLeaderboard {
+
+    private static final Logger LOG = Log.getLogger(StudentLeaderboard.class);
+
+    // Highest marks first, then roll number
+    private static final Comparator<Student> BY_MARKS_DESC = (a, b) -> {
+        int byMarks = Double.compare(b.getMarks(), a.getMarks());
+        return byMarks != 0 ? byMarks : String.CASE_INSENSITIVE_ORDER.compare(a.getRollNumber(), b.getRollNumber());
+    };
+
+    private final StudentRepository repository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final OrderStatisticTree<Student> overall = new OrderStatisticTree<>(BY_MARKS_DESC);
+    private final Map<String, OrderStatisticTree<Student>> byCourse = new HashMap<>();
+    // normalized roll number -> the student as ranked
+    private final Map<String, Student> byRoll = new HashMap<>();
+
+    public StudentLeaderboard(StudentRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * (Re)load all students from the database
+     *
+     * @return Number of students ranked
+     * @throws DataAccessException if the table cannot be read
+     */
+    public long load() {
+        lock.writeLock().lock();
+        try {
+            long start = System.nanoTime();
+            overall.clear();
+            byCourse.clear();
+            byRoll.clear();
+            long count = repository.forEachStudent(this::rank);
+            LOG.info("✓ Ranked {} students in {}ms", count, (System.nanoTime() - start) / 1_000_000);
+            return count;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ==================== QUERIES ====================
+
+    /**
+     * Get a student's overall rank
+     *
+     * @return Rank (1 = highest marks), or 0 if the roll number is unknown
+     */
+    public int getRank(String rollNumber) {
+        lock.readLock().lock();
+        try {
+            Student student = byRoll.get(normalize(rollNumber));
+            return student == null ? 0 : competitionRank(overall, student.getMarks());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get a student's rank within their course
+     *
+     * @return Rank (1 = highest marks in the course), or 0 if the roll number is unknown
+     */
+    public int getRankInCourse(String rollNumber) {
+        lock.readLock().lock();
+        try {
+            Student student = byRoll.get(normalize(rollNumber));
+            if (student == null) {
+                return 0;
+            }
+            return competitionRank(byCourse.get(normalize(student.getCourse())), student.getMarks());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get the k best students overall
+     */
+    public List<RankedStudent> getTopStudents(int k) {
+        lock.readLock().lock();
+        try {
+            return top(overall, k);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get the k best students of a course
+     *
+     * @return Ranked students (empty for an unknown course)
+     */
+    public List<RankedStudent> getTopStudents(String course, int k) {
+        lock.readLock().lock();
+        try {
+            OrderStatisticTree<Student> tree = byCourse.get(normalize(course));
+            return tree == null ? new ArrayList<>() : top(tree, k);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return overall.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ==================== WRITES (database first, then rankings) ====================
+
+    public boolean addStudent(Student student) {
+        if (!repository.addStudent(student)) {
+            return false;
+        }
+        applyChange(student);
+        return true;
+    }
+
+    public boolean updateStudent(Student student) {
+        if (!repository.updateStudent(student)) {
+            return false;
+        }
+        applyChange(student);
+        return true;
+    }
+
+    public boolean deleteStudent(String rollNumber) {
+        if (!repository.deleteStudent(rollNumber)) {
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            unrank(rollNumber);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return true;
+    }
+
+    /**
+     * Apply writes made elsewhere (deletions first). Safe to apply twice.
+     *
+     * @param changed      Students inserted or updated
+     * @param deletedRolls Roll numbers deleted
+     */
+    public void applyChanges(Collection<Student> changed, Collection<String> deletedRolls) {
+        lock.writeLock().lock();
+        try {
+            for (String rollNumber : deletedRolls) {
+                unrank(rollNumber);
+            }
+            for (Student student : changed) {
+                unrank(student.getRollNumber());
+                rank(student);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void applyChange(Student student) {
+        lock.writeLock().lock();
+        try {
+            unrank(student.getRollNumber());
+            rank(student);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ==================== TREE MAINTENANCE (write lock held) ====================
+
+    private void rank(Student student) {
+        Student copy = new Student(student);
+        byRoll.put(normalize(copy.getRollNumber()), copy);
+        overall.add(copy);
+        byCourse.computeIfAbsent(normalize(copy.getCourse()), k -> new OrderStatisticTree<>(BY_MARKS_DESC))
+                .add(copy);
+    }
+
+    private void unrank(String rollNumber) {
+        Student previous = byRoll.remove(normalize(rollNumber));
+        if (previous == null) {
+            return;
+        }
+        overall.remove(previous);
+        String courseKey = normalize(previous.getCourse());
+        OrderStatisticTree<Student> course = byCourse.get(courseKey);
+        if (course != null) {
+            course.remove(previous);
+            if (course.isEmpty()) {
+                byCourse.remove(courseKey);
+            }
+        }
+    }
+
+    // ==================== RANK HELPERS ====================
+
+    // 1 + students with strictly higher marks: count those before (marks, "")
+    private static int competitionRank(OrderStatisticTree<Student> tree, double marks) {
+        if (tree == null) {
+            return 0;
+        }
+        Student probe = new Student();
+        probe.setRollNumber("");
+        probe.setMarks(marks);
+        return tree.countBefore(probe) + 1;
+    }
+
+    private static List<RankedStudent> top(OrderStatisticTree<Student> tree, int k) {
+        List<Student> students = tree.range(0, k);
+        List<RankedStudent> ranked = new ArrayList<>(students.size());
+        int rank = 0;
+        for (int i = 0; i < students.size(); i++) {
+            if (i == 0 || Double.compare(students.get(i).getMarks(), students.get(i - 1).getMarks()) != 0) {
+                rank = i + 1;
+            }
+            ranked.add(new RankedStudent(rank, students.get(i)));
+        }
+        return ranked;
+    }
+
+    private static String normalize(String key) {
+        return key == null ? "" : key.trim().toLowerCase();
+    }
+}
@@ -0,0 +1,213 @@
+package com.sms.dao;
+
+import com.sms.model.CourseStats;
+import com.sms.model.Student;
+import com.sms.util.Constants;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * StudentRepository Interface - Storage operations for Student entities
+ * Implementations:
+ * - StudentDAO: MySQL through JDBC
+ * - InMemoryStudentRepository: concurrent maps, no database (offline runs,
+ * load tests, measuring the application without the database)
+ * - MappedStudentRepository: local memory-mapped files (MappedStudentStore)
+ * - ShardedStudentRepository: several databases, routed by roll number
+ * (email uniqueness only within a shard)
+ * All enforce the same rules as the students table: roll number primary
+ * key and unique email (compared case-insensitively), required columns and
+ * marks between 0 and 100.
+ */
+public interface StudentRepository {
+
+    // ==================== WRITES ====================
+
+    /**
+     * Add a new student
+     *
+     * @return true if successful, false otherwise
+     */
+    default boolean addStudent(Student student) {
+        return insertStudent(student).isSuccess();
+    }
+
+    /**
+     * Insert one student
+     *
+     * @return INSERTED, DUPLICATE_ROLL, DUPLICATE_EMAIL or FAILED
+     */
+    InsertOutcome insertStudent(Student student);
+
+    /**
+     * Insert a student, or update the existing one with the same roll number
+     *
+     * @return UPSERTED, DUPLICATE_EMAIL (email belongs to another student),
+     *         INVALID or FAILED
+     */
+    default InsertOutcome upsertStudent(Student student) {
+        return upsertStudents(Collections.singletonList(student)).getOutcome(0);
+    }
+
+    default BatchInsertReport addStudents(Collection<Student> students) {
+        return addStudents(students, Constants.Batch.DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Add many students. Invalid rows and rows whose roll number or email
+     * already exists (stored or earlier in the input) are reported instead
+     * of inserted.
+     *
+     * @param chunkSize Rows per batch/transaction (1 to Constants.Batch.MAX_CHUNK_SIZE)
+     * @return Per-row outcome report (in input order)
+     */
+    BatchInsertReport addStudents(Collection<Student> students, int chunkSize);
+
+    default BatchInsertReport upsertStudents(Collection<Student> students) {
+        return upsertStudents(students, Constants.Batch.DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Insert or update many students (keyed by roll number). A row whose
+     * email belongs to a different student is reported as DUPLICATE_EMAIL.
+     *
+     * @param chunkSize Rows per batch/transaction (1 to Constants.Batch.MAX_CHUNK_SIZE)
+     * @return Per-row outcome report (in input order)
+     */
+    BatchInsertReport upsertStudents(Collection<Student> students, int chunkSize);
+
+    /**
+     * Update student details (matched by roll number)
+     *
+     * @return true if a student was updated
+     */
+    boolean updateStudent(Student student);
+
+    /**
+     * @return true if a student was deleted
+     */
+    boolean deleteStudent(String rollNumber);
+
+    // ==================== READS ====================
+
+    List<Student> getAllStudents();
+
+    /**
+     * Get one page of students in roll number order
+     *
+     * @param afterRollNumber Last roll number of the previous page ("" for the first page)
+     * @param limit           Maximum rows to return
+     */
+    List<Student> getStudentsPage(String afterRollNumber, int limit);
+
+    /**
+     * Get roll numbers only, in order, used to locate page boundaries
+     *
+     * @param afterRollNumber Start after this roll number ("" for the beginning)
+     * @param limit           Maximum keys to return
+     */
+    List<String> getRollNumbersAfter(String afterRollNumber, int limit);
+
+    /**
+     * Get sparse roll number checkpoints: the keys at positions every,
+     * 2 * every, ... (1-based, in roll number order). Lets a reader seek near
+     * any row without scanning every key before it.
+     *
+     * @param every Distance between checkpoints, in rows
+     * @return Checkpoint keys in order
+     */
+    default List<String> getRollNumberCheckpoints(int every) {
+        List<String> checkpoints = new ArrayList<>();
+        String after = "";
+        while (true) {
+            List<String> keys = getRollNumbersAfter(after, every);
+            if (keys.size() < every) {
+                return checkpoints;
+            }
+            after = keys.get(keys.size() - 1);
+            checkpoints.add(after);
+        }
+    }
+
+    int countStudents();
+
+    /**
+     * @return Student if found, null otherwise
+     */
+    Student getStudentByRollNumber(String rollNumber);
+
+    /**
+     * Get the students with these roll numbers, in the given order (roll
+     * numbers not stored are skipped). Implementations backed by a database
+     * fetch them in one query.
+     */
+    default List<Student> getStudentsByRollNumbers(List<String> rollNumbers) {
+        List<Student> students = new ArrayList<>(rollNumbers.size());
+        for (String rollNumber : rollNumbers) {
+            Student student = getStudentByRollNumber(rollNumber);
+            if (student != null) {
+                students.add(student);
+            }
+        }
+        return students;
+    }
+
+    boolean isRollNumberExists(String rollNumber);
+
+    /**
+     * Search students by name, at most Constants.Search.RESULT_LIMIT results
+     */
+    default List<Student> searchStudentsByName(String name) {
+        return searchStudentsByName(name, Constants.Search.RESULT_LIMIT);
+    }
+
+    List<Student> searchStudentsByName(String name, int limit);
+
+    /**
+     * Prepare the name index used by searchStudentsByName
+     *
+     * @return Number of names indexed
+     * @throws DataAccessException if the students cannot be read
+     */
+    long buildNameIndex();
+
+    /**
+     * Per-course marks statistics
+     *
+     * @return One entry per course, ordered by course
+     * @throws DataAccessException if the statistics cannot be computed
+     */
+    List<CourseStats> getCourseStatistics();
+
+    /**
+     * Stream all students in roll number order. Always close the stream.
+     *
+     * @throws DataAccessException if reading fails
+     */
+    Stream<Student> streamAllStudents();
+
+    /**
+     * Visit every student in roll number order
+     *
+     * @param action Called once per student, on the calling thread
+     * @return Number of students visited
+     * @throws DataAccessException if reading fails part way
+     */
+    default long forEachStudent(Consumer<? super Student> action) {
+        long count = 0;
+        try (Stream<Student> students = streamAllStudents()) {
+            Iterator<Student> it = students.iterator();
+            while (it.hasNext()) {
+                action.accept(it.next());
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,75 @@
+package com.sms.io;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Csv Utility Class - Minimal RFC 4180 field handling
+ * Splits one line into fields (quoted fields may contain commas and "" escapes)
+ * and quotes values for output. Quoted fields spanning lines are not supported.
+ */
+public final class Csv {
+
+    private Csv() {
+    }
+
+    /**
+     * Split one CSV line into fields
+     *
+     * @param line Line without its terminator
+     * @return Field values (unquoted)
+     * @throws IllegalArgumentException if a quoted field is not closed
+     */
+    public static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>(8);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Quote a value if it contains a comma, quote or line break
+     *
+     * @param value Raw value (null is written as empty)
+     * @return Value safe to place between commas
+     */
+    public static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        boolean needsQuotes = false;
+        for (int i = 0; i < value.length() && !needsQuotes; i++) {
+            char c = value.charAt(i);
+            needsQuotes = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        return needsQuotes ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+}
@@ -0,0 +1,453 @@
+package com.sms.io;
+
+import com.sms.dao.BatchInsertReport;
+import com.sms.dao.DataAccessException;
+import com.sms.dao.InsertOutcome;
+import com.sms.dao.StudentRepository;
+import com.sms.log.Log;
+import com.sms.log.Logger;
+import com.sms.model.Student;
+import com.sms.util.Constants;
+import com.sms.validation.StudentValidator;
+import com.sms.validation.ValidationResult;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * CsvStudentImporter Class - Streaming, restartable CSV bulk import
+ * Pipeline: one reader thread streams the file in batches of lines, a worker
+ * pool parses and validates each batch, and the calling thread writes valid
+ * rows with StudentRepository.addStudents(). A bounded queue between the stages
+ * keeps memory flat whatever the file size.
+ *
+ * Expected columns: roll_number,name,email,phone,course,marks (header optional).
+ * After every committed batch the last line number is saved to
+ * "&lt;file&gt;.checkpoint"; a rerun resumes after it. Rejected rows are appended
+ * to "&lt;file&gt;.rejects.csv" as line,reason,original line.
+ *
+ * Batches commit independently, so rows of a batch that failed part way may
+ * already be stored when the rerun reaches them again (and a rerun after a
+ * clean finish starts from the top). A row whose roll number is taken by an
+ * identical stored record is counted as "already present" rather than
+ * rejected; only rows that conflict with different data are rejected.
+ */
+public class CsvStudentImporter {
+
+    private static final Logger LOG = Log.getLogger(CsvStudentImporter.class);
+
+    private static final int COLUMN_COUNT = 6;
+
+    // Marks the end of the input in the batch queue
+    private static final ParsedBatch END = new ParsedBatch(0);
+
+    private final Path source;
+    private final Path checkpointFile;
+    private final Path rejectsFile;
+    private final StudentRepository repository;
+    private final int batchSize;
+    private final int workers;
+
+    public CsvStudentImporter(Path source, StudentRepository repository) {
+        this(source, repository, Constants.Import.BATCH_SIZE, Runtime.getRuntime().availableProcessors());
+    }
+
+    public CsvStudentImporter(Path source, StudentRepository repository, int batchSize, int workers) {
+        this.source = source;
+        this.checkpointFile = Paths.get(source + Constants.Import.CHECKPOINT_SUFFIX);
+        this.rejectsFile = Paths.get(source + Constants.Import.REJECTS_SUFFIX);
+        this.repository = repository;
+        this.batchSize = Math.min(batchSize, Constants.Batch.MAX_CHUNK_SIZE);
+        this.workers = Math.max(1, workers);
+    }
+
+    /**
+     * Run the import to completion (or until the database stops accepting rows)
+     *
+     * @return Summary of the run
+     * @throws IOException if the file cannot be read, or the database fails
+     *                     (the checkpoint is left at the last committed batch)
+     */
+    public ImportSummary run() throws IOException {
+        long resumeAfter = readCheckpoint();
+        if (resumeAfter > 0) {
+            LOG.info("✓ Resuming {} after line {}", source, resumeAfter);
+        }
+
+        ImportSummary summary = new ImportSummary();
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService validators = Executors.newFixedThreadPool(workers, r -> {
+            Thread t = new Thread(r, "sms-import-validator-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        BlockingQueue<Future<ParsedBatch>> pending = new ArrayBlockingQueue<>(
+                workers * Constants.Import.QUEUE_BATCHES_PER_WORKER);
+        AtomicReference<Throwable> readFailure = new AtomicReference<>();
+
+        Thread reader = new Thread(() -> readBatches(resumeAfter, validators, pending, readFailure),
+                "sms-import-reader");
+        reader.setDaemon(true);
+        reader.start();
+
+        try (BufferedWriter rejects = Files.newBufferedWriter(rejectsFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            long lastProgress = System.currentTimeMillis();
+
+            while (true) {
+                ParsedBatch batch = pending.take().get();
+                if (batch == END) {
+                    break;
+                }
+
+                writeBatch(batch, rejects, summary);
+
+                long now = System.currentTimeMillis();
+                if (now - lastProgress >= Constants.Import.PROGRESS_INTERVAL_MS) {
+                    lastProgress = now;
+                    // Formatted here: the log thread would read counters this loop keeps changing
+                    LOG.info("… {}", summary.toString());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Import interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Validation failed", e.getCause());
+        } finally {
+            reader.interrupt();
+            validators.shutdownNow();
+            summary.finish();
+        }
+
+        if (readFailure.get() != null) {
+            throw new IOException("Error reading " + source, readFailure.get());
+        }
+
+        // Finished cleanly: the next run of this file starts from the top again
+        Files.deleteIfExists(checkpointFile);
+        LOG.info("✓ Import finished: {}", summary);
+        return summary;
+    }
+
+    /**
+     * Reader thread: stream lines, group them into batches and hand each
+     * batch to the validator pool. Blocks when the queue is full.
+     */
+    private void readBatches(long resumeAfter, ExecutorService validators,
+            BlockingQueue<Future<ParsedBatch>> pending, AtomicReference<Throwable> failure) {
+        try (BufferedReader in = Files.newBufferedReader(source, StandardCharsets.UTF_8)) {
+            List<String> lines = new ArrayList<>(batchSize);
+            long[] lineNumbers = new long[batchSize];
+            long lineNumber = 0;
+            String line;
+
+            while ((line = in.readLine()) != null) {
+                lineNumber++;
+                if (lineNumber <= resumeAfter || line.trim().isEmpty()
+                        || (lineNumber == 1 && isHeader(line))) {
+                    continue;
+                }
+                lineNumbers[lines.size()] = lineNumber;
+                lines.add(line);
+
+                if (lines.size() == batchSize) {
+                    submit(validators, pending, lines, lineNumbers, lineNumber);
+                    lines = new ArrayList<>(batchSize);
+                    lineNumbers = new long[batchSize];
+                }
+            }
+            if (!lines.isEmpty()) {
+                submit(validators, pending, lines, lineNumbers, lineNumber);
+            }
+        } catch (IOException e) {
+            failure.set(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        try {
+            pending.put(CompletableFuture.completedFuture(END));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void submit(ExecutorService validators, BlockingQueue<Future<ParsedBatch>> pending,
+            List<String> lines, long[] lineNumbers, long lastLine) throws InterruptedException {
+        pending.put(validators.submit(() -> parseBatch(lines, lineNumbers, lastLine)));
+    }
+
+    /**
+     * Worker: parse and validate one batch of raw lines
+     */
+    private ParsedBatch parseBatch(List<String> lines, long[] lineNumbers, long lastLine) {
+        ParsedBatch batch = new ParsedBatch(lastLine);
+
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            long lineNumber = lineNumbers[i];
+
+            String error = null;
+            Student student = null;
+            try {
+                student = parseStudent(line);
+            } catch (IllegalArgumentException e) {
+                error = e.getMessage();
+            }
+
+            if (error == null) {
+                batch.addStudent(student, lineNumber);
+            } else {
+                batch.addReject(lineNumber, error, line);
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Writer: insert one validated batch, record rejects, then advance the checkpoint
+     */
+    private void writeBatch(ParsedBatch batch, BufferedWriter rejects, ImportSummary summary)
+            throws IOException {
+        for (Reject reject : batch.rejects) {
+            writeReject(rejects, reject.lineNumber, reject.reason, reject.line);
+        }
+        summary.rowsRead += batch.rejects.size() + batch.students.size();
+        summary.rejected += batch.rejects.size();
+
+        if (!batch.students.isEmpty()) {
+            BatchInsertReport report = repository.addStudents(batch.students, batchSize);
+            if (report.getCount(InsertOutcome.FAILED) > 0) {
+                rejects.flush();
+                throw new IOException("Database rejected batch ending at line " + batch.lastLine
+                        + "; rerun to resume from line " + (readCheckpoint() + 1));
+            }
+
+            Map<String, Student> stored = fetchStoredDuplicates(report, batch.lastLine);
+            for (int i = 0; i < report.size(); i++) {
+                InsertOutcome outcome = report.getOutcome(i);
+                if (outcome.isSuccess()) {
+                    summary.inserted++;
+                } else if (isDuplicate(outcome) && isAlreadyStored(report.getStudent(i), stored)) {
+                    summary.alreadyPresent++;
+                } else {
+                    summary.rejected++;
+                    writeReject(rejects, batch.studentLines.get(i), outcome.name(),
+                            toCsv(report.getStudent(i)));
+                }
+            }
+        }
+
+        rejects.flush();
+        writeCheckpoint(batch.lastLine);
+    }
+
+    private static boolean isDuplicate(InsertOutcome outcome) {
+        return outcome == InsertOutcome.DUPLICATE_ROLL || outcome == InsertOutcome.DUPLICATE_EMAIL;
+    }
+
+    /**
+     * Look up the stored records of every duplicate row in the report with
+     * one repository call, keyed by lower-case roll number
+     */
+    private Map<String, Student> fetchStoredDuplicates(BatchInsertReport report, long lastLine)
+            throws IOException {
+        List<String> rollNumbers = new ArrayList<>();
+        for (int i = 0; i < report.size(); i++) {
+            if (isDuplicate(report.getOutcome(i))) {
+                rollNumbers.add(report.getStudent(i).getRollNumber());
+            }
+        }
+        Map<String, Student> stored = new HashMap<>();
+        if (rollNumbers.isEmpty()) {
+            return stored;
+        }
+        try {
+            for (Student student : repository.getStudentsByRollNumbers(rollNumbers)) {
+                stored.put(student.getRollNumber().toLowerCase(), student);
+            }
+        } catch (DataAccessException e) {
+            throw new IOException("Error checking duplicates of batch ending at line " + lastLine
+                    + "; rerun to resume from line " + (readCheckpoint() + 1), e);
+        }
+        return stored;
+    }
+
+    /**
+     * True if the stored record with this roll number has exactly these
+     * details, i.e. the row was imported by an earlier run
+     */
+    private static boolean isAlreadyStored(Student student, Map<String, Student> storedByRoll) {
+        Student stored = storedByRoll.get(student.getRollNumber().toLowerCase());
+        return stored != null
+                && student.getName().equals(stored.getName())
+                && student.getEmail().equalsIgnoreCase(stored.getEmail())
+                && student.getPhone().equals(stored.getPhone())
+                && student.getCourse().equals(stored.getCourse())
+                && Double.compare(student.getMarks(), stored.getMarks()) == 0;
+    }
+
+    /**
+     * Parse and validate one line (every rule is checked; the reject reason
+     * lists all problems)
+     *
+     * @throws IllegalArgumentException with the reason if the line is rejected
+     */
+    private static Student parseStudent(String line) {
+        List<String> fields = Csv.parseLine(line);
+        if (fields.size() != COLUMN_COUNT) {
+            throw new IllegalArgumentException("Expected " + COLUMN_COUNT + " columns, found " + fields.size());
+        }
+
+        String rollNumber = fields.get(0).trim();
+        String name = fields.get(1).trim();
+        String email = fields.get(2).trim();
+        String phone = fields.get(3).trim();
+        String course = fields.get(4).trim();
+        ValidationResult result = StudentValidator.validateFields(rollNumber, name, email, phone, course,
+                fields.get(5).trim());
+        if (!result.isValid()) {
+            throw new IllegalArgumentException(result.toString());
+        }
+        return new Student(rollNumber, name, email, phone, course, result.getMarks());
+    }
+
+    private static boolean isHeader(String line) {
+        return line.toLowerCase().startsWith("roll");
+    }
+
+    private static String toCsv(Student s) {
+        return Csv.escape(s.getRollNumber()) + ',' + Csv.escape(s.getName()) + ','
+                + Csv.escape(s.getEmail()) + ',' + Csv.escape(s.getPhone()) + ','
+                + Csv.escape(s.getCourse()) + ',' + s.getMarks();
+    }
+
+    private static void writeReject(BufferedWriter out, long lineNumber, String reason, String line)
+            throws IOException {
+        out.write(Long.toString(lineNumber));
+        out.write(',');
+        out.write(Csv.escape(reason));
+        out.write(',');
+        out.write(Csv.escape(line));
+        out.newLine();
+    }
+
+    private long readCheckpoint() throws IOException {
+        if (!Files.exists(checkpointFile)) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(new String(Files.readAllBytes(checkpointFile), StandardCharsets.UTF_8).trim());
+        } catch (NumberFormatException e) {
+            throw new IOException("Corrupt checkpoint file: " + checkpointFile, e);
+        }
+    }
+
+    // Write-then-rename so a crash never leaves a half-written checkpoint
+    private void writeCheckpoint(long lineNumber) throws IOException {
+        Path tmp = Paths.get(checkpointFile + ".tmp");
+        Files.write(tmp, Long.toString(lineNumber).getBytes(StandardCharsets.UTF_8));
+        Files.move(tmp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Result of validating one batch of lines
+     */
+    private static final class ParsedBatch {
+        final long lastLine;
+        final List<Student> students = new ArrayList<>();
+        final List<Long> studentLines = new ArrayList<>();
+        final List<Reject> rejects = new ArrayList<>();
+
+        ParsedBatch(long lastLine) {
+            this.lastLine = lastLine;
+        }
+
+        void addStudent(Student student, long lineNumber) {
+            students.add(student);
+            studentLines.add(lineNumber);
+        }
+
+        void addReject(long lineNumber, String reason, String line) {
+            rejects.add(new Reject(lineNumber, reason, line));
+        }
+    }
+
+    private static final class Reject {
+        final long lineNumber;
+        final String reason;
+        final String line;
+
+        Reject(long lineNumber, String reason, String line) {
+            this.lineNumber = lineNumber;
+            this.reason = reason;
+            this.line = line;
+        }
+    }
+
+    /**
+     * Counters for one import run
+     */
+    public static class ImportSummary {
+        private final long startNanos = System.nanoTime();
+        private long elapsedNanos;
+        private long rowsRead;
+        private long inserted;
+        private long alreadyPresent;
+        private long rejected;
+
+        void finish() {
+            elapsedNanos = System.nanoTime() - startNanos;
+        }
+
+        public long getRowsRead() {
+            return rowsRead;
+        }
+
+        public long getInserted() {
+            return inserted;
+        }
+
+        // Rows identical to a record already stored (imported by an earlier run)
+        public long getAlreadyPresent() {
+            return alreadyPresent;
+        }
+
+        public long getRejected() {
+            return rejected;
+        }
+
+        public double getRowsPerSecond() {
+            long nanos = elapsedNanos > 0 ? elapsedNanos : System.nanoTime() - startNanos;
+            return nanos == 0 ? 0.0 : rowsRead * 1_000_000_000.0 / nanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d rows read, %d inserted, %d already present, %d rejected, %.0f rows/s",
+                    rowsRead, inserted, alreadyPresent, rejected, getRowsPerSecond());
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.sms.io;
+
+import com.sms.dao.StudentRepository;
+import com.sms.log.Log;
+import com.sms.log.Logger;
+import com.sms.model.Student;
+import com.sms.util.Constants;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+
+/**
+ * StudentExporter Class - Constant-memory export of the students table
+ * Reads rows through StudentRepository.forEachStudent() (server-side
+ * streaming for MySQL) and writes each one straight into a reusable buffer
+ * that is flushed to a FileChannel, so heap use does not grow with the
+ * number of rows.
+ * Formats: CSV (same columns the importer reads) and JSON Lines.
+ */
+public class StudentExporter {
+
+    private static final Logger LOG = Log.getLogger(StudentExporter.class);
+
+    /**
+     * Output format, chosen from the file extension by forPath()
+     */
+    public enum Format {
+        CSV,
+        JSON_LINES;
+
+        public static Format forPath(Path path) {
+            String name = path.getFileName().toString().toLowerCase();
+            return name.endsWith(".jsonl") || name.endsWith(".ndjson") ? JSON_LINES : CSV;
+        }
+    }
+
+    private final StudentRepository repository;
+
+    public StudentExporter(StudentRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Export every student to a file (overwritten if it exists)
+     *
+     * @param target Output file
+     * @param format CSV or JSON_LINES
+     * @return Number of rows written
+     * @throws IOException if the file cannot be written
+     */
+    public long export(Path target, Format format) throws IOException {
+        long start = System.nanoTime();
+
+        try (ChannelWriter out = new ChannelWriter(FileChannel.open(target,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))) {
+            if (format == Format.CSV) {
+                out.append("roll_number,name,email,phone,course,marks\n");
+            }
+
+            long rows;
+            try {
+                rows = repository.forEachStudent(student -> {
+                    try {
+                        if (format == Format.CSV) {
+                            writeCsv(out, student);
+                        } else {
+                            writeJson(out, student);
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+            LOG.info("✓ Exported {} students to {} ({} rows/s)", rows, target, rows * 1000 / millis);
+            return rows;
+        }
+    }
+
+    private static void writeCsv(ChannelWriter out, Student s) throws IOException {
+        out.append(Csv.escape(s.getRollNumber())).append(',')
+                .append(Csv.escape(s.getName())).append(',')
+                .append(Csv.escape(s.getEmail())).append(',')
+                .append(Csv.escape(s.getPhone())).append(',')
+                .append(Csv.escape(s.getCourse())).append(',')
+                .append(Double.toString(s.getMarks())).append('\n');
+        out.endRecord();
+    }
+
+    private static void writeJson(ChannelWriter out, Student s) throws IOException {
+        out.append("{\"rollNumber\":");
+        jsonString(out, s.getRollNumber());
+        out.append(",\"name\":");
+        jsonString(out, s.getName());
+        out.append(",\"email\":");
+        jsonString(out, s.getEmail());
+        out.append(",\"phone\":");
+        jsonString(out, s.getPhone());
+        out.append(",\"course\":");
+        jsonString(out, s.getCourse());
+        out.append(",\"marks\":").append(Double.toString(s.getMarks()));
+        out.append(",\"createdAt\":");
+        jsonTimestamp(out, s.getCreatedAt());
+        out.append(",\"updatedAt\":");
+        jsonTimestamp(out, s.getUpdatedAt());
+        out.append("}\n");
+        out.endRecord();
+    }
+
+    private static void jsonTimestamp(ChannelWriter out, Timestamp timestamp) {
+        if (timestamp == null) {
+            out.append("null");
+        } else {
+            jsonString(out, timestamp.toInstant().toString());
+        }
+    }
+
+    private static void jsonString(ChannelWriter out, String value) {
+        if (value == null) {
+            out.append("null");
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+            }
+        }
+        out.append('"');
+    }
+
+    /**
+     * Accumulates characters for whole records and encodes them as UTF-8 into
+     * one reusable direct buffer that is written to the channel when full
+     */
+    private static final class ChannelWriter implements AutoCloseable {
+        private final FileChannel channel;
+        private final StringBuilder chars = new StringBuilder(Constants.Streaming.WRITE_BUFFER_BYTES);
+        private final ByteBuffer bytes = ByteBuffer.allocateDirect(Constants.Streaming.WRITE_BUFFER_BYTES);
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+
+        ChannelWriter(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        ChannelWriter append(CharSequence text) {
+            chars.append(text);
+            return this;
+        }
+
+        ChannelWriter append(char c) {
+            chars.append(c);
+            return this;
+        }
+
+        // Flush only between records so a surrogate pair is never split
+        void endRecord() throws IOException {
+            if (chars.length() >= Constants.Streaming.WRITE_BUFFER_BYTES / 2) {
+                flush();
+            }
+        }
+
+        void flush() throws IOException {
+            CharBuffer in = CharBuffer.wrap(chars);
+            encoder.reset();
+            while (true) {
+                CoderResult result = encoder.encode(in, bytes, true);
+                if (result.isUnderflow()) {
+                    break;
+                }
+                if (result.isError()) {
+                    result.throwException();
+                }
+                drain();
+            }
+            encoder.flush(bytes);
+            drain();
+            chars.setLength(0);
+        }
+
+        private void drain() throws IOException {
+            bytes.flip();
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            bytes.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+}
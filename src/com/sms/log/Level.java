@@ -0,0 +1,28 @@
+package com.sms.log;
+
+/**
+ * Level Enum - Severity of a log event, lowest first
+ * WARN and ERROR go to System.err on the console, the others to System.out.
+ * OFF is only meaningful as a threshold (-Dsms.log.level=OFF logs nothing).
+ */
+public enum Level {
+    DEBUG,
+    INFO,
+    WARN,
+    ERROR,
+    OFF;
+
+    /**
+     * @return The level named by text (case-insensitive), or fallback if unknown
+     */
+    public static Level parse(String text, Level fallback) {
+        if (text != null) {
+            for (Level level : values()) {
+                if (level.name().equalsIgnoreCase(text.trim())) {
+                    return level;
+                }
+            }
+        }
+        return fallback;
+    }
+}
@@ -0,0 +1,227 @@
+package com.sms.log;
+
+import com.sms.util.Constants;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Log Class - Asynchronous logging for the whole application
+ * Logging threads only copy the message pattern and its arguments into a
+ * LogRingBuffer slot; the "sms-log-writer" thread formats the events and
+ * writes them in batches to the console and a RollingLogFile, so callers
+ * never wait for the console lock or disk I/O.
+ *
+ * When the buffer is full, -Dsms.log.overflow=BLOCK (default) makes the
+ * caller wait for the writer; DROP discards the event and the writer
+ * reports how many were lost. Other settings: -Dsms.log.level, console,
+ * file, dir, maxFileBytes, maxFiles, bufferSize (see Constants.Logging).
+ * Pending events are written out at JVM shutdown; anything logged after
+ * that goes straight to the console.
+ */
+public final class Log {
+
+    private static final Level THRESHOLD = Level.parse(
+            System.getProperty("sms.log.level", Constants.Logging.LEVEL), Level.INFO);
+    private static final boolean BLOCK_WHEN_FULL = !"DROP".equalsIgnoreCase(
+            System.getProperty("sms.log.overflow", Constants.Logging.OVERFLOW).trim());
+
+    // Longest the writer sleeps before looking for events nobody woke it for
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final int RELEASE_BATCH = 256;
+
+    private static final ConcurrentMap<String, Logger> LOGGERS = new ConcurrentHashMap<>();
+    private static final LogRingBuffer RING = new LogRingBuffer(
+            Integer.getInteger("sms.log.bufferSize", Constants.Logging.BUFFER_SIZE));
+    private static final LongAdder DROPPED = new LongAdder();
+    private static final LogWriter OUTPUT = new LogWriter(Boolean.parseBoolean(
+            System.getProperty("sms.log.console", String.valueOf(Constants.Logging.CONSOLE))), openFile());
+    private static final Thread WRITER = new Thread(Log::writeLoop, "sms-log-writer");
+
+    private static volatile boolean running = true;
+    private static volatile boolean stopped; // writer has exited, log synchronously
+    private static volatile boolean sleeping; // writer is parked, wake it after publishing
+    private static volatile long written; // events below this sequence are written and flushed
+
+    static {
+        WRITER.setDaemon(true);
+        WRITER.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(Log::shutdown, "sms-log-shutdown"));
+    }
+
+    private Log() {
+    }
+
+    /**
+     * @return The logger named after a class's simple name, e.g. "StudentDAO"
+     */
+    public static Logger getLogger(Class<?> type) {
+        return getLogger(type.getSimpleName());
+    }
+
+    public static Logger getLogger(String name) {
+        return LOGGERS.computeIfAbsent(name, Logger::new);
+    }
+
+    public static boolean isEnabled(Level level) {
+        return level.ordinal() >= THRESHOLD.ordinal() && level != Level.OFF;
+    }
+
+    /**
+     * @return Events discarded because the buffer was full (DROP policy only)
+     */
+    public static long getDroppedCount() {
+        return DROPPED.sum();
+    }
+
+    /**
+     * Wait until everything logged before this call has been written out
+     * (at most Constants.Logging.SHUTDOWN_TIMEOUT_MS)
+     */
+    public static void flush() {
+        long target = RING.claimed();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Constants.Logging.SHUTDOWN_TIMEOUT_MS);
+        while (written < target && !stopped && Thread.currentThread() != WRITER
+                && System.nanoTime() - deadline < 0) {
+            LockSupport.unpark(WRITER);
+            LockSupport.parkNanos(100_000);
+        }
+    }
+
+    /**
+     * Write out pending events, stop the writer thread and close the log
+     * file. Runs automatically at JVM shutdown.
+     */
+    public static void shutdown() {
+        running = false;
+        LockSupport.unpark(WRITER);
+        try {
+            WRITER.join(Constants.Logging.SHUTDOWN_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ==================== LOGGING THREADS ====================
+
+    static void enqueue(Level level, String logger, String pattern, int argCount,
+            Object arg0, Object arg1, Object[] args, Throwable thrown) {
+        if (Thread.currentThread() == WRITER) {
+            // e.g. an argument's toString() logging while being formatted
+            LogEvent event = new LogEvent();
+            event.set(level, logger, pattern, argCount, arg0, arg1, args, thrown);
+            StringBuilder text = new StringBuilder();
+            event.formatMessage(text);
+            (level.compareTo(Level.WARN) >= 0 ? System.err : System.out).println(text);
+            return;
+        }
+        if (!stopped) {
+            long sequence = claim();
+            if (sequence >= 0) {
+                RING.slot(sequence).set(level, logger, pattern, argCount, arg0, arg1, args, thrown);
+                RING.publish(sequence);
+                if (sleeping) {
+                    LockSupport.unpark(WRITER);
+                }
+                return;
+            }
+            if (!BLOCK_WHEN_FULL) {
+                DROPPED.increment();
+                return;
+            }
+        }
+        // Writer gone: write on this thread
+        LogEvent event = new LogEvent();
+        event.set(level, logger, pattern, argCount, arg0, arg1, args, thrown);
+        synchronized (OUTPUT) {
+            OUTPUT.write(event);
+            OUTPUT.flush();
+        }
+    }
+
+    /**
+     * @return A claimed sequence, or -1 if the buffer is full and either
+     *         the policy is DROP or the writer has stopped
+     */
+    private static long claim() {
+        long sequence = RING.tryClaim();
+        if (sequence >= 0 || !BLOCK_WHEN_FULL) {
+            return sequence;
+        }
+        while (sequence < 0 && !stopped) {
+            LockSupport.unpark(WRITER);
+            LockSupport.parkNanos(50_000);
+            sequence = RING.tryClaim();
+        }
+        return sequence;
+    }
+
+    // ==================== WRITER THREAD ====================
+
+    private static void writeLoop() {
+        long next = 0;
+        long reportedDrops = 0;
+        synchronized (OUTPUT) {
+            while (true) {
+                LogEvent event = RING.poll(next);
+                if (event != null) {
+                    OUTPUT.write(event);
+                    event.clear();
+                    next++;
+                    if (next % RELEASE_BATCH == 0) {
+                        RING.release(next);
+                    }
+                    continue;
+                }
+
+                // Caught up: end the batch
+                RING.release(next);
+                long drops = DROPPED.sum();
+                if (drops > reportedDrops) {
+                    LogEvent report = new LogEvent();
+                    report.set(Level.WARN, "Log", "⚠ {} log events dropped (buffer full)", 1,
+                            drops - reportedDrops, null, null, null);
+                    OUTPUT.write(report);
+                    reportedDrops = drops;
+                }
+                OUTPUT.flush();
+                written = next;
+
+                if (!running && next == RING.claimed()) {
+                    break;
+                }
+                sleeping = true;
+                if (RING.poll(next) == null) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+                sleeping = false;
+            }
+            stopped = true;
+            // Events claimed just before the writer stopped
+            for (LogEvent event; (event = RING.poll(next)) != null; next++) {
+                OUTPUT.write(event);
+            }
+            OUTPUT.close();
+        }
+    }
+
+    private static RollingLogFile openFile() {
+        if (!Boolean.parseBoolean(System.getProperty("sms.log.file", String.valueOf(Constants.Logging.FILE)))) {
+            return null;
+        }
+        try {
+            return new RollingLogFile(Paths.get(System.getProperty("sms.log.dir", Constants.Logging.DIRECTORY)),
+                    Constants.Logging.FILE_NAME,
+                    Long.getLong("sms.log.maxFileBytes", Constants.Logging.MAX_FILE_BYTES),
+                    Integer.getInteger("sms.log.maxFiles", Constants.Logging.MAX_FILES));
+        } catch (IOException e) {
+            System.err.println("✗ Log file disabled: " + e.getMessage());
+            return null;
+        }
+    }
+}
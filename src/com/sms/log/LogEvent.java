@@ -0,0 +1,89 @@
+package com.sms.log;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+/**
+ * LogEvent Class - One slot of the LogRingBuffer
+ * Slots are allocated once and reused: the logging thread fills one in with
+ * the unformatted message and its arguments, the writer thread formats it
+ * and clears the references. Arguments are therefore formatted after the
+ * call returns, so callers should pass values that do not change
+ * afterwards (strings, numbers, finished reports).
+ */
+final class LogEvent {
+
+    long timeMillis;
+    Level level;
+    String logger;
+    String thread;
+    String pattern;
+    int argCount;
+    Object arg0;
+    Object arg1;
+    Object[] args;
+    Throwable thrown;
+
+    void set(Level level, String logger, String pattern, int argCount,
+            Object arg0, Object arg1, Object[] args, Throwable thrown) {
+        this.timeMillis = System.currentTimeMillis();
+        this.level = level;
+        this.logger = logger;
+        this.thread = Thread.currentThread().getName();
+        this.pattern = pattern;
+        this.argCount = argCount;
+        this.arg0 = arg0;
+        this.arg1 = arg1;
+        this.args = args;
+        this.thrown = thrown;
+    }
+
+    void clear() {
+        logger = null;
+        thread = null;
+        pattern = null;
+        arg0 = null;
+        arg1 = null;
+        args = null;
+        thrown = null;
+    }
+
+    /**
+     * Append the message, each "{}" replaced by the next argument
+     */
+    void formatMessage(StringBuilder out) {
+        String text = pattern == null ? "null" : pattern;
+        int from = 0;
+        for (int i = 0; i < argCount; i++) {
+            int at = text.indexOf("{}", from);
+            if (at < 0) {
+                break;
+            }
+            out.append(text, from, at);
+            appendArgument(out, i);
+            from = at + 2;
+        }
+        out.append(text, from, text.length());
+    }
+
+    /**
+     * Append the stack trace of the event's throwable, if any
+     */
+    void formatThrown(StringBuilder out) {
+        if (thrown != null) {
+            StringWriter trace = new StringWriter();
+            thrown.printStackTrace(new PrintWriter(trace));
+            out.append(trace);
+        }
+    }
+
+    private void appendArgument(StringBuilder out, int index) {
+        Object value = args != null ? args[index] : index == 0 ? arg0 : arg1;
+        try {
+            out.append(value);
+        } catch (RuntimeException e) {
+            out.append('[').append(value.getClass().getName()).append(".toString() failed: ")
+                    .append(e).append(']');
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.sms.log;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * LogRingBuffer Class - Bounded lock-free queue of LogEvents
+ * Many logging threads, one writer thread. A logging thread claims the next
+ * sequence number with a compare-and-set (failing when the writer is a whole
+ * buffer behind), fills in that slot and publishes it by storing the
+ * sequence number in the slot's published entry. The writer consumes slots
+ * in sequence order once published and releases them in batches.
+ */
+final class LogRingBuffer {
+
+    private final LogEvent[] slots;
+    private final int mask;
+    private final AtomicLongArray published; // sequence last published into each slot
+    private final AtomicLong claimed = new AtomicLong(); // next sequence to hand out
+    private volatile long released; // slots below this sequence may be reused (writer only)
+
+    LogRingBuffer(int minCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, minCapacity - 1)) << 1;
+        slots = new LogEvent[capacity];
+        published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new LogEvent();
+            published.set(i, -1);
+        }
+        mask = capacity - 1;
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+
+    // ==================== LOGGING THREADS ====================
+
+    /**
+     * @return The claimed sequence number, or -1 if the buffer is full
+     */
+    long tryClaim() {
+        while (true) {
+            long sequence = claimed.get();
+            if (sequence - released >= slots.length) {
+                return -1;
+            }
+            if (claimed.compareAndSet(sequence, sequence + 1)) {
+                return sequence;
+            }
+        }
+    }
+
+    LogEvent slot(long sequence) {
+        return slots[(int) sequence & mask];
+    }
+
+    void publish(long sequence) {
+        published.lazySet((int) sequence & mask, sequence);
+    }
+
+    // ==================== WRITER THREAD ====================
+
+    /**
+     * @return The event published at sequence, or null if not published yet
+     */
+    LogEvent poll(long sequence) {
+        int index = (int) sequence & mask;
+        return published.get(index) == sequence ? slots[index] : null;
+    }
+
+    /**
+     * Hand every slot below sequence back to the logging threads
+     */
+    void release(long sequence) {
+        released = sequence;
+    }
+
+    /**
+     * @return Sequence the next claim will get (everything below is claimed)
+     */
+    long claimed() {
+        return claimed.get();
+    }
+}
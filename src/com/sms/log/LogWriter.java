@@ -0,0 +1,109 @@
+package com.sms.log;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * LogWriter Class - Formats events and writes them to the console and the log file
+ * Console lines are the bare message (as the application always printed
+ * them); file lines add time, level, thread and logger. Output is collected
+ * per batch and written with one call per stream when the batch ends.
+ * Used by one thread at a time (the writer thread, or callers holding the
+ * Log fallback lock once the writer has stopped).
+ */
+final class LogWriter {
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS")
+            .withZone(ZoneId.systemDefault());
+
+    private final boolean console;
+    private final StringBuilder consoleText = new StringBuilder(8 * 1024);
+    private final StringBuilder fileText = new StringBuilder(8 * 1024);
+    private final StringBuilder message = new StringBuilder(256);
+    private boolean consoleError; // consoleText is for System.err
+
+    private RollingLogFile file;
+
+    LogWriter(boolean console, RollingLogFile file) {
+        this.console = console;
+        this.file = file;
+    }
+
+    void write(LogEvent event) {
+        message.setLength(0);
+        event.formatMessage(message);
+        message.append(System.lineSeparator());
+        event.formatThrown(message);
+
+        if (console) {
+            boolean error = event.level.compareTo(Level.WARN) >= 0;
+            if (error != consoleError) {
+                flushConsole(); // keeps stdout and stderr lines in order
+                consoleError = error;
+            }
+            consoleText.append(message);
+        }
+        if (file != null) {
+            TIMESTAMP.formatTo(Instant.ofEpochMilli(event.timeMillis), fileText);
+            fileText.append(' ').append(event.level.name());
+            if (event.level.name().length() == 4) {
+                fileText.append(' ');
+            }
+            fileText.append(" [").append(event.thread).append("] ").append(event.logger).append(" - ")
+                    .append(message);
+            if (fileText.length() >= 64 * 1024) {
+                flushFile();
+            }
+        }
+    }
+
+    /**
+     * Write out everything collected so far
+     */
+    void flush() {
+        flushConsole();
+        flushFile();
+    }
+
+    void close() {
+        flush();
+        if (file != null) {
+            try {
+                file.close();
+            } catch (IOException e) {
+                System.err.println("✗ Error closing log file: " + e.getMessage());
+            }
+            file = null;
+        }
+    }
+
+    private void flushConsole() {
+        if (consoleText.length() > 0) {
+            PrintStream out = consoleError ? System.err : System.out;
+            out.print(consoleText);
+            out.flush();
+            consoleText.setLength(0);
+        }
+    }
+
+    private void flushFile() {
+        if (file == null) {
+            fileText.setLength(0);
+            return;
+        }
+        try {
+            file.write(fileText);
+            file.flush();
+        } catch (IOException e) {
+            // Keep logging to the console rather than failing every call
+            Path path = file.getFile();
+            file = null;
+            System.err.println("✗ Log file disabled, cannot write " + path + ": " + e.getMessage());
+        }
+        fileText.setLength(0);
+    }
+}
@@ -0,0 +1,125 @@
+package com.sms.log;
+
+/**
+ * Logger Class - Named source of log events (get one from Log.getLogger)
+ * Messages are patterns whose "{}" placeholders are replaced by the
+ * arguments, in order, on the writer thread; a call below the level
+ * threshold returns before doing any work, so there is no need to guard
+ * calls with isEnabled() unless computing an argument is itself expensive.
+ *
+ * <pre>
+ * LOG.info("✓ Student added successfully: {}", student.getRollNumber());
+ * LOG.error("✗ Error adding student: " + e.getMessage(), e);
+ * </pre>
+ */
+public final class Logger {
+
+    private final String name;
+
+    Logger(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isEnabled(Level level) {
+        return Log.isEnabled(level);
+    }
+
+    // ==================== DEBUG ====================
+
+    public void debug(String message) {
+        log(Level.DEBUG, message, 0, null, null, null, null);
+    }
+
+    public void debug(String pattern, Object arg) {
+        log(Level.DEBUG, pattern, 1, arg, null, null, null);
+    }
+
+    public void debug(String pattern, Object arg1, Object arg2) {
+        log(Level.DEBUG, pattern, 2, arg1, arg2, null, null);
+    }
+
+    public void debug(String pattern, Object... args) {
+        log(Level.DEBUG, pattern, args.length, null, null, args, null);
+    }
+
+    public void debug(String message, Throwable thrown) {
+        log(Level.DEBUG, message, 0, null, null, null, thrown);
+    }
+
+    // ==================== INFO ====================
+
+    public void info(String message) {
+        log(Level.INFO, message, 0, null, null, null, null);
+    }
+
+    public void info(String pattern, Object arg) {
+        log(Level.INFO, pattern, 1, arg, null, null, null);
+    }
+
+    public void info(String pattern, Object arg1, Object arg2) {
+        log(Level.INFO, pattern, 2, arg1, arg2, null, null);
+    }
+
+    public void info(String pattern, Object... args) {
+        log(Level.INFO, pattern, args.length, null, null, args, null);
+    }
+
+    public void info(String message, Throwable thrown) {
+        log(Level.INFO, message, 0, null, null, null, thrown);
+    }
+
+    // ==================== WARN ====================
+
+    public void warn(String message) {
+        log(Level.WARN, message, 0, null, null, null, null);
+    }
+
+    public void warn(String pattern, Object arg) {
+        log(Level.WARN, pattern, 1, arg, null, null, null);
+    }
+
+    public void warn(String pattern, Object arg1, Object arg2) {
+        log(Level.WARN, pattern, 2, arg1, arg2, null, null);
+    }
+
+    public void warn(String pattern, Object... args) {
+        log(Level.WARN, pattern, args.length, null, null, args, null);
+    }
+
+    public void warn(String message, Throwable thrown) {
+        log(Level.WARN, message, 0, null, null, null, thrown);
+    }
+
+    // ==================== ERROR ====================
+
+    public void error(String message) {
+        log(Level.ERROR, message, 0, null, null, null, null);
+    }
+
+    public void error(String pattern, Object arg) {
+        log(Level.ERROR, pattern, 1, arg, null, null, null);
+    }
+
+    public void error(String pattern, Object arg1, Object arg2) {
+        log(Level.ERROR, pattern, 2, arg1, arg2, null, null);
+    }
+
+    public void error(String pattern, Object... args) {
+        log(Level.ERROR, pattern, args.length, null, null, args, null);
+    }
+
+    public void error(String message, Throwable thrown) {
+        log(Level.ERROR, message, 0, null, null, null, thrown);
+    }
+
+    private void log(Level level, String pattern, int argCount, Object arg0, Object arg1, Object[] args,
+            Throwable thrown) {
+        if (Log.isEnabled(level)) {
+            Log.enqueue(level, name, pattern, argCount, arg0, arg1, args, thrown);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.sms.log;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * RollingLogFile Class - Append-only log file that rolls over by size
+ * Text is buffered and written in large blocks (the writer flushes once per
+ * batch of events). Once the file reaches maxBytes it is renamed to
+ * NAME.1 (NAME.1 to NAME.2 and so on, the oldest past maxFiles deleted)
+ * and a new file is started. Used by the writer thread only.
+ */
+final class RollingLogFile implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path file;
+    private final long maxBytes;
+    private final int maxFiles;
+
+    private CountingOutputStream bytes;
+    private Writer writer;
+
+    RollingLogFile(Path directory, String name, long maxBytes, int maxFiles) throws IOException {
+        Files.createDirectories(directory);
+        this.file = directory.resolve(name);
+        this.maxBytes = maxBytes;
+        this.maxFiles = maxFiles;
+        open();
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    void write(CharSequence text) throws IOException {
+        writer.append(text);
+    }
+
+    /**
+     * Write out the buffered text, then roll over if the file is full
+     */
+    void flush() throws IOException {
+        writer.flush();
+        if (bytes.count >= maxBytes) {
+            roll();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private void open() throws IOException {
+        OutputStream out = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        bytes = new CountingOutputStream(out, Files.size(file));
+        writer = new BufferedWriter(new OutputStreamWriter(bytes, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    private void roll() throws IOException {
+        writer.close();
+        if (maxFiles > 0) {
+            Files.deleteIfExists(rolled(maxFiles));
+            for (int i = maxFiles - 1; i >= 1; i--) {
+                if (Files.exists(rolled(i))) {
+                    Files.move(rolled(i), rolled(i + 1), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            Files.move(file, rolled(1), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.delete(file);
+        }
+        open();
+    }
+
+    private Path rolled(int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+
+    /**
+     * Tracks the file's size without asking the file system
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+        long count;
+
+        CountingOutputStream(OutputStream out, long count) {
+            super(out);
+            this.count = count;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.sms.model;
+
+import java.util.Arrays;
+
+/**
+ * CourseStats Model Class - Marks statistics of one course (immutable)
+ * Percentiles use the nearest-rank method (the smallest mark with at least
+ * p of the students at or below it), so every value is a real mark.
+ * The histogram has one bucket per 10 marks; 100 counts in the last bucket.
+ */
+public class CourseStats {
+
+    private final String course;
+    private final int studentCount;
+    private final double average;
+    private final double lowest;
+    private final double highest;
+    private final double[] percentiles;
+    private final int passedCount;
+    private final int[] histogram;
+
+    /**
+     * @param percentiles Marks at Constants.Analytics.PERCENTILES, in that order
+     */
+    public CourseStats(String course, int studentCount, double average, double lowest, double highest,
+            double[] percentiles, int passedCount, int[] histogram) {
+        this.course = course;
+        this.studentCount = studentCount;
+        this.average = average;
+        this.lowest = lowest;
+        this.highest = highest;
+        this.percentiles = percentiles.clone();
+        this.passedCount = passedCount;
+        this.histogram = histogram.clone();
+    }
+
+    public String getCourse() {
+        return course;
+    }
+
+    public int getStudentCount() {
+        return studentCount;
+    }
+
+    public double getAverage() {
+        return average;
+    }
+
+    public double getLowest() {
+        return lowest;
+    }
+
+    public double getHighest() {
+        return highest;
+    }
+
+    /**
+     * @param index Position in Constants.Analytics.PERCENTILES
+     */
+    public double getPercentile(int index) {
+        return percentiles[index];
+    }
+
+    // The 50th percentile is at index 1 of Constants.Analytics.PERCENTILES
+    public double getMedian() {
+        return percentiles[1];
+    }
+
+    public int getPassedCount() {
+        return passedCount;
+    }
+
+    public double getPassRate() {
+        return studentCount == 0 ? 0.0 : (double) passedCount / studentCount;
+    }
+
+    public int[] getHistogram() {
+        return histogram.clone();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: n=%d, avg=%.2f, median=%.2f, min=%.2f, max=%.2f, pass=%.1f%%, histogram=%s",
+                course, studentCount, average, getMedian(), lowest, highest, getPassRate() * 100,
+                Arrays.toString(histogram));
+    }
+}
@@ -0,0 +1,30 @@
+package com.sms.model;
+
+/**
+ * RankedStudent Model Class - A student with a leaderboard rank (immutable)
+ * Ranks are competition ranks: students with equal marks share a rank and
+ * the next rank skips accordingly (1, 2, 2, 4).
+ */
+public class RankedStudent {
+
+    private final int rank;
+    private final Student student;
+
+    public RankedStudent(int rank, Student student) {
+        this.rank = rank;
+        this.student = new Student(student);
+    }
+
+    public int getRank() {
+        return rank;
+    }
+
+    public Student getStudent() {
+        return new Student(student);
+    }
+
+    @Override
+    public String toString() {
+        return "#" + rank + " " + student.getRollNumber() + " " + student.getName() + " (" + student.getMarks() + ")";
+    }
+}
@@ -1,6 +1,6 @@
 package com.sms.model;
 
-import com.sms.util.Constants;
+import com.sms.validation.StudentValidator;
 
 import java.sql.Timestamp;
 import java.util.Objects;
@@ -37,6 +37,13 @@ public class Student implements Comparable<Student> {
         this.marks = marks;
     }
 
+    // Copy Constructor (used to hand out cached students safely)
+    public Student(Student other) {
+        this(other.rollNumber, other.name, other.email, other.phone, other.course, other.marks);
+        this.createdAt = other.createdAt;
+        this.updatedAt = other.updatedAt;
+    }
+
     // Builder Pattern for cleaner object creation
     public static Builder builder() {
         return new Builder();
@@ -158,26 +165,30 @@ public class Student implements Comparable<Student> {
         return this;
     }
 
-    // Validation Methods
+    // Validation Methods (rules in StudentValidator)
     public boolean isValidEmail() {
-        return email != null && email.matches(Constants.Validation.EMAIL_PATTERN);
+        return StudentValidator.isValidEmail(email);
     }
 
     public boolean isValidPhone() {
-        return phone != null && phone.matches(Constants.Validation.PHONE_PATTERN);
+        return StudentValidator.isValidPhone(phone);
     }
 
     public boolean isValidMarks() {
-        return marks >= Constants.Validation.MIN_MARKS && marks <= Constants.Validation.MAX_MARKS;
+        return StudentValidator.isValidMarks(marks);
     }
 
     public boolean isValid() {
-        return rollNumber != null && !rollNumber.trim().isEmpty() &&
-                name != null && !name.trim().isEmpty() &&
-                isValidEmail() &&
-                isValidPhone() &&
-                course != null && !course.trim().isEmpty() &&
-                isValidMarks();
+        return StudentValidator.validate(this).isValid();
+    }
+
+    /**
+     * Get the first rule this student breaks (same rules as isValid())
+     *
+     * @return Validation message from Constants.Messages, or null if valid
+     */
+    public String getValidationError() {
+        return StudentValidator.validate(this).getFirstMessage();
     }
 
     // Comparable implementation for sorting by roll number
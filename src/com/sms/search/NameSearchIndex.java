@@ -0,0 +1,641 @@
+package com.sms.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * NameSearchIndex Class - In-process inverted trigram index over student names
+ * Replaces the full table scan of "name LIKE '%...%'" with posting-list
+ * intersections. Supports:
+ * - substring matches (queries of 3+ characters)
+ * - word-prefix matches (queries of 1-2 characters)
+ * - typo-tolerant matches (1 edit for 3-5 characters, 2 beyond) when there
+ * are fewer exact matches than the result limit; for short queries only
+ * words of about the query's length are considered
+ * Results are ranked exact name, name prefix, word prefix, substring, then
+ * fuzzy by edit distance; ties go to the shorter name, then roll number.
+ *
+ * Each student gets an increasing document id, so posting lists stay sorted
+ * by appending. Deletes leave a tombstone; the index rebuilds itself once
+ * tombstones outnumber live names. Readers share a read lock and never block
+ * each other; writers take the write lock.
+ */
+public class NameSearchIndex {
+
+    /**
+     * How a name matched the query (declaration order = rank order)
+     */
+    public enum MatchKind {
+        EXACT,
+        PREFIX,
+        WORD_PREFIX,
+        SUBSTRING,
+        FUZZY
+    }
+
+    /**
+     * One search hit
+     */
+    public static final class Match {
+        private final int id;
+        private final String rollNumber;
+        private final String name;
+        private final MatchKind kind;
+        private final int distance;
+        // kind, then distance, then name length packed into one long
+        private final long rank;
+
+        Match(int id, String rollNumber, String name, MatchKind kind, int distance, long rank) {
+            this.id = id;
+            this.rollNumber = rollNumber;
+            this.name = name;
+            this.kind = kind;
+            this.distance = distance;
+            this.rank = rank;
+        }
+
+        static long rank(MatchKind kind, int distance, int nameLength) {
+            return ((long) kind.ordinal() << 48) | ((long) distance << 32) | nameLength;
+        }
+
+        public String getRollNumber() {
+            return rollNumber;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public MatchKind getKind() {
+            return kind;
+        }
+
+        // Edit distance for FUZZY matches, 0 otherwise
+        public int getDistance() {
+            return distance;
+        }
+
+        @Override
+        public String toString() {
+            return rollNumber + " " + name + " (" + kind + (distance > 0 ? ", " + distance : "") + ")";
+        }
+    }
+
+    // Best match first
+    private static final Comparator<Match> RANK = (a, b) -> {
+        int byRank = Long.compare(a.rank, b.rank);
+        return byRank != 0 ? byRank : a.rollNumber.compareTo(b.rollNumber);
+    };
+
+    // Marks word boundaries in padded trigrams ("\1\1ra", "\1ra" ... "ul\1")
+    private static final char PAD = '\u0001';
+    private static final int MIN_TOMBSTONES_FOR_REBUILD = 1024;
+
+    // Per-thread scratch for fuzzySearch (searches run concurrently under the read lock)
+    private static final ThreadLocal<SharedCounts> SHARED_COUNTS = ThreadLocal.withInitial(SharedCounts::new);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> idByRoll = new HashMap<>();
+    private final Map<Long, IntList> postings = new HashMap<>();
+    private String[] rollNumbers = new String[1024];
+    private String[] names = new String[1024];
+    private String[] normalizedNames = new String[1024]; // null = deleted
+    private int nextId = 0;
+    private int liveCount = 0;
+
+    /**
+     * Add or replace the name indexed for a roll number
+     */
+    public void put(String rollNumber, String name) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(rollNumber);
+            addLocked(rollNumber, name);
+            rebuildIfMostlyTombstones();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a roll number from the index (no-op if absent)
+     */
+    public void remove(String rollNumber) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(rollNumber);
+            rebuildIfMostlyTombstones();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop everything
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            idByRoll.clear();
+            postings.clear();
+            rollNumbers = new String[1024];
+            names = new String[1024];
+            normalizedNames = new String[1024];
+            nextId = 0;
+            liveCount = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Search names
+     *
+     * @param query Text to find (case-insensitive)
+     * @param limit Maximum matches to return
+     * @return Best matches first
+     */
+    public List<Match> search(String query, int limit) {
+        String q = normalize(query);
+        if (q.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            PriorityQueue<Match> top = new PriorityQueue<>(limit + 1, RANK.reversed());
+
+            boolean substring = q.length() >= 3;
+            IntList candidates = intersect(substring ? trigrams(q, false) : trigrams(q, true));
+            for (int i = 0; i < candidates.size; i++) {
+                int id = candidates.ids[i];
+                String name = normalizedNames[id];
+                if (name != null && (substring ? name.contains(q) : hasWordStartingWith(name, q))) {
+                    offer(top, limit, id, classify(name, q), 0);
+                }
+            }
+
+            if (top.size() < limit && substring) {
+                fuzzySearch(q, limit, top);
+            }
+
+            List<Match> results = new ArrayList<>(top);
+            results.sort(RANK);
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Search and return roll numbers only, best first
+     */
+    public List<String> searchRollNumbers(String query, int limit) {
+        List<Match> matches = search(query, limit);
+        List<String> rolls = new ArrayList<>(matches.size());
+        for (Match match : matches) {
+            rolls.add(match.rollNumber);
+        }
+        return rolls;
+    }
+
+    /**
+     * Rank how well a name matches a query, by the same rules search() orders
+     * its results by (lower is better). Used to combine results that were
+     * found separately, e.g. on several shards.
+     */
+    public static long matchRank(String query, String name) {
+        String q = normalize(query);
+        String n = normalize(name);
+        if (n.contains(q)) {
+            return Match.rank(classify(n, q), 0, n.length());
+        }
+        int maxEdits = q.length() <= 5 ? 1 : 2;
+        return Match.rank(MatchKind.FUZZY, substringEditDistance(q, n, maxEdits), n.length());
+    }
+
+    // ==================== SEARCH INTERNALS (read lock held) ====================
+
+    /**
+     * q-gram filter then verify. Every edit destroys at most 3 of the query's
+     * padded trigrams, so a name within k edits of a query word run shares at
+     * least (trigrams - 3k) of them. When that bound is below 2 (short
+     * queries) sharing a trigram says little, so candidates must also have a
+     * run of words within k characters of the query's length. Only runs when
+     * there are fewer exact matches than the limit, so all of them are
+     * already in top.
+     */
+    private void fuzzySearch(String q, int limit, PriorityQueue<Match> top) {
+        int maxEdits = q.length() <= 5 ? 1 : 2;
+        long[] grams = trigrams(q, true);
+        int bound = grams.length - 3 * maxEdits;
+        boolean lengthFilter = bound < 2;
+        int threshold = Math.max(1, bound);
+
+        Set<Integer> alreadyMatched = new HashSet<>();
+        for (Match match : top) {
+            alreadyMatched.add(match.id);
+        }
+
+        // Shared-trigram counts, touching only ids that appear in a posting list
+        SharedCounts shared = SHARED_COUNTS.get();
+        shared.reset(nextId);
+        IntList candidates = new IntList();
+        for (long gram : grams) {
+            IntList list = postings.get(gram);
+            if (list == null) {
+                continue;
+            }
+            for (int i = 0; i < list.size; i++) {
+                int id = list.ids[i];
+                if (shared.increment(id) == threshold) {
+                    candidates.add(id);
+                }
+            }
+        }
+
+        for (int i = 0; i < candidates.size; i++) {
+            int id = candidates.ids[i];
+            String name = normalizedNames[id];
+            if (name == null || alreadyMatched.contains(id)) {
+                continue;
+            }
+            if (lengthFilter && !hasWordRunOfLength(name, q.length() - maxEdits, q.length() + maxEdits)) {
+                continue;
+            }
+            int distance = substringEditDistance(q, name, maxEdits);
+            if (distance <= maxEdits) {
+                offer(top, limit, id, MatchKind.FUZZY, distance);
+            }
+        }
+    }
+
+    // True if some run of whole words ("kumar", "raj kumar") has a length in [min, max]
+    private static boolean hasWordRunOfLength(String name, int min, int max) {
+        int start = 0;
+        while (start < name.length()) {
+            int end = start;
+            while (end < name.length()) {
+                int space = name.indexOf(' ', end);
+                end = space < 0 ? name.length() : space;
+                int length = end - start;
+                if (length > max) {
+                    break;
+                }
+                if (length >= min) {
+                    return true;
+                }
+                end++;
+            }
+            int next = name.indexOf(' ', start);
+            if (next < 0) {
+                break;
+            }
+            start = next + 1;
+        }
+        return false;
+    }
+
+    /**
+     * Ids present in every posting list: the shortest list drives, the
+     * others are walked forward with one cursor each (all lists are sorted)
+     */
+    private IntList intersect(long[] grams) {
+        IntList[] lists = new IntList[grams.length];
+        for (int i = 0; i < grams.length; i++) {
+            lists[i] = postings.get(grams[i]);
+            if (lists[i] == null) {
+                return new IntList();
+            }
+        }
+        if (lists.length == 0) {
+            return new IntList();
+        }
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+
+        IntList driver = lists[0];
+        IntList result = new IntList();
+        int[] cursors = new int[lists.length];
+        outer:
+        for (int i = 0; i < driver.size; i++) {
+            int id = driver.ids[i];
+            for (int j = 1; j < lists.length; j++) {
+                IntList list = lists[j];
+                int c = cursors[j];
+                while (c < list.size && list.ids[c] < id) {
+                    c++;
+                }
+                cursors[j] = c;
+                if (c == list.size) {
+                    break outer;
+                }
+                if (list.ids[c] != id) {
+                    continue outer;
+                }
+            }
+            result.add(id);
+        }
+        return result;
+    }
+
+    /**
+     * Keep the best `limit` matches; a Match is only allocated if it can
+     * make the cut
+     */
+    private void offer(PriorityQueue<Match> top, int limit, int id, MatchKind kind, int distance) {
+        long rank = Match.rank(kind, distance, normalizedNames[id].length());
+        if (top.size() >= limit && rank > top.peek().rank) {
+            return;
+        }
+        Match match = new Match(id, rollNumbers[id], names[id], kind, distance, rank);
+        if (top.size() < limit) {
+            top.add(match);
+        } else if (RANK.compare(match, top.peek()) < 0) {
+            top.poll();
+            top.add(match);
+        }
+    }
+
+    private static MatchKind classify(String name, String q) {
+        if (name.equals(q)) {
+            return MatchKind.EXACT;
+        }
+        if (name.startsWith(q)) {
+            return MatchKind.PREFIX;
+        }
+        return hasWordStartingWith(name, q) ? MatchKind.WORD_PREFIX : MatchKind.SUBSTRING;
+    }
+
+    private static boolean hasWordStartingWith(String name, String q) {
+        int from = 0;
+        while (from < name.length()) {
+            if (name.startsWith(q, from)) {
+                return true;
+            }
+            int space = name.indexOf(' ', from);
+            if (space < 0) {
+                return false;
+            }
+            from = space + 1;
+        }
+        return false;
+    }
+
+    /**
+     * Smallest edit distance between the query and any substring of the text
+     * (Sellers' algorithm), giving up once it must exceed maxEdits
+     */
+    static int substringEditDistance(String query, String text, int maxEdits) {
+        int m = query.length();
+        int[] previous = new int[m + 1];
+        int[] current = new int[m + 1];
+        for (int i = 0; i <= m; i++) {
+            previous[i] = i;
+        }
+
+        int best = previous[m];
+        for (int j = 1; j <= text.length(); j++) {
+            current[0] = 0; // a match may start anywhere in the text
+            char t = text.charAt(j - 1);
+            for (int i = 1; i <= m; i++) {
+                int substitute = previous[i - 1] + (query.charAt(i - 1) == t ? 0 : 1);
+                current[i] = Math.min(substitute, Math.min(previous[i] + 1, current[i - 1] + 1));
+            }
+            best = Math.min(best, current[m]);
+            if (best == 0) {
+                return 0;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return best <= maxEdits ? best : maxEdits + 1;
+    }
+
+    // ==================== INDEX MAINTENANCE (write lock held) ====================
+
+    private void addLocked(String rollNumber, String name) {
+        if (nextId == rollNumbers.length) {
+            int capacity = rollNumbers.length * 2;
+            rollNumbers = Arrays.copyOf(rollNumbers, capacity);
+            names = Arrays.copyOf(names, capacity);
+            normalizedNames = Arrays.copyOf(normalizedNames, capacity);
+        }
+
+        int id = nextId++;
+        String normalized = normalize(name);
+        rollNumbers[id] = rollNumber;
+        names[id] = name;
+        normalizedNames[id] = normalized;
+        idByRoll.put(normalizeRoll(rollNumber), id);
+        liveCount++;
+
+        for (long gram : indexTrigrams(normalized)) {
+            postings.computeIfAbsent(gram, k -> new IntList()).add(id);
+        }
+    }
+
+    private void removeLocked(String rollNumber) {
+        Integer id = idByRoll.remove(normalizeRoll(rollNumber));
+        if (id != null) {
+            normalizedNames[id] = null;
+            names[id] = null;
+            liveCount--;
+        }
+    }
+
+    // Re-number live names from 0 and rebuild every posting list
+    private void rebuildIfMostlyTombstones() {
+        int tombstones = nextId - liveCount;
+        if (tombstones < MIN_TOMBSTONES_FOR_REBUILD || tombstones < liveCount) {
+            return;
+        }
+
+        String[] oldRolls = rollNumbers;
+        String[] oldNames = names;
+        String[] oldNormalized = normalizedNames;
+        int oldCount = nextId;
+
+        idByRoll.clear();
+        postings.clear();
+        int capacity = Math.max(1024, Integer.highestOneBit(Math.max(1, liveCount)) * 2);
+        rollNumbers = new String[capacity];
+        names = new String[capacity];
+        normalizedNames = new String[capacity];
+        nextId = 0;
+        liveCount = 0;
+
+        for (int id = 0; id < oldCount; id++) {
+            if (oldNormalized[id] != null) {
+                addLocked(oldRolls[id], oldNames[id]);
+            }
+        }
+    }
+
+    // ==================== TRIGRAMS ====================
+
+    /**
+     * Trigrams stored for a name: every trigram of the whole name (substring
+     * search) plus the padded trigrams of each word (prefix and fuzzy search)
+     */
+    private static long[] indexTrigrams(String name) {
+        long[] whole = trigrams(name, false);
+        long[] words = trigrams(name, true);
+        long[] all = Arrays.copyOf(whole, whole.length + words.length);
+        System.arraycopy(words, 0, all, whole.length, words.length);
+        return distinct(all, all.length);
+    }
+
+    /**
+     * Query trigrams. Unpadded: all trigrams of the text. Padded: trigrams of
+     * each word as "\1\1word\1"; for 1-2 character text only the leading
+     * (prefix) trigrams are produced.
+     */
+    private static long[] trigrams(String text, boolean padded) {
+        if (!padded) {
+            int count = Math.max(0, text.length() - 2);
+            long[] grams = new long[count];
+            for (int i = 0; i < count; i++) {
+                grams[i] = key(text.charAt(i), text.charAt(i + 1), text.charAt(i + 2));
+            }
+            return distinct(grams, count);
+        }
+
+        boolean prefixOnly = text.length() < 3;
+        long[] grams = new long[text.length() + 2];
+        int count = 0;
+        char a = PAD;
+        char b = PAD;
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (c == ' ') {
+                // close the word with one trailing pad
+                if (b != PAD && !prefixOnly) {
+                    grams[count++] = key(a, b, PAD);
+                }
+                a = PAD;
+                b = PAD;
+                continue;
+            }
+            grams[count++] = key(a, b, c);
+            a = b;
+            b = c;
+        }
+        return distinct(grams, count);
+    }
+
+    // Sorted, duplicate-free copy of the first n values
+    private static long[] distinct(long[] values, int n) {
+        Arrays.sort(values, 0, n);
+        int unique = 0;
+        for (int i = 0; i < n; i++) {
+            if (unique == 0 || values[i] != values[unique - 1]) {
+                values[unique++] = values[i];
+            }
+        }
+        return unique == values.length ? values : Arrays.copyOf(values, unique);
+    }
+
+    private static long key(char a, char b, char c) {
+        return ((long) a << 32) | ((long) b << 16) | c;
+    }
+
+    // Lower case, trimmed, single spaces between words
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String lower = text.trim().toLowerCase();
+        StringBuilder sb = null;
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            boolean space = Character.isWhitespace(c);
+            if (sb == null) {
+                if (space && (c != ' ' || Character.isWhitespace(lower.charAt(i + 1)))) {
+                    sb = new StringBuilder(lower.length()).append(lower, 0, i);
+                } else {
+                    continue;
+                }
+            }
+            if (!space) {
+                sb.append(c);
+            } else if (sb.charAt(sb.length() - 1) != ' ') {
+                sb.append(' ');
+            }
+        }
+        return sb == null ? lower : sb.toString();
+    }
+
+    private static String normalizeRoll(String rollNumber) {
+        return rollNumber == null ? "" : rollNumber.trim().toLowerCase();
+    }
+
+    /**
+     * Growable int array; posting lists are appended in increasing id order
+     * and so stay sorted
+     */
+    private static final class IntList {
+        int[] ids = new int[4];
+        int size = 0;
+
+        void add(int id) {
+            if (size > 0 && ids[size - 1] == id) {
+                return;
+            }
+            addUnsorted(id);
+        }
+
+        void addUnsorted(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+    }
+
+    /**
+     * Counters indexed by document id, cleared by walking the ids touched
+     * since the last reset rather than the whole array
+     */
+    private static final class SharedCounts {
+        private int[] counts = new int[1024];
+        private final IntList touched = new IntList();
+
+        void reset(int capacity) {
+            for (int i = 0; i < touched.size; i++) {
+                counts[touched.ids[i]] = 0;
+            }
+            touched.size = 0;
+            if (counts.length < capacity) {
+                counts = new int[Math.max(capacity, counts.length * 2)];
+            }
+        }
+
+        int increment(int id) {
+            int count = ++counts[id];
+            if (count == 1) {
+                touched.addUnsorted(id);
+            }
+            return count;
+        }
+    }
+}
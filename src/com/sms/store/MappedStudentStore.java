@@ -0,0 +1,1080 @@
+package com.sms.store;
+
+import com.sms.log.Log;
+import com.sms.log.Logger;
+import com.sms.model.Student;
+import com.sms.util.Constants;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.zip.CRC32;
+
+/**
+ * MappedStudentStore Class - File-backed student storage using memory-mapped files
+ * Two files in the store directory:
+ * - students.dat: append-only log of length-prefixed, CRC-checked records
+ * (PUT = a whole student, DELETE = a roll number), mapped in fixed-size
+ * segments; a record never crosses a segment boundary
+ * - students.idx: checkpoint of the live records' log offsets, sorted by
+ * roll number and by email; mapped read-only and binary-searched in place
+ *
+ * Opening maps both files and replays only the records written after the
+ * last checkpoint, so it takes about the same time for any number of
+ * students. Writes since then are kept in small in-memory overlays until
+ * the next checkpoint. A lookup decodes the roll number (or email) of each
+ * record the binary search probes, then the one record it finds; no other
+ * record is deserialized.
+ *
+ * Durability: sync(position) forces the log with group commit, so writers
+ * waiting at the same time share one fsync. Crash recovery: a torn or
+ * corrupt record ends the log; an index file from another generation of
+ * the log is ignored and rebuilt by scanning the log. compact() copies the
+ * live records into a new log generation.
+ *
+ * Readers share a read lock; writers, checkpoints and compaction take the
+ * write lock. Forcing the log takes the read lock only to read the log's
+ * end, never while it waits for another fsync. Keys compare case-insensitively (trimmed, lower case). The
+ * store does not check uniqueness itself; see MappedStudentRepository.
+ */
+public class MappedStudentStore implements Closeable {
+
+    private static final Logger LOG = Log.getLogger(MappedStudentStore.class);
+
+    private static final String DATA_FILE = "students.dat";
+    private static final String INDEX_FILE = "students.idx";
+    private static final int DATA_MAGIC = 0x534D5344; // "SMSD"
+    private static final int INDEX_MAGIC = 0x534D5349; // "SMSI"
+    private static final int FORMAT_VERSION = 1;
+
+    // Data file header: magic, version, generation, segment size, reserved
+    private static final int DATA_HEADER = 24;
+    // Index file header: magic, version, generation, covered position, dead bytes, count, reserved
+    private static final int INDEX_HEADER = 48;
+
+    // Record length values that are not records
+    private static final int END = 0;
+    private static final int SKIP = -1;
+
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+
+    // Record header: length, crc (of everything after it), type, createdAt, updatedAt, marks in hundredths
+    private static final int RECORD_HEADER = 29;
+    private static final int ROLL_NUMBER = 0;
+    private static final int NAME = 1;
+    private static final int EMAIL = 2;
+    private static final int PHONE = 3;
+    private static final int COURSE = 4;
+    private static final int FIELDS = 5;
+    private static final int MAX_RECORD = RECORD_HEADER + FIELDS * (2 + 0xFFFF);
+
+    // Overlay value for a roll number deleted since the checkpoint
+    private static final long DELETED = -1;
+
+    private final Path directory;
+    private final int checkpointRecords;
+    private final long compactMinDeadBytes;
+    private final long syncIntervalMs;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ScheduledExecutorService syncer;
+
+    // ----- Guarded by lock -----
+    private SegmentedLog log;
+    private LongBuffer baseByRoll = LongBuffer.allocate(0);
+    private LongBuffer baseByEmail = LongBuffer.allocate(0);
+    // Since the checkpoint: roll key -> offset (or DELETED), email key -> roll key ("" = freed)
+    private final TreeMap<String, Long> rollOverlay = new TreeMap<>();
+    private final Map<String, String> emailOverlay = new HashMap<>();
+    private int liveCount;
+    private long deadBytes;
+    private long checkpointPosition;
+    private boolean closed = false;
+
+    // Serializes fsyncs; never taken while the store lock is held
+    private final Object syncLock = new Object();
+    private final AtomicReference<SyncPoint> synced;
+
+    public MappedStudentStore(Path directory) throws IOException {
+        this(directory,
+                Integer.getInteger("sms.store.segmentSize", Constants.Store.SEGMENT_SIZE),
+                Integer.getInteger("sms.store.checkpointRecords", Constants.Store.CHECKPOINT_RECORDS),
+                Long.getLong("sms.store.compactMinDeadBytes", Constants.Store.COMPACT_MIN_DEAD_BYTES),
+                Long.getLong("sms.store.syncIntervalMs", Constants.Store.SYNC_INTERVAL_MS));
+    }
+
+    /**
+     * Open (or create) a store
+     *
+     * @param segmentSize         Segment size for a new log (an existing log keeps its own)
+     * @param checkpointRecords   Writes kept in the overlays before the index is rewritten
+     * @param compactMinDeadBytes Dead bytes needed before compacting automatically
+     * @param syncIntervalMs      0 = sync() forces the log; otherwise a background thread does, this often
+     * @throws IOException if the files cannot be opened or are not a student store
+     */
+    public MappedStudentStore(Path directory, int segmentSize, int checkpointRecords,
+            long compactMinDeadBytes, long syncIntervalMs) throws IOException {
+        if (segmentSize < 64 * 1024) {
+            throw new IllegalArgumentException("Segment size must be at least 64 KB: " + segmentSize);
+        }
+        this.directory = directory;
+        this.checkpointRecords = checkpointRecords;
+        this.compactMinDeadBytes = compactMinDeadBytes;
+        this.syncIntervalMs = syncIntervalMs;
+
+        long start = System.nanoTime();
+        Files.createDirectories(directory);
+        log = new SegmentedLog(directory.resolve(DATA_FILE), segmentSize, System.currentTimeMillis());
+        checkpointPosition = loadIndex();
+        int replayed = replay(checkpointPosition);
+        synced = new AtomicReference<>(new SyncPoint(log.generation, log.position));
+
+        LOG.info("✓ Opened student store {}: {} students ({} records replayed) in {}ms",
+                directory, liveCount, replayed, (System.nanoTime() - start) / 1_000_000);
+
+        if (rollOverlay.size() >= checkpointRecords || replayed > 0 && baseByRoll.limit() == 0) {
+            checkpointLocked();
+        }
+
+        if (syncIntervalMs > 0) {
+            syncer = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "sms-store-sync");
+                t.setDaemon(true);
+                return t;
+            });
+            syncer.scheduleWithFixedDelay(this::syncAll, syncIntervalMs, syncIntervalMs, TimeUnit.MILLISECONDS);
+        } else {
+            syncer = null;
+        }
+    }
+
+    // ==================== READS ====================
+
+    /**
+     * @return Stored student, or null if there is none with this roll number
+     */
+    public Student get(String rollNumber) {
+        lock.readLock().lock();
+        try {
+            checkOpen();
+            long offset = locate(normalize(rollNumber));
+            return offset < 0 ? null : readStudent(offset);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(String rollNumber) {
+        lock.readLock().lock();
+        try {
+            checkOpen();
+            return locate(normalize(rollNumber)) >= 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find who has an email
+     *
+     * @return Normalized (trimmed, lower case) roll number of its owner, or null
+     */
+    public String getEmailOwner(String email) {
+        lock.readLock().lock();
+        try {
+            checkOpen();
+            String key = normalize(email);
+            String owner = emailOverlay.get(key);
+            if (owner != null) {
+                return owner.isEmpty() ? null : owner;
+            }
+            int i = search(baseByEmail, key, this::emailKeyAt);
+            return i < 0 ? null : rollKeyAt(baseByEmail.get(i));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get students after a roll number, in roll number order
+     *
+     * @param afterRollNumber Start after this roll number ("" for the beginning)
+     */
+    public List<Student> getPage(String afterRollNumber, int limit) {
+        List<Student> students = new ArrayList<>(Math.min(limit, Constants.Streaming.FETCH_SIZE));
+        lock.readLock().lock();
+        try {
+            checkOpen();
+            scan(normalize(afterRollNumber), offset -> {
+                if (students.size() >= limit) {
+                    return false;
+                }
+                students.add(readStudent(offset));
+                return true;
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        return students;
+    }
+
+    /**
+     * Same as getPage, decoding roll numbers only
+     */
+    public List<String> getRollNumbersAfter(String afterRollNumber, int limit) {
+        List<String> rollNumbers = new ArrayList<>(Math.min(limit, Constants.Streaming.FETCH_SIZE));
+        lock.readLock().lock();
+        try {
+            checkOpen();
+            scan(normalize(afterRollNumber), offset -> {
+                if (rollNumbers.size() >= limit) {
+                    return false;
+                }
+                rollNumbers.add(log.readField(offset, ROLL_NUMBER));
+                return true;
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        return rollNumbers;
+    }
+
+    // ==================== WRITES ====================
+
+    /**
+     * Append a student, replacing any with the same roll number (which keeps
+     * its roll number spelling and creation time). Visible to readers at once;
+     * durable after sync() with the returned position.
+     *
+     * @return Log position to pass to sync()
+     * @throws UncheckedIOException if the log cannot grow
+     */
+    public long put(Student student) {
+        lock.writeLock().lock();
+        try {
+            checkOpen();
+            String rollKey = normalize(student.getRollNumber());
+            long previous = locate(rollKey);
+            long now = System.currentTimeMillis();
+            String rollNumber = previous < 0 ? student.getRollNumber() : log.readField(previous, ROLL_NUMBER);
+            long createdAt = previous < 0 ? now : log.getLong(previous + 9);
+
+            long offset = log.append(encode(PUT, rollNumber, student, createdAt, now));
+            applyPut(rollKey, offset);
+            maintain();
+            return log.position;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Append a deletion
+     *
+     * @return Log position to pass to sync(), or -1 if there was no such student
+     * @throws UncheckedIOException if the log cannot grow
+     */
+    public long delete(String rollNumber) {
+        lock.writeLock().lock();
+        try {
+            checkOpen();
+            String rollKey = normalize(rollNumber);
+            if (locate(rollKey) < 0) {
+                return -1;
+            }
+            long offset = log.append(encode(DELETE, rollNumber, null, 0, System.currentTimeMillis()));
+            applyDelete(rollKey, offset);
+            maintain();
+            return log.position;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Make everything up to a log position durable. Threads calling this
+     * together share one fsync. With a sync interval configured this returns
+     * at once and the background thread syncs instead.
+     */
+    public void sync(long position) {
+        if (syncIntervalMs > 0) {
+            return;
+        }
+        if (synced.get().position >= position) {
+            return;
+        }
+        syncAll(position);
+    }
+
+    private void syncAll() {
+        syncAll(Long.MAX_VALUE);
+    }
+
+    /**
+     * Force the log up to its current end, unless a thread that held
+     * syncLock first already got past position. Compaction forces its new
+     * log itself and moves the SyncPoint to it, so the point read together
+     * with the log below always belongs to that log's generation.
+     */
+    private void syncAll(long position) {
+        synchronized (syncLock) {
+            SyncPoint done;
+            SegmentedLog current;
+            long target;
+            lock.readLock().lock();
+            try {
+                if (closed) {
+                    return;
+                }
+                done = synced.get();
+                current = log;
+                target = log.position;
+            } finally {
+                lock.readLock().unlock();
+            }
+            if (done.position >= Math.min(position, target)) {
+                return;
+            }
+            current.force(done.position, target);
+            synced.compareAndSet(done, new SyncPoint(current.generation, target));
+        }
+    }
+
+    // ==================== CHECKPOINT / COMPACTION ====================
+
+    /**
+     * Rewrite the index file so it covers the whole log (emptying the overlays)
+     */
+    public void checkpoint() {
+        lock.writeLock().lock();
+        try {
+            checkOpen();
+            checkpointLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Copy the live records into a new log generation and drop the old log
+     */
+    public void compact() {
+        lock.writeLock().lock();
+        try {
+            checkOpen();
+            compactLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long getLogBytes() {
+        lock.readLock().lock();
+        try {
+            return log.position;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long getDeadBytes() {
+        lock.readLock().lock();
+        try {
+            return deadBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Checkpoint, sync and close the files
+     */
+    @Override
+    public void close() throws IOException {
+        if (syncer != null) {
+            syncer.shutdown();
+        }
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            if (log.position != checkpointPosition) {
+                checkpointLocked();
+            }
+            log.force(0, log.position);
+            closed = true;
+            log.close();
+            LOG.info("✓ Student store closed: {}", directory);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void maintain() {
+        long liveBytes = log.position - DATA_HEADER - deadBytes;
+        if (deadBytes >= compactMinDeadBytes && deadBytes > liveBytes) {
+            compactLocked();
+        } else if (rollOverlay.size() >= checkpointRecords) {
+            checkpointLocked();
+        }
+    }
+
+    private void checkpointLocked() {
+        long start = System.nanoTime();
+        long[] byRoll = liveOffsetsByRoll();
+        long[] byEmail = liveOffsetsByEmail();
+        log.force(0, log.position);
+        try {
+            writeIndex(log.generation, log.position, deadBytes, byRoll, byEmail);
+        } catch (IOException e) {
+            // The overlays still hold everything; the next checkpoint retries
+            LOG.error("✗ Error writing student store index: {}", e.getMessage());
+            return;
+        }
+        LOG.info("✓ Store checkpoint: {} students in {}ms", byRoll.length, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void compactLocked() {
+        long start = System.nanoTime();
+        long before = log.position;
+        long[] byRoll = liveOffsetsByRoll();
+        long[] byEmail = liveOffsetsByEmail();
+
+        // Copy in log order, so new offsets increase with old ones and can be
+        // translated by binary search
+        long[] oldOffsets = byRoll.clone();
+        Arrays.sort(oldOffsets);
+        long[] newOffsets = new long[oldOffsets.length];
+
+        Path dataPath = directory.resolve(DATA_FILE);
+        Path compactPath = directory.resolve(DATA_FILE + ".compact");
+        SegmentedLog fresh;
+        try {
+            Files.deleteIfExists(compactPath);
+            fresh = new SegmentedLog(compactPath, log.segmentSize, log.generation + 1);
+        } catch (IOException e) {
+            LOG.error("✗ Error compacting student store: {}", e.getMessage());
+            return;
+        }
+        try {
+            for (int i = 0; i < oldOffsets.length; i++) {
+                newOffsets[i] = fresh.append(log.readRecord(oldOffsets[i]));
+            }
+            fresh.force(0, fresh.position);
+            // Until the index is rewritten below, its generation no longer
+            // matches and a crash here means a full scan on the next open
+            Files.move(compactPath, dataPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | UncheckedIOException e) {
+            LOG.error("✗ Error compacting student store: {}", e.getMessage());
+            fresh.close();
+            try {
+                Files.deleteIfExists(compactPath);
+            } catch (IOException ignored) {
+                // left for the next compaction to overwrite
+            }
+            return;
+        }
+
+        translate(byRoll, oldOffsets, newOffsets);
+        translate(byEmail, oldOffsets, newOffsets);
+        log.close();
+        log = fresh;
+        deadBytes = 0;
+        synced.set(new SyncPoint(fresh.generation, fresh.position));
+
+        // The old index's offsets mean nothing in the new log: serve lookups
+        // from the translated arrays until the index file is rewritten
+        baseByRoll = LongBuffer.wrap(byRoll);
+        baseByEmail = LongBuffer.wrap(byEmail);
+        rollOverlay.clear();
+        emailOverlay.clear();
+        checkpointPosition = DATA_HEADER;
+        try {
+            writeIndex(log.generation, log.position, 0, byRoll, byEmail);
+        } catch (IOException e) {
+            // The index file left on disk has the old generation and is
+            // ignored on open; close() or the next checkpoint writes it again
+            LOG.error("✗ Error writing student store index after compaction: {}", e.getMessage());
+        }
+
+        LOG.info("✓ Store compacted: {} -> {} bytes in {}ms",
+                before, log.position, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static void translate(long[] offsets, long[] oldOffsets, long[] newOffsets) {
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = newOffsets[Arrays.binarySearch(oldOffsets, offsets[i])];
+        }
+    }
+
+    // ==================== INDEX FILE ====================
+
+    /**
+     * Map the index file if it belongs to this log
+     *
+     * @return Log position it covers (replay starts there), or the first
+     *         record position if there is no usable index
+     */
+    private long loadIndex() {
+        Path indexPath = directory.resolve(INDEX_FILE);
+        if (!Files.exists(indexPath)) {
+            return DATA_HEADER;
+        }
+        try (FileChannel channel = FileChannel.open(indexPath, StandardOpenOption.READ)) {
+            long size = channel.size();
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (size < INDEX_HEADER || map.getInt(0) != INDEX_MAGIC || map.getInt(4) != FORMAT_VERSION
+                    || map.getLong(8) != log.generation) {
+                LOG.error("✗ Student store index is stale, rebuilding from the log");
+                return DATA_HEADER;
+            }
+            long covered = map.getLong(16);
+            long dead = map.getLong(24);
+            int count = map.getInt(32);
+            if (covered < DATA_HEADER || covered > log.capacity() || size != INDEX_HEADER + 16L * count) {
+                LOG.error("✗ Student store index is damaged, rebuilding from the log");
+                return DATA_HEADER;
+            }
+            useIndex(map, count);
+            liveCount = count;
+            deadBytes = dead;
+            return covered;
+        } catch (IOException e) {
+            LOG.error("✗ Student store index unreadable, rebuilding from the log: {}", e.getMessage());
+            return DATA_HEADER;
+        }
+    }
+
+    /**
+     * Write the index to a temporary file, move it into place and map it
+     */
+    private void writeIndex(long generation, long covered, long dead, long[] byRoll, long[] byEmail)
+            throws IOException {
+        Path indexPath = directory.resolve(INDEX_FILE);
+        Path tempPath = directory.resolve(INDEX_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(Constants.Streaming.WRITE_BUFFER_BYTES);
+            buffer.putInt(INDEX_MAGIC).putInt(FORMAT_VERSION).putLong(generation)
+                    .putLong(covered).putLong(dead).putInt(byRoll.length);
+            buffer.position(INDEX_HEADER);
+            for (long[] offsets : new long[][] { byRoll, byEmail }) {
+                for (long offset : offsets) {
+                    if (buffer.remaining() < Long.BYTES) {
+                        writeFully(channel, buffer);
+                    }
+                    buffer.putLong(offset);
+                }
+            }
+            writeFully(channel, buffer);
+            channel.force(true);
+        }
+        Files.move(tempPath, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        try (FileChannel channel = FileChannel.open(indexPath, StandardOpenOption.READ)) {
+            useIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), byRoll.length);
+        }
+        rollOverlay.clear();
+        emailOverlay.clear();
+        checkpointPosition = covered;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void useIndex(MappedByteBuffer map, int count) {
+        baseByRoll = slice(map, INDEX_HEADER, count);
+        baseByEmail = slice(map, INDEX_HEADER + 8 * count, count);
+    }
+
+    private static LongBuffer slice(MappedByteBuffer map, int from, int count) {
+        ByteBuffer view = map.duplicate();
+        view.position(from);
+        view.limit(from + 8 * count);
+        return view.slice().asLongBuffer();
+    }
+
+    // ==================== RECOVERY ====================
+
+    /**
+     * Apply the records from a position to the end of the log, stopping at
+     * the first torn or corrupt one (which is wiped so it cannot reappear)
+     *
+     * @return Number of records replayed
+     */
+    private int replay(long from) {
+        long position = from;
+        int replayed = 0;
+        while (true) {
+            position = log.skipToRecord(position);
+            if (position >= log.capacity()) {
+                break;
+            }
+            int length = log.getInt(position);
+            if (length == END) {
+                break;
+            }
+            if (!log.isValidRecord(position, length)) {
+                log.wipe(position);
+                LOG.info("✓ Student store recovered: discarded a torn record at offset {}", position);
+                break;
+            }
+            String rollKey = rollKeyAt(position);
+            if (log.get(position + 8) == PUT) {
+                applyPut(rollKey, position);
+            } else {
+                applyDelete(rollKey, position);
+            }
+            position += length;
+            replayed++;
+        }
+        log.position = position;
+        return replayed;
+    }
+
+    // ==================== STATE (write lock held) ====================
+
+    private void applyPut(String rollKey, long offset) {
+        long previous = locate(rollKey);
+        if (previous >= 0) {
+            deadBytes += log.getInt(previous);
+            emailOverlay.put(emailKeyAt(previous), "");
+        } else {
+            liveCount++;
+        }
+        rollOverlay.put(rollKey, offset);
+        emailOverlay.put(emailKeyAt(offset), rollKey);
+    }
+
+    private void applyDelete(String rollKey, long offset) {
+        deadBytes += log.getInt(offset); // a deletion record is garbage as soon as it is written
+        long previous = locate(rollKey);
+        if (previous < 0) {
+            return;
+        }
+        deadBytes += log.getInt(previous);
+        emailOverlay.put(emailKeyAt(previous), "");
+        rollOverlay.put(rollKey, DELETED);
+        liveCount--;
+    }
+
+    // ==================== LOOKUP (lock held) ====================
+
+    /**
+     * @return Offset of the live record for a roll key, or -1
+     */
+    private long locate(String rollKey) {
+        Long overlay = rollOverlay.get(rollKey);
+        if (overlay != null) {
+            return overlay;
+        }
+        int i = search(baseByRoll, rollKey, this::rollKeyAt);
+        return i < 0 ? -1 : baseByRoll.get(i);
+    }
+
+    // Index of the key in the sorted offsets, or -(insertion point) - 1
+    private static int search(LongBuffer offsets, String key, LongFunction<String> keyOf) {
+        int low = 0;
+        int high = offsets.limit() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = keyOf.apply(offsets.get(mid)).compareTo(key);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Visit live records with a roll key after afterKey, in roll order,
+     * merging the index with the overlay (the overlay wins on equal keys)
+     */
+    private void scan(String afterKey, LongPredicate visitor) {
+        int found = search(baseByRoll, afterKey, this::rollKeyAt);
+        int i = found >= 0 ? found + 1 : -found - 1;
+        int baseCount = baseByRoll.limit();
+        String baseKey = i < baseCount ? rollKeyAt(baseByRoll.get(i)) : null;
+
+        Iterator<Map.Entry<String, Long>> overlay = rollOverlay.tailMap(afterKey, false).entrySet().iterator();
+        Map.Entry<String, Long> next = overlay.hasNext() ? overlay.next() : null;
+
+        while (baseKey != null || next != null) {
+            int cmp = baseKey == null ? 1 : next == null ? -1 : baseKey.compareTo(next.getKey());
+            long offset = cmp < 0 ? baseByRoll.get(i) : next.getValue();
+            if (cmp <= 0) {
+                i++;
+                baseKey = i < baseCount ? rollKeyAt(baseByRoll.get(i)) : null;
+            }
+            if (cmp >= 0) {
+                next = overlay.hasNext() ? overlay.next() : null;
+            }
+            if (offset != DELETED && !visitor.test(offset)) {
+                return;
+            }
+        }
+    }
+
+    private long[] liveOffsetsByRoll() {
+        long[] offsets = new long[liveCount];
+        int[] n = { 0 };
+        scan("", offset -> {
+            offsets[n[0]++] = offset;
+            return true;
+        });
+        return offsets;
+    }
+
+    // The overlay's records sorted by email, merged with the index's email
+    // order minus the records the overlay replaced
+    private long[] liveOffsetsByEmail() {
+        List<KeyedOffset> changed = new ArrayList<>();
+        for (long offset : rollOverlay.values()) {
+            if (offset != DELETED) {
+                changed.add(new KeyedOffset(emailKeyAt(offset), offset));
+            }
+        }
+        changed.sort((a, b) -> a.key.compareTo(b.key));
+
+        long[] offsets = new long[liveCount];
+        int n = 0;
+        int j = 0;
+        int baseCount = baseByEmail.limit();
+        for (int i = 0; i < baseCount; i++) {
+            long offset = baseByEmail.get(i);
+            if (rollOverlay.containsKey(rollKeyAt(offset))) {
+                continue;
+            }
+            String key = emailKeyAt(offset);
+            while (j < changed.size() && changed.get(j).key.compareTo(key) < 0) {
+                offsets[n++] = changed.get(j++).offset;
+            }
+            offsets[n++] = offset;
+        }
+        while (j < changed.size()) {
+            offsets[n++] = changed.get(j++).offset;
+        }
+        return offsets;
+    }
+
+    private String rollKeyAt(long offset) {
+        return normalize(log.readField(offset, ROLL_NUMBER));
+    }
+
+    private String emailKeyAt(long offset) {
+        return normalize(log.readField(offset, EMAIL));
+    }
+
+    private Student readStudent(long offset) {
+        String[] fields = log.readFields(offset);
+        Student student = new Student(fields[ROLL_NUMBER], fields[NAME], fields[EMAIL], fields[PHONE],
+                fields[COURSE], log.getInt(offset + 25) / 100.0);
+        student.setCreatedAt(new Timestamp(log.getLong(offset + 9)));
+        student.setUpdatedAt(new Timestamp(log.getLong(offset + 17)));
+        return student;
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Student store is closed: " + directory);
+        }
+    }
+
+    private static byte[] encode(byte type, String rollNumber, Student student, long createdAt, long updatedAt) {
+        byte[][] fields = new byte[FIELDS][];
+        fields[ROLL_NUMBER] = utf8(rollNumber);
+        fields[NAME] = utf8(student == null ? null : student.getName());
+        fields[EMAIL] = utf8(student == null ? null : student.getEmail());
+        fields[PHONE] = utf8(student == null ? null : student.getPhone());
+        fields[COURSE] = utf8(student == null ? null : student.getCourse());
+
+        int length = RECORD_HEADER;
+        for (byte[] field : fields) {
+            if (field.length > 0xFFFF) {
+                throw new IllegalArgumentException("Field too long for the student store");
+            }
+            length += 2 + field.length;
+        }
+
+        ByteBuffer record = ByteBuffer.allocate(length);
+        record.putInt(length).putInt(0).put(type).putLong(createdAt).putLong(updatedAt)
+                .putInt(student == null ? 0 : (int) Math.round(student.getMarks() * 100));
+        for (byte[] field : fields) {
+            record.putShort((short) field.length).put(field);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), 8, length - 8);
+        record.putInt(4, (int) crc.getValue());
+        return record.array();
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String normalize(String key) {
+        return key == null ? "" : key.trim().toLowerCase();
+    }
+
+    /**
+     * How far a generation of the log is known to be on disk
+     */
+    private static final class SyncPoint {
+        final long generation;
+        final long position;
+
+        SyncPoint(long generation, long position) {
+            this.generation = generation;
+            this.position = position;
+        }
+    }
+
+    private static final class KeyedOffset {
+        final String key;
+        final long offset;
+
+        KeyedOffset(String key, long offset) {
+            this.key = key;
+            this.offset = offset;
+        }
+    }
+
+    /**
+     * The data file as a list of mapped segments, growing one segment at a time
+     */
+    private static final class SegmentedLog {
+        final Path path;
+        final FileChannel channel;
+        final int segmentSize;
+        final long generation;
+        final List<MappedByteBuffer> segments = new ArrayList<>();
+        long position = DATA_HEADER; // end of the last record
+
+        /**
+         * Open a log, or create it with this segment size and generation
+         */
+        SegmentedLog(Path path, int newSegmentSize, long newGeneration) throws IOException {
+            this.path = path;
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            try {
+                ByteBuffer header = ByteBuffer.allocate(DATA_HEADER);
+                if (channel.size() == 0) {
+                    header.putInt(DATA_MAGIC).putInt(FORMAT_VERSION).putLong(newGeneration).putInt(newSegmentSize);
+                    header.flip();
+                    channel.write(header, 0);
+                    header.flip();
+                } else {
+                    channel.read(header, 0);
+                    if (header.getInt(0) != DATA_MAGIC || header.getInt(4) != FORMAT_VERSION) {
+                        throw new IOException("Not a student store (or an unsupported version): " + path);
+                    }
+                }
+                this.generation = header.getLong(8);
+                this.segmentSize = header.getInt(16);
+
+                long count = Math.max(1, (channel.size() + segmentSize - 1) / segmentSize);
+                for (int i = 0; i < count; i++) {
+                    segments.add(map(i));
+                }
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        long capacity() {
+            return (long) segments.size() * segmentSize;
+        }
+
+        /**
+         * Append one encoded record
+         *
+         * @return Its offset
+         */
+        long append(byte[] record) {
+            // Every record is followed by room for an END or SKIP marker
+            int inSegment = (int) (position % segmentSize);
+            if (inSegment + record.length + 4 > segmentSize) {
+                segment(position).putInt(inSegment, SKIP);
+                position = (position / segmentSize + 1) * segmentSize;
+                inSegment = 0;
+            }
+            if (record.length + 4 > segmentSize) {
+                throw new IllegalArgumentException("Record larger than a log segment");
+            }
+            try {
+                while (segments.size() <= position / segmentSize) {
+                    segments.add(map(segments.size()));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot grow the student store", e);
+            }
+
+            MappedByteBuffer segment = segment(position);
+            segment.put(inSegment + 4, record, 4, record.length - 4);
+            segment.putInt(inSegment, record.length); // length last
+            long offset = position;
+            position += record.length;
+            return offset;
+        }
+
+        /**
+         * @return The position itself, or the start of the next segment if a
+         *         SKIP marker (or no room for a record) is there
+         */
+        long skipToRecord(long at) {
+            int inSegment = (int) (at % segmentSize);
+            if (at < capacity() && (inSegment + 4 > segmentSize || getInt(at) == SKIP)) {
+                return (at / segmentSize + 1) * segmentSize;
+            }
+            return at;
+        }
+
+        boolean isValidRecord(long at, int length) {
+            int inSegment = (int) (at % segmentSize);
+            if (length < RECORD_HEADER + 2 * FIELDS || length > MAX_RECORD || inSegment + length > segmentSize) {
+                return false;
+            }
+            byte type = get(at + 8);
+            if (type != PUT && type != DELETE) {
+                return false;
+            }
+            ByteBuffer view = segment(at).duplicate();
+            view.position(inSegment + 8);
+            view.limit(inSegment + length);
+            CRC32 crc = new CRC32();
+            crc.update(view);
+            return (int) crc.getValue() == getInt(at + 4);
+        }
+
+        /**
+         * Zero a torn record, so later appends cannot run into its remains
+         */
+        void wipe(long at) {
+            MappedByteBuffer segment = segment(at);
+            int from = (int) (at % segmentSize);
+            int to = (int) Math.min(segmentSize, from + (long) MAX_RECORD);
+            for (int i = from; i < to; i++) {
+                segment.put(i, (byte) 0);
+            }
+        }
+
+        byte get(long at) {
+            return segment(at).get((int) (at % segmentSize));
+        }
+
+        int getInt(long at) {
+            return segment(at).getInt((int) (at % segmentSize));
+        }
+
+        long getLong(long at) {
+            return segment(at).getLong((int) (at % segmentSize));
+        }
+
+        byte[] readRecord(long at) {
+            byte[] record = new byte[getInt(at)];
+            segment(at).get((int) (at % segmentSize), record);
+            return record;
+        }
+
+        String readField(long at, int field) {
+            MappedByteBuffer segment = segment(at);
+            int index = (int) (at % segmentSize) + RECORD_HEADER;
+            for (int f = 0; f < field; f++) {
+                index += 2 + Short.toUnsignedInt(segment.getShort(index));
+            }
+            return readString(segment, index);
+        }
+
+        String[] readFields(long at) {
+            MappedByteBuffer segment = segment(at);
+            int index = (int) (at % segmentSize) + RECORD_HEADER;
+            String[] fields = new String[FIELDS];
+            for (int f = 0; f < FIELDS; f++) {
+                fields[f] = readString(segment, index);
+                index += 2 + Short.toUnsignedInt(segment.getShort(index));
+            }
+            return fields;
+        }
+
+        private static String readString(MappedByteBuffer segment, int index) {
+            byte[] bytes = new byte[Short.toUnsignedInt(segment.getShort(index))];
+            segment.get(index + 2, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Force the segments holding [from, to) to disk
+         */
+        void force(long from, long to) {
+            for (long at = from; at < to;) {
+                long segmentEnd = (at / segmentSize + 1) * segmentSize;
+                long end = Math.min(to, segmentEnd);
+                segment(at).force((int) (at % segmentSize), (int) (end - at));
+                at = end;
+            }
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                LOG.error("✗ Error closing {}: {}", path, e.getMessage());
+            }
+        }
+
+        private MappedByteBuffer segment(long at) {
+            return segments.get((int) (at / segmentSize));
+        }
+
+        private MappedByteBuffer map(int segment) throws IOException {
+            return channel.map(FileChannel.MapMode.READ_WRITE, (long) segment * segmentSize, segmentSize);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.sms.ui;
+
+import com.sms.util.Constants;
+import com.sms.util.Metrics;
+import com.sms.util.OperationMetrics;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.awt.*;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * MetricsPanel - Live call counts, errors, rows and latency percentiles
+ * One row per instrumented operation (repository calls, connection
+ * borrowing, change feed polls), refreshed every Constants.Metrics.REFRESH_MS
+ * while the panel is showing. The same numbers are published over JMX.
+ */
+public class MetricsPanel extends JPanel {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String[] COLUMNS = {
+            "Component", "Operation", "Calls", "Errors", "Rows", "Mean ms", "p50 ms", "p95 ms", "p99 ms", "Max ms"
+    };
+
+    private final MetricsTableModel metricsModel = new MetricsTableModel();
+    private final JTable metricsTable = new JTable(metricsModel);
+    private final JLabel lblUpdated = new JLabel(" ");
+    private final Timer timer = new Timer(Constants.Metrics.REFRESH_MS, e -> refresh());
+
+    public MetricsPanel() {
+        super(new BorderLayout(10, 10));
+        setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+        setBackground(Constants.Colors.SURFACE);
+
+        JButton btnReset = new JButton(Constants.Icons.CLEAR + "Reset");
+        btnReset.addActionListener(e -> {
+            Metrics.resetAll();
+            refresh();
+        });
+
+        JPanel top = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 0));
+        top.setOpaque(false);
+        top.add(btnReset);
+        top.add(lblUpdated);
+
+        metricsTable.setRowHeight(Constants.Table.ROW_HEIGHT);
+        metricsTable.setAutoCreateRowSorter(true);
+        metricsTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+
+        add(top, BorderLayout.NORTH);
+        add(new JScrollPane(metricsTable), BorderLayout.CENTER);
+        add(new JLabel("Also available over JMX under \"" + Constants.Metrics.JMX_DOMAIN
+                + "\" (jconsole, VisualVM)"), BorderLayout.SOUTH);
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        refresh();
+        timer.start();
+    }
+
+    @Override
+    public void removeNotify() {
+        timer.stop();
+        super.removeNotify();
+    }
+
+    private void refresh() {
+        metricsModel.setRows(Metrics.getAll());
+        lblUpdated.setText("Updated " + LocalTime.now().format(DateTimeFormatter.ofPattern("HH:mm:ss")));
+    }
+
+    /**
+     * One row per operation; values are read once per refresh
+     */
+    private static final class MetricsTableModel extends AbstractTableModel {
+        private static final long serialVersionUID = 1L;
+
+        private transient List<Object[]> rows = new ArrayList<>();
+
+        void setRows(List<OperationMetrics> operations) {
+            List<Object[]> values = new ArrayList<>(operations.size());
+            for (OperationMetrics m : operations) {
+                values.add(new Object[] {
+                        m.getType(), m.getOperation(), m.getCalls(), m.getErrors(), m.getRows(),
+                        round(m.getMeanMillis()), round(m.getP50Millis()), round(m.getP95Millis()),
+                        round(m.getP99Millis()), round(m.getMaxMillis())
+                });
+            }
+            boolean sameRows = values.size() == rows.size();
+            rows = values;
+            if (sameRows) {
+                // Keeps the selection and sort while the numbers change
+                fireTableRowsUpdated(0, rows.size() - 1);
+            } else {
+                fireTableDataChanged();
+            }
+        }
+
+        private static double round(double millis) {
+            return Math.round(millis * 1000) / 1000.0;
+        }
+
+        @Override
+        public int getRowCount() {
+            return rows.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return COLUMNS.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return COLUMNS[column];
+        }
+
+        @Override
+        public Class<?> getColumnClass(int column) {
+            return column < 2 ? String.class : column < 5 ? Long.class : Double.class;
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            return rows.get(row)[column];
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.sms.ui;
+
+import com.sms.util.Constants;
+import com.sms.util.SlowQuery;
+import com.sms.util.SlowQueryLog;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.awt.*;
+import java.io.File;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SlowQueryPanel - Recent slow queries from SlowQueryLog, newest first
+ * Selecting one shows its SQL, parameters and execution plan (the one
+ * captured for that run, otherwise the latest captured for the query).
+ * Refreshed every Constants.Metrics.REFRESH_MS while showing; the list can
+ * be cleared or saved to a text file.
+ */
+public class SlowQueryPanel extends JPanel {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String[] COLUMNS = { "Time", "Query", "ms", "Rows", "Parameters" };
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss.SSS")
+            .withZone(ZoneId.systemDefault());
+
+    private final SlowQueryTableModel queryModel = new SlowQueryTableModel();
+    private final JTable queryTable = new JTable(queryModel);
+    private final JTextArea txtDetails = new JTextArea();
+    private final JLabel lblSummary = new JLabel(" ");
+    private final Timer timer = new Timer(Constants.Metrics.REFRESH_MS, e -> refresh());
+
+    public SlowQueryPanel() {
+        super(new BorderLayout(10, 10));
+        setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+        setBackground(Constants.Colors.SURFACE);
+
+        JButton btnClear = new JButton(Constants.Icons.CLEAR + "Clear");
+        btnClear.addActionListener(e -> {
+            SlowQueryLog.clear();
+            refresh();
+        });
+        JButton btnDump = new JButton(Constants.Icons.SAVE + "Save to File...");
+        btnDump.addActionListener(e -> dumpToFile());
+
+        JPanel top = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 0));
+        top.setOpaque(false);
+        top.add(btnClear);
+        top.add(btnDump);
+        top.add(lblSummary);
+
+        queryTable.setRowHeight(Constants.Table.ROW_HEIGHT);
+        queryTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        queryTable.getColumnModel().getColumn(4).setPreferredWidth(300);
+        queryTable.getSelectionModel().addListSelectionListener(e -> {
+            if (!e.getValueIsAdjusting()) {
+                showDetails();
+            }
+        });
+
+        txtDetails.setEditable(false);
+        txtDetails.setFont(new Font(Font.MONOSPACED, Font.PLAIN, Constants.Fonts.TABLE_CELL_SIZE));
+
+        JSplitPane split = new JSplitPane(JSplitPane.VERTICAL_SPLIT,
+                new JScrollPane(queryTable), new JScrollPane(txtDetails));
+        split.setResizeWeight(0.5);
+
+        add(top, BorderLayout.NORTH);
+        add(split, BorderLayout.CENTER);
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        refresh();
+        timer.start();
+    }
+
+    @Override
+    public void removeNotify() {
+        timer.stop();
+        super.removeNotify();
+    }
+
+    private void refresh() {
+        SlowQuery selected = selectedQuery();
+        queryModel.setQueries(SlowQueryLog.getRecent());
+        int row = queryModel.indexOf(selected);
+        if (row >= 0) {
+            queryTable.getSelectionModel().setSelectionInterval(row, row);
+        }
+        lblSummary.setText(SlowQueryLog.isEnabled()
+                ? "Over " + SlowQueryLog.getThresholdMillis() + " ms (EXPLAIN over "
+                        + SlowQueryLog.getExplainThresholdMillis() + " ms): " + SlowQueryLog.getRecordedCount()
+                        + " recorded"
+                : "Slow-query log disabled (-Dsms.slowQuery.enabled=false)");
+        showDetails();
+    }
+
+    private SlowQuery selectedQuery() {
+        int row = queryTable.getSelectedRow();
+        return row < 0 ? null : queryModel.getQuery(row);
+    }
+
+    private void showDetails() {
+        SlowQuery query = selectedQuery();
+        if (query == null) {
+            txtDetails.setText("Select a query to see its SQL, parameters and plan.");
+            return;
+        }
+        String details = query.describe();
+        SlowQuery.Plan latest = SlowQueryLog.getLatestPlan(query.getQuery());
+        if (query.getPlan() == null && latest != null) {
+            details += "  Latest plan of " + query.getQuery() + " (EXPLAIN, "
+                    + TIME.format(Instant.ofEpochMilli(latest.getCapturedAtMillis())) + "):\n    "
+                    + latest.getText().replace("\n", "\n    ") + "\n";
+        }
+        if (!details.equals(txtDetails.getText())) {
+            txtDetails.setText(details);
+            txtDetails.setCaretPosition(0);
+        }
+    }
+
+    private void dumpToFile() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setSelectedFile(new File("slow-queries-"
+                + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".txt"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        try {
+            int count = SlowQueryLog.dump(chooser.getSelectedFile().toPath());
+            JOptionPane.showMessageDialog(this, "Saved " + count + " slow queries to\n" + chooser.getSelectedFile(),
+                    "Slow Queries", JOptionPane.INFORMATION_MESSAGE);
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(this, "Could not save slow queries:\n" + e.getMessage(),
+                    "Slow Queries", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    /**
+     * One row per slow query, newest first
+     */
+    private static final class SlowQueryTableModel extends AbstractTableModel {
+        private static final long serialVersionUID = 1L;
+
+        private transient List<SlowQuery> queries = new ArrayList<>();
+
+        void setQueries(List<SlowQuery> recent) {
+            if (!recent.equals(queries)) {
+                queries = recent;
+                fireTableDataChanged();
+            }
+        }
+
+        SlowQuery getQuery(int row) {
+            return queries.get(row);
+        }
+
+        int indexOf(SlowQuery query) {
+            return query == null ? -1 : queries.indexOf(query);
+        }
+
+        @Override
+        public int getRowCount() {
+            return queries.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return COLUMNS.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return COLUMNS[column];
+        }
+
+        @Override
+        public Class<?> getColumnClass(int column) {
+            return column == 2 ? Double.class : column == 3 ? Long.class : String.class;
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            SlowQuery query = queries.get(row);
+            switch (column) {
+                case 0:
+                    return TIME.format(Instant.ofEpochMilli(query.getStartedAtMillis()));
+                case 1:
+                    return query.getQuery().name();
+                case 2:
+                    return Math.round(query.getDurationMillis() * 10) / 10.0;
+                case 3:
+                    return query.getRows();
+                default:
+                    return query.getError() == null ? query.getParameters()
+                            : Constants.Icons.ERROR + query.getError() + "  " + query.getParameters();
+            }
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package com.sms.ui;
+
+import com.sms.analytics.StudentAnalytics;
+import com.sms.model.CourseStats;
+import com.sms.util.Constants;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.awt.*;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * StatisticsPanel - Per-course marks statistics with a histogram
+ * Live mode shows the in-memory statistics and repaints after every write
+ * (changes are coalesced into one refresh per EDT turn). "Compute in MySQL"
+ * shows a one-off GROUP BY result instead, until "Live" is pressed again.
+ */
+public class StatisticsPanel extends JPanel {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String[] COLUMNS = {
+            "Course", "Students", "Average", "Median", "25th", "75th", "90th", "Min", "Max", "Pass Rate"
+    };
+
+    private final transient StudentAnalytics analytics;
+    private final StatsTableModel statsModel = new StatsTableModel();
+    private final JTable statsTable = new JTable(statsModel);
+    private final HistogramChart histogram = new HistogramChart();
+    private final JLabel lblSource = new JLabel(" ");
+
+    private boolean live = true;
+    private boolean refreshQueued = false;
+    private final transient StudentAnalytics.Listener listener = this::statisticsChanged;
+
+    public StatisticsPanel(StudentAnalytics analytics) {
+        super(new BorderLayout(10, 10));
+        this.analytics = analytics;
+        setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+        setBackground(Constants.Colors.SURFACE);
+
+        JButton btnLive = new JButton(Constants.Icons.REFRESH + "Live");
+        JButton btnDatabase = new JButton(Constants.Icons.STATISTICS + "Compute in MySQL");
+        btnLive.addActionListener(e -> showLive());
+        btnDatabase.addActionListener(e -> computeInDatabase());
+
+        JPanel top = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 0));
+        top.setOpaque(false);
+        top.add(btnLive);
+        top.add(btnDatabase);
+        top.add(lblSource);
+
+        statsTable.setRowHeight(Constants.Table.ROW_HEIGHT);
+        statsTable.setAutoCreateRowSorter(true);
+        statsTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        statsTable.getSelectionModel().addListSelectionListener(e -> {
+            if (!e.getValueIsAdjusting()) {
+                showSelectedHistogram();
+            }
+        });
+
+        histogram.setPreferredSize(new Dimension(0, 180));
+
+        add(top, BorderLayout.NORTH);
+        add(new JScrollPane(statsTable), BorderLayout.CENTER);
+        add(histogram, BorderLayout.SOUTH);
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        analytics.addListener(listener);
+        showLive();
+    }
+
+    @Override
+    public void removeNotify() {
+        analytics.removeListener(listener);
+        super.removeNotify();
+    }
+
+    // Any thread; one refresh per EDT turn however many writes arrive
+    private void statisticsChanged() {
+        SwingUtilities.invokeLater(() -> {
+            if (refreshQueued) {
+                return;
+            }
+            refreshQueued = true;
+            SwingUtilities.invokeLater(() -> {
+                refreshQueued = false;
+                if (live) {
+                    show(analytics.getStatistics(), "Live, in memory");
+                }
+            });
+        });
+    }
+
+    private void showLive() {
+        live = true;
+        if (analytics.isLoaded()) {
+            show(analytics.getStatistics(), "Live, in memory");
+        } else {
+            lblSource.setText("Loading statistics...");
+        }
+    }
+
+    private void computeInDatabase() {
+        live = false;
+        lblSource.setText("Computing in MySQL...");
+        CompletableFuture.supplyAsync(analytics::computeInDatabase)
+                .whenComplete((stats, error) -> SwingUtilities.invokeLater(() -> {
+                    if (live) {
+                        return;
+                    }
+                    if (error != null) {
+                        lblSource.setText(Constants.Icons.ERROR + "MySQL statistics failed: " + error.getMessage());
+                        return;
+                    }
+                    show(stats, "MySQL GROUP BY at " + LocalTime.now().format(DateTimeFormatter.ofPattern("HH:mm:ss")));
+                }));
+    }
+
+    private void show(List<CourseStats> stats, String source) {
+        String selected = selectedCourse();
+        statsModel.setStats(stats);
+        lblSource.setText(source + " (" + stats.size() + " courses)");
+
+        for (int i = 0; i < stats.size(); i++) {
+            if (stats.get(i).getCourse().equalsIgnoreCase(selected)) {
+                int view = statsTable.convertRowIndexToView(i);
+                statsTable.getSelectionModel().setSelectionInterval(view, view);
+                break;
+            }
+        }
+        showSelectedHistogram();
+    }
+
+    private String selectedCourse() {
+        int row = statsTable.getSelectedRow();
+        return row < 0 ? "" : statsModel.getStats(statsTable.convertRowIndexToModel(row)).getCourse();
+    }
+
+    private void showSelectedHistogram() {
+        int row = statsTable.getSelectedRow();
+        histogram.setStats(row < 0 ? null : statsModel.getStats(statsTable.convertRowIndexToModel(row)));
+    }
+
+    /**
+     * One row per course
+     */
+    private static final class StatsTableModel extends AbstractTableModel {
+        private static final long serialVersionUID = 1L;
+
+        private transient List<CourseStats> stats = new ArrayList<>();
+
+        void setStats(List<CourseStats> stats) {
+            this.stats = new ArrayList<>(stats);
+            fireTableDataChanged();
+        }
+
+        CourseStats getStats(int row) {
+            return stats.get(row);
+        }
+
+        @Override
+        public int getRowCount() {
+            return stats.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return COLUMNS.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return COLUMNS[column];
+        }
+
+        @Override
+        public Class<?> getColumnClass(int column) {
+            return column == 0 ? String.class : column == 1 ? Integer.class : Double.class;
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            CourseStats s = stats.get(row);
+            switch (column) {
+                case 0:
+                    return s.getCourse();
+                case 1:
+                    return s.getStudentCount();
+                case 2:
+                    return Math.round(s.getAverage() * 100) / 100.0;
+                case 3:
+                    return s.getMedian();
+                case 4:
+                    return s.getPercentile(0);
+                case 5:
+                    return s.getPercentile(2);
+                case 6:
+                    return s.getPercentile(3);
+                case 7:
+                    return s.getLowest();
+                case 8:
+                    return s.getHighest();
+                case 9:
+                    return Math.round(s.getPassRate() * 1000) / 10.0;
+                default:
+                    return null;
+            }
+        }
+    }
+
+    /**
+     * Bar chart of one course's histogram (buckets of 10 marks)
+     */
+    private static final class HistogramChart extends JComponent {
+        private static final long serialVersionUID = 1L;
+
+        private transient CourseStats stats;
+
+        void setStats(CourseStats stats) {
+            this.stats = stats;
+            repaint();
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            Graphics2D g2 = (Graphics2D) g.create();
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2.setColor(Constants.Colors.SURFACE);
+            g2.fillRect(0, 0, getWidth(), getHeight());
+
+            if (stats == null) {
+                g2.setColor(Constants.Colors.TEXT_PRIMARY);
+                g2.drawString("Select a course to see its marks histogram", 10, getHeight() / 2);
+                g2.dispose();
+                return;
+            }
+
+            int[] buckets = stats.getHistogram();
+            int max = 1;
+            for (int count : buckets) {
+                max = Math.max(max, count);
+            }
+
+            int labelHeight = 20;
+            int chartHeight = getHeight() - 2 * labelHeight;
+            int barWidth = Math.max(1, (getWidth() - 20) / buckets.length);
+            for (int b = 0; b < buckets.length; b++) {
+                int height = (int) ((long) chartHeight * buckets[b] / max);
+                int x = 10 + b * barWidth;
+                int y = labelHeight + chartHeight - height;
+                g2.setColor(b * 10 >= Constants.Analytics.PASS_MARK ? Constants.Colors.PRIMARY : Constants.Colors.DANGER);
+                g2.fillRect(x + 2, y, barWidth - 4, height);
+                g2.setColor(Constants.Colors.TEXT_PRIMARY);
+                g2.drawString(String.valueOf(buckets[b]), x + 4, y - 4);
+                g2.drawString(b * 10 + "-" + (b == buckets.length - 1 ? 100 : b * 10 + 9),
+                        x + 4, getHeight() - 4);
+            }
+            g2.dispose();
+        }
+    }
+}
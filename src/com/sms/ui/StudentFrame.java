@@ -1,15 +1,30 @@
 package com.sms.ui;
 
+import com.sms.analytics.StudentAnalytics;
+import com.sms.dao.AsyncStudentDAO;
+import com.sms.dao.ChangeFeed;
+import com.sms.dao.IndexedStudentRepository;
+import com.sms.dao.InsertOutcome;
+import com.sms.dao.InstrumentedStudentRepository;
 import com.sms.dao.StudentDAO;
+import com.sms.dao.StudentRepository;
+import com.sms.log.Log;
+import com.sms.log.Logger;
 import com.sms.model.Student;
 import com.sms.util.Constants;
+import com.sms.validation.StudentValidator;
+import com.sms.validation.ValidationResult;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.event.RowSorterEvent;
 import javax.swing.table.DefaultTableCellRenderer;
-import javax.swing.table.TableRowSorter;
 import java.awt.*;
+import java.sql.Timestamp;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
 
 /**
  * StudentFrame - Main UI Class using Swing
@@ -18,8 +33,30 @@ import java.util.List;
  */
 public class StudentFrame extends JFrame {
 
-    // DAO instance
-    private StudentDAO studentDAO;
+    private static final Logger LOG = Log.getLogger(StudentFrame.class);
+
+    // Storage (all calls from event handlers go through asyncDAO)
+    private StudentRepository repository;
+    private AsyncStudentDAO asyncDAO;
+    // In-memory indexed copy serving the reads (null unless -Dsms.repository.indexed=true)
+    private IndexedStudentRepository indexed;
+
+    // Per-course marks statistics, kept current after every write
+    private StudentAnalytics analytics;
+
+    // Writes made by other clients (null when disabled with -Dsms.changes.enabled=false)
+    private ChangeFeed changeFeed;
+    // Feed watermark when the table was last loaded; rows created after it are new rows
+    private Timestamp tableLoadedAt;
+
+    // In-flight background work
+    private CompletableFuture<List<Student>> pendingSearch;
+    // Loading every row so a header click can sort the whole table (null if none)
+    private CompletableFuture<Integer> pendingFullLoad;
+    private int busyCount = 0;
+
+    // Reused by every form check (EDT only)
+    private final ValidationResult formValidation = new ValidationResult();
 
     // UI Components - Input Fields
     private JTextField txtRollNumber;
@@ -37,21 +74,149 @@ public class StudentFrame extends JFrame {
     private JButton btnClear;
     private JButton btnSearch;
     private JButton btnRefresh;
+    private JButton btnStatistics;
+    private JButton btnMetrics;
+
+    // UI Components - Progress
+    private JProgressBar progressBar;
 
     // UI Components - Table
     private JTable studentTable;
-    private DefaultTableModel tableModel;
+    private StudentTableModel tableModel;
 
-    // Table components
-    private TableRowSorter<DefaultTableModel> tableSorter;
+    // Table components (sorting is only enabled for search results; the full
+    // list is paged from the database in roll number order)
+    private StudentRowSorter tableSorter;
 
     /**
-     * Constructor - Initialize UI
+     * Constructor - Initialize UI on the MySQL database
      */
     public StudentFrame() {
-        studentDAO = new StudentDAO();
+        this(new StudentDAO());
+    }
+
+    /**
+     * Constructor - Initialize UI on the given storage
+     */
+    public StudentFrame(StudentRepository repository) {
+        // Reads answered from memory once loaded (see IndexedStudentRepository)
+        if (Boolean.parseBoolean(
+                System.getProperty("sms.repository.indexed", String.valueOf(Constants.Repository.INDEXED)))) {
+            indexed = new IndexedStudentRepository(repository);
+        }
+        StudentRepository storage = indexed != null ? indexed : repository;
+        // Every call is timed for the metrics view and JMX (see InstrumentedStudentRepository)
+        this.repository = Boolean.parseBoolean(
+                System.getProperty("sms.metrics.enabled", String.valueOf(Constants.Metrics.ENABLED)))
+                        ? new InstrumentedStudentRepository(storage)
+                        : storage;
+        asyncDAO = new AsyncStudentDAO(this.repository);
+        analytics = new StudentAnalytics(this.repository);
         initializeUI();
+        startChangeFeed(repository);
         loadStudentData();
+        buildNameIndex();
+        loadStatistics();
+    }
+
+    /**
+     * Poll for other clients' writes and apply them to the table row by row
+     * (MySQL only: nothing else writes to an in-memory repository)
+     */
+    private void startChangeFeed(StudentRepository storage) {
+        if (!(storage instanceof StudentDAO)
+                || !Boolean.parseBoolean(System.getProperty("sms.changes.enabled", "true"))) {
+            return;
+        }
+        changeFeed = new ChangeFeed((StudentDAO) storage);
+        if (indexed != null) {
+            // On the feed thread, so the indexes are current before the table hears of the changes
+            changeFeed.addListener(changes -> indexed.applyChanges(changes.getChanged(),
+                    changes.getDeletedRollNumbers()));
+        }
+        changeFeed.addListener(changes -> SwingUtilities.invokeLater(() -> applyChanges(changes)));
+        changeFeed.start();
+    }
+
+    /**
+     * Apply a change set from the feed (on the EDT). Search results only get
+     * updates and deletions; the full list also gets new rows.
+     */
+    private void applyChanges(ChangeFeed.ChangeSet changes) {
+        analytics.applyChanges(changes.getChanged(), changes.getDeletedRollNumbers());
+        for (String rollNumber : changes.getDeletedRollNumbers()) {
+            tableModel.applyDelete(rollNumber);
+        }
+        Timestamp loadedAt = tableLoadedAt;
+        for (Student student : changes.getChanged()) {
+            boolean created = loadedAt == null || student.getCreatedAt() == null
+                    || student.getCreatedAt().after(loadedAt);
+            if (created && tableModel.isPaged()) {
+                tableModel.applyInsert(student);
+            } else {
+                tableModel.applyUpdate(student);
+            }
+        }
+    }
+
+    /**
+     * Build the statistics snapshot in the background (fork/join); afterwards
+     * every write updates it in place
+     */
+    private void loadStatistics() {
+        CompletableFuture.supplyAsync(analytics::load).exceptionally(error -> {
+            LOG.error("✗ Statistics unavailable: {}", error.getMessage());
+            return 0L;
+        });
+    }
+
+    /**
+     * Show the statistics panel in its own window
+     */
+    private void showStatistics() {
+        JDialog dialog = new JDialog(this, Constants.Icons.STATISTICS + "Marks Statistics", false);
+        dialog.setDefaultCloseOperation(JDialog.DISPOSE_ON_CLOSE);
+        dialog.setContentPane(new StatisticsPanel(analytics));
+        dialog.setSize(900, 520);
+        dialog.setLocationRelativeTo(this);
+        dialog.setVisible(true);
+    }
+
+    /**
+     * Show live call counts, latencies and recent slow queries in their own window
+     */
+    private void showMetrics() {
+        JDialog dialog = new JDialog(this, Constants.Icons.METRICS + "Metrics", false);
+        dialog.setDefaultCloseOperation(JDialog.DISPOSE_ON_CLOSE);
+        JTabbedPane tabs = new JTabbedPane();
+        tabs.addTab("Operations", new MetricsPanel());
+        tabs.addTab("Slow Queries", new SlowQueryPanel());
+        dialog.setContentPane(tabs);
+        dialog.setSize(1000, 520);
+        dialog.setLocationRelativeTo(this);
+        dialog.setVisible(true);
+    }
+
+    /**
+     * Build the in-memory name index in the background; name searches use
+     * LIKE queries until it is ready. With -Dsms.repository.indexed=true this
+     * loads the indexed copy instead, and reads use storage until then.
+     */
+    private void buildNameIndex() {
+        if (indexed != null) {
+            asyncDAO.buildNameIndex().exceptionally(error -> {
+                LOG.error("✗ Student indexes unavailable, reading from storage: {}", error.getMessage());
+                return 0L;
+            });
+            return;
+        }
+        if (!Boolean.parseBoolean(System.getProperty("sms.search.nameIndex", "true"))) {
+            return;
+        }
+        asyncDAO.buildNameIndex().exceptionally(error -> {
+            LOG.error("✗ Name index unavailable, using LIKE search: {}", error.getMessage());
+            return 0L;
+        });
     }
 
     /**
@@ -70,7 +235,7 @@ public class StudentFrame extends JFrame {
         try {
             UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
         } catch (Exception e) {
-            e.printStackTrace();
+            LOG.warn("⚠ System look and feel unavailable, using the default", e);
         }
 
         // Create panels
@@ -257,13 +422,8 @@ public class StudentFrame extends JFrame {
                 Constants.Colors.PRIMARY));
         panel.setBackground(Constants.Colors.SURFACE);
 
-        // Create table model
-        tableModel = new DefaultTableModel(Constants.Table.COLUMN_NAMES, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // Make table read-only
-            }
-        };
+        // Create table model (pages rows in from the database on demand)
+        tableModel = new StudentTableModel(repository);
 
         // Create table with sorting
         studentTable = new JTable(tableModel);
@@ -280,22 +440,32 @@ public class StudentFrame extends JFrame {
         studentTable.setShowGrid(true);
         studentTable.setIntercellSpacing(new Dimension(1, 1));
 
-        // Add table sorting
-        tableSorter = new TableRowSorter<>(tableModel);
+        // Add table sorting; sorting the paged list first loads every row
+        tableSorter = new StudentRowSorter(tableModel);
+        tableSorter.addRowSorterListener(e -> {
+            if (e.getType() == RowSorterEvent.Type.SORT_ORDER_CHANGED && tableModel.isPaged()
+                    && !tableSorter.getSortKeys().isEmpty()) {
+                loadAllForSorting();
+            }
+        });
         studentTable.setRowSorter(tableSorter);
 
-        // Alternating row colors
-        studentTable.setDefaultRenderer(Object.class, new DefaultTableCellRenderer() {
+        // Alternating row colors (marks are a Double column, right aligned)
+        DefaultTableCellRenderer renderer = new DefaultTableCellRenderer() {
             @Override
             public Component getTableCellRendererComponent(JTable table, Object value,
                     boolean isSelected, boolean hasFocus, int row, int column) {
                 Component c = super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
+                setHorizontalAlignment(value instanceof Number ? SwingConstants.RIGHT : SwingConstants.LEADING);
                 if (!isSelected) {
                     c.setBackground(row % 2 == 0 ? Constants.Colors.TABLE_ROW_EVEN : Constants.Colors.TABLE_ROW_ODD);
                 }
                 return c;
             }
-        });
+        };
+        studentTable.setDefaultRenderer(Object.class, renderer);
+        studentTable.setDefaultRenderer(String.class, renderer);
+        studentTable.setDefaultRenderer(Double.class, renderer);
 
         // Add selection listener
         studentTable.getSelectionModel().addListSelectionListener(e -> {
@@ -333,33 +503,55 @@ public class StudentFrame extends JFrame {
         btnSearch.addActionListener(e -> searchStudent());
         btnRefresh.addActionListener(e -> loadStudentData());
 
+        btnStatistics = createStyledButton(Constants.Icons.STATISTICS + "Statistics", Constants.Colors.PRIMARY);
+        btnStatistics.addActionListener(e -> showStatistics());
+
+        btnMetrics = createStyledButton(Constants.Icons.METRICS + "Metrics", Constants.Colors.PRIMARY);
+        btnMetrics.addActionListener(e -> showMetrics());
+
+        progressBar = new JProgressBar();
+        progressBar.setIndeterminate(true);
+        progressBar.setStringPainted(true);
+        progressBar.setVisible(false);
+
         panel.add(lblSearch);
         panel.add(txtSearch);
         panel.add(btnSearch);
         panel.add(btnRefresh);
+        panel.add(btnStatistics);
+        panel.add(btnMetrics);
+        panel.add(progressBar);
 
         return panel;
     }
 
     /**
-     * Load all students into table
+     * Load all students into table (pages are fetched as the user scrolls)
      */
     private void loadStudentData() {
-        tableModel.setRowCount(0); // Clear existing data
-
-        List<Student> students = studentDAO.getAllStudents();
-
-        for (Student student : students) {
-            Object[] row = {
-                    student.getRollNumber(),
-                    student.getName(),
-                    student.getEmail(),
-                    student.getPhone(),
-                    student.getCourse(),
-                    student.getMarks()
-            };
-            tableModel.addRow(row);
+        cancelPendingSearch();
+        tableLoadedAt = changeFeed == null ? null : changeFeed.getWatermark();
+        tableModel.showAllStudents();
+        tableSorter.setSortKeys(null);
+    }
+
+    /**
+     * Show a fixed list of students (search results)
+     */
+    private void showStudents(List<Student> students) {
+        tableModel.showStudents(students);
+    }
+
+    /**
+     * A header was clicked on the paged list: bring every row into memory,
+     * after which the sorter orders them by the keys already chosen
+     */
+    private void loadAllForSorting() {
+        if (pendingFullLoad != null && !pendingFullLoad.isDone()) {
+            return;
         }
+        pendingFullLoad = tableModel.loadAllStudents();
+        runAsync("Loading all students to sort...", pendingFullLoad, count -> pendingFullLoad = null);
     }
 
     /**
@@ -369,12 +561,17 @@ public class StudentFrame extends JFrame {
         int selectedRow = studentTable.getSelectedRow();
 
         if (selectedRow >= 0) {
-            txtRollNumber.setText(tableModel.getValueAt(selectedRow, 0).toString());
-            txtName.setText(tableModel.getValueAt(selectedRow, 1).toString());
-            txtEmail.setText(tableModel.getValueAt(selectedRow, 2).toString());
-            txtPhone.setText(tableModel.getValueAt(selectedRow, 3).toString());
-            txtCourse.setText(tableModel.getValueAt(selectedRow, 4).toString());
-            txtMarks.setText(tableModel.getValueAt(selectedRow, 5).toString());
+            Student student = tableModel.getStudentAt(studentTable.convertRowIndexToModel(selectedRow));
+            if (student == null) {
+                return; // Row's page is still loading
+            }
+
+            txtRollNumber.setText(student.getRollNumber());
+            txtName.setText(student.getName());
+            txtEmail.setText(student.getEmail());
+            txtPhone.setText(student.getPhone());
+            txtCourse.setText(student.getCourse());
+            txtMarks.setText(String.valueOf(student.getMarks()));
 
             txtRollNumber.setEditable(false); // Prevent roll number change
         }
@@ -384,42 +581,32 @@ public class StudentFrame extends JFrame {
      * Add new student
      */
     private void addStudent() {
-        // Validate input
-        if (!validateInput()) {
+        // Validate input and create student object
+        Student student = readForm();
+        if (student == null) {
             return;
         }
 
-        try {
-            // Create student object
-            Student student = new Student(
-                    txtRollNumber.getText().trim(),
-                    txtName.getText().trim(),
-                    txtEmail.getText().trim(),
-                    txtPhone.getText().trim(),
-                    txtCourse.getText().trim(),
-                    Double.parseDouble(txtMarks.getText().trim()));
-
-            // Add to database
-            if (studentDAO.addStudent(student)) {
+        // Add to database (off the EDT)
+        runWrite("Adding student...", asyncDAO.insertStudent(student), outcome -> {
+            if (outcome.isSuccess()) {
                 JOptionPane.showMessageDialog(this,
                         Constants.Messages.STUDENT_ADDED,
                         "Success",
                         JOptionPane.INFORMATION_MESSAGE);
                 clearFields();
-                loadStudentData();
+                tableModel.applyInsert(student);
+                analytics.applyUpsert(student);
             } else {
+                String message = outcome == InsertOutcome.DUPLICATE_ROLL ? Constants.Messages.ERROR_DUPLICATE_ROLL
+                        : outcome == InsertOutcome.DUPLICATE_EMAIL ? Constants.Messages.ERROR_DUPLICATE_EMAIL
+                        : Constants.Messages.ERROR_ADD_FAILED;
                 JOptionPane.showMessageDialog(this,
-                        Constants.Messages.ERROR_ADD_FAILED,
+                        message,
                         "Error",
                         JOptionPane.ERROR_MESSAGE);
             }
-
-        } catch (NumberFormatException e) {
-            JOptionPane.showMessageDialog(this,
-                    "Invalid marks format. Please enter a valid number.",
-                    "Validation Error",
-                    JOptionPane.ERROR_MESSAGE);
-        }
+        });
     }
 
     /**
@@ -434,39 +621,27 @@ public class StudentFrame extends JFrame {
             return;
         }
 
-        if (!validateInput()) {
+        Student student = readForm();
+        if (student == null) {
             return;
         }
 
-        try {
-            Student student = new Student(
-                    txtRollNumber.getText().trim(),
-                    txtName.getText().trim(),
-                    txtEmail.getText().trim(),
-                    txtPhone.getText().trim(),
-                    txtCourse.getText().trim(),
-                    Double.parseDouble(txtMarks.getText().trim()));
-
-            if (studentDAO.updateStudent(student)) {
+        runWrite("Updating student...", asyncDAO.updateStudent(student), updated -> {
+            if (updated) {
                 JOptionPane.showMessageDialog(this,
                         Constants.Messages.STUDENT_UPDATED,
                         "Success",
                         JOptionPane.INFORMATION_MESSAGE);
-                clearFields();
-                loadStudentData();
+                // Repaint just this row; the selection and form stay on it
+                tableModel.applyUpdate(student);
+                analytics.applyUpsert(student);
             } else {
                 JOptionPane.showMessageDialog(this,
                         Constants.Messages.ERROR_UPDATE_FAILED,
                         "Error",
                         JOptionPane.ERROR_MESSAGE);
             }
-
-        } catch (NumberFormatException e) {
-            JOptionPane.showMessageDialog(this,
-                    "Invalid marks format. Please enter a valid number.",
-                    "Validation Error",
-                    JOptionPane.ERROR_MESSAGE);
-        }
+        });
     }
 
     /**
@@ -490,19 +665,22 @@ public class StudentFrame extends JFrame {
                 JOptionPane.WARNING_MESSAGE);
 
         if (confirm == JOptionPane.YES_OPTION) {
-            if (studentDAO.deleteStudent(rollNumber)) {
-                JOptionPane.showMessageDialog(this,
-                        Constants.Messages.STUDENT_DELETED,
-                        "Success",
-                        JOptionPane.INFORMATION_MESSAGE);
-                clearFields();
-                loadStudentData();
-            } else {
-                JOptionPane.showMessageDialog(this,
-                        Constants.Messages.ERROR_DELETE_FAILED,
-                        "Error",
-                        JOptionPane.ERROR_MESSAGE);
-            }
+            runWrite("Deleting student...", asyncDAO.deleteStudent(rollNumber), deleted -> {
+                if (deleted) {
+                    JOptionPane.showMessageDialog(this,
+                            Constants.Messages.STUDENT_DELETED,
+                            "Success",
+                            JOptionPane.INFORMATION_MESSAGE);
+                    clearFields();
+                    tableModel.applyDelete(rollNumber);
+                    analytics.applyDelete(rollNumber);
+                } else {
+                    JOptionPane.showMessageDialog(this,
+                            Constants.Messages.ERROR_DELETE_FAILED,
+                            "Error",
+                            JOptionPane.ERROR_MESSAGE);
+                }
+            });
         }
     }
 
@@ -520,25 +698,18 @@ public class StudentFrame extends JFrame {
             return;
         }
 
-        tableModel.setRowCount(0);
-
-        // Try searching by roll number first
-        Student student = studentDAO.getStudentByRollNumber(searchText);
-
-        if (student != null) {
-            Object[] row = {
-                    student.getRollNumber(),
-                    student.getName(),
-                    student.getEmail(),
-                    student.getPhone(),
-                    student.getCourse(),
-                    student.getMarks()
-            };
-            tableModel.addRow(row);
-        } else {
-            // Search by name
-            List<Student> students = studentDAO.searchStudentsByName(searchText);
+        // Try searching by roll number first, then by name
+        CompletableFuture<List<Student>> search = asyncDAO.getStudentByRollNumber(searchText)
+                .thenCompose(student -> student != null
+                        ? CompletableFuture.completedFuture(Collections.singletonList(student))
+                        : asyncDAO.searchStudentsByName(searchText));
 
+        // A newer search makes any older one stale
+        cancelPendingSearch();
+        pendingSearch = search;
+
+        runAsync("Searching...", search, students -> {
+            pendingSearch = null;
             if (students.isEmpty()) {
                 JOptionPane.showMessageDialog(this,
                         Constants.Messages.ERROR_NO_RESULTS + searchText,
@@ -546,23 +717,76 @@ public class StudentFrame extends JFrame {
                         JOptionPane.INFORMATION_MESSAGE);
                 loadStudentData();
             } else {
-                for (Student s : students) {
-                    Object[] row = {
-                            s.getRollNumber(),
-                            s.getName(),
-                            s.getEmail(),
-                            s.getPhone(),
-                            s.getCourse(),
-                            s.getMarks()
-                    };
-                    tableModel.addRow(row);
-                }
+                showStudents(students);
             }
-        }
+        });
 
         txtSearch.setText("");
     }
 
+    private void cancelPendingSearch() {
+        if (pendingSearch != null) {
+            pendingSearch.cancel(false);
+            pendingSearch = null;
+        }
+    }
+
+    // ==================== BACKGROUND WORK ====================
+
+    /**
+     * Run a database write off the EDT with the form's write buttons disabled,
+     * so the same change cannot be submitted twice
+     */
+    private <T> void runWrite(String status, CompletableFuture<T> future, Consumer<T> onSuccess) {
+        setWriteButtonsEnabled(false);
+        runAsync(status, future.whenComplete((result, error) -> SwingUtilities
+                .invokeLater(() -> setWriteButtonsEnabled(true))), onSuccess);
+    }
+
+    /**
+     * Show progress while a future runs, then apply its result on the EDT.
+     * Cancelled (stale) futures are ignored; failures are reported in a dialog.
+     */
+    private <T> void runAsync(String status, CompletableFuture<T> future, Consumer<T> onSuccess) {
+        beginBusy(status);
+        future.whenComplete((result, error) -> SwingUtilities.invokeLater(() -> {
+            endBusy();
+            if (future.isCancelled()) {
+                return;
+            }
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause()
+                        : error;
+                JOptionPane.showMessageDialog(this,
+                        Constants.Messages.ERROR_DB_CONNECTION + "\n" + cause.getMessage(),
+                        "Error",
+                        JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            onSuccess.accept(result);
+        }));
+    }
+
+    private void beginBusy(String status) {
+        busyCount++;
+        progressBar.setString(status);
+        progressBar.setVisible(true);
+    }
+
+    private void endBusy() {
+        busyCount--;
+        if (busyCount == 0) {
+            progressBar.setVisible(false);
+        }
+    }
+
+    private void setWriteButtonsEnabled(boolean enabled) {
+        btnAdd.setEnabled(enabled);
+        btnUpdate.setEnabled(enabled);
+        btnDelete.setEnabled(enabled);
+    }
+
     /**
      * Clear all input fields
      */
@@ -578,62 +802,26 @@ public class StudentFrame extends JFrame {
     }
 
     /**
-     * Validate input fields
+     * Validate the form (every field, all problems listed in one dialog)
+     *
+     * @return Student from the form, or null if it is invalid
      */
-    private boolean validateInput() {
-        // Check empty fields
-        if (txtRollNumber.getText().trim().isEmpty() ||
-                txtName.getText().trim().isEmpty() ||
-                txtEmail.getText().trim().isEmpty() ||
-                txtPhone.getText().trim().isEmpty() ||
-                txtCourse.getText().trim().isEmpty() ||
-                txtMarks.getText().trim().isEmpty()) {
-
-            JOptionPane.showMessageDialog(this,
-                    Constants.Messages.VALIDATION_ALL_REQUIRED,
-                    "Validation Error",
-                    JOptionPane.ERROR_MESSAGE);
-            return false;
-        }
-
-        // Validate email format
+    private Student readForm() {
+        String rollNumber = txtRollNumber.getText().trim();
+        String name = txtName.getText().trim();
         String email = txtEmail.getText().trim();
-        if (!email.matches(Constants.Validation.EMAIL_PATTERN)) {
-            JOptionPane.showMessageDialog(this,
-                    Constants.Messages.VALIDATION_INVALID_EMAIL,
-                    "Validation Error",
-                    JOptionPane.ERROR_MESSAGE);
-            return false;
-        }
-
-        // Validate phone number
         String phone = txtPhone.getText().trim();
-        if (!phone.matches(Constants.Validation.PHONE_PATTERN)) {
-            JOptionPane.showMessageDialog(this,
-                    Constants.Messages.VALIDATION_INVALID_PHONE,
-                    "Validation Error",
-                    JOptionPane.ERROR_MESSAGE);
-            return false;
-        }
+        String course = txtCourse.getText().trim();
 
-        // Validate marks
-        try {
-            double marks = Double.parseDouble(txtMarks.getText().trim());
-            if (marks < Constants.Validation.MIN_MARKS || marks > Constants.Validation.MAX_MARKS) {
-                JOptionPane.showMessageDialog(this,
-                        Constants.Messages.VALIDATION_INVALID_MARKS,
-                        "Validation Error",
-                        JOptionPane.ERROR_MESSAGE);
-                return false;
-            }
-        } catch (NumberFormatException e) {
+        StudentValidator.validateFields(rollNumber, name, email, phone, course, txtMarks.getText().trim(),
+                formValidation);
+        if (!formValidation.isValid()) {
             JOptionPane.showMessageDialog(this,
-                    Constants.Messages.VALIDATION_INVALID_MARKS_FORMAT,
+                    String.join("\n", formValidation.getMessages()),
                     "Validation Error",
                     JOptionPane.ERROR_MESSAGE);
-            return false;
+            return null;
         }
-
-        return true;
+        return new Student(rollNumber, name, email, phone, course, formValidation.getMarks());
     }
 }
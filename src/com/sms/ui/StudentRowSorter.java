@@ -0,0 +1,585 @@
+package com.sms.ui;
+
+import javax.swing.RowSorter;
+import javax.swing.SortOrder;
+import java.text.CollationKey;
+import java.text.Collator;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * StudentRowSorter - RowSorter for the student table's list mode
+ * Instead of TableRowSorter's boxed values and per-compare getValueAt calls,
+ * each sorted column is reduced once to an int rank per row:
+ * - Marks: primitive double order
+ * - Name: accent- and case-folded sort keys
+ * - Course: collation keys of the few distinct (dictionary) values
+ * - Roll Number, Phone: numeric-aware keys (CS2 before CS10)
+ * - Email: case-insensitive
+ * and the int[] of model rows is ordered by stable counting sorts over those
+ * ranks, one pass per sort key (least significant first). Ranks are reused
+ * until the rows change, so re-sorting is linear time.
+ *
+ * Single-row inserts, updates and deletes (the table's in-place updates)
+ * do not re-sort: the row is moved to its place by binary search over the
+ * current order, comparing sort keys directly, and only the ranks of the
+ * changed column are dropped. Larger changes re-sort.
+ *
+ * In paged mode the rows are not all in memory, so the sorter keeps model
+ * (roll number) order and ignores page arrivals; StudentFrame loads every row into list mode first
+ * (StudentTableModel.loadAllStudents()) when a header is clicked there.
+ *
+ * Like TableRowSorter, clicking a header sorts ascending, then descending;
+ * up to three columns take part (most recently clicked first).
+ */
+public class StudentRowSorter extends RowSorter<StudentTableModel> {
+
+    private static final int MAX_SORT_KEYS = 3;
+    // More changed rows than this (or 1/32 of the rows) re-sort instead of moving rows one at a time
+    private static final int MAX_INCREMENTAL_ROWS = 64;
+
+    private final StudentTableModel model;
+    private List<SortKey> sortKeys = Collections.emptyList();
+
+    // null = model order
+    private int[] viewToModel;
+    private int[] modelToView;
+
+    // Per-column ranks for the current rows (null = not computed / stale)
+    private final int[][] ranks;
+    private final Collator collator;
+
+    public StudentRowSorter(StudentTableModel model) {
+        this.model = model;
+        this.ranks = new int[model.getColumnCount()][];
+        this.collator = Collator.getInstance();
+        this.collator.setStrength(Collator.SECONDARY);
+    }
+
+    @Override
+    public StudentTableModel getModel() {
+        return model;
+    }
+
+    // ==================== SORT KEYS ====================
+
+    @Override
+    public void toggleSortOrder(int column) {
+        List<SortKey> keys = new ArrayList<>(sortKeys);
+        SortOrder order = SortOrder.ASCENDING;
+        for (int i = 0; i < keys.size(); i++) {
+            if (keys.get(i).getColumn() == column) {
+                if (i == 0 && keys.get(i).getSortOrder() == SortOrder.ASCENDING) {
+                    order = SortOrder.DESCENDING;
+                }
+                keys.remove(i);
+                break;
+            }
+        }
+        keys.add(0, new SortKey(column, order));
+        if (keys.size() > MAX_SORT_KEYS) {
+            keys = keys.subList(0, MAX_SORT_KEYS);
+        }
+        setSortKeys(keys);
+    }
+
+    @Override
+    public void setSortKeys(List<? extends SortKey> keys) {
+        List<SortKey> copy = keys == null ? Collections.<SortKey>emptyList()
+                : Collections.unmodifiableList(new ArrayList<SortKey>(keys));
+        if (!copy.equals(sortKeys)) {
+            sortKeys = copy;
+            fireSortOrderChanged();
+            sort();
+        }
+    }
+
+    @Override
+    public List<? extends SortKey> getSortKeys() {
+        return sortKeys;
+    }
+
+    // ==================== INDEX CONVERSION ====================
+
+    @Override
+    public int convertRowIndexToModel(int index) {
+        if (viewToModel == null) {
+            checkRow(index);
+            return index;
+        }
+        return viewToModel[index];
+    }
+
+    @Override
+    public int convertRowIndexToView(int index) {
+        if (modelToView == null) {
+            checkRow(index);
+            return index;
+        }
+        return index < 0 || index >= modelToView.length ? -1 : modelToView[index];
+    }
+
+    @Override
+    public int getViewRowCount() {
+        return model.getRowCount();
+    }
+
+    @Override
+    public int getModelRowCount() {
+        return model.getRowCount();
+    }
+
+    // ==================== MODEL CHANGES ====================
+
+    @Override
+    public void modelStructureChanged() {
+        rowsChanged();
+    }
+
+    @Override
+    public void allRowsChanged() {
+        rowsChanged();
+    }
+
+    @Override
+    public void rowsInserted(int firstRow, int endRow) {
+        invalidateRanks();
+        if (viewToModel == null) {
+            return; // model order (paged mode or unsorted): nothing to move
+        }
+        int count = endRow - firstRow + 1;
+        int[] previous = viewToModel;
+        int oldSize = previous.length;
+        if (!isSmallChange(count) || oldSize + count != model.getRowCount()) {
+            sort();
+            return;
+        }
+        int[] order = new int[oldSize + count];
+        for (int view = 0; view < oldSize; view++) {
+            int row = previous[view];
+            order[view] = row >= firstRow ? row + count : row;
+        }
+        List<SortKey> active = activeKeys();
+        int size = oldSize;
+        for (int row = firstRow; row <= endRow; row++) {
+            int at = insertionPoint(order, size, row, active);
+            System.arraycopy(order, at, order, at + 1, size - at);
+            order[at] = row;
+            size++;
+        }
+        setOrder(order);
+        fireRowSorterChanged(previous);
+    }
+
+    @Override
+    public void rowsDeleted(int firstRow, int endRow) {
+        invalidateRanks();
+        if (viewToModel == null) {
+            return;
+        }
+        int count = endRow - firstRow + 1;
+        int[] previous = viewToModel;
+        if (previous.length - count != model.getRowCount()) {
+            sort();
+            return;
+        }
+        int[] order = new int[previous.length - count];
+        int size = 0;
+        for (int row : previous) {
+            if (row < firstRow) {
+                order[size++] = row;
+            } else if (row > endRow) {
+                order[size++] = row - count;
+            }
+        }
+        setOrder(order);
+        fireRowSorterChanged(previous);
+    }
+
+    @Override
+    public void rowsUpdated(int firstRow, int endRow) {
+        invalidateRanks();
+        rowsMoved(firstRow, endRow);
+    }
+
+    @Override
+    public void rowsUpdated(int firstRow, int endRow, int column) {
+        if (column < 0 || column >= ranks.length) {
+            rowsUpdated(firstRow, endRow);
+            return;
+        }
+        ranks[column] = null;
+        if (isSortedBy(column)) {
+            rowsMoved(firstRow, endRow);
+        }
+    }
+
+    // Values of these rows changed: move each to its new place in the order
+    private void rowsMoved(int firstRow, int endRow) {
+        if (viewToModel == null) {
+            return; // includes paged mode, where updates are page arrivals
+        }
+        if (!isSmallChange(endRow - firstRow + 1)) {
+            sort();
+            return;
+        }
+        int[] previous = viewToModel;
+        int[] order = previous.clone();
+        List<SortKey> active = activeKeys();
+        boolean moved = false;
+        for (int row = firstRow; row <= endRow; row++) {
+            int from = modelToView[row];
+            System.arraycopy(order, from + 1, order, from, order.length - from - 1);
+            int at = insertionPoint(order, order.length - 1, row, active);
+            System.arraycopy(order, at, order, at + 1, order.length - at - 1);
+            order[at] = row;
+            if (at != from) {
+                moved = true;
+                setOrder(order);
+            }
+        }
+        if (moved) {
+            fireRowSorterChanged(previous);
+        }
+    }
+
+    private void rowsChanged() {
+        invalidateRanks();
+        sort();
+    }
+
+    private void invalidateRanks() {
+        for (int i = 0; i < ranks.length; i++) {
+            ranks[i] = null;
+        }
+    }
+
+    private boolean isSmallChange(int rows) {
+        return rows <= MAX_INCREMENTAL_ROWS || rows <= model.getRowCount() / 32;
+    }
+
+    private boolean isSortedBy(int column) {
+        for (SortKey key : activeKeys()) {
+            if (key.getColumn() == column) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void setOrder(int[] order) {
+        viewToModel = order;
+        if (modelToView == null || modelToView.length != order.length) {
+            modelToView = new int[order.length];
+        }
+        for (int view = 0; view < order.length; view++) {
+            modelToView[order[view]] = view;
+        }
+    }
+
+    /**
+     * Position for a row among the first size entries of a sorted order:
+     * after every row that sorts before it or ties with a lower model index,
+     * as the stable full sort would place it
+     */
+    private int insertionPoint(int[] order, int size, int row, List<SortKey> active) {
+        StudentColumns rows = model.getListRows();
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int other = order[mid];
+            int cmp = compareRows(rows, other, row, active);
+            if (cmp < 0 || cmp == 0 && other < row) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Same order as the ranks, for rows whose ranks may be stale
+    private int compareRows(StudentColumns rows, int a, int b, List<SortKey> active) {
+        for (SortKey key : active) {
+            int cmp;
+            switch (key.getColumn()) {
+                case StudentTableModel.MARKS_COLUMN:
+                    cmp = Double.compare(rows.getMarks(a), rows.getMarks(b));
+                    break;
+                case StudentTableModel.COURSE_COLUMN:
+                    cmp = compareCourses(rows.getCourse(a), rows.getCourse(b));
+                    break;
+                default:
+                    cmp = textKey(rows, a, key.getColumn()).compareTo(textKey(rows, b, key.getColumn()));
+                    break;
+            }
+            if (cmp != 0) {
+                return key.getSortOrder() == SortOrder.DESCENDING ? -cmp : cmp;
+            }
+        }
+        return 0;
+    }
+
+    private int compareCourses(String a, String b) {
+        if (a == null || b == null) {
+            return a == null ? (b == null ? 0 : -1) : 1;
+        }
+        return collator.compare(a, b);
+    }
+
+    // ==================== SORTING ====================
+
+    /**
+     * Re-sort the current rows by the current keys
+     */
+    public void sort() {
+        int[] previous = viewToModel;
+        StudentColumns rows = model.getListRows();
+        List<SortKey> active = activeKeys();
+
+        if (rows == null || active.isEmpty() || rows.size() != model.getRowCount()) {
+            viewToModel = null;
+            modelToView = null;
+        } else {
+            int size = rows.size();
+            int[] order = new int[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            // LSD: stable counting sort by the least significant key first
+            int[] buffer = new int[size];
+            for (int k = active.size() - 1; k >= 0; k--) {
+                SortKey key = active.get(k);
+                countingSort(order, buffer, ranksFor(rows, key.getColumn()),
+                        key.getSortOrder() == SortOrder.DESCENDING);
+                int[] swap = order;
+                order = buffer;
+                buffer = swap;
+            }
+
+            setOrder(order);
+        }
+
+        fireRowSorterChanged(previous);
+    }
+
+    private List<SortKey> activeKeys() {
+        List<SortKey> active = new ArrayList<>(sortKeys.size());
+        for (SortKey key : sortKeys) {
+            if (key.getSortOrder() != SortOrder.UNSORTED) {
+                active.add(key);
+            }
+        }
+        return active;
+    }
+
+    /**
+     * Stable counting sort of row indexes by rank (ranks are small, non-negative)
+     */
+    private static void countingSort(int[] from, int[] to, int[] rank, boolean descending) {
+        int top = 0;
+        for (int row : from) {
+            top = Math.max(top, rank[row]);
+        }
+        int[] starts = new int[top + 2];
+        for (int row : from) {
+            starts[(descending ? top - rank[row] : rank[row]) + 1]++;
+        }
+        for (int r = 0; r <= top; r++) {
+            starts[r + 1] += starts[r];
+        }
+        for (int row : from) {
+            to[starts[descending ? top - rank[row] : rank[row]]++] = row;
+        }
+    }
+
+    private int[] ranksFor(StudentColumns rows, int column) {
+        int[] rank = ranks[column];
+        if (rank == null) {
+            switch (column) {
+                case StudentTableModel.MARKS_COLUMN:
+                    rank = rankMarks(rows);
+                    break;
+                case StudentTableModel.COURSE_COLUMN:
+                    rank = rankCourses(rows);
+                    break;
+                default:
+                    rank = rankText(textKeys(rows, column));
+                    break;
+            }
+            ranks[column] = rank;
+        }
+        return rank;
+    }
+
+    // Rank = index of the row's marks among the distinct values
+    private static int[] rankMarks(StudentColumns rows) {
+        int size = rows.size();
+        double[] sorted = new double[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = rows.getMarks(i);
+        }
+        Arrays.sort(sorted);
+        int distinct = 0;
+        for (int i = 0; i < size; i++) {
+            if (i == 0 || Double.compare(sorted[i], sorted[distinct - 1]) != 0) {
+                sorted[distinct++] = sorted[i];
+            }
+        }
+
+        int[] rank = new int[size];
+        for (int i = 0; i < size; i++) {
+            rank[i] = Arrays.binarySearch(sorted, 0, distinct, rows.getMarks(i));
+        }
+        return rank;
+    }
+
+    // Course is dictionary encoded: collate the few distinct values, then map
+    private int[] rankCourses(StudentColumns rows) {
+        int distinct = rows.getCourseCount();
+        CollationKey[] keys = new CollationKey[distinct];
+        for (int id = 0; id < distinct; id++) {
+            keys[id] = collator.getCollationKey(rows.getCourseById(id));
+        }
+        Integer[] ids = new Integer[distinct];
+        for (int id = 0; id < distinct; id++) {
+            ids[id] = id;
+        }
+        Arrays.sort(ids, (a, b) -> keys[a].compareTo(keys[b]));
+        int[] rankOfId = new int[distinct];
+        int current = 0; // 0 is reserved for null
+        for (int r = 0; r < distinct; r++) {
+            if (r == 0 || keys[ids[r]].compareTo(keys[ids[r - 1]]) != 0) {
+                current++;
+            }
+            rankOfId[ids[r]] = current;
+        }
+
+        int[] rank = new int[rows.size()];
+        for (int i = 0; i < rank.length; i++) {
+            int id = rows.getCourseId(i);
+            rank[i] = id < 0 ? 0 : rankOfId[id];
+        }
+        return rank;
+    }
+
+    // Rank = index of the row's key among the distinct keys
+    private static int[] rankText(String[] keys) {
+        KeyedRow[] sorted = new KeyedRow[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            sorted[i] = new KeyedRow(keys[i], i);
+        }
+        Arrays.sort(sorted);
+
+        int[] rank = new int[keys.length];
+        int current = -1;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || !sorted[i].key.equals(sorted[i - 1].key)) {
+                current++;
+            }
+            rank[sorted[i].row] = current;
+        }
+        return rank;
+    }
+
+    private static String[] textKeys(StudentColumns rows, int column) {
+        String[] keys = new String[rows.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = textKey(rows, i, column);
+        }
+        return keys;
+    }
+
+    private static String textKey(StudentColumns rows, int row, int column) {
+        switch (column) {
+            case StudentTableModel.NAME_COLUMN:
+                return foldedKey(rows.getName(row));
+            case StudentTableModel.EMAIL_COLUMN:
+                return rows.getEmail(row) == null ? "" : rows.getEmail(row).toLowerCase();
+            case StudentTableModel.PHONE_COLUMN:
+                return naturalKey(rows.getPhone(row));
+            default:
+                return naturalKey(rows.getRollNumber(row));
+        }
+    }
+
+    /**
+     * Sort key ignoring case and accents ("Élodie" sorts with "elodie"), so
+     * plain String order is close to locale collation at a fraction of the cost
+     */
+    static String foldedKey(String value) {
+        if (value == null) {
+            return "";
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) >= 128) {
+                String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+                StringBuilder key = new StringBuilder(decomposed.length());
+                for (int j = 0; j < decomposed.length(); j++) {
+                    char c = decomposed.charAt(j);
+                    if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                        key.append(c);
+                    }
+                }
+                return key.toString().toLowerCase();
+            }
+        }
+        return value.toLowerCase();
+    }
+
+    /**
+     * Sort key in which digit runs order by numeric value ("CS2" before
+     * "CS10"): each run is written as its length (a control char, so it
+     * sorts first) followed by its digits without leading zeros
+     */
+    static String naturalKey(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder key = new StringBuilder(value.length() + 4);
+        int i = 0;
+        while (i < value.length()) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                key.append(Character.toLowerCase(c));
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < value.length() && value.charAt(i) >= '0' && value.charAt(i) <= '9') {
+                i++;
+            }
+            while (start < i - 1 && value.charAt(start) == '0') {
+                start++;
+            }
+            key.append((char) (i - start));
+            key.append(value, start, i);
+        }
+        return key.toString();
+    }
+
+    private void checkRow(int index) {
+        if (index < 0 || index >= model.getRowCount()) {
+            throw new IndexOutOfBoundsException("Invalid index " + index);
+        }
+    }
+
+    private static final class KeyedRow implements Comparable<KeyedRow> {
+        final String key;
+        final int row;
+
+        KeyedRow(String key, int row) {
+            this.key = key;
+            this.row = row;
+        }
+
+        @Override
+        public int compareTo(KeyedRow other) {
+            return key.compareTo(other.key);
+        }
+    }
+}
@@ -0,0 +1,665 @@
+package com.sms.ui;
+
+import com.sms.dao.StudentRepository;
+import com.sms.model.Student;
+import com.sms.util.Constants;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * StudentTableModel - Table model for the student records table
+ * Two modes:
+ * - Paged (all students): only the row count is known up front; pages of
+ * Constants.Table.PAGE_SIZE rows are fetched in the background with keyset
+ * pagination as the table asks for them, kept in a small LRU cache, and the
+ * next page is prefetched. Rows not loaded yet render blank.
+ * - List (search results, or every student once the table is sorted): shows
+ * a fixed list of students.
+ *
+ * Writes are applied in place with applyInsert/applyUpdate/applyDelete, which
+ * use a roll number index and fire single-row events, so the table keeps its
+ * sort, selection and scroll position and no query is needed. In paged mode
+ * an insert or delete changes the size of one page; page start keys never
+ * move, and the per-page size changes are remembered until the next reload.
+ * Applying the same insert or delete twice has no further effect.
+ *
+ * Rows are held column-wise in StudentColumns (primitive marks, dictionary
+ * encoded courses, pooled UTF-8 text), so cells are read without a Student
+ * object per row.
+ *
+ * All public methods must be called on the Event Dispatch Thread.
+ */
+public class StudentTableModel extends AbstractTableModel {
+
+    private static final long serialVersionUID = 1L;
+
+    static final int ROLL_NUMBER_COLUMN = 0;
+    static final int NAME_COLUMN = 1;
+    static final int EMAIL_COLUMN = 2;
+    static final int PHONE_COLUMN = 3;
+    static final int COURSE_COLUMN = 4;
+    static final int MARKS_COLUMN = 5;
+
+    private final transient StudentRepository repository;
+    private final int pageSize;
+
+    // Background loader; its tasks run one at a time, in order
+    private final transient ExecutorService loader = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "sms-table-loader");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // ----- EDT-only state -----
+    private boolean paged = false;
+    private int rowCount = 0;
+    private StudentColumns fixedRows = new StudentColumns();
+    private final Map<Integer, StudentColumns> pages;
+    private final Set<Integer> pendingPages = new HashSet<>();
+    private int generation = 0;
+
+    // List mode: normalized roll number -> row
+    private final Map<String, Integer> rowOfRoll = new HashMap<>();
+    // Paged mode: normalized roll number -> loaded page holding it
+    private final Map<String, Integer> pageOfRoll = new HashMap<>();
+    // Paged mode: known page start keys (page holds rolls after its key, up to the next one)
+    private final TreeMap<String, Integer> pageOfStartKey = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    // Paged mode: page -> rows inserted minus rows deleted since the last reload
+    private final TreeMap<Integer, Integer> sizeDeltas = new TreeMap<>();
+    // Paged mode: roll numbers inserted (true) or deleted (false) since the last
+    // reload, so a change applied twice (own write, then the change feed) counts once
+    private final Map<String, Boolean> appliedSinceReload = new HashMap<>();
+    // Bumped by every insert/delete; page loads requested before it are redone
+    private int structureVersion = 0;
+
+    // Offset found by the last locate() call
+    private int locatedOffset = 0;
+
+    // Page the table asked for most recently; queued loads far from it are skipped
+    private volatile int lastRequestedPage = 0;
+
+    // ----- Loader-thread-only state -----
+    // page index -> roll number the page starts after ("" for page 0)
+    private final TreeMap<Integer, String> pageStarts = new TreeMap<>();
+    // Sparse checkpoints: rows up to and including the key -> key (null = not fetched)
+    private TreeMap<Integer, String> checkpoints;
+    // Page size changes the checkpoints were fetched under
+    private TreeMap<Integer, Integer> checkpointDeltas;
+
+    public StudentTableModel(StudentRepository repository) {
+        this(repository, Constants.Table.PAGE_SIZE, Constants.Table.CACHED_PAGES);
+    }
+
+    public StudentTableModel(StudentRepository repository, int pageSize, int cachedPages) {
+        this.repository = repository;
+        this.pageSize = pageSize;
+        this.pages = new LinkedHashMap<Integer, StudentColumns>(cachedPages * 2, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, StudentColumns> eldest) {
+                if (size() > cachedPages) {
+                    StudentColumns rows = eldest.getValue();
+                    for (int i = 0; i < rows.size(); i++) {
+                        pageOfRoll.remove(normalize(rows.getRollNumber(i)), eldest.getKey());
+                    }
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Switch to paged mode over the whole table. Returns immediately; the row
+     * count and the first page arrive in the background.
+     */
+    public void showAllStudents() {
+        int gen = resetState(true);
+        fireTableDataChanged();
+
+        loader.execute(() -> {
+            pageStarts.clear();
+            pageStarts.put(0, "");
+            checkpoints = null;
+            int count = repository.countStudents();
+            SwingUtilities.invokeLater(() -> {
+                if (gen == generation) {
+                    rowCount = count;
+                    fireTableDataChanged();
+                }
+            });
+        });
+    }
+
+    /**
+     * Switch to list mode showing exactly these students
+     *
+     * @param students Rows to show
+     */
+    public void showStudents(List<Student> students) {
+        resetState(false);
+        fixedRows.replaceAll(students);
+        rowCount = fixedRows.size();
+        reindexRows(0);
+        fireTableDataChanged();
+    }
+
+    /**
+     * Switch to list mode holding every student, so the whole table can be
+     * sorted by StudentRowSorter (paged rows are not all in memory). Rows are
+     * streamed in the background; the current view stays until they are in.
+     *
+     * @return Completes with the row count on the EDT once the rows are shown;
+     *         cancelled if another show call replaced this one
+     */
+    public CompletableFuture<Integer> loadAllStudents() {
+        CompletableFuture<Integer> done = new CompletableFuture<>();
+        int gen = generation;
+        int version = structureVersion;
+
+        loader.execute(() -> {
+            StudentColumns all = new StudentColumns();
+            try {
+                repository.forEachStudent(all::append);
+            } catch (RuntimeException e) {
+                done.completeExceptionally(e);
+                return;
+            }
+            SwingUtilities.invokeLater(() -> {
+                if (gen != generation) {
+                    done.cancel(false);
+                    return;
+                }
+                if (version != structureVersion) {
+                    // A row was inserted or deleted meanwhile; read again
+                    loadAllStudents().whenComplete((count, error) -> {
+                        if (error != null) {
+                            done.completeExceptionally(error);
+                        } else {
+                            done.complete(count);
+                        }
+                    });
+                    return;
+                }
+                resetState(false);
+                fixedRows = all;
+                rowCount = all.size();
+                reindexRows(0);
+                fireTableDataChanged();
+                done.complete(rowCount);
+            });
+        });
+        return done;
+    }
+
+    // ==================== IN-PLACE UPDATES ====================
+
+    /**
+     * Show a newly added student without reloading. List mode appends it;
+     * paged mode inserts it in roll number order (or reloads if its page
+     * boundaries are not known yet).
+     */
+    public void applyInsert(Student student) {
+        Student row = new Student(student);
+        String key = normalize(row.getRollNumber());
+
+        if (!paged) {
+            if (rowOfRoll.containsKey(key)) {
+                applyUpdate(row);
+                return;
+            }
+            fixedRows.append(row);
+            rowOfRoll.put(key, rowCount);
+            rowCount++;
+            fireTableRowsInserted(rowCount - 1, rowCount - 1);
+            return;
+        }
+
+        if (pageOfRoll.containsKey(key) || Boolean.TRUE.equals(appliedSinceReload.get(key))) {
+            applyUpdate(row);
+            return;
+        }
+        Integer page = owningPage(row.getRollNumber());
+        if (page == null) {
+            showAllStudents();
+            return;
+        }
+
+        int offset;
+        StudentColumns rows = pages.get(page);
+        if (rows != null) {
+            offset = insertionPoint(rows, row.getRollNumber());
+            rows.insert(offset, row);
+            pageOfRoll.put(key, page);
+        } else {
+            offset = pageSize(page); // lands at the end; real order arrives with the page
+        }
+        int modelRow = startRow(page) + offset;
+
+        appliedSinceReload.put(key, Boolean.TRUE);
+        sizeDeltas.merge(page, 1, Integer::sum);
+        rowCount++;
+        structureVersion++;
+        fireTableRowsInserted(modelRow, modelRow);
+    }
+
+    /**
+     * Show an updated student without reloading; repaints only its row.
+     * Rows not shown or not loaded need nothing (they are read fresh later).
+     */
+    public void applyUpdate(Student student) {
+        Student row = new Student(student);
+        String key = normalize(row.getRollNumber());
+
+        if (!paged) {
+            Integer index = rowOfRoll.get(key);
+            if (index != null) {
+                fixedRows.set(index, row);
+                fireTableRowsUpdated(index, index);
+            }
+            return;
+        }
+
+        Integer page = pageOfRoll.get(key);
+        StudentColumns rows = page == null ? null : pages.get(page);
+        if (rows == null) {
+            return;
+        }
+        int offset = indexOf(rows, key);
+        if (offset >= 0) {
+            rows.set(offset, row);
+            int modelRow = startRow(page) + offset;
+            fireTableRowsUpdated(modelRow, modelRow);
+        }
+    }
+
+    /**
+     * Remove a deleted student without reloading
+     */
+    public void applyDelete(String rollNumber) {
+        String key = normalize(rollNumber);
+
+        if (!paged) {
+            Integer index = rowOfRoll.remove(key);
+            if (index != null) {
+                fixedRows.remove(index);
+                rowCount--;
+                reindexRows(index);
+                fireTableRowsDeleted(index, index);
+            }
+            return;
+        }
+
+        if (Boolean.FALSE.equals(appliedSinceReload.get(key))) {
+            return;
+        }
+        int modelRow;
+        Integer page = pageOfRoll.remove(key);
+        StudentColumns rows = page == null ? null : pages.get(page);
+        if (rows != null) {
+            int offset = indexOf(rows, key);
+            if (offset < 0) {
+                return;
+            }
+            rows.remove(offset);
+            modelRow = startRow(page) + offset;
+        } else {
+            page = owningPage(rollNumber);
+            if (page == null) {
+                showAllStudents();
+                return;
+            }
+            modelRow = startRow(page) + pageSize(page) - 1; // exact position unknown until loaded
+        }
+
+        appliedSinceReload.put(key, Boolean.FALSE);
+        sizeDeltas.merge(page, -1, Integer::sum);
+        rowCount--;
+        structureVersion++;
+        fireTableRowsDeleted(modelRow, modelRow);
+    }
+
+    public boolean isPaged() {
+        return paged;
+    }
+
+    // List mode rows, for StudentRowSorter (null in paged mode; see loadAllStudents())
+    StudentColumns getListRows() {
+        return paged ? null : fixedRows;
+    }
+
+    /**
+     * Get the student on a model row
+     *
+     * @param row Model row index
+     * @return Student (a copy), or null if its page has not been loaded yet (a load is queued)
+     */
+    public Student getStudentAt(int row) {
+        StudentColumns rows = locate(row);
+        return rows == null ? null : rows.get(locatedOffset);
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return Constants.Table.COLUMN_NAMES.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return Constants.Table.COLUMN_NAMES[column];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        StudentColumns rows = locate(row);
+        if (rows == null) {
+            return null;
+        }
+        int offset = locatedOffset;
+        switch (column) {
+            case ROLL_NUMBER_COLUMN:
+                return rows.getRollNumber(offset);
+            case NAME_COLUMN:
+                return rows.getName(offset);
+            case EMAIL_COLUMN:
+                return rows.getEmail(offset);
+            case PHONE_COLUMN:
+                return rows.getPhone(offset);
+            case COURSE_COLUMN:
+                return rows.getCourse(offset);
+            case MARKS_COLUMN:
+                return rows.getMarks(offset);
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return column == MARKS_COLUMN ? Double.class : String.class;
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false; // Make table read-only
+    }
+
+    /**
+     * Find the rows holding a model row; its offset in them is left in
+     * locatedOffset
+     *
+     * @return Rows, or null if the page has not been loaded yet (a load is queued)
+     */
+    private StudentColumns locate(int row) {
+        if (row < 0 || row >= rowCount) {
+            return null;
+        }
+        if (!paged) {
+            locatedOffset = row;
+            return fixedRows;
+        }
+
+        int page = pageOf(row);
+        lastRequestedPage = page;
+        StudentColumns rows = pages.get(page);
+        if (rows == null) {
+            requestPage(page);
+            return null;
+        }
+
+        // Prefetch the next page so scrolling down rarely shows blank rows
+        if (startRow(page + 1) < rowCount && !pages.containsKey(page + 1)) {
+            requestPage(page + 1);
+        }
+
+        int offset = row - startRow(page);
+        if (offset >= rows.size()) {
+            return null;
+        }
+        locatedOffset = offset;
+        return rows;
+    }
+
+    // ==================== PAGE LOADING ====================
+
+    private int resetState(boolean pagedMode) {
+        generation++;
+        paged = pagedMode;
+        rowCount = 0;
+        fixedRows = new StudentColumns();
+        pages.clear();
+        pendingPages.clear();
+        lastRequestedPage = 0;
+        rowOfRoll.clear();
+        pageOfRoll.clear();
+        pageOfStartKey.clear();
+        pageOfStartKey.put("", 0);
+        sizeDeltas.clear();
+        appliedSinceReload.clear();
+        return generation;
+    }
+
+    private void requestPage(int page) {
+        if (!pendingPages.add(page)) {
+            return;
+        }
+        int gen = generation;
+        int version = structureVersion;
+        int limit = pageSize(page);
+        TreeMap<Integer, Integer> deltas = new TreeMap<>(sizeDeltas);
+
+        loader.execute(() -> {
+            List<Student> rows = null;
+            String startKey = null;
+            if (Math.abs(page - lastRequestedPage) <= 2) {
+                startKey = startKeyOf(page, deltas);
+                rows = limit > 0 ? repository.getStudentsPage(startKey, limit) : new ArrayList<>();
+                if (!rows.isEmpty()) {
+                    pageStarts.put(page + 1, rows.get(rows.size() - 1).getRollNumber());
+                }
+            }
+
+            List<Student> loaded = rows;
+            String loadedStart = startKey;
+            SwingUtilities.invokeLater(() -> {
+                if (gen != generation) {
+                    return;
+                }
+                pendingPages.remove(page);
+                if (loaded == null) {
+                    return; // skipped: the user scrolled away before it ran
+                }
+                if (version != structureVersion) {
+                    requestPage(page); // a row was inserted or deleted meanwhile
+                    return;
+                }
+                pages.put(page, new StudentColumns(loaded));
+                for (Student student : loaded) {
+                    pageOfRoll.put(normalize(student.getRollNumber()), page);
+                }
+                pageOfStartKey.put(loadedStart, page);
+                if (!loaded.isEmpty()) {
+                    pageOfStartKey.put(loaded.get(loaded.size() - 1).getRollNumber(), page + 1);
+                }
+
+                int first = startRow(page);
+                int last = Math.min(rowCount, first + pageSize(page)) - 1;
+                if (first <= last) {
+                    fireTableRowsUpdated(first, last);
+                }
+            });
+        });
+    }
+
+    // ==================== PAGE GEOMETRY (EDT) ====================
+
+    private int pageSize(int page) {
+        return pageSize + sizeDeltas.getOrDefault(page, 0);
+    }
+
+    // First model row of a page
+    private int startRow(int page) {
+        return startRow(page, pageSize, sizeDeltas);
+    }
+
+    private static int startRow(int page, int pageSize, TreeMap<Integer, Integer> deltas) {
+        int row = page * pageSize;
+        for (int delta : deltas.headMap(page).values()) {
+            row += delta;
+        }
+        return row;
+    }
+
+    // Page holding a model row
+    private int pageOf(int row) {
+        int page = row / pageSize;
+        if (sizeDeltas.isEmpty()) {
+            return page;
+        }
+        while (page > 0 && startRow(page) > row) {
+            page--;
+        }
+        while (startRow(page + 1) <= row) {
+            page++;
+        }
+        return page;
+    }
+
+    /**
+     * Page a roll number belongs to, if both of its boundaries are known:
+     * it holds the keys after its own start key, up to and including the
+     * next page's start key
+     */
+    private Integer owningPage(String rollNumber) {
+        Map.Entry<String, Integer> lower = pageOfStartKey.lowerEntry(rollNumber);
+        if (lower == null) {
+            return null;
+        }
+        int page = lower.getValue();
+        Map.Entry<String, Integer> upper = pageOfStartKey.ceilingEntry(rollNumber);
+        if (upper != null) {
+            return upper.getValue() == page + 1 ? page : null;
+        }
+        // Past every known start key: only safe if this is the last page
+        return startRow(page + 1) >= rowCount ? page : null;
+    }
+
+    private static int insertionPoint(StudentColumns rows, String rollNumber) {
+        int low = 0;
+        int high = rows.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (String.CASE_INSENSITIVE_ORDER.compare(rows.getRollNumber(mid), rollNumber) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int indexOf(StudentColumns rows, String key) {
+        for (int i = 0; i < rows.size(); i++) {
+            if (normalize(rows.getRollNumber(i)).equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // List mode: refresh the roll number index from a row onwards
+    private void reindexRows(int from) {
+        for (int i = from; i < fixedRows.size(); i++) {
+            rowOfRoll.put(normalize(fixedRows.getRollNumber(i)), i);
+        }
+    }
+
+    // MySQL compares roll numbers case-insensitively
+    private static String normalize(String rollNumber) {
+        return rollNumber == null ? "" : rollNumber.trim().toLowerCase();
+    }
+
+    /**
+     * Find the key a page starts after. Unknown boundaries (after a jump with
+     * the scrollbar) are filled in with one index-only key scan from the
+     * nearest known boundary or checkpoint, and remembered for later jumps.
+     * Checkpoints (every Constants.Table.CHECKPOINT_PAGES pages) are fetched
+     * on the first long jump, so a jump scans at most that many pages of keys
+     * however far it goes. Page sizes include the inserts/deletes applied
+     * since the last reload (deltas).
+     */
+    private String startKeyOf(int page, TreeMap<Integer, Integer> deltas) {
+        Map.Entry<Integer, String> known = pageStarts.floorEntry(page);
+        if (known.getKey() == page) {
+            return known.getValue();
+        }
+
+        int from = known.getKey();
+        int base = startRow(from, pageSize, deltas);
+        String afterKey = known.getValue();
+        int target = startRow(page, pageSize, deltas);
+
+        int interval = pageSize * Constants.Table.CHECKPOINT_PAGES;
+        if (target - base > interval) {
+            Map.Entry<Integer, String> checkpoint = checkpointsFor(interval, deltas).floorEntry(target);
+            if (checkpoint != null && checkpoint.getKey() > base) {
+                base = checkpoint.getKey();
+                afterKey = checkpoint.getValue();
+            }
+        }
+
+        List<String> keys = repository.getRollNumbersAfter(afterKey, target - base);
+        for (int p = from + 1; p <= page; p++) {
+            int index = startRow(p, pageSize, deltas) - base - 1;
+            if (index < 0) {
+                if (index == -1) {
+                    pageStarts.put(p, afterKey);
+                }
+                continue; // before the checkpoint; still unknown
+            }
+            if (index >= keys.size()) {
+                break;
+            }
+            pageStarts.put(p, keys.get(index));
+        }
+
+        // Table shrank since it was counted: start after the last key we have
+        String start = pageStarts.get(page);
+        if (start != null) {
+            return start;
+        }
+        return keys.isEmpty() ? afterKey : keys.get(keys.size() - 1);
+    }
+
+    // Fetched once per reload; again only if rows were inserted or deleted since
+    private TreeMap<Integer, String> checkpointsFor(int interval, TreeMap<Integer, Integer> deltas) {
+        if (checkpoints == null || !deltas.equals(checkpointDeltas)) {
+            checkpoints = new TreeMap<>();
+            int position = 0;
+            for (String key : repository.getRollNumberCheckpoints(interval)) {
+                position += interval;
+                checkpoints.put(position, key);
+            }
+            checkpointDeltas = deltas;
+        }
+        return checkpoints;
+    }
+}
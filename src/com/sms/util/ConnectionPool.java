@@ -0,0 +1,583 @@
+package com.sms.util;
+
+import com.sms.log.Log;
+import com.sms.log.Logger;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ConnectionPool Class - Bounded, thread-safe JDBC connection pool
+ * Hands out proxies whose close() returns the physical connection to the pool.
+ * Supports validation on borrow, idle eviction, max lifetime, acquire timeout,
+ * leak detection and pool statistics. Each physical connection keeps its
+ * NamedQuery statements prepared (see StatementCache and prepare()).
+ *
+ * A borrower that finds neither an idle connection nor free capacity waits
+ * on a condition that is signalled whenever a connection is returned or a
+ * slot is freed (a connection discarded or a connect failed), then checks
+ * both again until its deadline.
+ */
+public class ConnectionPool implements AutoCloseable {
+
+    private static final Logger LOG = Log.getLogger(ConnectionPool.class);
+
+    private final String url;
+    private final String username;
+    private final String password;
+    private final Config config;
+
+    // Idle connections, most recently used first (LIFO keeps hot connections warm)
+    private final LinkedBlockingDeque<PooledEntry> idle = new LinkedBlockingDeque<>();
+    private final Set<PooledEntry> borrowed = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    // Threads blocked in awaitAvailable()
+    private final AtomicInteger waitingThreads = new AtomicInteger();
+    // Signalled when an idle connection or a free slot appears
+    private final ReentrantLock availableLock = new ReentrantLock();
+    private final Condition available = availableLock.newCondition();
+    private final LatencyHistogram acquireTimes = new LatencyHistogram();
+    private final ScheduledExecutorService housekeeper;
+
+    private volatile boolean closed = false;
+
+    /**
+     * Create a pool for the given JDBC URL
+     *
+     * @param url      JDBC URL
+     * @param username Database user
+     * @param password Database password
+     * @param config   Pool settings
+     */
+    public ConnectionPool(String url, String username, String password, Config config) {
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.config = config;
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "sms-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        this.housekeeper.scheduleWithFixedDelay(this::housekeep,
+                config.housekeepingPeriodMs, config.housekeepingPeriodMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrow a connection, waiting up to the acquire timeout
+     *
+     * @return Connection proxy; close() returns it to the pool
+     * @throws SQLException if no connection becomes available in time or connect fails
+     */
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(config.acquireTimeoutMs);
+        try {
+            while (true) {
+                PooledEntry entry = idle.pollFirst();
+
+                if (entry == null) {
+                    if (!reserveSlot()) {
+                        awaitAvailable(deadline);
+                        continue;
+                    }
+                    entry = createEntry();
+                }
+
+                if (isExpired(entry) || !isUsable(entry)) {
+                    discard(entry);
+                    continue;
+                }
+
+                entry.borrowedAt = System.currentTimeMillis();
+                entry.borrowThread = Thread.currentThread().getName();
+                // Filling in a stack trace on every borrow is costly; only when asked for
+                entry.borrowTrace = config.leakDetectionThresholdMs > 0 && config.leakTraces
+                        ? new Throwable("Connection borrowed here")
+                        : null;
+                entry.leakReported = false;
+                borrowed.add(entry);
+
+                acquireTimes.record(System.nanoTime() - start);
+                return entry.newProxy();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection", e);
+        }
+    }
+
+    /**
+     * Get the cached prepared statement for a named query. Connections from a
+     * ConnectionPool reuse the statement prepared on their physical
+     * connection; any other connection gets a one-off statement.
+     *
+     * @param conn  Borrowed connection
+     * @param query Registered query
+     * @return Statement to use and close() as usual
+     * @throws SQLException if the statement cannot be prepared
+     */
+    public static PreparedStatement prepare(Connection conn, NamedQuery query) throws SQLException {
+        if (Proxy.isProxyClass(conn.getClass())) {
+            InvocationHandler handler = Proxy.getInvocationHandler(conn);
+            if (handler instanceof Handler) {
+                return ((Handler) handler).prepare(query);
+            }
+        }
+        StatementCache.recordUncached(query);
+        return conn.prepareStatement(query.getSql());
+    }
+
+    /**
+     * Find the pool a connection was borrowed from
+     *
+     * @param conn Connection
+     * @return Owning pool, or null if conn is not a connection from a ConnectionPool
+     */
+    static ConnectionPool ownerOf(Connection conn) {
+        if (conn != null && Proxy.isProxyClass(conn.getClass())) {
+            InvocationHandler handler = Proxy.getInvocationHandler(conn);
+            if (handler instanceof Handler) {
+                return ((Handler) handler).pool();
+            }
+        }
+        return null;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * Get a snapshot of pool statistics
+     *
+     * @return Current pool statistics
+     */
+    public Stats getStats() {
+        int idleCount = idle.size();
+        return new Stats(borrowed.size(), idleCount, waitingThreads.get(),
+                totalConnections.get(), acquireTimes.copy());
+    }
+
+    /**
+     * Close all idle connections and stop the housekeeper.
+     * Borrowed connections are closed when they are returned.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        availableLock.lock();
+        try {
+            available.signalAll();
+        } finally {
+            availableLock.unlock();
+        }
+
+        PooledEntry entry;
+        while ((entry = idle.pollFirst()) != null) {
+            discard(entry);
+        }
+    }
+
+    // ==================== INTERNALS ====================
+
+    // Claim capacity for one new physical connection, if below maxSize
+    private boolean reserveSlot() {
+        while (true) {
+            int total = totalConnections.get();
+            if (total >= config.maxSize) {
+                return false;
+            }
+            if (totalConnections.compareAndSet(total, total + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // Give back a slot (connection discarded, or connect failed) and wake a waiter
+    private void freeSlot() {
+        totalConnections.decrementAndGet();
+        signalAvailable();
+    }
+
+    private void signalAvailable() {
+        availableLock.lock();
+        try {
+            available.signal();
+        } finally {
+            availableLock.unlock();
+        }
+    }
+
+    /**
+     * Block until a connection is idle or a slot is free (the caller then
+     * tries again; another thread may still get there first)
+     *
+     * @throws SQLTransientConnectionException if the deadline passes first
+     */
+    private void awaitAvailable(long deadline) throws SQLException, InterruptedException {
+        availableLock.lock();
+        try {
+            while (idle.isEmpty() && totalConnections.get() >= config.maxSize) {
+                if (closed) {
+                    throw new SQLException("Connection pool is closed");
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new SQLTransientConnectionException(
+                            "Timed out after " + config.acquireTimeoutMs
+                                    + "ms waiting for a connection (" + getStats() + ")");
+                }
+                waitingThreads.incrementAndGet();
+                try {
+                    available.awaitNanos(remaining);
+                } catch (InterruptedException e) {
+                    // Pass on a signal this thread may have consumed
+                    available.signal();
+                    throw e;
+                } finally {
+                    waitingThreads.decrementAndGet();
+                }
+            }
+        } finally {
+            availableLock.unlock();
+        }
+    }
+
+    private PooledEntry createEntry() throws SQLException {
+        try {
+            Connection physical = DriverManager.getConnection(url, username, password);
+            LOG.info(Constants.Messages.DB_CONNECTED);
+            PooledEntry entry = new PooledEntry(physical);
+            try {
+                entry.statements.prepareAll();
+            } catch (SQLException e) {
+                // Not fatal: statements that failed are prepared again on first use
+                LOG.error("✗ Error preparing statements: {}", e.getMessage());
+            }
+            return entry;
+        } catch (SQLException e) {
+            freeSlot();
+            throw e;
+        }
+    }
+
+    private boolean isExpired(PooledEntry entry) {
+        return config.maxLifetimeMs > 0
+                && System.currentTimeMillis() - entry.createdAt > config.maxLifetimeMs;
+    }
+
+    // Skip the validation round trip for connections that were in use moments ago
+    private boolean isUsable(PooledEntry entry) {
+        if (System.currentTimeMillis() - entry.lastUsed < config.validationBypassMs) {
+            return true;
+        }
+        try {
+            return entry.physical.isValid(config.validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void release(PooledEntry entry) {
+        borrowed.remove(entry);
+        entry.statements.releaseAll();
+
+        if (closed || entry.broken || isExpired(entry)) {
+            discard(entry);
+            return;
+        }
+
+        try {
+            if (!entry.physical.getAutoCommit()) {
+                entry.physical.rollback();
+                entry.physical.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            discard(entry);
+            return;
+        }
+
+        entry.lastUsed = System.currentTimeMillis();
+        idle.offerFirst(entry);
+        signalAvailable();
+    }
+
+    private void discard(PooledEntry entry) {
+        freeSlot();
+        entry.statements.close();
+        try {
+            entry.physical.close();
+        } catch (SQLException e) {
+            LOG.error("✗ Error closing pooled connection: {}", e.getMessage());
+        }
+    }
+
+    // Runs periodically: evicts idle/expired connections and reports leaks
+    private void housekeep() {
+        long now = System.currentTimeMillis();
+
+        Iterator<PooledEntry> oldestFirst = idle.descendingIterator();
+        while (oldestFirst.hasNext()) {
+            PooledEntry entry = oldestFirst.next();
+            boolean idleTooLong = config.idleTimeoutMs > 0
+                    && now - entry.lastUsed > config.idleTimeoutMs
+                    && idle.size() > config.minIdle;
+            if ((idleTooLong || isExpired(entry)) && idle.remove(entry)) {
+                discard(entry);
+            }
+        }
+
+        if (config.leakDetectionThresholdMs > 0) {
+            for (PooledEntry entry : borrowed) {
+                if (!entry.leakReported && now - entry.borrowedAt > config.leakDetectionThresholdMs) {
+                    entry.leakReported = true;
+                    if (entry.borrowTrace != null) {
+                        LOG.warn("⚠ Possible connection leak: connection held for " + (now - entry.borrowedAt)
+                                + "ms by " + entry.borrowThread, entry.borrowTrace);
+                    } else {
+                        LOG.warn("⚠ Possible connection leak: connection held for {}ms by {}"
+                                + " (-Dsms.pool.leakTraces=true logs where it was borrowed)",
+                                now - entry.borrowedAt, entry.borrowThread);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * One physical connection plus its bookkeeping
+     */
+    private final class PooledEntry {
+        final Connection physical;
+        final StatementCache statements;
+        final long createdAt = System.currentTimeMillis();
+        volatile long lastUsed = createdAt;
+        volatile long borrowedAt;
+        volatile String borrowThread;
+        volatile Throwable borrowTrace;
+        volatile boolean leakReported;
+        volatile boolean broken;
+
+        PooledEntry(Connection physical) {
+            this.physical = physical;
+            this.statements = new StatementCache(physical);
+        }
+
+        Connection newProxy() {
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[] { Connection.class },
+                    new Handler(this));
+        }
+    }
+
+    /**
+     * Delegates to the physical connection until the borrower calls close()
+     */
+    private final class Handler implements InvocationHandler {
+        private final PooledEntry entry;
+        private boolean returned = false;
+
+        Handler(PooledEntry entry) {
+            this.entry = entry;
+        }
+
+        ConnectionPool pool() {
+            return ConnectionPool.this;
+        }
+
+        synchronized PreparedStatement prepare(NamedQuery query) throws SQLException {
+            if (returned) {
+                throw new SQLException("Connection has been returned to the pool");
+            }
+            try {
+                return entry.statements.checkOut(query);
+            } catch (SQLException e) {
+                markIfBroken(e);
+                throw e;
+            }
+        }
+
+        private void markIfBroken(SQLException e) {
+            String state = e.getSQLState();
+            // SQLSTATE class 08 = connection exception; don't hand this one out again
+            if (state != null && state.startsWith("08")) {
+                entry.broken = true;
+            }
+        }
+
+        @Override
+        public synchronized Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        release(entry);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || entry.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled[" + entry.physical + "]";
+                default:
+                    break;
+            }
+
+            if (returned) {
+                throw new SQLException("Connection has been returned to the pool");
+            }
+
+            try {
+                return method.invoke(entry.physical, args);
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof SQLException) {
+                    markIfBroken((SQLException) cause);
+                }
+                throw cause;
+            }
+        }
+    }
+
+    /**
+     * Pool settings with fluent setters; defaults come from Constants.Pool
+     */
+    public static class Config {
+        private int maxSize = Constants.Pool.MAX_SIZE;
+        private int minIdle = Constants.Pool.MIN_IDLE;
+        private long acquireTimeoutMs = Constants.Pool.ACQUIRE_TIMEOUT_MS;
+        private long idleTimeoutMs = Constants.Pool.IDLE_TIMEOUT_MS;
+        private long maxLifetimeMs = Constants.Pool.MAX_LIFETIME_MS;
+        private long leakDetectionThresholdMs = Constants.Pool.LEAK_DETECTION_THRESHOLD_MS;
+        private boolean leakTraces = Constants.Pool.LEAK_TRACES;
+        private int validationTimeoutSeconds = Constants.Pool.VALIDATION_TIMEOUT_SECONDS;
+        private long validationBypassMs = Constants.Pool.VALIDATION_BYPASS_MS;
+        private long housekeepingPeriodMs = Constants.Pool.HOUSEKEEPING_PERIOD_MS;
+
+        public Config maxSize(int maxSize) {
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        public Config minIdle(int minIdle) {
+            this.minIdle = minIdle;
+            return this;
+        }
+
+        public Config acquireTimeoutMs(long acquireTimeoutMs) {
+            this.acquireTimeoutMs = acquireTimeoutMs;
+            return this;
+        }
+
+        public Config idleTimeoutMs(long idleTimeoutMs) {
+            this.idleTimeoutMs = idleTimeoutMs;
+            return this;
+        }
+
+        public Config maxLifetimeMs(long maxLifetimeMs) {
+            this.maxLifetimeMs = maxLifetimeMs;
+            return this;
+        }
+
+        public Config leakDetectionThresholdMs(long leakDetectionThresholdMs) {
+            this.leakDetectionThresholdMs = leakDetectionThresholdMs;
+            return this;
+        }
+
+        // Record the borrower's stack on every borrow, for leak reports (debugging aid)
+        public Config leakTraces(boolean leakTraces) {
+            this.leakTraces = leakTraces;
+            return this;
+        }
+
+        public Config validationTimeoutSeconds(int validationTimeoutSeconds) {
+            this.validationTimeoutSeconds = validationTimeoutSeconds;
+            return this;
+        }
+
+        public Config validationBypassMs(long validationBypassMs) {
+            this.validationBypassMs = validationBypassMs;
+            return this;
+        }
+
+        public Config housekeepingPeriodMs(long housekeepingPeriodMs) {
+            this.housekeepingPeriodMs = housekeepingPeriodMs;
+            return this;
+        }
+    }
+
+    /**
+     * Immutable snapshot of pool counters
+     */
+    public static class Stats {
+        private final int active;
+        private final int idle;
+        private final int waiting;
+        private final int total;
+        private final LatencyHistogram acquireTimes;
+
+        Stats(int active, int idle, int waiting, int total, LatencyHistogram acquireTimes) {
+            this.active = active;
+            this.idle = idle;
+            this.waiting = waiting;
+            this.total = total;
+            this.acquireTimes = acquireTimes;
+        }
+
+        public int getActive() {
+            return active;
+        }
+
+        public int getIdle() {
+            return idle;
+        }
+
+        public int getWaiting() {
+            return waiting;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        // Acquire times recorded up to the snapshot
+        public LatencyHistogram getAcquireTimes() {
+            return acquireTimes;
+        }
+
+        @Override
+        public String toString() {
+            return "active=" + active + ", idle=" + idle + ", waiting=" + waiting
+                    + ", total=" + total + ", acquire[" + acquireTimes + "]";
+        }
+    }
+}
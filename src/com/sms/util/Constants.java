@@ -14,6 +14,18 @@ public class Constants {
     public static final class SQL {
         public static final String INSERT_STUDENT = "INSERT INTO students (roll_number, name, email, phone, course, marks) VALUES (?, ?, ?, ?, ?, ?)";
 
+        private static final String SAME_ROLL = "CASE WHEN roll_number = VALUES(roll_number)";
+
+        // Upsert keyed by roll number. The guards make a clash on another
+        // student's email a no-op instead of overwriting that student's row.
+        // CASE rather than IF() so H2's MySQL mode (tests, benchmarks) accepts it too
+        public static final String UPSERT_STUDENT = INSERT_STUDENT + " ON DUPLICATE KEY UPDATE"
+                + " name = " + SAME_ROLL + " THEN VALUES(name) ELSE name END,"
+                + " email = " + SAME_ROLL + " THEN VALUES(email) ELSE email END,"
+                + " phone = " + SAME_ROLL + " THEN VALUES(phone) ELSE phone END,"
+                + " course = " + SAME_ROLL + " THEN VALUES(course) ELSE course END,"
+                + " marks = " + SAME_ROLL + " THEN VALUES(marks) ELSE marks END";
+
         public static final String SELECT_ALL_STUDENTS = "SELECT * FROM students ORDER BY roll_number";
 
         public static final String SELECT_STUDENT_BY_ROLL = "SELECT * FROM students WHERE roll_number = ?";
@@ -24,7 +36,193 @@ public class Constants {
 
         public static final String DELETE_STUDENT = "DELETE FROM students WHERE roll_number = ?";
 
-        public static final String CHECK_ROLL_EXISTS = "SELECT COUNT(*) FROM students WHERE roll_number = ?";
+        // Keyset pagination: pass "" as the key to start from the first row
+        public static final String SELECT_STUDENTS_PAGE = "SELECT * FROM students WHERE roll_number > ? ORDER BY roll_number LIMIT ?";
+
+        public static final String SELECT_ROLL_NUMBERS_AFTER = "SELECT roll_number FROM students WHERE roll_number > ? ORDER BY roll_number LIMIT ?";
+
+        // Every n-th roll number, numbered server-side (MySQL 8 window function)
+        public static final String SELECT_ROLL_CHECKPOINTS = "SELECT roll_number FROM (SELECT roll_number, ROW_NUMBER() OVER (ORDER BY roll_number) AS position FROM students) numbered WHERE MOD(position, ?) = 0 ORDER BY roll_number";
+
+        public static final String COUNT_STUDENTS = "SELECT COUNT(*) FROM students";
+
+        // Change feed: keyset over (updated_at, roll_number), served by idx_students_updated_at
+        public static final String SELECT_STUDENTS_CHANGED_SINCE = "SELECT * FROM students WHERE updated_at > ? OR (updated_at = ? AND roll_number > ?) ORDER BY updated_at, roll_number LIMIT ?";
+
+        public static final String SELECT_LATEST_UPDATE_TIME = "SELECT MAX(updated_at) FROM students";
+
+        public static final String SELECT_DELETIONS_AFTER = "SELECT id, roll_number FROM student_deletions WHERE id > ? ORDER BY id LIMIT ?";
+
+        public static final String SELECT_LATEST_DELETION_ID = "SELECT COALESCE(MAX(id), 0) FROM student_deletions";
+
+        public static final String PURGE_DELETIONS = "DELETE FROM student_deletions WHERE deleted_at < ?";
+
+        // Per-course statistics pushed down to MySQL (parameter: pass mark)
+        public static final String SELECT_COURSE_AGGREGATES = "SELECT course, COUNT(*) AS student_count, AVG(marks) AS average, MIN(marks) AS lowest, MAX(marks) AS highest, SUM(marks >= ?) AS passed FROM students GROUP BY course ORDER BY course";
+
+        // Nearest-rank 25th/50th/75th/90th percentiles (MySQL 8 window functions)
+        public static final String SELECT_COURSE_PERCENTILES = "SELECT course, rn, cnt, marks FROM (SELECT course, marks, ROW_NUMBER() OVER (PARTITION BY course ORDER BY marks) AS rn, COUNT(*) OVER (PARTITION BY course) AS cnt FROM students) ranked WHERE rn IN (CEIL(cnt * 0.25), CEIL(cnt * 0.5), CEIL(cnt * 0.75), CEIL(cnt * 0.9))";
+
+        // Ten buckets of 10 marks; 100 falls in the last one
+        public static final String SELECT_COURSE_HISTOGRAM = "SELECT course, LEAST(FLOOR(marks / 10), 9) AS bucket, COUNT(*) AS student_count FROM students GROUP BY course, bucket";
+
+        // Filled with "?, ?, ..." placeholder lists by StudentDAO.addStudents()
+        public static final String SELECT_EXISTING_KEYS = "SELECT roll_number, email FROM students WHERE roll_number IN (%s) OR email IN (%s)";
+
+        // Filled with a "?, ?, ..." placeholder list (upsert verification)
+        public static final String SELECT_KEYS_BY_ROLLS = "SELECT roll_number, email FROM students WHERE roll_number IN (%s)";
+
+        // Filled with a "?, ?, ..." placeholder list (rows for name index hits)
+        public static final String SELECT_STUDENTS_BY_ROLLS = "SELECT * FROM students WHERE roll_number IN (%s)";
+    }
+
+    // Batch insert settings
+    public static final class Batch {
+        public static final int DEFAULT_CHUNK_SIZE = 500;
+        public static final int MAX_CHUNK_SIZE = 5_000;
+        public static final int MYSQL_DUPLICATE_KEY = 1062;
+        // Standard SQLSTATE for a unique or primary key violation (H2; MySQL reports 23000)
+        public static final String SQLSTATE_UNIQUE_VIOLATION = "23505";
+    }
+
+    // Storage chosen at startup (-Dsms.repository=jdbc|memory|mapped|sharded),
+    // optionally read through in-memory indexes (-Dsms.repository.indexed=true)
+    public static final class Repository {
+        public static final String JDBC = "jdbc";
+        public static final String MEMORY = "memory";
+        public static final String MAPPED = "mapped";
+        public static final String SHARDED = "sharded";
+        public static final String DEFAULT = JDBC;
+        public static final boolean INDEXED = false;
+
+        // Column sizes of the students table (setup.sql)
+        public static final int ROLL_NUMBER_LENGTH = 20;
+        public static final int NAME_LENGTH = 100;
+        public static final int EMAIL_LENGTH = 100;
+        public static final int PHONE_LENGTH = 15;
+        public static final int COURSE_LENGTH = 50;
+    }
+
+    // Students split over several databases (-Dsms.repository=sharded; override
+    // with -Dsms.shard.<name>=value, e.g. -Dsms.shard.urls=url1,url2)
+    public static final class Sharding {
+        public static final String RULE_COHORT = "cohort";
+        public static final String RULE_HASH = "hash";
+        public static final String DEFAULT_RULE = RULE_COHORT;
+        // Leading roll number characters that name a cohort (e.g. "2023" in "2023CS001")
+        public static final int COHORT_LENGTH = 4;
+    }
+
+    // Memory-mapped local store (override with -Dsms.store.<name>=value)
+    public static final class Store {
+        public static final String DIRECTORY = "data";
+        // Log segment size; a record never crosses a segment boundary
+        public static final int SEGMENT_SIZE = 64 * 1024 * 1024;
+        // Writes kept in memory before the index file is rewritten
+        public static final int CHECKPOINT_RECORDS = 100_000;
+        // Compact once dead records exceed both this and the live records
+        public static final long COMPACT_MIN_DEAD_BYTES = 16L * 1024 * 1024;
+        // 0 = fsync before a write returns; otherwise fsync in the background this often
+        public static final long SYNC_INTERVAL_MS = 0;
+    }
+
+    // Connection Pool defaults (override with -Dsms.pool.<name>=value)
+    public static final class Pool {
+        public static final int MAX_SIZE = 10;
+        public static final int MIN_IDLE = 2;
+        public static final long ACQUIRE_TIMEOUT_MS = 5_000;
+        public static final long IDLE_TIMEOUT_MS = 10 * 60_000;
+        public static final long MAX_LIFETIME_MS = 30 * 60_000;
+        public static final long LEAK_DETECTION_THRESHOLD_MS = 60_000;
+        // Capture the borrower's stack trace for leak reports (costly; debugging only)
+        public static final boolean LEAK_TRACES = false;
+        public static final int VALIDATION_TIMEOUT_SECONDS = 3;
+        public static final long VALIDATION_BYPASS_MS = 500;
+        public static final long HOUSEKEEPING_PERIOD_MS = 30_000;
+    }
+
+    // Per-operation metrics (-Dsms.metrics.enabled=false: no repository
+    // instrumentation in the UI; -Dsms.metrics.jmx=false: not published over JMX)
+    public static final class Metrics {
+        public static final boolean ENABLED = true;
+        public static final boolean JMX_ENABLED = true;
+        public static final String JMX_DOMAIN = "com.sms";
+        public static final int REFRESH_MS = 1_000;
+    }
+
+    // Slow-query log of the Constants.SQL statements (override with -Dsms.slowQuery.<name>=value)
+    public static final class SlowQuery {
+        public static final boolean ENABLED = true;
+        public static final long THRESHOLD_MS = 250;
+        // Slower than this: capture the plan with EXPLAIN (once per query per interval)
+        public static final long EXPLAIN_THRESHOLD_MS = 500;
+        public static final long EXPLAIN_INTERVAL_MS = 5 * 60_000;
+        public static final int CAPACITY = 200; // recent slow queries kept
+        public static final int MAX_PARAMETER_LENGTH = 100;
+    }
+
+    // Logging (override with -Dsms.log.<name>=value; see com.sms.log.Log)
+    public static final class Logging {
+        public static final String LEVEL = "INFO"; // DEBUG, INFO, WARN, ERROR or OFF
+        public static final boolean CONSOLE = true;
+        public static final boolean FILE = true;
+        public static final String DIRECTORY = "logs";
+        public static final String FILE_NAME = "sms.log";
+        public static final long MAX_FILE_BYTES = 10L * 1024 * 1024; // then roll to sms.log.1
+        public static final int MAX_FILES = 5; // rolled files kept
+        public static final int BUFFER_SIZE = 8_192; // events queued (rounded up to a power of two)
+        public static final String OVERFLOW = "BLOCK"; // BLOCK (wait for the writer) or DROP
+        public static final long SHUTDOWN_TIMEOUT_MS = 2_000;
+    }
+
+    // Roll number lookup cache (override with -Dsms.cache.<name>=value)
+    public static final class Cache {
+        public static final int MAX_SIZE = 10_000;
+        public static final long TTL_MS = 5 * 60_000;
+        public static final long NEGATIVE_TTL_MS = 5_000;
+    }
+
+    // Streaming reads: MySQL streams row by row when fetch size is Integer.MIN_VALUE;
+    // other drivers fall back to a cursor with this many rows per round trip
+    public static final class Streaming {
+        public static final int FETCH_SIZE = 1_000;
+        public static final int WRITE_BUFFER_BYTES = 64 * 1024;
+    }
+
+    // CSV bulk import (Main --import)
+    public static final class Import {
+        public static final int BATCH_SIZE = 1_000;
+        public static final int QUEUE_BATCHES_PER_WORKER = 2;
+        public static final long PROGRESS_INTERVAL_MS = 5_000;
+        public static final String CHECKPOINT_SUFFIX = ".checkpoint";
+        public static final String REJECTS_SUFFIX = ".rejects.csv";
+    }
+
+    // Change feed polling (override with -Dsms.changes.<name>=value)
+    public static final class ChangeFeed {
+        public static final long POLL_INTERVAL_MS = 3_000;
+        // Rows committed late with an older updated_at are caught by re-reading this window
+        public static final long OVERLAP_MS = 2_000;
+        // Recent delete-log ids re-read each poll for the same reason
+        public static final int DELETION_OVERLAP = 100;
+        public static final int BATCH_LIMIT = 1_000;
+        public static final long DELETION_RETENTION_MS = 7L * 24 * 60 * 60_000;
+        public static final long PURGE_INTERVAL_MS = 60 * 60_000;
+    }
+
+    // Marks statistics (StudentAnalytics)
+    public static final class Analytics {
+        public static final double PASS_MARK = 40.0;
+        // Must match the fractions in SQL.SELECT_COURSE_PERCENTILES
+        public static final double[] PERCENTILES = { 0.25, 0.5, 0.75, 0.9 };
+        public static final int HISTOGRAM_BUCKETS = 10;
+        // Rows per fork/join leaf when building statistics from a snapshot
+        public static final int PARALLEL_THRESHOLD = 20_000;
+    }
+
+    // Name search (disable the in-memory index with -Dsms.search.nameIndex=false)
+    public static final class Search {
+        public static final int RESULT_LIMIT = 100;
     }
 
     // ==================== VALIDATION CONSTANTS ====================
@@ -114,6 +312,8 @@ public class Constants {
         public static final String VALIDATION_INVALID_MARKS_FORMAT = "Marks must be a valid number!";
 
         public static final String ERROR_ADD_FAILED = "Failed to add student. Roll number may already exist.";
+        public static final String ERROR_DUPLICATE_ROLL = "A student with this roll number already exists.";
+        public static final String ERROR_DUPLICATE_EMAIL = "Another student already uses this email address.";
         public static final String ERROR_UPDATE_FAILED = "Failed to update student.";
         public static final String ERROR_DELETE_FAILED = "Failed to delete student.";
         public static final String ERROR_NO_SELECTION = "Please select a student from the table.";
@@ -141,6 +341,10 @@ public class Constants {
         };
         public static final int ROW_HEIGHT = 32;
         public static final int HEADER_HEIGHT = 35;
+        public static final int PAGE_SIZE = 200;
+        public static final int CACHED_PAGES = 10;
+        // Pages between roll number checkpoints; a scrollbar jump scans at most this many pages of keys
+        public static final int CHECKPOINT_PAGES = 8;
     }
 
     // ==================== KEYBOARD SHORTCUTS ====================
@@ -165,6 +369,8 @@ public class Constants {
         public static final String REFRESH = "↻ ";
         public static final String SAVE = "💾 ";
         public static final String STUDENT = "👨‍🎓 ";
+        public static final String STATISTICS = "📊 ";
+        public static final String METRICS = "⏱ ";
         public static final String SUCCESS = "✓ ";
         public static final String ERROR = "✗ ";
         public static final String WARNING = "⚠ ";
@@ -1,87 +1,178 @@
 package com.sms.util;
 
+import com.sms.log.Log;
+import com.sms.log.Logger;
+
 import java.sql.Connection;
-import java.sql.DriverManager;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.List;
 
 /**
  * DatabaseConnection Utility Class
- * Manages database connections using Singleton pattern
- * Provides reusable connection method for DAO classes
+ * Owns the application-wide connection pool (created lazily, once)
+ * Provides reusable connection method for DAO classes; closing the returned
+ * connection hands it back to the pool instead of disconnecting
  */
 public class DatabaseConnection {
 
+    private static final Logger LOG = Log.getLogger(DatabaseConnection.class);
+
     // Database credentials (In production, use properties file or environment
-    // variables)
-    private static final String URL = "jdbc:mysql://localhost:3306/student_management_db";
+    // variables); -Dsms.db.url/user/password/driver override them, e.g. to
+    // run against an embedded database in benchmarks
+    private static final String URL = "jdbc:mysql://localhost:3306/student_management_db"
+            + "?rewriteBatchedStatements=true"; // send JDBC batches as multi-row INSERTs
     private static final String USERNAME = "root";
     private static final String PASSWORD = "965023"; // Password set in MySQL Workbench
 
     // JDBC Driver class name
     private static final String DRIVER = "com.mysql.cj.jdbc.Driver";
 
-    // Static connection instance (Singleton pattern)
-    private static Connection connection = null;
+    // Time to borrow a connection (published over JMX, see Metrics)
+    private static final OperationMetrics GET_CONNECTION = Metrics.get("DatabaseConnection", "getConnection");
+
+    // Shared connection pool (Singleton pattern)
+    private static volatile ConnectionPool pool = null;
 
     // Private constructor to prevent instantiation
     private DatabaseConnection() {
     }
 
     /**
-     * Get database connection
-     * 
-     * @return Connection object
+     * Get database connection from the pool
+     *
+     * @return Connection object (call close() to return it to the pool)
      * @throws SQLException if connection fails
      */
     public static Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
         try {
-            // Load MySQL JDBC Driver
-            Class.forName(DRIVER);
+            Connection conn = getPool().getConnection();
+            GET_CONNECTION.record(start, 0);
+            return conn;
+        } catch (SQLException e) {
+            GET_CONNECTION.recordError(start);
+            LOG.error("✗ Database connection failed: {}", e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Get a registered statement on a borrowed connection; it is prepared
+     * once per physical connection and reused by later calls
+     *
+     * @param conn  Connection from getConnection()
+     * @param query Registered query
+     * @return Statement (close() hands it back for reuse)
+     * @throws SQLException if the statement cannot be prepared
+     */
+    public static PreparedStatement prepare(Connection conn, NamedQuery query) throws SQLException {
+        return SlowQueryLog.track(query, ConnectionPool.prepare(conn, query), ConnectionPool.ownerOf(conn));
+    }
 
-            // Create connection if it doesn't exist or is closed
-            if (connection == null || connection.isClosed()) {
-                connection = DriverManager.getConnection(URL, USERNAME, PASSWORD);
-                System.out.println("✓ Database connected successfully!");
+    /**
+     * Get the shared pool, creating it on first use
+     *
+     * @return Connection pool
+     * @throws SQLException if the JDBC driver is missing
+     */
+    public static ConnectionPool getPool() throws SQLException {
+        ConnectionPool current = pool;
+        if (current == null) {
+            synchronized (DatabaseConnection.class) {
+                current = pool;
+                if (current == null) {
+                    current = createPool(System.getProperty("sms.db.url", URL));
+                    pool = current;
+                }
             }
+        }
+        return current;
+    }
 
-            return connection;
+    /**
+     * Create a separate pool for another database (e.g. one shard), with the
+     * same driver, credentials and pool settings as the shared pool
+     *
+     * @param url JDBC URL of that database
+     * @return New connection pool (the caller closes it)
+     * @throws SQLException if the JDBC driver is missing
+     */
+    public static ConnectionPool createPool(String url) throws SQLException {
+        loadDriver();
+        return new ConnectionPool(url,
+                System.getProperty("sms.db.user", USERNAME),
+                System.getProperty("sms.db.password", PASSWORD),
+                configFromSystemProperties());
+    }
 
-        } catch (ClassNotFoundException e) {
-            System.err.println("✗ MySQL JDBC Driver not found!");
-            System.err.println("Please add mysql-connector-java.jar to your project classpath");
-            throw new SQLException("Driver not found", e);
-        } catch (SQLException e) {
-            System.err.println("✗ Database connection failed!");
-            System.err.println("Error: " + e.getMessage());
-            throw e;
-        }
+    /**
+     * Get connection pool statistics
+     *
+     * @return Pool statistics, or null if the pool has not been created yet
+     */
+    public static ConnectionPool.Stats getPoolStats() {
+        ConnectionPool current = pool;
+        return current == null ? null : current.getStats();
     }
 
     /**
-     * Close database connection
+     * Get per-query prepare/reuse counters for the NamedQuery statements
+     *
+     * @return One entry per NamedQuery
+     */
+    public static List<StatementCache.Stats> getStatementStats() {
+        return StatementCache.getStats();
+    }
+
+    /**
+     * Close all pooled database connections
      */
     public static void closeConnection() {
-        try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
-                System.out.println("✓ Database connection closed");
+        synchronized (DatabaseConnection.class) {
+            if (pool != null) {
+                pool.close();
+                pool = null;
+                LOG.info("✓ Database connection closed");
             }
-        } catch (SQLException e) {
-            System.err.println("✗ Error closing connection: " + e.getMessage());
         }
     }
 
     /**
      * Test database connection
-     * 
+     *
      * @return true if connection successful, false otherwise
      */
     public static boolean testConnection() {
-        try {
-            Connection conn = getConnection();
-            return conn != null && !conn.isClosed();
+        try (Connection conn = getConnection()) {
+            return conn != null && conn.isValid(Constants.Pool.VALIDATION_TIMEOUT_SECONDS);
         } catch (SQLException e) {
             return false;
         }
     }
+
+    // Load MySQL JDBC Driver (once, when the pool is created)
+    private static void loadDriver() throws SQLException {
+        try {
+            Class.forName(System.getProperty("sms.db.driver", DRIVER));
+        } catch (ClassNotFoundException e) {
+            LOG.error(Constants.Messages.ERROR_DRIVER_NOT_FOUND);
+            LOG.error("Please add mysql-connector-java.jar to your project classpath");
+            throw new SQLException("Driver not found", e);
+        }
+    }
+
+    private static ConnectionPool.Config configFromSystemProperties() {
+        return new ConnectionPool.Config()
+                .maxSize(Integer.getInteger("sms.pool.maxSize", Constants.Pool.MAX_SIZE))
+                .minIdle(Integer.getInteger("sms.pool.minIdle", Constants.Pool.MIN_IDLE))
+                .acquireTimeoutMs(Long.getLong("sms.pool.acquireTimeoutMs", Constants.Pool.ACQUIRE_TIMEOUT_MS))
+                .idleTimeoutMs(Long.getLong("sms.pool.idleTimeoutMs", Constants.Pool.IDLE_TIMEOUT_MS))
+                .maxLifetimeMs(Long.getLong("sms.pool.maxLifetimeMs", Constants.Pool.MAX_LIFETIME_MS))
+                .leakDetectionThresholdMs(Long.getLong("sms.pool.leakDetectionThresholdMs",
+                        Constants.Pool.LEAK_DETECTION_THRESHOLD_MS))
+                .leakTraces(Boolean.parseBoolean(System.getProperty("sms.pool.leakTraces",
+                        String.valueOf(Constants.Pool.LEAK_TRACES))));
+    }
 }
@@ -0,0 +1,205 @@
+package com.sms.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LruCache Class - Bounded read-through cache with TTL and negative caching
+ * Least recently used entries are evicted when full. A loader result of null
+ * is cached as a "known missing" entry with its own (shorter) TTL. Loads run
+ * outside the lock; a load that overlaps an invalidate() of its key is not
+ * stored, so a write can never be hidden by a stale read that finished
+ * after it. Keys are tracked in 64 version stripes, so invalidating one key
+ * only drops the in-flight loads that share its stripe.
+ *
+ * @param <K> Key type
+ * @param <V> Value type
+ */
+public class LruCache<K, V> {
+
+    /**
+     * Loads a value on a cache miss
+     */
+    @FunctionalInterface
+    public interface Loader<K, V, X extends Exception> {
+        V load(K key) throws X;
+    }
+
+    private static final int VERSION_STRIPES = 64; // power of two
+
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+    private final LinkedHashMap<K, Entry<V>> map;
+
+    // Bumped by invalidations of keys in the stripe; loads of those keys
+    // that started before it are not stored
+    private final long[] versions = new long[VERSION_STRIPES];
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder negativeHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    /**
+     * @param maxSize       Maximum number of entries (positive and negative)
+     * @param ttlMs         Lifetime of a cached value
+     * @param negativeTtlMs Lifetime of a cached "not found" result (0 disables)
+     */
+    public LruCache(int maxSize, long ttlMs, long negativeTtlMs) {
+        this.ttlNanos = ttlMs * 1_000_000L;
+        this.negativeTtlNanos = negativeTtlMs * 1_000_000L;
+        this.map = new LinkedHashMap<K, Entry<V>>(Math.min(maxSize, 1024), 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Get a value, loading and caching it on a miss
+     *
+     * @param key    Key to look up
+     * @param loader Called on a miss; may return null for "not found"
+     * @return Cached or loaded value (null if not found)
+     * @throws X if the loader fails (nothing is cached)
+     */
+    public <X extends Exception> V get(K key, Loader<? super K, ? extends V, X> loader) throws X {
+        long startVersion;
+        synchronized (this) {
+            Entry<V> entry = map.get(key);
+            if (entry != null) {
+                if (System.nanoTime() - entry.expiresAt < 0) {
+                    if (entry.value == null) {
+                        negativeHits.increment();
+                    } else {
+                        hits.increment();
+                    }
+                    return entry.value;
+                }
+                map.remove(key);
+                expirations.increment();
+            }
+            misses.increment();
+            startVersion = versions[stripe(key)];
+        }
+
+        V value = loader.load(key);
+
+        long ttl = value == null ? negativeTtlNanos : ttlNanos;
+        if (ttl > 0) {
+            synchronized (this) {
+                if (versions[stripe(key)] == startVersion) {
+                    map.put(key, new Entry<>(value, System.nanoTime() + ttl));
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Drop one key (call after it was written)
+     */
+    public synchronized void invalidate(K key) {
+        versions[stripe(key)]++;
+        map.remove(key);
+    }
+
+    /**
+     * Drop everything
+     */
+    public synchronized void invalidateAll() {
+        for (int i = 0; i < VERSION_STRIPES; i++) {
+            versions[i]++;
+        }
+        map.clear();
+    }
+
+    public synchronized int size() {
+        return map.size();
+    }
+
+    private static int stripe(Object key) {
+        int h = key == null ? 0 : key.hashCode();
+        return (h ^ (h >>> 16)) & (VERSION_STRIPES - 1);
+    }
+
+    public Stats getStats() {
+        return new Stats(hits.sum(), negativeHits.sum(), misses.sum(), evictions.sum(),
+                expirations.sum(), size());
+    }
+
+    private static final class Entry<V> {
+        final V value;
+        final long expiresAt;
+
+        Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * Snapshot of cache counters
+     */
+    public static class Stats {
+        private final long hits;
+        private final long negativeHits;
+        private final long misses;
+        private final long evictions;
+        private final long expirations;
+        private final int size;
+
+        Stats(long hits, long negativeHits, long misses, long evictions, long expirations, int size) {
+            this.hits = hits;
+            this.negativeHits = negativeHits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.expirations = expirations;
+            this.size = size;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getNegativeHits() {
+            return negativeHits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getEvictions() {
+            return evictions;
+        }
+
+        public long getExpirations() {
+            return expirations;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public double getHitRate() {
+            long lookups = hits + negativeHits + misses;
+            return lookups == 0 ? 0.0 : (double) (hits + negativeHits) / lookups;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("size=%d, hits=%d, negativeHits=%d, misses=%d, evictions=%d, expirations=%d, hitRate=%.1f%%",
+                    size, hits, negativeHits, misses, evictions, expirations, getHitRate() * 100);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.sms.util;
+
+import com.sms.log.Log;
+import com.sms.log.Logger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Metrics Utility Class - Registry of OperationMetrics
+ * Each operation gets one OperationMetrics the first time it is asked for,
+ * registered with the platform MBean server (jconsole, VisualVM, any JMX
+ * client) under Constants.Metrics.JMX_DOMAIN. Disable the JMX part with
+ * -Dsms.metrics.jmx=false.
+ */
+public final class Metrics {
+
+    private static final Logger LOG = Log.getLogger(Metrics.class);
+
+    private static final ConcurrentMap<String, OperationMetrics> OPERATIONS = new ConcurrentHashMap<>();
+    private static final boolean JMX_ENABLED = Boolean.parseBoolean(
+            System.getProperty("sms.metrics.jmx", String.valueOf(Constants.Metrics.JMX_ENABLED)));
+
+    private Metrics() {
+    }
+
+    /**
+     * Get (or create and publish) the metrics of an operation
+     *
+     * @param type      Component, e.g. "StudentDAO"
+     * @param operation Method name, e.g. "getAllStudents"
+     */
+    public static OperationMetrics get(String type, String operation) {
+        return OPERATIONS.computeIfAbsent(type + '.' + operation, key -> publish(new OperationMetrics(type, operation)));
+    }
+
+    /**
+     * @return Every operation recorded so far, ordered by type then operation
+     */
+    public static List<OperationMetrics> getAll() {
+        List<OperationMetrics> all = new ArrayList<>(OPERATIONS.values());
+        all.sort(Comparator.comparing(OperationMetrics::getType).thenComparing(OperationMetrics::getOperation));
+        return all;
+    }
+
+    public static void resetAll() {
+        for (OperationMetrics metrics : OPERATIONS.values()) {
+            metrics.reset();
+        }
+    }
+
+    private static OperationMetrics publish(OperationMetrics metrics) {
+        if (!JMX_ENABLED) {
+            return metrics;
+        }
+        try {
+            Hashtable<String, String> properties = new Hashtable<>();
+            properties.put("type", metrics.getType());
+            properties.put("name", metrics.getOperation());
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(Constants.Metrics.JMX_DOMAIN, properties);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(metrics, name);
+            }
+        } catch (JMException e) {
+            LOG.error("✗ Could not publish metrics over JMX: {}", e.getMessage());
+        }
+        return metrics;
+    }
+}
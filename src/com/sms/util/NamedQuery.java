@@ -0,0 +1,39 @@
+package com.sms.util;
+
+/**
+ * NamedQuery Enum - Registry of the fixed Constants.SQL statements
+ * Each pooled physical connection prepares these once (server-side where the
+ * driver supports it) and keeps them; DAOs ask for them by name through
+ * DatabaseConnection.prepare(). Statements built at runtime (IN lists) are
+ * not registered and are prepared per call as before.
+ */
+public enum NamedQuery {
+    INSERT_STUDENT(Constants.SQL.INSERT_STUDENT),
+    UPSERT_STUDENT(Constants.SQL.UPSERT_STUDENT),
+    SELECT_ALL_STUDENTS(Constants.SQL.SELECT_ALL_STUDENTS),
+    SELECT_STUDENT_BY_ROLL(Constants.SQL.SELECT_STUDENT_BY_ROLL),
+    SELECT_STUDENT_BY_NAME(Constants.SQL.SELECT_STUDENT_BY_NAME),
+    UPDATE_STUDENT(Constants.SQL.UPDATE_STUDENT),
+    DELETE_STUDENT(Constants.SQL.DELETE_STUDENT),
+    SELECT_STUDENTS_PAGE(Constants.SQL.SELECT_STUDENTS_PAGE),
+    SELECT_ROLL_NUMBERS_AFTER(Constants.SQL.SELECT_ROLL_NUMBERS_AFTER),
+    COUNT_STUDENTS(Constants.SQL.COUNT_STUDENTS),
+    SELECT_STUDENTS_CHANGED_SINCE(Constants.SQL.SELECT_STUDENTS_CHANGED_SINCE),
+    SELECT_LATEST_UPDATE_TIME(Constants.SQL.SELECT_LATEST_UPDATE_TIME),
+    SELECT_DELETIONS_AFTER(Constants.SQL.SELECT_DELETIONS_AFTER),
+    SELECT_LATEST_DELETION_ID(Constants.SQL.SELECT_LATEST_DELETION_ID),
+    PURGE_DELETIONS(Constants.SQL.PURGE_DELETIONS),
+    SELECT_COURSE_AGGREGATES(Constants.SQL.SELECT_COURSE_AGGREGATES),
+    SELECT_COURSE_PERCENTILES(Constants.SQL.SELECT_COURSE_PERCENTILES),
+    SELECT_COURSE_HISTOGRAM(Constants.SQL.SELECT_COURSE_HISTOGRAM);
+
+    private final String sql;
+
+    NamedQuery(String sql) {
+        this.sql = sql;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+}
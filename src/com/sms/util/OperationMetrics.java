@@ -0,0 +1,122 @@
+package com.sms.util;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * OperationMetrics Class - Calls, errors, rows and latency of one operation
+ * Recording is lock-free (LongAdder counters and a LatencyHistogram), so
+ * many threads can record at once for well under a microsecond each.
+ * Get instances from Metrics, which also publishes them over JMX.
+ *
+ * Usage:
+ * long start = System.nanoTime();
+ * ... call ...
+ * metrics.record(start, rows); // or metrics.recordError(start)
+ */
+public class OperationMetrics implements OperationMetricsMXBean {
+
+    private final String type;
+    private final String operation;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    OperationMetrics(String type, String operation) {
+        this.type = type;
+        this.operation = operation;
+    }
+
+    /**
+     * Record a successful call
+     *
+     * @param startNanos System.nanoTime() when the call started
+     * @param rowCount   Rows returned or written
+     */
+    public void record(long startNanos, long rowCount) {
+        latency.record(System.nanoTime() - startNanos);
+        calls.increment();
+        if (rowCount > 0) {
+            rows.add(rowCount);
+        }
+    }
+
+    /**
+     * Record a failed call (exception or failure result)
+     *
+     * @param startNanos System.nanoTime() when the call started
+     */
+    public void recordError(long startNanos) {
+        latency.record(System.nanoTime() - startNanos);
+        calls.increment();
+        errors.increment();
+    }
+
+    @Override
+    public String getType() {
+        return type;
+    }
+
+    @Override
+    public String getOperation() {
+        return operation;
+    }
+
+    @Override
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public long getRows() {
+        return rows.sum();
+    }
+
+    @Override
+    public double getMeanMillis() {
+        return latency.getMeanNanos() / 1_000_000.0;
+    }
+
+    @Override
+    public double getP50Millis() {
+        return latency.getPercentileNanos(50) / 1_000_000.0;
+    }
+
+    @Override
+    public double getP95Millis() {
+        return latency.getPercentileNanos(95) / 1_000_000.0;
+    }
+
+    @Override
+    public double getP99Millis() {
+        return latency.getPercentileNanos(99) / 1_000_000.0;
+    }
+
+    @Override
+    public double getMaxMillis() {
+        return latency.getMaxNanos() / 1_000_000.0;
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    @Override
+    public void reset() {
+        calls.reset();
+        errors.reset();
+        rows.reset();
+        latency.reset();
+    }
+
+    // e.g. "StudentDAO.getAllStudents errors=0 rows=5000 n=12 mean=3.10ms ..."
+    @Override
+    public String toString() {
+        return type + "." + operation + " errors=" + getErrors() + " rows=" + getRows() + " " + latency;
+    }
+}
@@ -0,0 +1,37 @@
+package com.sms.util;
+
+/**
+ * OperationMetricsMXBean Interface - JMX view of one instrumented operation
+ * Registered as com.sms:type=TYPE,name=OPERATION (e.g.
+ * com.sms:type=StudentDAO,name=getAllStudents); latencies in milliseconds
+ */
+public interface OperationMetricsMXBean {
+
+    String getType();
+
+    String getOperation();
+
+    long getCalls();
+
+    long getErrors();
+
+    /**
+     * @return Students (or keys) returned or written, summed over all calls
+     */
+    long getRows();
+
+    double getMeanMillis();
+
+    double getP50Millis();
+
+    double getP95Millis();
+
+    double getP99Millis();
+
+    double getMaxMillis();
+
+    /**
+     * Start counting from zero
+     */
+    void reset();
+}
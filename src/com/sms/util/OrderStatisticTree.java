@@ -0,0 +1,219 @@
+package com.sms.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * OrderStatisticTree Class - Sorted set with O(log n) rank and index lookups
+ * A treap (binary search tree balanced by random priorities) whose nodes
+ * also count their subtree size, so besides add/remove it answers "how many
+ * elements sort before x" and "which element is at position i" in expected
+ * O(log n), and lists k elements from a position in O(log n + k).
+ *
+ * Elements that compare equal are stored once. Not thread-safe.
+ *
+ * @param <E> Element type
+ */
+public class OrderStatisticTree<E> {
+
+    private final Comparator<? super E> comparator;
+    private final SplittableRandom random = new SplittableRandom();
+    private Node<E> root;
+
+    public OrderStatisticTree(Comparator<? super E> comparator) {
+        this.comparator = comparator;
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    public void clear() {
+        root = null;
+    }
+
+    /**
+     * Add an element
+     *
+     * @return false if an equal element was already present (tree unchanged)
+     */
+    public boolean add(E element) {
+        if (contains(element)) {
+            return false;
+        }
+        Node<E>[] parts = split(root, element);
+        root = merge(merge(parts[0], new Node<>(element, random.nextInt())), parts[1]);
+        return true;
+    }
+
+    /**
+     * Remove the element equal to the given one
+     *
+     * @return false if there was none
+     */
+    public boolean remove(E element) {
+        if (!contains(element)) {
+            return false;
+        }
+        root = remove(root, element);
+        return true;
+    }
+
+    public boolean contains(E element) {
+        Node<E> node = root;
+        while (node != null) {
+            int cmp = comparator.compare(element, node.element);
+            if (cmp == 0) {
+                return true;
+            }
+            node = cmp < 0 ? node.left : node.right;
+        }
+        return false;
+    }
+
+    /**
+     * Count the elements that sort strictly before the given one (which
+     * need not be present)
+     */
+    public int countBefore(E element) {
+        int count = 0;
+        Node<E> node = root;
+        while (node != null) {
+            if (comparator.compare(element, node.element) <= 0) {
+                node = node.left;
+            } else {
+                count += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Get the element at a position (0 = first)
+     */
+    public E get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index " + index + ", size " + size());
+        }
+        Node<E> node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node.element;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Get up to count elements in order, starting at a position
+     */
+    public List<E> range(int fromIndex, int count) {
+        List<E> result = new ArrayList<>(Math.max(0, Math.min(count, size() - fromIndex)));
+        collect(root, fromIndex, count, result);
+        return result;
+    }
+
+    // In-order walk that skips whole subtrees before fromIndex and stops at count
+    private void collect(Node<E> node, int fromIndex, int count, List<E> out) {
+        if (node == null || out.size() >= count) {
+            return;
+        }
+        int leftSize = size(node.left);
+        if (fromIndex < leftSize) {
+            collect(node.left, fromIndex, count, out);
+        }
+        if (out.size() < count && fromIndex <= leftSize) {
+            out.add(node.element);
+        }
+        if (out.size() < count) {
+            collect(node.right, Math.max(0, fromIndex - leftSize - 1), count, out);
+        }
+    }
+
+    // ==================== TREAP OPERATIONS ====================
+
+    // [elements before key, elements at or after key]
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private Node<E>[] split(Node<E> node, E key) {
+        if (node == null) {
+            return new Node[] { null, null };
+        }
+        if (comparator.compare(node.element, key) < 0) {
+            Node<E>[] parts = split(node.right, key);
+            node.right = parts[0];
+            node.update();
+            parts[0] = node;
+            return parts;
+        }
+        Node<E>[] parts = split(node.left, key);
+        node.left = parts[1];
+        node.update();
+        parts[1] = node;
+        return parts;
+    }
+
+    // Every element of a sorts before every element of b
+    private Node<E> merge(Node<E> a, Node<E> b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            a.update();
+            return a;
+        }
+        b.left = merge(a, b.left);
+        b.update();
+        return b;
+    }
+
+    private Node<E> remove(Node<E> node, E element) {
+        int cmp = comparator.compare(element, node.element);
+        if (cmp == 0) {
+            return merge(node.left, node.right);
+        }
+        if (cmp < 0) {
+            node.left = remove(node.left, element);
+        } else {
+            node.right = remove(node.right, element);
+        }
+        node.update();
+        return node;
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static final class Node<E> {
+        final E element;
+        final int priority;
+        Node<E> left;
+        Node<E> right;
+        int size = 1;
+
+        Node(E element, int priority) {
+            this.element = element;
+            this.priority = priority;
+        }
+
+        void update() {
+            size = 1 + OrderStatisticTree.size(left) + OrderStatisticTree.size(right);
+        }
+    }
+}
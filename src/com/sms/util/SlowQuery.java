@@ -0,0 +1,156 @@
+package com.sms.util;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * SlowQuery Class - One execution of a registered query that exceeded the
+ * slow-query threshold (see SlowQueryLog)
+ * The execution plan is attached later, by the EXPLAIN thread, if this run
+ * was slow enough to warrant one.
+ */
+public class SlowQuery {
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS")
+            .withZone(ZoneId.systemDefault());
+
+    private final long startedAtMillis;
+    private final NamedQuery query;
+    private final String database;
+    private final String parameters;
+    private final long durationNanos;
+    private final long rows;
+    private final int batchSize;
+    private final String thread;
+    private final String error;
+    private volatile Plan plan;
+
+    SlowQuery(long startedAtMillis, NamedQuery query, String database, String parameters, long durationNanos,
+            long rows, int batchSize, String thread, String error) {
+        this.startedAtMillis = startedAtMillis;
+        this.query = query;
+        this.database = database;
+        this.parameters = parameters;
+        this.durationNanos = durationNanos;
+        this.rows = rows;
+        this.batchSize = batchSize;
+        this.thread = thread;
+        this.error = error;
+    }
+
+    public long getStartedAtMillis() {
+        return startedAtMillis;
+    }
+
+    public NamedQuery getQuery() {
+        return query;
+    }
+
+    // JDBC URL of the pool the statement ran on (e.g. one shard), or null if unknown
+    public String getDatabase() {
+        return database;
+    }
+
+    public String getSql() {
+        return query.getSql();
+    }
+
+    // Bound parameters, e.g. "1='%kumar%', 2=50" (of the last row for batches)
+    public String getParameters() {
+        return parameters;
+    }
+
+    public double getDurationMillis() {
+        return durationNanos / 1_000_000.0;
+    }
+
+    // Rows read, or rows changed for updates
+    public long getRows() {
+        return rows;
+    }
+
+    // Statements in the batch, 0 if not a batch
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public String getThread() {
+        return thread;
+    }
+
+    // Message of the SQLException the statement failed with, or null
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * @return Plan captured for this execution, or null if none was
+     *         (not slow enough, or the query was explained recently)
+     */
+    public Plan getPlan() {
+        return plan;
+    }
+
+    void setPlan(Plan plan) {
+        this.plan = plan;
+    }
+
+    /**
+     * @return Multi-line report: time, query, duration, rows, SQL,
+     *         parameters and the plan if captured
+     */
+    public String describe() {
+        StringBuilder text = new StringBuilder();
+        text.append(TIMESTAMP.format(Instant.ofEpochMilli(startedAtMillis))).append("  ").append(query)
+                .append(String.format("  %.1f ms  %d rows", getDurationMillis(), rows));
+        if (batchSize > 0) {
+            text.append("  (batch of ").append(batchSize).append(')');
+        }
+        text.append("  [").append(thread).append("]\n");
+        if (database != null) {
+            text.append("  DB:     ").append(database).append('\n');
+        }
+        text.append("  SQL:    ").append(getSql()).append('\n');
+        text.append("  Params: ").append(parameters.isEmpty() ? "(none)" : parameters).append('\n');
+        if (error != null) {
+            text.append("  Failed: ").append(error).append('\n');
+        }
+        Plan captured = plan;
+        if (captured != null) {
+            text.append("  Plan (EXPLAIN, ")
+                    .append(TIMESTAMP.format(Instant.ofEpochMilli(captured.getCapturedAtMillis()))).append("):\n");
+            for (String line : captured.getText().split("\n")) {
+                text.append("    ").append(line).append('\n');
+            }
+        }
+        return text.toString();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s took %.1fms (%d rows%s) %s", query, getDurationMillis(), rows,
+                error == null ? "" : ", failed: " + error, parameters.isEmpty() ? "" : "[" + parameters + "]").trim();
+    }
+
+    /**
+     * EXPLAIN output of a query, as a text table
+     */
+    public static class Plan {
+        private final long capturedAtMillis;
+        private final String text;
+
+        Plan(long capturedAtMillis, String text) {
+            this.capturedAtMillis = capturedAtMillis;
+            this.text = text;
+        }
+
+        public long getCapturedAtMillis() {
+            return capturedAtMillis;
+        }
+
+        public String getText() {
+            return text;
+        }
+    }
+}
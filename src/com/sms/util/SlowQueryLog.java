@@ -0,0 +1,498 @@
+package com.sms.util;
+
+import com.sms.log.Log;
+import com.sms.log.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * SlowQueryLog Utility Class - Records registered queries that run too long
+ * DatabaseConnection.prepare() hands out statements tracked here: bound
+ * parameters are remembered and every execute is timed. An execution slower
+ * than -Dsms.slowQuery.thresholdMs is logged and kept in a ring of the most
+ * recent ones (-Dsms.slowQuery.capacity), with its parameters, duration and
+ * row count. A query whose execute was already slow is also timed while its
+ * rows are read (the row count needs them); a query that executes quickly
+ * but is slow to read is not caught.
+ *
+ * Runs slower than -Dsms.slowQuery.explainThresholdMs get their plan
+ * captured with EXPLAIN (same SQL and parameters) on a background thread,
+ * at most once per query per explainIntervalMs. The EXPLAIN runs on the pool
+ * the statement ran on (e.g. its shard), not the default database. Disable
+ * everything with -Dsms.slowQuery.enabled=false.
+ */
+public final class SlowQueryLog {
+
+    private static final Logger LOG = Log.getLogger(SlowQueryLog.class);
+
+    private static final boolean ENABLED = Boolean.parseBoolean(
+            System.getProperty("sms.slowQuery.enabled", String.valueOf(Constants.SlowQuery.ENABLED)));
+    private static final long THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(
+            Long.getLong("sms.slowQuery.thresholdMs", Constants.SlowQuery.THRESHOLD_MS));
+    private static final long EXPLAIN_THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(
+            Long.getLong("sms.slowQuery.explainThresholdMs", Constants.SlowQuery.EXPLAIN_THRESHOLD_MS));
+    private static final long EXPLAIN_INTERVAL_MS = Long.getLong("sms.slowQuery.explainIntervalMs",
+            Constants.SlowQuery.EXPLAIN_INTERVAL_MS);
+
+    // Most recent slow queries; next is where the following one goes
+    private static final SlowQuery[] RECENT = new SlowQuery[Math.max(1,
+            Integer.getInteger("sms.slowQuery.capacity", Constants.SlowQuery.CAPACITY))];
+    private static int next = 0;
+    private static long recorded = 0;
+
+    // Per NamedQuery ordinal: when it was last explained, and the plan it got
+    private static final AtomicLongArray LAST_EXPLAINED = new AtomicLongArray(NamedQuery.values().length);
+    private static final AtomicReferenceArray<SlowQuery.Plan> LATEST_PLANS =
+            new AtomicReferenceArray<>(NamedQuery.values().length);
+
+    // One EXPLAIN at a time; requests beyond a short queue are dropped
+    private static final ExecutorService EXPLAINER = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(16), r -> {
+                Thread t = new Thread(r, "sms-slow-query-explain");
+                t.setDaemon(true);
+                return t;
+            }, new ThreadPoolExecutor.DiscardPolicy());
+
+    private SlowQueryLog() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    public static long getThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(THRESHOLD_NANOS);
+    }
+
+    public static long getExplainThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(EXPLAIN_THRESHOLD_NANOS);
+    }
+
+    /**
+     * Wrap a registered query's statement so its executions are timed
+     *
+     * @param pool Pool the statement's connection came from (slow runs are
+     *             explained there), or null if it is not pooled
+     * @return The statement itself if the log is disabled
+     */
+    static PreparedStatement track(NamedQuery query, PreparedStatement statement, ConnectionPool pool) {
+        if (!ENABLED) {
+            return statement;
+        }
+        return (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[] { PreparedStatement.class },
+                new StatementTracker(query, statement, pool));
+    }
+
+    // ==================== RECENT SLOW QUERIES ====================
+
+    /**
+     * @return The slow queries kept, newest first
+     */
+    public static List<SlowQuery> getRecent() {
+        synchronized (RECENT) {
+            List<SlowQuery> recent = new ArrayList<>(RECENT.length);
+            for (int i = 1; i <= RECENT.length; i++) {
+                SlowQuery entry = RECENT[Math.floorMod(next - i, RECENT.length)];
+                if (entry == null) {
+                    break;
+                }
+                recent.add(entry);
+            }
+            return recent;
+        }
+    }
+
+    /**
+     * @return Slow queries recorded since start (or the last clear()),
+     *         including those no longer kept
+     */
+    public static long getRecordedCount() {
+        synchronized (RECENT) {
+            return recorded;
+        }
+    }
+
+    /**
+     * @return Most recent plan captured for a query, or null
+     */
+    public static SlowQuery.Plan getLatestPlan(NamedQuery query) {
+        return LATEST_PLANS.get(query.ordinal());
+    }
+
+    public static void clear() {
+        synchronized (RECENT) {
+            Arrays.fill(RECENT, null);
+            next = 0;
+            recorded = 0;
+        }
+    }
+
+    /**
+     * Write the kept slow queries, newest first, to a text file
+     *
+     * @return Number of slow queries written
+     * @throws IOException if the file cannot be written
+     */
+    public static int dump(Path file) throws IOException {
+        List<SlowQuery> recent = getRecent();
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("Slow queries (over " + getThresholdMillis() + " ms), newest first: " + recent.size()
+                    + " kept of " + getRecordedCount() + " recorded");
+            writer.newLine();
+            for (SlowQuery entry : recent) {
+                writer.newLine();
+                writer.write(entry.describe());
+            }
+        }
+        LOG.info("✓ Wrote {} slow queries to {}", recent.size(), file);
+        return recent.size();
+    }
+
+    private static void record(StatementTracker tracker, long startNanos, long rows, int batchSize,
+            SQLException error) {
+        long durationNanos = System.nanoTime() - startNanos;
+        if (durationNanos < THRESHOLD_NANOS) {
+            return;
+        }
+        NamedQuery query = tracker.query;
+        Object[] parameters = tracker.boundParameters();
+        ConnectionPool pool = tracker.pool;
+        SlowQuery entry = new SlowQuery(System.currentTimeMillis() - TimeUnit.NANOSECONDS.toMillis(durationNanos),
+                query, pool == null ? null : pool.getUrl(), formatParameters(parameters), durationNanos, rows,
+                batchSize, Thread.currentThread().getName(), error == null ? null : error.getMessage());
+        synchronized (RECENT) {
+            RECENT[next] = entry;
+            next = (next + 1) % RECENT.length;
+            recorded++;
+        }
+        LOG.warn("⚠ Slow query: {}", entry);
+
+        if (durationNanos >= EXPLAIN_THRESHOLD_NANOS && batchSize == 0 && claimExplain(query)) {
+            EXPLAINER.execute(() -> explain(entry, pool, parameters));
+        }
+    }
+
+    // ==================== EXPLAIN ====================
+
+    private static boolean claimExplain(NamedQuery query) {
+        long now = System.currentTimeMillis();
+        long last = LAST_EXPLAINED.get(query.ordinal());
+        return (last == 0 || now - last >= EXPLAIN_INTERVAL_MS)
+                && LAST_EXPLAINED.compareAndSet(query.ordinal(), last, now);
+    }
+
+    // Runs on the EXPLAIN thread, with its own connection from the statement's pool
+    private static void explain(SlowQuery entry, ConnectionPool pool, Object[] parameters) {
+        String text;
+        if (pool == null) {
+            text = "EXPLAIN skipped: the statement did not run on a pooled connection";
+        } else {
+            text = explain(pool, entry.getSql(), parameters);
+        }
+        SlowQuery.Plan plan = new SlowQuery.Plan(System.currentTimeMillis(), text);
+        entry.setPlan(plan);
+        LATEST_PLANS.set(entry.getQuery().ordinal(), plan);
+        LOG.info("✓ Plan of slow {}:\n{}", entry.getQuery(), text);
+    }
+
+    private static String explain(ConnectionPool pool, String sql, Object[] parameters) {
+        try (Connection conn = pool.getConnection();
+                PreparedStatement pstmt = conn.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 1; i < parameters.length; i++) {
+                pstmt.setObject(i, parameters[i]);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return formatTable(rs);
+            }
+        } catch (SQLException e) {
+            return "EXPLAIN failed: " + e.getMessage();
+        }
+    }
+
+    /**
+     * Render a result set as a text table (a single column, e.g. H2's
+     * PLAN, is printed as is)
+     */
+    private static String formatTable(ResultSet rs) throws SQLException {
+        ResultSetMetaData meta = rs.getMetaData();
+        int columns = meta.getColumnCount();
+        List<String[]> rows = new ArrayList<>();
+        String[] header = new String[columns];
+        int[] widths = new int[columns];
+        for (int c = 0; c < columns; c++) {
+            header[c] = meta.getColumnLabel(c + 1);
+            widths[c] = header[c].length();
+        }
+        while (rs.next()) {
+            String[] row = new String[columns];
+            for (int c = 0; c < columns; c++) {
+                row[c] = String.valueOf(rs.getString(c + 1));
+                widths[c] = Math.max(widths[c], row[c].length());
+            }
+            rows.add(row);
+        }
+
+        StringBuilder text = new StringBuilder();
+        if (columns == 1) {
+            for (String[] row : rows) {
+                text.append(row[0]).append('\n');
+            }
+            return text.toString().trim();
+        }
+        appendRow(text, header, widths);
+        for (int c = 0; c < columns; c++) {
+            text.append(c == 0 ? "" : "-+-").append("-".repeat(widths[c]));
+        }
+        text.append('\n');
+        for (String[] row : rows) {
+            appendRow(text, row, widths);
+        }
+        return text.toString().trim();
+    }
+
+    private static void appendRow(StringBuilder text, String[] cells, int[] widths) {
+        for (int c = 0; c < cells.length; c++) {
+            text.append(c == 0 ? "" : " | ").append(cells[c]).append(" ".repeat(widths[c] - cells[c].length()));
+        }
+        text.append('\n');
+    }
+
+    // "1='%kumar%', 2=50"; long values are cut at MAX_PARAMETER_LENGTH
+    private static String formatParameters(Object[] parameters) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 1; i < parameters.length; i++) {
+            if (text.length() > 0) {
+                text.append(", ");
+            }
+            Object value = parameters[i];
+            String shown = value == null ? "NULL" : value.toString();
+            if (shown.length() > Constants.SlowQuery.MAX_PARAMETER_LENGTH) {
+                shown = shown.substring(0, Constants.SlowQuery.MAX_PARAMETER_LENGTH) + "…";
+            }
+            text.append(i).append('=');
+            if (value instanceof CharSequence) {
+                text.append('\'').append(shown).append('\'');
+            } else {
+                text.append(shown);
+            }
+        }
+        return text.toString();
+    }
+
+    // ==================== TRACKING PROXIES ====================
+
+    /**
+     * Remembers parameters and times executions of one borrowed statement
+     * (used by one thread at a time, like the statement itself)
+     */
+    private static final class StatementTracker implements InvocationHandler {
+        private final NamedQuery query;
+        private final PreparedStatement statement;
+        private final ConnectionPool pool;
+        private Object[] parameters = new Object[1]; // index 0 unused, like JDBC
+        private int parameterCount = 0; // highest index set
+        private int batchSize = 0;
+        private ResultSetTracker reading; // rows of a slow query still being read
+
+        StatementTracker(NamedQuery query, PreparedStatement statement, ConnectionPool pool) {
+            this.query = query;
+            this.statement = statement;
+            this.pool = pool;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (args == null) {
+                switch (name) {
+                    case "executeQuery":
+                        return executeQuery();
+                    case "executeUpdate":
+                    case "executeLargeUpdate":
+                    case "executeBatch":
+                    case "executeLargeBatch":
+                    case "execute":
+                        return executeOther(method);
+                    case "addBatch":
+                        batchSize++;
+                        break;
+                    case "clearBatch":
+                        batchSize = 0;
+                        break;
+                    case "clearParameters":
+                        Arrays.fill(parameters, null);
+                        parameterCount = 0;
+                        break;
+                    case "close":
+                        finishReading();
+                        break;
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return "Tracked[" + query + "]";
+                    default:
+                        break;
+                }
+            } else if (name.startsWith("set") && args.length >= 2 && args[0] instanceof Integer) {
+                remember((Integer) args[0], "setNull".equals(name) ? null : args[1]);
+            } else if ("equals".equals(name)) {
+                return proxy == args[0];
+            }
+            return invokeOn(statement, method, args);
+        }
+
+        private Object executeQuery() throws SQLException {
+            finishReading();
+            long start = System.nanoTime();
+            ResultSet rs;
+            try {
+                rs = statement.executeQuery();
+            } catch (SQLException e) {
+                record(this, start, 0, 0, e);
+                throw e;
+            }
+            if (System.nanoTime() - start < THRESHOLD_NANOS) {
+                return rs;
+            }
+            // Already slow: count the rows as they are read, record on close
+            reading = new ResultSetTracker(this, rs, start);
+            return Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                    new Class<?>[] { ResultSet.class }, reading);
+        }
+
+        private Object executeOther(Method method) throws Throwable {
+            finishReading();
+            long start = System.nanoTime();
+            int batch = batchSize;
+            Object result;
+            try {
+                result = invokeOn(statement, method, null);
+            } catch (SQLException e) {
+                record(this, start, 0, batch, e);
+                throw e;
+            } finally {
+                batchSize = 0;
+            }
+            long rows = 0;
+            if (result instanceof Number) {
+                rows = ((Number) result).longValue();
+            } else if (result instanceof int[]) {
+                for (int count : (int[]) result) {
+                    rows += Math.max(count, 0);
+                }
+            } else if (result instanceof long[]) {
+                for (long count : (long[]) result) {
+                    rows += Math.max(count, 0);
+                }
+            }
+            record(this, start, rows, batch, null);
+            return result;
+        }
+
+        private void remember(int index, Object value) {
+            if (index < 1) {
+                return;
+            }
+            if (index >= parameters.length) {
+                parameters = Arrays.copyOf(parameters, Math.max(index + 1, parameters.length * 2));
+            }
+            parameters[index] = value;
+            parameterCount = Math.max(parameterCount, index);
+        }
+
+        Object[] boundParameters() {
+            return Arrays.copyOf(parameters, parameterCount + 1);
+        }
+
+        private void finishReading() {
+            if (reading != null) {
+                reading.finish();
+            }
+        }
+
+        void finished(ResultSetTracker tracker) {
+            record(this, tracker.start, tracker.rows, 0, null);
+            if (reading == tracker) {
+                reading = null;
+            }
+        }
+    }
+
+    /**
+     * Counts rows of a slow query; records it once the rows are read
+     */
+    private static final class ResultSetTracker implements InvocationHandler {
+        private final StatementTracker owner;
+        private final ResultSet rs;
+        private final long start;
+        private long rows = 0;
+        private boolean finished = false;
+
+        ResultSetTracker(StatementTracker owner, ResultSet rs, long start) {
+            this.owner = owner;
+            this.rs = rs;
+            this.start = start;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "next":
+                    Object more = invokeOn(rs, method, args);
+                    if (Boolean.TRUE.equals(more)) {
+                        rows++;
+                    }
+                    return more;
+                case "close":
+                    finish();
+                    break;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            return invokeOn(rs, method, args);
+        }
+
+        void finish() {
+            if (!finished) {
+                finished = true;
+                owner.finished(this);
+            }
+        }
+    }
+
+    private static Object invokeOn(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
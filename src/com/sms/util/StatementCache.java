@@ -0,0 +1,316 @@
+package com.sms.util;
+
+import com.sms.log.Log;
+import com.sms.log.Logger;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * StatementCache Class - Prepared statements of one physical connection
+ * Holds one PreparedStatement per NamedQuery for the lifetime of the
+ * connection. The statements are prepared server-side when the driver offers
+ * it (MySQL Connector/J serverPrepareStatement), so the server parses each
+ * query once per connection instead of once per call.
+ *
+ * Borrowers get a wrapper whose close() only clears parameters and batch and
+ * hands the statement back. If the same query is already checked out on this
+ * connection (nested use), a plain one-off statement is prepared instead.
+ *
+ * Counters are global across connections, per NamedQuery.
+ */
+public class StatementCache {
+
+    private static final Logger LOG = Log.getLogger(StatementCache.class);
+
+    private static final int QUERY_COUNT = NamedQuery.values().length;
+
+    // Physical prepares, cached hand-outs and one-off (uncached) prepares per query
+    private static final LongAdder[] PREPARES = newAdders();
+    private static final LongAdder[] REUSES = newAdders();
+    private static final LongAdder[] UNCACHED = newAdders();
+
+    // Looked up once per driver connection class (class and method published together)
+    private static volatile ServerPrepare serverPrepare;
+
+    private final Connection physical;
+    private final PreparedStatement[] statements = new PreparedStatement[QUERY_COUNT];
+    private final boolean[] checkedOut = new boolean[QUERY_COUNT];
+
+    StatementCache(Connection physical) {
+        this.physical = physical;
+    }
+
+    /**
+     * Prepare every registered query now (called when the connection is
+     * created). A query that fails (e.g. its table is missing) does not stop
+     * the others; the first failure is rethrown at the end.
+     */
+    synchronized void prepareAll() throws SQLException {
+        SQLException firstFailure = null;
+        for (NamedQuery query : NamedQuery.values()) {
+            if (statements[query.ordinal()] != null) {
+                continue;
+            }
+            try {
+                statements[query.ordinal()] = serverPrepare(query);
+            } catch (SQLException e) {
+                if (firstFailure == null) {
+                    firstFailure = e;
+                }
+            }
+        }
+        if (firstFailure != null) {
+            throw firstFailure;
+        }
+    }
+
+    /**
+     * Check out the statement for a query
+     *
+     * @return Wrapper whose close() returns the statement to this cache
+     */
+    synchronized PreparedStatement checkOut(NamedQuery query) throws SQLException {
+        int i = query.ordinal();
+        if (checkedOut[i]) {
+            UNCACHED[i].increment();
+            return physical.prepareStatement(query.getSql());
+        }
+
+        PreparedStatement statement = statements[i];
+        if (statement == null || statement.isClosed()) {
+            statement = serverPrepare(query);
+            statements[i] = statement;
+        } else {
+            REUSES[i].increment();
+        }
+
+        checkedOut[i] = true;
+        return wrap(query, statement);
+    }
+
+    /**
+     * Forget check-outs (the connection went back to the pool; any wrapper
+     * still held by a careless borrower must not keep a statement locked)
+     */
+    synchronized void releaseAll() {
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            if (checkedOut[i]) {
+                checkedOut[i] = false;
+                reset(statements[i]);
+            }
+        }
+    }
+
+    private synchronized void checkIn(NamedQuery query, PreparedStatement statement) {
+        int i = query.ordinal();
+        if (checkedOut[i] && statements[i] == statement) {
+            checkedOut[i] = false;
+            reset(statement);
+        }
+    }
+
+    // Undo per-use settings so the next borrower starts clean
+    private static void reset(PreparedStatement statement) {
+        if (statement == null) {
+            return;
+        }
+        try {
+            statement.clearParameters();
+            statement.clearBatch();
+            if (statement.getMaxRows() != 0) {
+                statement.setMaxRows(0);
+            }
+        } catch (SQLException e) {
+            LOG.error("✗ Error resetting cached statement: {}", e.getMessage());
+        }
+    }
+
+    private PreparedStatement serverPrepare(NamedQuery query) throws SQLException {
+        PREPARES[query.ordinal()].increment();
+        Method method = serverPrepareMethod(physical.getClass());
+        if (method != null) {
+            try {
+                return (PreparedStatement) method.invoke(physical, query.getSql());
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof SQLException) {
+                    throw (SQLException) e.getCause();
+                }
+            } catch (IllegalAccessException | IllegalArgumentException e) {
+                // fall through to a regular prepare
+            }
+        }
+        return physical.prepareStatement(query.getSql());
+    }
+
+    // null = the driver has no serverPrepareStatement(String)
+    private static Method serverPrepareMethod(Class<?> connectionClass) {
+        ServerPrepare current = serverPrepare;
+        if (current == null || current.connectionClass != connectionClass) {
+            Method method;
+            try {
+                method = connectionClass.getMethod("serverPrepareStatement", String.class);
+            } catch (NoSuchMethodException e) {
+                method = null;
+            }
+            current = new ServerPrepare(connectionClass, method);
+            serverPrepare = current;
+        }
+        return current.method;
+    }
+
+    private PreparedStatement wrap(NamedQuery query, PreparedStatement statement) {
+        InvocationHandler handler = new InvocationHandler() {
+            private boolean closed = false;
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                switch (method.getName()) {
+                    case "close":
+                        if (!closed) {
+                            closed = true;
+                            checkIn(query, statement);
+                        }
+                        return null;
+                    case "isClosed":
+                        return closed || statement.isClosed();
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return "Cached[" + query + "]";
+                    default:
+                        break;
+                }
+
+                if (closed) {
+                    throw new SQLException("Statement has been returned to the cache");
+                }
+
+                try {
+                    return method.invoke(statement, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+        };
+        return (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[] { PreparedStatement.class },
+                handler);
+    }
+
+    /**
+     * Close every cached statement (the connection is being discarded)
+     */
+    synchronized void close() {
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            if (statements[i] != null) {
+                try {
+                    statements[i].close();
+                } catch (SQLException e) {
+                    // the connection is going away anyway
+                }
+                statements[i] = null;
+            }
+        }
+    }
+
+    /**
+     * Record a one-off prepare for a query on a connection without a cache
+     */
+    static void recordUncached(NamedQuery query) {
+        UNCACHED[query.ordinal()].increment();
+    }
+
+    /**
+     * Get per-query counters (summed over all connections)
+     *
+     * @return One entry per NamedQuery, in declaration order
+     */
+    public static List<Stats> getStats() {
+        List<Stats> stats = new ArrayList<>(QUERY_COUNT);
+        for (NamedQuery query : NamedQuery.values()) {
+            int i = query.ordinal();
+            stats.add(new Stats(query, PREPARES[i].sum(), REUSES[i].sum(), UNCACHED[i].sum()));
+        }
+        return stats;
+    }
+
+    private static LongAdder[] newAdders() {
+        LongAdder[] adders = new LongAdder[QUERY_COUNT];
+        for (int i = 0; i < adders.length; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    /**
+     * Snapshot of one query's counters
+     */
+    public static class Stats {
+        private final NamedQuery query;
+        private final long prepares;
+        private final long reuses;
+        private final long uncached;
+
+        Stats(NamedQuery query, long prepares, long reuses, long uncached) {
+            this.query = query;
+            this.prepares = prepares;
+            this.reuses = reuses;
+            this.uncached = uncached;
+        }
+
+        public NamedQuery getQuery() {
+            return query;
+        }
+
+        // Statements prepared into a connection's cache
+        public long getPrepares() {
+            return prepares;
+        }
+
+        // Executions served by an already prepared statement
+        public long getReuses() {
+            return reuses;
+        }
+
+        // One-off prepares (query already in use on that connection, or no pool)
+        public long getUncached() {
+            return uncached;
+        }
+
+        public double getReuseRate() {
+            long uses = prepares + reuses + uncached;
+            return uses == 0 ? 0.0 : (double) reuses / uses;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: prepares=%d, reuses=%d, uncached=%d, reuseRate=%.1f%%",
+                    query, prepares, reuses, uncached, getReuseRate() * 100);
+        }
+    }
+
+    /**
+     * A driver connection class and its serverPrepareStatement method (or null)
+     */
+    private static final class ServerPrepare {
+        final Class<?> connectionClass;
+        final Method method;
+
+        ServerPrepare(Class<?> connectionClass, Method method) {
+            this.connectionClass = connectionClass;
+            this.method = method;
+        }
+    }
+}
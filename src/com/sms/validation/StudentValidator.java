@@ -0,0 +1,218 @@
+package com.sms.validation;
+
+import com.sms.model.Student;
+import com.sms.util.Constants;
+
+import java.util.regex.Pattern;
+
+/**
+ * StudentValidator Class - The one set of student validation rules
+ * Used by Student.isValid()/getValidationError(), the StudentFrame form and
+ * the CSV importer. Every rule is checked, so a result lists all problems
+ * of a record, not just the first.
+ *
+ * The email pattern is compiled once and matched with the result's reusable
+ * Matcher; phone numbers and marks are checked by hand-written scanners.
+ * Validating into a caller-owned ValidationResult (or the per-thread one)
+ * allocates nothing.
+ */
+public final class StudentValidator {
+
+    static final Pattern EMAIL = Pattern.compile(Constants.Validation.EMAIL_PATTERN);
+
+    private static final ThreadLocal<ValidationResult> THREAD_RESULT = ThreadLocal.withInitial(ValidationResult::new);
+
+    // Exact powers of ten, for parsing marks without Double.parseDouble
+    private static final double[] POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9,
+            1e10, 1e11, 1e12, 1e13, 1e14, 1e15 };
+    // Up to 15 digits the value is exact as a double, so value / 10^scale is correctly rounded
+    private static final int MAX_FAST_DIGITS = 15;
+
+    private StudentValidator() {
+    }
+
+    // ==================== RECORDS ====================
+
+    /**
+     * Validate a student into this thread's reusable result
+     *
+     * @return The result, valid until this thread's next validation
+     */
+    public static ValidationResult validate(Student student) {
+        return validate(student, THREAD_RESULT.get());
+    }
+
+    /**
+     * Validate a student: roll number, name and course must not be blank;
+     * email, phone and marks must be well formed
+     *
+     * @param result Cleared and filled in
+     * @return result
+     */
+    public static ValidationResult validate(Student student, ValidationResult result) {
+        result.clear();
+        if (isBlank(student.getRollNumber())) {
+            result.add(Violation.ROLL_NUMBER_REQUIRED);
+        }
+        if (isBlank(student.getName())) {
+            result.add(Violation.NAME_REQUIRED);
+        }
+        if (isBlank(student.getCourse())) {
+            result.add(Violation.COURSE_REQUIRED);
+        }
+        if (!isValidEmail(student.getEmail(), result)) {
+            result.add(Violation.EMAIL_FORMAT);
+        }
+        if (!isValidPhone(student.getPhone())) {
+            result.add(Violation.PHONE_FORMAT);
+        }
+        if (!isValidMarks(student.getMarks())) {
+            result.add(Violation.MARKS_RANGE);
+        }
+        result.setMarks(student.getMarks());
+        return result;
+    }
+
+    /**
+     * Validate raw form or file fields (already trimmed): all are required,
+     * formats are checked for those present. The parsed marks are left in
+     * the result (getMarks()).
+     *
+     * @param result Cleared and filled in
+     * @return result
+     */
+    public static ValidationResult validateFields(String rollNumber, String name, String email, String phone,
+            String course, String marks, ValidationResult result) {
+        result.clear();
+        if (rollNumber.isEmpty()) {
+            result.add(Violation.ROLL_NUMBER_REQUIRED);
+        }
+        if (name.isEmpty()) {
+            result.add(Violation.NAME_REQUIRED);
+        }
+        if (email.isEmpty()) {
+            result.add(Violation.EMAIL_REQUIRED);
+        } else if (!isValidEmail(email, result)) {
+            result.add(Violation.EMAIL_FORMAT);
+        }
+        if (phone.isEmpty()) {
+            result.add(Violation.PHONE_REQUIRED);
+        } else if (!isValidPhone(phone)) {
+            result.add(Violation.PHONE_FORMAT);
+        }
+        if (course.isEmpty()) {
+            result.add(Violation.COURSE_REQUIRED);
+        }
+        if (marks.isEmpty()) {
+            result.add(Violation.MARKS_REQUIRED);
+        } else {
+            double value = parseMarks(marks);
+            if (Double.isNaN(value)) {
+                result.add(Violation.MARKS_FORMAT);
+            } else if (!isValidMarks(value)) {
+                result.add(Violation.MARKS_RANGE);
+            }
+            result.setMarks(value);
+        }
+        return result;
+    }
+
+    /**
+     * Same as validateFields(..., result), into this thread's reusable result
+     */
+    public static ValidationResult validateFields(String rollNumber, String name, String email, String phone,
+            String course, String marks) {
+        return validateFields(rollNumber, name, email, phone, course, marks, THREAD_RESULT.get());
+    }
+
+    // ==================== SINGLE RULES ====================
+
+    public static boolean isValidEmail(String email) {
+        return isValidEmail(email, THREAD_RESULT.get());
+    }
+
+    /**
+     * Constants.Validation.PHONE_LENGTH ASCII digits, nothing else
+     */
+    public static boolean isValidPhone(String phone) {
+        if (phone == null || phone.length() != Constants.Validation.PHONE_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < phone.length(); i++) {
+            char c = phone.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static boolean isValidMarks(double marks) {
+        return marks >= Constants.Validation.MIN_MARKS && marks <= Constants.Validation.MAX_MARKS;
+    }
+
+    /**
+     * Parse marks text. Plain decimals ("85", "-3", "92.75") are scanned by
+     * hand; anything else goes to Double.parseDouble, so the accepted
+     * syntax and the values are exactly Double.parseDouble's.
+     *
+     * @return Value, or NaN if the text is not a number
+     */
+    public static double parseMarks(String text) {
+        int length = text.length();
+        int i = 0;
+        boolean negative = false;
+        if (length > 0 && (text.charAt(0) == '-' || text.charAt(0) == '+')) {
+            negative = text.charAt(0) == '-';
+            i++;
+        }
+        long digits = 0;
+        int count = 0;
+        int scale = -1; // digits after the point; -1 = no point yet
+        for (; i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (++count > MAX_FAST_DIGITS) {
+                    return parseSlow(text);
+                }
+                digits = digits * 10 + (c - '0');
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else if (c == '.' && scale < 0) {
+                scale = 0;
+            } else {
+                return parseSlow(text);
+            }
+        }
+        if (count == 0) {
+            return parseSlow(text);
+        }
+        double value = scale > 0 ? digits / POWERS_OF_TEN[scale] : digits;
+        return negative ? -value : value;
+    }
+
+    private static double parseSlow(String text) {
+        try {
+            return Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    private static boolean isValidEmail(String email, ValidationResult result) {
+        return email != null && result.emailMatcher.reset(email).matches();
+    }
+
+    private static boolean isBlank(String value) {
+        if (value == null) {
+            return true;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
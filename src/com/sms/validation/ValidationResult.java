@@ -0,0 +1,103 @@
+package com.sms.validation;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+
+/**
+ * ValidationResult Class - Every rule one record broke
+ * Reusable: StudentValidator clears it before each record, so a loop over
+ * many records validates without allocating. Holds its own email matcher,
+ * which is why one instance must not be shared between threads.
+ */
+public final class ValidationResult {
+
+    private static final Violation[] VIOLATIONS = Violation.values();
+
+    // Bit i set = VIOLATIONS[i] broken
+    private int violations;
+    private double marks = Double.NaN;
+    final Matcher emailMatcher = StudentValidator.EMAIL.matcher("");
+
+    public ValidationResult() {
+    }
+
+    public void clear() {
+        violations = 0;
+        marks = Double.NaN;
+    }
+
+    void add(Violation violation) {
+        violations |= 1 << violation.ordinal();
+    }
+
+    void setMarks(double marks) {
+        this.marks = marks;
+    }
+
+    public boolean isValid() {
+        return violations == 0;
+    }
+
+    public boolean has(Violation violation) {
+        return (violations & 1 << violation.ordinal()) != 0;
+    }
+
+    public int getCount() {
+        return Integer.bitCount(violations);
+    }
+
+    /**
+     * @return First violation in reporting order, or null if valid
+     */
+    public Violation getFirst() {
+        return violations == 0 ? null : VIOLATIONS[Integer.numberOfTrailingZeros(violations)];
+    }
+
+    /**
+     * @return Message of the first violation, or null if valid
+     */
+    public String getFirstMessage() {
+        Violation first = getFirst();
+        return first == null ? null : first.getMessage();
+    }
+
+    public Set<Violation> getViolations() {
+        Set<Violation> set = EnumSet.noneOf(Violation.class);
+        for (Violation violation : VIOLATIONS) {
+            if (has(violation)) {
+                set.add(violation);
+            }
+        }
+        return set;
+    }
+
+    /**
+     * @return Distinct messages in reporting order (one "all fields are
+     *         required" for any number of missing fields)
+     */
+    public List<String> getMessages() {
+        List<String> messages = new ArrayList<>();
+        for (Violation violation : VIOLATIONS) {
+            if (has(violation) && !messages.contains(violation.getMessage())) {
+                messages.add(violation.getMessage());
+            }
+        }
+        return messages;
+    }
+
+    /**
+     * @return Marks parsed by StudentValidator.validateFields (NaN if missing
+     *         or not a number), or the validated student's marks
+     */
+    public double getMarks() {
+        return marks;
+    }
+
+    @Override
+    public String toString() {
+        return isValid() ? "valid" : String.join(" ", getMessages());
+    }
+}
@@ -0,0 +1,43 @@
+package com.sms.validation;
+
+import com.sms.util.Constants;
+
+/**
+ * Violation Enum - One broken validation rule
+ * Declared in reporting order: the first violation of a record is the one
+ * a field-by-field check would have stopped at.
+ */
+public enum Violation {
+    ROLL_NUMBER_REQUIRED("Roll Number", Constants.Messages.VALIDATION_ALL_REQUIRED),
+    NAME_REQUIRED("Name", Constants.Messages.VALIDATION_ALL_REQUIRED),
+    EMAIL_REQUIRED("Email", Constants.Messages.VALIDATION_ALL_REQUIRED),
+    PHONE_REQUIRED("Phone", Constants.Messages.VALIDATION_ALL_REQUIRED),
+    COURSE_REQUIRED("Course", Constants.Messages.VALIDATION_ALL_REQUIRED),
+    MARKS_REQUIRED("Marks", Constants.Messages.VALIDATION_ALL_REQUIRED),
+    EMAIL_FORMAT("Email", Constants.Messages.VALIDATION_INVALID_EMAIL),
+    PHONE_FORMAT("Phone", Constants.Messages.VALIDATION_INVALID_PHONE),
+    MARKS_FORMAT("Marks", Constants.Messages.VALIDATION_INVALID_MARKS_FORMAT),
+    MARKS_RANGE("Marks", Constants.Messages.VALIDATION_INVALID_MARKS);
+
+    private final String field;
+    private final String message;
+
+    Violation(String field, String message) {
+        this.field = field;
+        this.message = message;
+    }
+
+    /**
+     * @return Form label of the field at fault
+     */
+    public String getField() {
+        return field;
+    }
+
+    /**
+     * @return User-facing message (from Constants.Messages)
+     */
+    public String getMessage() {
+        return message;
+    }
+}